@@ -0,0 +1,136 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.JobState;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.JobStatus;
+import com.ebay.calculator.demo.service.BulkJobService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Evaluates a file of one million chains of four steps: as a bulk job, and line by line through the chain request
+ * path, as a client calling {@code chainCalculate} for each line would. Both write one result line per chain. The
+ * result caches are disabled.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 8)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class BulkJobBenchmark {
+
+    private static final int CHAINS = 1_000_000;
+
+    private Path directory;
+    private Path input;
+    private CalculatorService calculatorService;
+    private CalculatorValidator validator;
+    private ExecutorService jobExecutor;
+    private BulkJobService jobService;
+
+    @Setup
+    public void setUp() throws IOException {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        calculatorService = Fixtures.calculatorService(factory);
+        validator = new CalculatorValidator(factory);
+        directory = Files.createTempDirectory("bulk-bench");
+        input = Files.createDirectories(directory.resolve("input")).resolve("chains.txt");
+        try (Writer writer = Files.newBufferedWriter(input)) {
+            for (int i = 0; i < CHAINS; i++) {
+                writer.write(i + " ADD " + (i & 255) + ".5 MULTIPLY 1.25 SQRT SUBTRACT 3\n");
+            }
+        }
+        jobExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        jobService = new BulkJobService(calculatorService, factory, jobExecutor,
+                directory.resolve("jobs").toString(), directory.resolve("input").toString(), 16, 0, 0);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        jobExecutor.shutdownNow();
+        delete(directory);
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteJobs() throws IOException {
+        Path jobs = directory.resolve("jobs");
+        if (Files.exists(jobs)) {
+            delete(jobs);
+        }
+        Files.deleteIfExists(directory.resolve("results.txt"));
+    }
+
+    @Benchmark
+    public JobStatus bulkJob() throws IOException, InterruptedException {
+        String jobId = jobService.submit("chains.txt").getJobId();
+        JobStatus status = jobService.status(jobId);
+        while (status.getState() == JobState.RUNNING) {
+            Thread.sleep(1);
+            status = jobService.status(jobId);
+        }
+        return status;
+    }
+
+    @Benchmark
+    public long chainRequestPerLine() throws IOException {
+        long chains = 0;
+        try (BufferedReader reader = Files.newBufferedReader(input);
+             BufferedWriter writer = Files.newBufferedWriter(directory.resolve("results.txt"))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.split(" ");
+                ChainCalculationRequest request = new ChainCalculationRequest();
+                request.setInitialValue(Double.parseDouble(tokens[0]));
+                List<String> operations = new ArrayList<>();
+                List<Double> operands = new ArrayList<>();
+                for (int i = 1; i < tokens.length; i++) {
+                    operations.add(tokens[i]);
+                    operands.add("SQRT".equals(tokens[i]) ? null : Double.parseDouble(tokens[++i]));
+                }
+                request.setOperations(operations);
+                request.setOperands(operands);
+
+                ValidatedChain chain = validator.validateChainRequest(request);
+                writer.write(calculatorService.chainCalculate(chain).toString());
+                writer.newLine();
+                chains++;
+            }
+        }
+        return chains;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
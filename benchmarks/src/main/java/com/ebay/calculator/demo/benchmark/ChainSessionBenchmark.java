@@ -0,0 +1,81 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.ChainSessionResult;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.ChainSessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Editing the operand of a step near the end of a chain: replacing the step in a chain session, which resumes from
+ * the last checkpoint, against sending the edited chain to {@link CalculatorService} again with the result cache
+ * disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class ChainSessionBenchmark {
+
+    @Param({"1000", "100000"})
+    public int length;
+
+    private CalculatorService calculatorService;
+    private ChainSessionService sessionService;
+    private String sessionId;
+    private byte[] opcodes;
+    private double[] operands;
+    private int edited;
+    private long edits;
+
+    @Setup
+    public void setUp() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        calculatorService = Fixtures.calculatorService(factory);
+        sessionService = Fixtures.chainSessionService(factory, 64);
+
+        Random random = new Random(42);
+        opcodes = new byte[length];
+        operands = new double[length];
+        Operation[] operations = new Operation[length];
+        for (int i = 0; i < length; i++) {
+            // Alternating DIVIDE steps keep the chain from folding into a few steps.
+            operations[i] = i % 2 == 0 ? Operation.DIVIDE : Operation.values()[random.nextInt(3)];
+            opcodes[i] = (byte) operations[i].ordinal();
+            operands[i] = 1.0 + random.nextInt(9);
+        }
+        edited = length - 3;
+        sessionId = sessionService.open(new ValidatedChain(1.0, operations, opcodes.clone(), operands.clone()))
+                .getSessionId();
+    }
+
+    @Benchmark
+    public ChainSessionResult sessionEdit() {
+        double operand = 1.0 + (edits++ & 7);
+        return sessionService.replaceStep(sessionId, edited, "ADD", operand);
+    }
+
+    @Benchmark
+    public double fullRecompute() {
+        operands[edited] = 1.0 + (edits++ & 7);
+        opcodes[edited] = (byte) Operation.ADD.ordinal();
+        return calculatorService.chainOperations(1.0, opcodes, operands);
+    }
+}
@@ -0,0 +1,86 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validating and decoding a chain request with mixed-case operation names: the single pass of
+ * {@link CalculatorValidator#validateChainRequest}, against the earlier approach of validating with
+ * {@code Operation.valueOf(name.toUpperCase())}, checking divisors in a second loop and decoding the names again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class ChainValidationBenchmark {
+
+    private static final String[] NAMES = {"add", "Subtract", "MULTIPLY", "divide"};
+
+    @Param({"10", "1000"})
+    public int length;
+
+    private final CalculatorValidator validator = new CalculatorValidator();
+    private ChainCalculationRequest request;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        List<String> operations = new ArrayList<>(length);
+        List<Double> operands = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            operations.add(NAMES[random.nextInt(NAMES.length)]);
+            operands.add(1.0 + random.nextInt(9));
+        }
+        request = new ChainCalculationRequest();
+        request.setInitialValue(1.0);
+        request.setOperations(operations);
+        request.setOperands(operands);
+    }
+
+    @Benchmark
+    public ValidatedChain singlePass() {
+        return validator.validateChainRequest(request);
+    }
+
+    @Benchmark
+    public byte[] validateThenDecode() {
+        List<String> operations = request.getOperations();
+        List<? extends Number> operands = request.getOperands();
+        for (String operation : operations) {
+            Operation.valueOf(operation.toUpperCase());
+        }
+        for (int i = 0; i < operations.size(); i++) {
+            if ("DIVIDE".equalsIgnoreCase(operations.get(i)) && operands.get(i).doubleValue() == 0) {
+                throw new IllegalArgumentException("Division by zero is not allowed.");
+            }
+        }
+
+        byte[] opcodes = new byte[operations.size()];
+        double[] values = new double[opcodes.length];
+        for (int i = 0; i < opcodes.length; i++) {
+            opcodes[i] = (byte) Operation.valueOf(operations.get(i).toUpperCase()).ordinal();
+            values[i] = operands.get(i).doubleValue();
+        }
+        return opcodes;
+    }
+}
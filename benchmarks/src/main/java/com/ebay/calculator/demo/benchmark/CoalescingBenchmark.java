@@ -0,0 +1,71 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identical chain requests with the result cache disabled, as during a spike of a chain that is not cached yet.
+ * {@code burst} runs eight threads sending the same chain, with coalescing off ({@code maxInFlight} 0) or on.
+ * {@code single} runs one thread, where coalescing can only add overhead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class CoalescingBenchmark {
+
+    @Param({"16", "64", "4096"})
+    public int length;
+
+    @Param({"0", "1024"})
+    public int maxInFlight;
+
+    private CalculatorService calculatorService;
+    private byte[] opcodes;
+    private double[] operands;
+
+    @Setup
+    public void setUp() {
+        calculatorService = Fixtures.calculatorService(new OperationStrategyFactory(), 16384,
+                new SingleFlight<>(maxInFlight), 0);
+        Random random = new Random(42);
+        opcodes = new byte[length];
+        operands = new double[length];
+        for (int i = 0; i < length; i++) {
+            // Alternating DIVIDE steps keep the chain from folding into a few steps.
+            opcodes[i] = (byte) (i % 2 == 0 ? Operation.DIVIDE.ordinal() : random.nextInt(3));
+            operands[i] = 1.0 + random.nextInt(9);
+        }
+    }
+
+    @Benchmark
+    @Threads(8)
+    public double burst() {
+        return calculatorService.chainOperations(1.0, opcodes, operands);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public double single() {
+        return calculatorService.chainOperations(1.0, opcodes, operands);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
+import com.ebay.calculator.demo.service.ColumnCalculationService;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A five-step fee formula over a column of rows: the Vector API kernel, the scalar kernel, and one boxed
+ * {@link OperationStrategy#apply(Number, Number)} call per element and step.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"--enable-preview", "--add-modules=jdk.incubator.vector"})
+public class ColumnBenchmark {
+
+    private static final Operation[] FORMULA = {Operation.MULTIPLY, Operation.ADD, Operation.DIVIDE,
+            Operation.SUBTRACT, Operation.MULTIPLY};
+
+    @Param({"1000", "1000000"})
+    public int rows;
+
+    private OperationStrategyFactory factory;
+    private ColumnCalculationService vectorService;
+    private ColumnCalculationService scalarService;
+    private double[] initialValues;
+    private double[][] operands;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        vectorService = new ColumnCalculationService(factory, new CalculatorMetrics(), true);
+        scalarService = new ColumnCalculationService(factory, new CalculatorMetrics(), false);
+        if (!vectorService.isVectorized()) {
+            throw new IllegalStateException("Vector API kernel not available");
+        }
+
+        Random random = new Random(42);
+        initialValues = new double[rows];
+        double[] rates = new double[rows];
+        double[] quantities = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            initialValues[i] = random.nextDouble() * 500;
+            rates[i] = 0.05 + random.nextDouble() * 0.1;
+            quantities[i] = 1 + random.nextInt(10);
+        }
+        operands = new double[][]{rates, {0.30}, quantities, {0.01}, quantities};
+    }
+
+    @Benchmark
+    public BatchCalculationResult vectorKernel() {
+        return vectorService.calculate(initialValues, FORMULA, operands);
+    }
+
+    @Benchmark
+    public BatchCalculationResult scalarKernel() {
+        return scalarService.calculate(initialValues, FORMULA, operands);
+    }
+
+    @Benchmark
+    public Number[] boxedApply() {
+        Number[] results = new Number[rows];
+        OperationStrategy[] strategies = new OperationStrategy[FORMULA.length];
+        for (int k = 0; k < FORMULA.length; k++) {
+            strategies[k] = factory.getStrategy(FORMULA[k]);
+        }
+        for (int i = 0; i < rows; i++) {
+            Number value = initialValues[i];
+            for (int k = 0; k < FORMULA.length; k++) {
+                double[] column = operands[k];
+                value = strategies[k].apply(value, column.length == 1 ? column[0] : column[i]);
+            }
+            results[i] = value;
+        }
+        return results;
+    }
+}
@@ -0,0 +1,118 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.controller.CalculatorController;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.CalculationRequest;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.ColumnCalculationService;
+import com.ebay.calculator.demo.service.StreamingCalculationService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.ebay.calculator.demo.utils.RequestLogSampler;
+import com.ebay.calculator.demo.wire.BinaryCodec;
+import com.ebay.calculator.demo.wire.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of a request through {@link CalculatorController} without the HTTP stack: JSON request
+ * deserialization, the controller call and JSON response serialization. The {@code binary*} benchmarks run the
+ * same requests in the binary wire format, decoding from and encoding to direct buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class ControllerSerializationBenchmark {
+
+    private static final byte[] CALCULATE_JSON =
+            "{\"operation\":\"MULTIPLY\",\"num1\":17.25,\"num2\":5}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CHAIN_JSON =
+            ("{\"initialValue\":10,\"operations\":[\"ADD\",\"SUBTRACT\",\"MULTIPLY\",\"DIVIDE\",\"ADD\",\"MULTIPLY\"],"
+                    + "\"operands\":[1,2,3,4,5,6]}").getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper objectMapper;
+    private CalculatorController controller;
+    private BinaryCalculationService binaryService;
+    private ByteBuffer calculateFrame;
+    private ByteBuffer chainFrame;
+    private ByteBuffer responseBuffer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorValidator validator = new CalculatorValidator(factory);
+        CalculatorService calculatorService = Fixtures.calculatorService(factory);
+        binaryService = new BinaryCalculationService(calculatorService, 1 << 20, 16384);
+        StreamingCalculationService streamingService =
+                new StreamingCalculationService(calculatorService, validator, objectMapper, 65536, 256);
+        controller = new CalculatorController(calculatorService, validator, streamingService,
+                Fixtures.expressionService(factory, 1000),
+                new ColumnCalculationService(factory, new CalculatorMetrics(), false),
+                binaryService, Fixtures.decimalService(), new RequestLogSampler(1), factory,
+                Fixtures.chainSessionService(factory, 64));
+
+        calculateFrame = ByteBuffer.allocateDirect(64);
+        calculateFrame.put(WireFormat.VERSION).put(WireFormat.CALCULATE).putInt(1)
+                .put(WireFormat.opcode(Operation.MULTIPLY));
+        BinaryCodec.writeOperand(calculateFrame, 17.25);
+        BinaryCodec.writeOperand(calculateFrame, 5);
+        calculateFrame.flip();
+
+        Operation[] operations = {Operation.ADD, Operation.SUBTRACT, Operation.MULTIPLY, Operation.DIVIDE,
+                Operation.ADD, Operation.MULTIPLY};
+        chainFrame = ByteBuffer.allocateDirect(128);
+        chainFrame.put(WireFormat.VERSION).put(WireFormat.CHAIN).putInt(1);
+        BinaryCodec.writeOperand(chainFrame, 10.0);
+        chainFrame.putInt(operations.length);
+        for (int i = 0; i < operations.length; i++) {
+            chainFrame.put(WireFormat.opcode(operations[i]));
+            BinaryCodec.writeOperand(chainFrame, (double) (i + 1));
+        }
+        chainFrame.flip();
+
+        responseBuffer = ByteBuffer.allocateDirect(64);
+    }
+
+    @Benchmark
+    public byte[] calculate() throws IOException {
+        CalculationRequest request = objectMapper.readValue(CALCULATE_JSON, CalculationRequest.class);
+        return objectMapper.writeValueAsBytes(controller.calculate(request).getBody());
+    }
+
+    @Benchmark
+    public byte[] chainCalculate() throws IOException {
+        ChainCalculationRequest request = objectMapper.readValue(CHAIN_JSON, ChainCalculationRequest.class);
+        return objectMapper.writeValueAsBytes(controller.chainCalculate(request).getBody());
+    }
+
+    @Benchmark
+    public ByteBuffer binaryCalculate() {
+        return binaryService.process(WireFormat.CALCULATE, calculateFrame.duplicate(), responseBuffer.clear());
+    }
+
+    @Benchmark
+    public ByteBuffer binaryChainCalculate() {
+        return binaryService.process(WireFormat.CHAIN, chainFrame.duplicate(), responseBuffer.clear());
+    }
+}
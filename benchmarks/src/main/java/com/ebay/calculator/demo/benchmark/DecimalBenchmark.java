@@ -0,0 +1,88 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.decimal.DecimalCalculator;
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A currency chain (rate, fee, discount, tax) at scale 2 with HALF_EVEN rounding, evaluated by the scaled-long
+ * decimal mode, by the same steps written directly against {@code BigDecimal}, and by the regular boxed strategies
+ * on a {@code BigDecimal} running value. All three start from the {@code Double} operands a request carries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class DecimalBenchmark {
+
+    private static final Operation[] CYCLE = {Operation.MULTIPLY, Operation.ADD, Operation.SUBTRACT, Operation.DIVIDE};
+    private static final double[] OPERANDS = {1.05, 0.30, 0.25, 1.02};
+
+    @Param({"4", "100"})
+    public int length;
+
+    private final DecimalContext context = new DecimalContext(0, 2, RoundingMode.HALF_EVEN);
+    private OperationStrategyFactory factory;
+    private List<Operation> operations;
+    private List<Double> operands;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        operations = new ArrayList<>(length);
+        operands = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            operations.add(CYCLE[i % CYCLE.length]);
+            operands.add(OPERANDS[i % OPERANDS.length]);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal scaledLong() {
+        return DecimalCalculator.chain(19.99, operations, operands, context);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal value = BigDecimal.valueOf(19.99).setScale(2, RoundingMode.HALF_EVEN);
+        for (int i = 0; i < length; i++) {
+            BigDecimal operand = BigDecimal.valueOf(operands.get(i)).setScale(2, RoundingMode.HALF_EVEN);
+            switch (operations.get(i)) {
+                case ADD -> value = value.add(operand);
+                case SUBTRACT -> value = value.subtract(operand);
+                case MULTIPLY -> value = value.multiply(operand).setScale(2, RoundingMode.HALF_EVEN);
+                case DIVIDE -> value = value.divide(operand, 2, RoundingMode.HALF_EVEN);
+            }
+        }
+        return value;
+    }
+
+    @Benchmark
+    public Number boxedStrategies() {
+        Number value = BigDecimal.valueOf(19.99);
+        for (int i = 0; i < length; i++) {
+            value = factory.evaluate(operations.get(i), value, operands.get(i));
+        }
+        return value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.ExpressionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of evaluating a formula with new variable values, with the parsed-expression cache enabled
+ * ({@code cacheSize=1000}) and disabled ({@code cacheSize=0}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class ExpressionBenchmark {
+
+    private static final String FORMULA = "(price - discount) * quantity * (1 + taxRate / 100) - shipping / 2";
+
+    @Param({"0", "1000"})
+    public int cacheSize;
+
+    private ExpressionService expressionService;
+    private Map<String, Number> variables;
+    private int quantity;
+
+    @Setup
+    public void setUp() {
+        expressionService = Fixtures.expressionService(new OperationStrategyFactory(), cacheSize);
+        variables = new HashMap<>();
+        variables.put("price", 19.99);
+        variables.put("discount", 2.5);
+        variables.put("taxRate", 8);
+        variables.put("shipping", 5);
+    }
+
+    @Benchmark
+    public Number evaluate() {
+        variables.put("quantity", ++quantity & 1023);
+        return expressionService.evaluate(FORMULA, variables);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.cache.CalculationKey;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.ChainSessionService;
+import com.ebay.calculator.demo.service.DecimalCalculationService;
+import com.ebay.calculator.demo.service.ExpressionService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the calculator components without a Spring context. Result caches and, unless a single flight is passed,
+ * coalescing are disabled so that benchmarks measure evaluation rather than shared results.
+ */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static CalculatorService calculatorService(OperationStrategyFactory factory) {
+        return calculatorService(factory, 16384);
+    }
+
+    static CalculatorService calculatorService(OperationStrategyFactory factory, int parallelThreshold) {
+        return calculatorService(factory, parallelThreshold, new SingleFlight<>(0), 0);
+    }
+
+    static CalculatorService calculatorService(OperationStrategyFactory factory, int parallelThreshold,
+                                               SingleFlight<CalculationKey, Number> chainFlights,
+                                               int coalescingMinLength) {
+        return CalculatorService.builder(factory)
+                .parallelThreshold(parallelThreshold)
+                .foldingEnabled(true)
+                .cacheSizes(0, 0)
+                .coalescing(chainFlights, coalescingMinLength)
+                .build();
+    }
+
+    static ExpressionService expressionService(OperationStrategyFactory factory, int cacheSize) {
+        return new ExpressionService(factory, new CalculatorValidator(factory),
+                new ResultCache<>(cacheSize, EvictionPolicy.LRU, 0, TimeUnit.SECONDS), 4096);
+    }
+
+    static ChainSessionService chainSessionService(OperationStrategyFactory factory, int checkpointInterval) {
+        return new ChainSessionService(factory, new CalculatorValidator(factory),
+                new ResultCache<>(256, EvictionPolicy.IDLE, 600, TimeUnit.SECONDS), checkpointInterval, 1 << 20);
+    }
+
+    static DecimalCalculationService decimalService() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        return new DecimalCalculationService(factory, new CalculatorValidator(factory), new CalculatorMetrics(), 0, 2,
+                "HALF_EVEN");
+    }
+
+    static ResultCache<CalculationKey, Number> disabledCache() {
+        return new ResultCache<>(0, EvictionPolicy.LRU, 0, TimeUnit.SECONDS);
+    }
+}
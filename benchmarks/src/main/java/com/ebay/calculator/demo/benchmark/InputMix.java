@@ -0,0 +1,22 @@
+package com.ebay.calculator.demo.benchmark;
+
+import java.math.BigDecimal;
+
+/**
+ * Operand type combinations benchmarked for every operation.
+ */
+public enum InputMix {
+    INTEGER(17, 5),
+    DOUBLE(17.25, 5.5),
+    BIG_DECIMAL(new BigDecimal("17.25"), new BigDecimal("5.5")),
+    INTEGER_DOUBLE(17, 5.5),
+    DOUBLE_BIG_DECIMAL(17.25, new BigDecimal("5.5"));
+
+    final Number num1;
+    final Number num2;
+
+    InputMix(Number num1, Number num2) {
+        this.num1 = num1;
+        this.num2 = num2;
+    }
+}
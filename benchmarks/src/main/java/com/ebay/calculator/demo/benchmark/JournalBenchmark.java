@@ -0,0 +1,119 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.journal.CalculationJournal;
+import com.ebay.calculator.demo.journal.JournalVerifier;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@code CalculatorService.calculate} from several threads with the journal disabled and enabled, with the result
+ * cache on as in the default configuration; and the time {@link JournalVerifier} takes to replay one million records.
+ * Journals are written to {@code java.io.tmpdir} and deleted after each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class JournalBenchmark {
+
+    private static final int VERIFIED_RECORDS = 1_000_000;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+
+        @Param({"false", "true"})
+        public boolean journaled;
+
+        private Path directory;
+        private CalculationJournal journal;
+        private CalculatorService calculatorService;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws IOException {
+            OperationStrategyFactory factory = new OperationStrategyFactory();
+            directory = Files.createTempDirectory("journal-bench");
+            journal = journaled ? CalculationJournal.open(directory, factory, 64 << 20) : CalculationJournal.disabled();
+            calculatorService = CalculatorService.builder(factory)
+                    .foldingEnabled(true)
+                    .cacheSizes(10000, 0)
+                    .coalescing(new SingleFlight<>(0), 64)
+                    .journal(journal)
+                    .build();
+        }
+
+        @TearDown(Level.Iteration)
+        public void tearDown() throws IOException {
+            journal.close();
+            delete(directory);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Journal {
+
+        private Path directory;
+        private JournalVerifier verifier;
+
+        @Setup
+        public void setUp() throws IOException {
+            OperationStrategyFactory factory = new OperationStrategyFactory();
+            directory = Files.createTempDirectory("journal-bench");
+            try (CalculationJournal journal = CalculationJournal.open(directory, factory, 16 << 20)) {
+                for (int i = 0; i < VERIFIED_RECORDS; i++) {
+                    int opcode = i & 3;
+                    double num2 = 1 + (i & 15);
+                    Number num1 = (i & 4) == 0 ? (Number) (double) i : (Number) i;
+                    journal.record(opcode, num1, num2, factory.evaluate(opcode, num1, num2), 100);
+                }
+            }
+            verifier = new JournalVerifier(factory);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            delete(directory);
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Number calculate(Service service) {
+        return service.calculatorService.calculate(Operation.MULTIPLY, 17.25, 5);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public JournalVerifier.Report verifyMillionRecords(Journal journal) throws IOException {
+        return journal.verifier.verify(journal.directory);
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+}
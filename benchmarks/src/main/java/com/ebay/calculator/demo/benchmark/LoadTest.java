@@ -0,0 +1,117 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.metrics.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load test against a running calculator. Each of {@code --connections} clients runs on its own
+ * virtual thread and sends requests back to back for {@code --seconds}, so the number of requests in flight equals
+ * the number of clients. Run it once against a server started with {@code calculator.execution.mode=platform} and
+ * once with {@code calculator.execution.mode=virtual} to compare the two thread models.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.ebay.calculator.demo.benchmark.LoadTest \
+ *     --url http://localhost:8080 --connections 1000 --seconds 30 --endpoint chain
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final String CALCULATE_BODY = "{\"operation\":\"ADD\",\"num1\":12,\"num2\":30}";
+    private static final String CHAIN_BODY = "{\"initialValue\":10,\"operations\":[\"ADD\",\"MULTIPLY\",\"SUBTRACT\","
+            + "\"DIVIDE\"],\"operands\":[5,3,7,2]}";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int connections = 200;
+        int seconds = 20;
+        int warmupSeconds = 5;
+        String endpoint = "calculate";
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--connections" -> connections = Integer.parseInt(args[i + 1]);
+                case "--seconds" -> seconds = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--endpoint" -> endpoint = args[i + 1];
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        boolean chain = "chain".equals(endpoint);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/calculator/"
+                        + (chain ? "chainCalculate" : "calculate")))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(chain ? CHAIN_BODY : CALCULATE_BODY))
+                .build();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(clients).build();
+            if (warmupSeconds > 0) {
+                run(client, request, clients, connections, warmupSeconds);
+            }
+            Result result = run(client, request, clients, connections, seconds);
+
+            Histogram latencies = result.latencies;
+            System.out.printf("endpoint=%s connections=%d seconds=%d%n", endpoint, connections, seconds);
+            System.out.printf("requests=%d errors=%d throughput=%.0f req/s%n", latencies.count(), result.errors.get(),
+                    latencies.count() / (double) seconds);
+            System.out.printf("latency p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+                    millis(latencies.percentile(50)), millis(latencies.percentile(99)),
+                    millis(latencies.percentile(99.9)), millis(latencies.max()));
+        }
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, ExecutorService clients, int connections,
+                              int seconds) throws Exception {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> futures = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            futures.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != 200) {
+                            result.errors.incrementAndGet();
+                            continue;
+                        }
+                        result.latencies.record(System.nanoTime() - start);
+                    } catch (Exception ex) {
+                        result.errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return result;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final Histogram latencies = new Histogram();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
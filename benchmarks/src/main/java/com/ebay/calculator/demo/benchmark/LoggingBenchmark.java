@@ -0,0 +1,79 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.controller.CalculatorController;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.CalculationRequest;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.ColumnCalculationService;
+import com.ebay.calculator.demo.service.StreamingCalculationService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.ebay.calculator.demo.utils.RequestLogSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@code CalculatorController.calculate} from several threads under the synchronous logging
+ * configuration and under the asynchronous production configuration, with and without request sampling.
+ * Both configurations write to a file in {@code java.io.tmpdir} so that console output does not distort the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+public class LoggingBenchmark {
+
+    @Param({"1", "1000"})
+    public int sampleRate;
+
+    private CalculatorController controller;
+    private CalculationRequest request;
+
+    @Setup
+    public void setUp() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorValidator validator = new CalculatorValidator(factory);
+        CalculatorService calculatorService = Fixtures.calculatorService(factory);
+        StreamingCalculationService streamingService =
+                new StreamingCalculationService(calculatorService, validator, new ObjectMapper(), 65536, 256);
+        controller = new CalculatorController(calculatorService, validator, streamingService,
+                Fixtures.expressionService(factory, 1000),
+                new ColumnCalculationService(factory, new CalculatorMetrics(), false),
+                new BinaryCalculationService(calculatorService, 1 << 20, 16384), Fixtures.decimalService(),
+                new RequestLogSampler(sampleRate), factory,
+                Fixtures.chainSessionService(factory, 64));
+
+        request = new CalculationRequest();
+        request.setOperation("MULTIPLY");
+        request.setNum1(17.25);
+        request.setNum2(5);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Dlog4j.configurationFile=log4j2-bench-sync.xml"})
+    public Object synchronous() {
+        return controller.calculate(request);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Dlog4j.configurationFile=log4j2-bench-async.xml"})
+    public Object asynchronous() {
+        return controller.calculate(request);
+    }
+}
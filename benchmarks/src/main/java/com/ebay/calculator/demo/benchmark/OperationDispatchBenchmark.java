@@ -0,0 +1,95 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Built-in operations against operations registered through {@code OperationDefinition}: resolving a name, evaluating
+ * one calculation by opcode, and running a 100-step compiled chain of built-in steps only or with MAX and MOD steps
+ * mixed in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class OperationDispatchBenchmark {
+
+    private static final int CHAIN_LENGTH = 100;
+
+    private OperationStrategyFactory factory;
+    private CalculatorService calculatorService;
+    private String builtInName = "multiply";
+    private String registeredName = "max";
+    private int multiply;
+    private int max;
+    private Number num1 = 17.25;
+    private Number num2 = 5.0;
+    private byte[] builtInChain;
+    private byte[] mixedChain;
+    private double[] operands;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        calculatorService = Fixtures.calculatorService(factory);
+        multiply = factory.lookup(builtInName);
+        max = factory.lookup(registeredName);
+
+        byte[] extensions = {(byte) max, (byte) factory.lookup("MOD")};
+        Random random = new Random(42);
+        builtInChain = new byte[CHAIN_LENGTH];
+        mixedChain = new byte[CHAIN_LENGTH];
+        operands = new double[CHAIN_LENGTH];
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            builtInChain[i] = (byte) random.nextInt(Operation.values().length);
+            mixedChain[i] = i % 4 == 3 ? extensions[random.nextInt(2)] : builtInChain[i];
+            operands[i] = 1.0 + random.nextInt(9);
+        }
+    }
+
+    @Benchmark
+    public int lookupBuiltIn() {
+        return factory.lookup(builtInName);
+    }
+
+    @Benchmark
+    public int lookupRegistered() {
+        return factory.lookup(registeredName);
+    }
+
+    @Benchmark
+    public Number evaluateBuiltIn() {
+        return factory.evaluate(multiply, num1, num2);
+    }
+
+    @Benchmark
+    public Number evaluateRegistered() {
+        return factory.evaluate(max, num1, num2);
+    }
+
+    @Benchmark
+    public double chainBuiltIn() {
+        return calculatorService.chainOperations(1.0, builtInChain, operands);
+    }
+
+    @Benchmark
+    public double chainMixed() {
+        return calculatorService.chainOperations(1.0, mixedChain, operands);
+    }
+}
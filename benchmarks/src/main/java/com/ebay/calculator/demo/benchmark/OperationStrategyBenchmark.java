@@ -0,0 +1,78 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of each {@link OperationStrategy} implementation across operand type mixes, through the boxed
+ * {@code apply}, the type-dispatching {@code OperationStrategyFactory.evaluate} and the primitive entry points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class OperationStrategyBenchmark {
+
+    @Param({"ADD", "SUBTRACT", "MULTIPLY", "DIVIDE"})
+    public Operation operation;
+
+    @Param({"INTEGER", "DOUBLE", "BIG_DECIMAL", "INTEGER_DOUBLE", "DOUBLE_BIG_DECIMAL"})
+    public InputMix mix;
+
+    private OperationStrategyFactory factory;
+    private OperationStrategy strategy;
+    private Number num1;
+    private Number num2;
+    private long long1;
+    private long long2;
+    private double double1;
+    private double double2;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        strategy = factory.getStrategy(operation);
+        num1 = mix.num1;
+        num2 = mix.num2;
+        long1 = num1.longValue();
+        long2 = num2.longValue();
+        double1 = num1.doubleValue();
+        double2 = num2.doubleValue();
+    }
+
+    @Benchmark
+    public Number apply() {
+        return strategy.apply(num1, num2);
+    }
+
+    @Benchmark
+    public Number evaluate() {
+        return factory.evaluate(operation, num1, num2);
+    }
+
+    @Benchmark
+    public long applyLong() {
+        return strategy.applyLong(long1, long2);
+    }
+
+    @Benchmark
+    public double applyDouble() {
+        return strategy.applyDouble(double1, double2);
+    }
+}
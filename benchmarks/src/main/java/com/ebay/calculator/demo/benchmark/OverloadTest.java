@@ -0,0 +1,150 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.metrics.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Overloads a running calculator with two tenants at once: a heavy one whose {@code --heavy-connections} clients send
+ * chains of {@code --chain-length} steps back to back, and a light one whose {@code --light-connections} clients send
+ * single {@code calculate} requests. Each tenant sends its own {@code X-Client-Id}. A client whose request is shed
+ * with 429 or 503 waits {@code --backoff-ms} before sending the next one. Run it once against a server started with
+ * {@code calculator.admission.enabled=false} and once with admission control to compare the light tenant's latency.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.ebay.calculator.demo.benchmark.OverloadTest \
+ *     --url http://localhost:8080 --heavy-connections 64 --light-connections 8 --seconds 20
+ * </pre>
+ */
+public final class OverloadTest {
+
+    private static final String CALCULATE_BODY = "{\"operation\":\"ADD\",\"num1\":12,\"num2\":30}";
+
+    private OverloadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        int heavyConnections = 64;
+        int lightConnections = 8;
+        int chainLength = 20_000;
+        int seconds = 20;
+        int warmupSeconds = 5;
+        long backoffMillis = 10;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--url" -> url = args[i + 1];
+                case "--heavy-connections" -> heavyConnections = Integer.parseInt(args[i + 1]);
+                case "--light-connections" -> lightConnections = Integer.parseInt(args[i + 1]);
+                case "--chain-length" -> chainLength = Integer.parseInt(args[i + 1]);
+                case "--seconds" -> seconds = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                case "--backoff-ms" -> backoffMillis = Long.parseLong(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        HttpRequest heavy = request(url + "/api/calculator/chainCalculate", "heavy", chainBody(chainLength));
+        HttpRequest light = request(url + "/api/calculator/calculate", "light", CALCULATE_BODY);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient client = HttpClient.newBuilder().executor(clients).build();
+            if (warmupSeconds > 0) {
+                run(client, clients, heavy, heavyConnections, light, lightConnections, warmupSeconds, backoffMillis);
+            }
+            Result[] results = run(client, clients, heavy, heavyConnections, light, lightConnections, seconds,
+                    backoffMillis);
+            print("heavy", results[0], seconds);
+            print("light", results[1], seconds);
+        }
+    }
+
+    private static Result[] run(HttpClient client, ExecutorService clients, HttpRequest heavy, int heavyConnections,
+                                HttpRequest light, int lightConnections, int seconds, long backoffMillis)
+            throws Exception {
+        Result heavyResult = new Result();
+        Result lightResult = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < heavyConnections + lightConnections; i++) {
+            boolean isHeavy = i < heavyConnections;
+            HttpRequest request = isHeavy ? heavy : light;
+            Result result = isHeavy ? heavyResult : lightResult;
+            futures.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200) {
+                            result.latencies.record(System.nanoTime() - start);
+                            continue;
+                        }
+                        (status == 429 ? result.tooManyRequests : status == 503 ? result.unavailable : result.errors)
+                                .incrementAndGet();
+                        Thread.sleep(backoffMillis);
+                    } catch (InterruptedException ex) {
+                        return null;
+                    } catch (Exception ex) {
+                        result.errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return new Result[]{heavyResult, lightResult};
+    }
+
+    private static HttpRequest request(String url, String client, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("X-Client-Id", client)
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static String chainBody(int length) {
+        StringBuilder operations = new StringBuilder();
+        StringBuilder operands = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            String separator = i == 0 ? "" : ",";
+            operations.append(separator).append(i % 2 == 0 ? "\"ADD\"" : "\"MULTIPLY\"");
+            operands.append(separator).append(i % 2 == 0 ? "1.5" : "0.5");
+        }
+        return "{\"initialValue\":1,\"operations\":[" + operations + "],\"operands\":[" + operands + "]}";
+    }
+
+    private static void print(String tenant, Result result, int seconds) {
+        Histogram latencies = result.latencies;
+        System.out.printf("%s: ok=%d (%.0f req/s) 429=%d 503=%d errors=%d%n", tenant, latencies.count(),
+                latencies.count() / (double) seconds, result.tooManyRequests.get(), result.unavailable.get(),
+                result.errors.get());
+        System.out.printf("%s: latency p50=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n", tenant,
+                millis(latencies.percentile(50)), millis(latencies.percentile(99)),
+                millis(latencies.percentile(99.9)), millis(latencies.max()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Result {
+        private final Histogram latencies = new Histogram();
+        private final AtomicLong tooManyRequests = new AtomicLong();
+        private final AtomicLong unavailable = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
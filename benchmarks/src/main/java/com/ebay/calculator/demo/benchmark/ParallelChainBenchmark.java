@@ -0,0 +1,71 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel against sequential reduction of long ADD/SUBTRACT chains. A threshold of {@code 2147483647} disables
+ * parallel reduction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class ParallelChainBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int length;
+
+    @Param({"16384", "2147483647"})
+    public int parallelThreshold;
+
+    private CalculatorService calculatorService;
+    private List<Operation> operations;
+    private List<Number> doubleOperands;
+    private List<Number> integerOperands;
+
+    @Setup
+    public void setUp() {
+        calculatorService = Fixtures.calculatorService(new OperationStrategyFactory(), parallelThreshold);
+
+        Random random = new Random(42);
+        operations = new ArrayList<>(length);
+        doubleOperands = new ArrayList<>(length);
+        integerOperands = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            operations.add(random.nextBoolean() ? Operation.ADD : Operation.SUBTRACT);
+            int operand = 1 + random.nextInt(9);
+            doubleOperands.add((double) operand);
+            integerOperands.add(operand);
+        }
+    }
+
+    @Benchmark
+    public Number doubleSumChain() {
+        return calculatorService.chainOperations(1.0, operations, doubleOperands);
+    }
+
+    @Benchmark
+    public Number integerSumChain() {
+        return calculatorService.chainOperations(1, operations, integerOperands);
+    }
+}
@@ -0,0 +1,71 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.register.DecimalRegister;
+import com.ebay.calculator.demo.register.DoubleRegister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Additions to one shared running total: a striped {@link DoubleRegister} and {@link DecimalRegister}, against a
+ * single compare-and-set cell, which is what a register without stripes would be. Run it with JMH's {@code -t} at
+ * 1, 2, 4, ... threads up to the number of cores to see how each scales with writers:
+ *
+ * <pre>
+ * java --enable-preview -jar benchmarks/target/benchmarks.jar RegisterBenchmark -t 4
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+public class RegisterBenchmark {
+
+    private static final int STRIPES = 64;
+
+    private DoubleRegister stripedDouble;
+    private DecimalRegister stripedDecimal;
+    private final AtomicLong singleCell = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        stripedDouble = new DoubleRegister("double", STRIPES, 0);
+        stripedDecimal = new DecimalRegister("decimal", STRIPES, 0);
+    }
+
+    @Benchmark
+    public void stripedDoubleAdd() {
+        stripedDouble.update(Operation.ADD, 1.25);
+    }
+
+    @Benchmark
+    public void stripedDecimalAdd() {
+        stripedDecimal.update(Operation.ADD, 1.25);
+    }
+
+    @Benchmark
+    public void singleCellAdd() {
+        long bits;
+        do {
+            bits = singleCell.get();
+        } while (!singleCell.compareAndSet(bits, Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + 1.25)));
+    }
+
+    @Benchmark
+    public Number stripedDoubleRead() {
+        return stripedDouble.value();
+    }
+}
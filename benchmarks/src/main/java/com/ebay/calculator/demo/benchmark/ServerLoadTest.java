@@ -0,0 +1,155 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.metrics.Histogram;
+import com.ebay.calculator.demo.server.CalculatorServer;
+import com.ebay.calculator.demo.wire.BinaryCodec;
+import com.ebay.calculator.demo.wire.WireFormat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test against a running {@link CalculatorServer}. Each of {@code --connections} clients keeps
+ * {@code --pipeline} calculate requests in flight on its own connection: it writes that many requests in one call,
+ * then reads all of their responses. Latency is measured per request, from the write to the arrival of its response.
+ *
+ * <pre>
+ * java --enable-preview -cp benchmarks/target/benchmarks.jar com.ebay.calculator.demo.benchmark.ServerLoadTest \
+ *     --port 9090 --connections 4 --pipeline 16 --seconds 20
+ * </pre>
+ */
+public final class ServerLoadTest {
+
+    private ServerLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String host = "localhost";
+        int port = 9090;
+        int connections = 1;
+        int pipeline = 1;
+        int seconds = 20;
+        int warmupSeconds = 5;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--host" -> host = args[i + 1];
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--connections" -> connections = Integer.parseInt(args[i + 1]);
+                case "--pipeline" -> pipeline = Integer.parseInt(args[i + 1]);
+                case "--seconds" -> seconds = Integer.parseInt(args[i + 1]);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        if (warmupSeconds > 0) {
+            run(address, connections, pipeline, warmupSeconds);
+        }
+        Result result = run(address, connections, pipeline, seconds);
+
+        Histogram latencies = result.latencies;
+        System.out.printf("connections=%d pipeline=%d seconds=%d%n", connections, pipeline, seconds);
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s%n", latencies.count(), result.errors.get(),
+                latencies.count() / (double) seconds);
+        System.out.printf("latency p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus%n",
+                micros(latencies.percentile(50)), micros(latencies.percentile(99)),
+                micros(latencies.percentile(99.9)), micros(latencies.max()));
+    }
+
+    private static Result run(InetSocketAddress address, int connections, int pipeline, int seconds)
+            throws Exception {
+        Result result = new Result();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        List<Thread> clients = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            Thread client = new Thread(() -> {
+                try {
+                    runClient(address, pipeline, deadline, result);
+                } catch (IOException ex) {
+                    result.errors.incrementAndGet();
+                }
+            }, "server-load-" + i);
+            client.start();
+            clients.add(client);
+        }
+        for (Thread client : clients) {
+            client.join();
+        }
+        return result;
+    }
+
+    private static void runClient(InetSocketAddress address, int pipeline, long deadline, Result result)
+            throws IOException {
+        try (SocketChannel channel = SocketChannel.open(address)) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            ByteBuffer requests = ByteBuffer.allocateDirect(pipeline * 32);
+            ByteBuffer responses = ByteBuffer.allocateDirect(pipeline * 32);
+            long[] sentAt = new long[pipeline];
+            long requestId = 0;
+            while (System.nanoTime() < deadline) {
+                requests.clear();
+                for (int i = 0; i < pipeline; i++) {
+                    writeRequest(requests, requestId + i, i);
+                }
+                requests.flip();
+                long start = System.nanoTime();
+                for (int i = 0; i < pipeline; i++) {
+                    sentAt[i] = start;
+                }
+                while (requests.hasRemaining()) {
+                    channel.write(requests);
+                }
+
+                responses.clear();
+                int received = 0;
+                while (received < pipeline) {
+                    if (channel.read(responses) < 0) {
+                        throw new IOException("Connection closed by server");
+                    }
+                    responses.flip();
+                    while (responses.remaining() >= Integer.BYTES
+                            && responses.remaining() >= Integer.BYTES + responses.getInt(responses.position())) {
+                        int length = responses.getInt();
+                        long id = responses.getLong();
+                        byte status = responses.get();
+                        responses.position(responses.position() + length - Long.BYTES - 1);
+                        if (id != requestId + received || status != CalculatorServer.STATUS_OK) {
+                            result.errors.incrementAndGet();
+                        }
+                        result.latencies.record(System.nanoTime() - sentAt[received]);
+                        received++;
+                    }
+                    responses.compact();
+                }
+                requestId += pipeline;
+            }
+        }
+    }
+
+    private static void writeRequest(ByteBuffer buffer, long requestId, int index) {
+        int start = buffer.position();
+        buffer.position(start + CalculatorServer.PREFIX_BYTES);
+        buffer.put(WireFormat.VERSION).put(WireFormat.CALCULATE).putInt(1).put(WireFormat.opcode(Operation.ADD));
+        BinaryCodec.writeOperand(buffer, 12 + index);
+        BinaryCodec.writeOperand(buffer, 30);
+        buffer.putInt(start, buffer.position() - start - Integer.BYTES).putLong(start + Integer.BYTES, requestId);
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    private static final class Result {
+        private final Histogram latencies = new Histogram();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
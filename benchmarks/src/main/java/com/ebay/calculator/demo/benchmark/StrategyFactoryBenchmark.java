@@ -0,0 +1,50 @@
+package com.ebay.calculator.demo.benchmark;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of resolving a strategy through {@link OperationStrategyFactory#getStrategy(Operation)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "--enable-preview")
+public class StrategyFactoryBenchmark {
+
+    private OperationStrategyFactory factory;
+    private Operation[] operations;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        operations = Operation.values();
+    }
+
+    @Benchmark
+    public OperationStrategy getStrategy() {
+        return factory.getStrategy(Operation.DIVIDE);
+    }
+
+    @Benchmark
+    public OperationStrategy getStrategyRotating() {
+        Operation op = operations[next++ & 3];
+        return factory.getStrategy(op);
+    }
+}
@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive of the classes loaded while the application starts and serves its first requests.
+# Later runs map the archive instead of loading and verifying those classes again:
+#
+#   java --enable-preview --add-modules jdk.incubator.vector -XX:SharedArchiveFile=target/app-cds.jsa \
+#       -cp ... CalculatorDemoApplication
+#
+# The archive is dumped with the module flags the pom compiles with, which production launches need for the Vector
+# API column kernel, so that it holds the classes such a launch loads. Start the application with the same flags.
+#
+# usage: scripts/build-appcds.sh [application arguments...], e.g. --spring.profiles.active=prod,fast
+# The archive is only valid for the same JDK and the same classpath, so rebuild it with every release.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+PORT="${PORT:-18080}"
+ARCHIVE="${ARCHIVE:-target/app-cds.jsa}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAVA_FLAGS=(--enable-preview --add-modules jdk.incubator.vector)
+
+mvn -q package -DskipTests
+mvn -q dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+# CDS only archives classes from jar files, so the application classes are used from the packaged jar.
+CLASSPATH="$(ls target/ebay-calculator-*.jar | head -1):$(cat target/classpath.txt)"
+
+"$JAVA" "${JAVA_FLAGS[@]}" -XX:ArchiveClassesAtExit="$ARCHIVE" -cp "$CLASSPATH" \
+    com.ebay.calculator.demo.CalculatorDemoApplication --server.port="$PORT" "$@" &
+pid=$!
+
+# Exercise the JSON endpoints so that the classes of the request path are archived too.
+until curl -sf -o /dev/null -X POST -H 'Content-Type: application/json' \
+        -d '{"operation":"ADD","num1":1,"num2":2}' "http://localhost:$PORT/api/calculator/calculate"; do
+    sleep 0.1
+done
+curl -sf -o /dev/null -X POST -H 'Content-Type: application/json' \
+    -d '{"initialValue":1,"operations":["ADD","MULTIPLY"],"operands":[2,3]}' \
+    "http://localhost:$PORT/api/calculator/chainCalculate"
+
+# The archive is written when the JVM exits.
+kill "$pid"
+wait "$pid" || true
+ls -l "$ARCHIVE"
@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Measures time to first response: from launching the JVM until POST /api/calculator/calculate returns 200.
+#
+# usage: scripts/measure-startup.sh [runs] [JVM and application arguments...]
+#   scripts/measure-startup.sh 5
+#   scripts/measure-startup.sh 5 --spring.profiles.active=fast
+#   scripts/measure-startup.sh 5 -XX:SharedArchiveFile=target/app-cds.jsa --spring.profiles.active=fast
+#
+# The JVM always gets the module flags the pom compiles with, as build-appcds.sh does, so startup is measured with the
+# Vector API column kernel that production launches use.
+# --spring.*, --server.* and --calculator.* arguments go to the application, all others to the JVM. The endpoint is
+# polled every 100 ms: polling faster steals enough CPU from the starting JVM on small instances to skew the result.
+# Needs `mvn package -DskipTests` and `mvn dependency:build-classpath -Dmdep.outputFile=target/classpath.txt`.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+shift || true
+JVM_ARGS=()
+APP_ARGS=()
+for arg in "$@"; do
+    if [[ "$arg" == --spring.* || "$arg" == --calculator.* || "$arg" == --server.* ]]; then
+        APP_ARGS+=("$arg")
+    else
+        JVM_ARGS+=("$arg")
+    fi
+done
+
+PORT="${PORT:-18080}"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+JAVA_FLAGS=(--enable-preview --add-modules jdk.incubator.vector)
+CLASSPATH="$(ls target/ebay-calculator-*.jar | head -1):$(cat target/classpath.txt)"
+BODY='{"operation":"ADD","num1":1,"num2":2}'
+
+times=()
+for ((run = 1; run <= RUNS; run++)); do
+    start=$(date +%s%N)
+    "$JAVA" "${JAVA_FLAGS[@]}" "${JVM_ARGS[@]}" -cp "$CLASSPATH" com.ebay.calculator.demo.CalculatorDemoApplication \
+        --server.port="$PORT" "${APP_ARGS[@]}" > /dev/null 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null -X POST -H 'Content-Type: application/json' -d "$BODY" \
+            "http://localhost:$PORT/api/calculator/calculate"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited before responding" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    elapsed=$((($(date +%s%N) - start) / 1000000))
+    kill "$pid"
+    wait "$pid" || true
+    times+=("$elapsed")
+    echo "run $run: ${elapsed} ms"
+done
+
+median=$(printf '%s\n' "${times[@]}" | sort -n | awk '{ t[NR] = $1 } END { print t[int((NR + 1) / 2)] }')
+echo "median time to first response: ${median} ms"
@@ -8,6 +8,6 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class CalculatorDemoApplication {
 
     public static void main(String[] args) {
-        SpringBootApplication.run(CalculatorDemoApplication.class);
+        SpringApplication.run(CalculatorDemoApplication.class, args);
     }
 }
@@ -0,0 +1,87 @@
+package com.ebay.calculator.demo.admission;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A concurrency limit that follows the latency of the requests it admits, in the style of a gradient limiter.
+ *
+ * <p>Every completed request contributes its latency per unit of cost. A short and a long moving average of these
+ * samples are kept; their ratio is the gradient. While the short-term latency stays within {@link #TOLERANCE} times
+ * the long-term latency the gradient is 1 and the limit grows by about its square root per sample (additive
+ * increase). Once queueing pushes the short-term latency above that, the gradient drops towards {@link #MIN_GRADIENT}
+ * and the limit shrinks by up to half (multiplicative decrease). Every new limit is blended into the current one
+ * with {@link #SMOOTHING}, so a single slow request does not halve it.</p>
+ *
+ * <p>Reading the limit never locks. A sample that arrives while another one is being applied is dropped: samples
+ * are plentiful under load, and no request waits for the limit to be updated.</p>
+ */
+public class AdaptiveLimit {
+
+    /** How many times the long-term latency the short-term latency may reach before the limit shrinks. */
+    static final double TOLERANCE = 2.0;
+    static final double MIN_GRADIENT = 0.5;
+    static final double SMOOTHING = 0.2;
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+
+    private final double minLimit;
+    private final double maxLimit;
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile double limit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * @param initialLimit the limit before the first sample
+     * @param minLimit the lowest the limit can shrink to
+     * @param maxLimit the highest the limit can grow to
+     */
+    public AdaptiveLimit(double initialLimit, double minLimit, double maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= minimum <= initial <= maximum.");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+    }
+
+    public double get() {
+        return limit;
+    }
+
+    /**
+     * Updates the limit with the latency of a completed request.
+     *
+     * @param latencyPerUnit the request's latency divided by its cost
+     * @param inFlight the cost in flight when the request was admitted, including the request itself
+     */
+    public void sample(double latencyPerUnit, double inFlight) {
+        if (!updating.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (longLatency == 0) {
+                shortLatency = latencyPerUnit;
+                longLatency = latencyPerUnit;
+                return;
+            }
+            shortLatency += (latencyPerUnit - shortLatency) / SHORT_WINDOW;
+            longLatency += (latencyPerUnit - longLatency) / LONG_WINDOW;
+            // Once the overload has passed, the long-term latency catches up with the short-term one faster.
+            if (longLatency > 2 * shortLatency) {
+                longLatency *= 0.95;
+            }
+
+            double current = limit;
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+            double target = current * gradient + Math.sqrt(current);
+            // Using less than half of the limit says nothing about whether a higher one would be safe.
+            if (target > current && inFlight < current / 2) {
+                return;
+            }
+            limit = Math.max(minLimit, Math.min(maxLimit, current * (1 - SMOOTHING) + target * SMOOTHING));
+        } finally {
+            updating.set(false);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ebay.calculator.demo.admission;
+
+import com.ebay.calculator.demo.enums.AdmissionDecision;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Admits calculator requests through the {@link AdmissionLimiter} before their body is read, so a request that is
+ * shed costs the server next to nothing. A request rejected because the server is at its limit gets 503, one from a
+ * client over its fair share gets 429; both carry {@code Retry-After: 1}.
+ *
+ * <p>The cost of a request is one unit plus one per {@code bytesPerUnit} bytes of body. Request bodies grow with the
+ * work they ask for, so a {@code chainCalculate} request costs in proportion to the length of its chain, and a batch
+ * to its size, while a single {@code calculate} costs one unit. A body of unknown length is charged as much as the
+ * limit allows. Clients are told apart by a header, or by their address if they do not send it.</p>
+ */
+@Component
+public class AdmissionInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".permit";
+
+    private final AdmissionLimiter limiter;
+    private final String clientHeader;
+    private final long bytesPerUnit;
+
+    @Autowired
+    public AdmissionInterceptor(AdmissionLimiter limiter, CalculatorMetrics metrics,
+                                @Value("${calculator.admission.client-header:X-Client-Id}") String clientHeader,
+                                @Value("${calculator.admission.bytes-per-unit:4096}") long bytesPerUnit) {
+        if (bytesPerUnit < 1) {
+            throw new IllegalArgumentException("Bytes per cost unit must be positive.");
+        }
+        this.limiter = limiter;
+        this.clientHeader = clientHeader;
+        this.bytesPerUnit = bytesPerUnit;
+        metrics.registerAdmission(limiter::stats);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        AdmissionLimiter.Permit permit = limiter.acquire(client(request), cost(request));
+        if (permit.getDecision() == AdmissionDecision.ADMITTED) {
+            request.setAttribute(PERMIT_ATTRIBUTE, permit);
+            return true;
+        }
+        response.setStatus(permit.getDecision() == AdmissionDecision.OVER_CLIENT_SHARE
+                ? HttpStatus.TOO_MANY_REQUESTS.value()
+                : HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object permit = request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            ((AdmissionLimiter.Permit) permit).release();
+        }
+    }
+
+    private String client(HttpServletRequest request) {
+        String client = request.getHeader(clientHeader);
+        return client != null && !client.isEmpty() ? client : request.getRemoteAddr();
+    }
+
+    private long cost(HttpServletRequest request) {
+        long length = request.getContentLengthLong();
+        return length < 0 ? Long.MAX_VALUE : 1 + length / bytesPerUnit;
+    }
+}
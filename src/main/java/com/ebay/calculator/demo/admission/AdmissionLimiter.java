@@ -0,0 +1,166 @@
+package com.ebay.calculator.demo.admission;
+
+import com.ebay.calculator.demo.enums.AdmissionDecision;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits requests while the cost in flight stays within an {@link AdaptiveLimit}, and shares that limit fairly
+ * between clients.
+ *
+ * <p>Every request has a cost of at least one unit. A request is admitted if it fits under the limit. Once the limit
+ * is reached, a client that holds no more than its fair share, the limit divided by the number of clients with
+ * requests in flight, is still admitted; every other request is rejected. A client that sends expensive requests
+ * therefore cannot keep the cheap requests of other clients out: it is rejected with
+ * {@link AdmissionDecision#OVER_CLIENT_SHARE} while they are let in. With a single client there is nobody to be fair
+ * to, and a full server rejects with {@link AdmissionDecision#OVERLOADED}.</p>
+ *
+ * <p>The fair shares alone do not bound the cost admitted above the limit. Each client's share is taken when its
+ * request arrives, and a client that arrives when {@code k} clients are active gets {@code limit / k}. Clients arriving
+ * one after another can thus hold about {@code limit * H(n)} in total, where {@code H(n)} is the {@code n}th harmonic
+ * number: 4.7 times the limit for 64 clients. Since callers choose their own client ids, one caller could reach that
+ * by using new ids. Requests admitted on their fair share are therefore only admitted while the cost in flight stays
+ * within twice the limit, and the server rejects with {@link AdmissionDecision#OVERLOADED} beyond that.</p>
+ *
+ * <p>The cost of a request is capped at the current limit, so a request costing more than the whole limit still
+ * runs on an otherwise idle server.</p>
+ */
+public class AdmissionLimiter {
+
+    /**
+     * The cost in flight, as a multiple of the limit, up to which clients within their fair share are admitted.
+     */
+    private static final int MAX_OVERSHOOT = 2;
+
+    private final AdaptiveLimit limit;
+    private final AtomicLong inFlight = new AtomicLong();
+    private final ConcurrentHashMap<String, AtomicLong> clients = new ConcurrentHashMap<>();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejectedOverloaded = new LongAdder();
+    private final LongAdder rejectedClientShare = new LongAdder();
+
+    public AdmissionLimiter(AdaptiveLimit limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Asks to admit a request. An admitted request must {@link Permit#release() release} its permit when it
+     * completes; a rejected one must not run.
+     *
+     * @param client identifies the caller for fair sharing
+     * @param cost the cost of the request in units
+     * @return the permit, whose decision tells whether the request was admitted
+     */
+    public Permit acquire(String client, long cost) {
+        double current = limit.get();
+        long units = Math.max(1, Math.min(cost, (long) current));
+        long held = clients.compute(client, (key, count) -> {
+            if (count == null) {
+                return new AtomicLong(units);
+            }
+            count.addAndGet(units);
+            return count;
+        }).get();
+
+        long total = inFlight.get();
+        while (total + units <= current) {
+            if (inFlight.compareAndSet(total, total + units)) {
+                return admit(client, units, total + units);
+            }
+            total = inFlight.get();
+        }
+        int active = clients.size();
+        boolean withinShare = active > 1 && held <= current / active;
+        if (withinShare) {
+            while (total + units <= MAX_OVERSHOOT * current) {
+                if (inFlight.compareAndSet(total, total + units)) {
+                    return admit(client, units, total + units);
+                }
+                total = inFlight.get();
+            }
+        }
+
+        releaseClient(client, units);
+        if (active > 1 && !withinShare) {
+            rejectedClientShare.increment();
+            return Permit.OVER_CLIENT_SHARE;
+        }
+        rejectedOverloaded.increment();
+        return Permit.OVERLOADED;
+    }
+
+    public AdmissionStats stats() {
+        return new AdmissionStats(limit.get(), inFlight.get(), clients.size(), admitted.sum(),
+                rejectedOverloaded.sum(), rejectedClientShare.sum());
+    }
+
+    private Permit admit(String client, long units, long inFlightAtAdmission) {
+        admitted.increment();
+        return new Permit(this, client, units, inFlightAtAdmission, System.nanoTime());
+    }
+
+    private void release(Permit permit) {
+        inFlight.addAndGet(-permit.units);
+        releaseClient(permit.client, permit.units);
+        limit.sample((System.nanoTime() - permit.startNanos) / (double) permit.units, permit.inFlightAtAdmission);
+    }
+
+    private void releaseClient(String client, long units) {
+        clients.computeIfPresent(client, (key, count) -> count.addAndGet(-units) == 0 ? null : count);
+    }
+
+    /**
+     * The right of one admitted request to run, or the reason it was rejected.
+     */
+    public static final class Permit {
+
+        private static final Permit OVERLOADED = new Permit(AdmissionDecision.OVERLOADED);
+        private static final Permit OVER_CLIENT_SHARE = new Permit(AdmissionDecision.OVER_CLIENT_SHARE);
+
+        private final AdmissionDecision decision;
+        private final AdmissionLimiter limiter;
+        private final String client;
+        private final long units;
+        private final long inFlightAtAdmission;
+        private final long startNanos;
+
+        private Permit(AdmissionDecision decision) {
+            this.decision = decision;
+            this.limiter = null;
+            this.client = null;
+            this.units = 0;
+            this.inFlightAtAdmission = 0;
+            this.startNanos = 0;
+        }
+
+        private Permit(AdmissionLimiter limiter, String client, long units, long inFlightAtAdmission,
+                       long startNanos) {
+            this.decision = AdmissionDecision.ADMITTED;
+            this.limiter = limiter;
+            this.client = client;
+            this.units = units;
+            this.inFlightAtAdmission = inFlightAtAdmission;
+            this.startNanos = startNanos;
+        }
+
+        public AdmissionDecision getDecision() {
+            return decision;
+        }
+
+        public long getUnits() {
+            return units;
+        }
+
+        /**
+         * Returns the permit's cost to the limiter and feeds the request's latency into the limit. Does nothing for
+         * a rejected request.
+         */
+        public void release() {
+            if (limiter != null) {
+                limiter.release(this);
+            }
+        }
+    }
+}
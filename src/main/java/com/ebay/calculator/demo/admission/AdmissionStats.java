@@ -0,0 +1,17 @@
+package com.ebay.calculator.demo.admission;
+
+import lombok.Value;
+
+/**
+ * Point-in-time state of an {@link AdmissionLimiter}. {@code limit} and {@code inFlight} are in cost units;
+ * {@code clients} is the number of clients with a request in flight.
+ */
+@Value
+public class AdmissionStats {
+    double limit;
+    long inFlight;
+    int clients;
+    long admitted;
+    long rejectedOverloaded;
+    long rejectedClientShare;
+}
@@ -0,0 +1,14 @@
+package com.ebay.calculator.demo.cache;
+
+import lombok.Value;
+
+/**
+ * Point-in-time counters of a {@link ResultCache}.
+ */
+@Value
+public class CacheStats {
+    long hits;
+    long misses;
+    long evictions;
+    int size;
+}
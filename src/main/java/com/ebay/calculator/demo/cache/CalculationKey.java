@@ -0,0 +1,130 @@
+package com.ebay.calculator.demo.cache;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Normalized cache key for a single calculation or a chain of calculations.
+ *
+ * <p>Operands are normalized by how {@link com.ebay.calculator.demo.factory.OperationStrategyFactory#evaluate}
+ * treats them, so two keys are equal exactly when their calculations produce equal results of the same type:
+ * {@code Integer} and {@code Long} keep their own kinds because they yield differently typed results,
+ * {@code BigDecimal} keeps its value and scale, and every other {@code Number} (such as {@code Double}, {@code Float},
+ * {@code Short} or {@code BigInteger}) is evaluated through its {@code doubleValue} and is keyed by it.</p>
+ */
+public final class CalculationKey {
+
+    private static final byte INT = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte DECIMAL = 3;
+
+    private final byte[] opcodes;
+    private final byte[] kinds;
+    private final long[] bits;
+    private final BigDecimal[] decimals;
+    private final int hash;
+
+    private CalculationKey(byte[] opcodes, byte[] kinds, long[] bits, BigDecimal[] decimals) {
+        this.opcodes = opcodes;
+        this.kinds = kinds;
+        this.bits = bits;
+        this.decimals = decimals;
+        int h = Arrays.hashCode(opcodes);
+        h = 31 * h + Arrays.hashCode(kinds);
+        h = 31 * h + Arrays.hashCode(bits);
+        h = 31 * h + Arrays.hashCode(decimals);
+        this.hash = h;
+    }
+
+    /**
+     * Builds the key of a single calculation.
+     */
+    public static CalculationKey of(Operation operation, Number num1, Number num2) {
+        return of(operation.ordinal(), num1, num2);
+    }
+
+    /**
+     * Builds the key of a single calculation of the operation with the given opcode.
+     */
+    public static CalculationKey of(int opcode, Number num1, Number num2) {
+        return chain(num1, new byte[]{(byte) opcode}, List.of(num2));
+    }
+
+    /**
+     * Builds the key of a chain of calculations with arbitrary {@code Number} operands.
+     */
+    public static CalculationKey ofChain(Number initialValue, List<Operation> operations, List<Number> operands) {
+        byte[] opcodes = new byte[operations.size()];
+        for (int i = 0; i < opcodes.length; i++) {
+            opcodes[i] = (byte) operations.get(i).ordinal();
+        }
+        return chain(initialValue, opcodes, operands);
+    }
+
+    /**
+     * Builds the key of a chain of calculations over {@code double} values, as compiled by
+     * {@link com.ebay.calculator.demo.chain.ChainCompiler}. The arrays are used as is.
+     */
+    public static CalculationKey ofDoubleChain(double initialValue, byte[] opcodes, double[] operands) {
+        long[] bits = new long[operands.length + 1];
+        bits[0] = Double.doubleToLongBits(initialValue);
+        for (int i = 0; i < operands.length; i++) {
+            bits[i + 1] = Double.doubleToLongBits(operands[i]);
+        }
+        return new CalculationKey(opcodes, null, bits, null);
+    }
+
+    private static CalculationKey chain(Number initialValue, byte[] opcodes, List<? extends Number> operands) {
+        int size = operands.size() + 1;
+        byte[] kinds = new byte[size];
+        long[] bits = new long[size];
+        BigDecimal[] decimals = null;
+
+        for (int i = 0; i < size; i++) {
+            Number value = i == 0 ? initialValue : operands.get(i - 1);
+            if (value instanceof Integer) {
+                kinds[i] = INT;
+                bits[i] = value.longValue();
+            } else if (value instanceof Long) {
+                kinds[i] = LONG;
+                bits[i] = value.longValue();
+            } else if (value instanceof BigDecimal) {
+                if (decimals == null) {
+                    decimals = new BigDecimal[size];
+                }
+                kinds[i] = DECIMAL;
+                decimals[i] = (BigDecimal) value;
+            } else {
+                kinds[i] = DOUBLE;
+                bits[i] = Double.doubleToLongBits(value.doubleValue());
+            }
+        }
+
+        return new CalculationKey(opcodes, kinds, bits, decimals);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof CalculationKey)) {
+            return false;
+        }
+        CalculationKey that = (CalculationKey) other;
+        return hash == that.hash
+                && Arrays.equals(opcodes, that.opcodes)
+                && Arrays.equals(kinds, that.kinds)
+                && Arrays.equals(bits, that.bits)
+                && Arrays.equals(decimals, that.decimals);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
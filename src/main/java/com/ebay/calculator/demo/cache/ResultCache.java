@@ -0,0 +1,223 @@
+package com.ebay.calculator.demo.cache;
+
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrent, size-bounded memoization cache.
+ *
+ * <p>Reads never block: an entry is looked up in a {@link ConcurrentHashMap} and its access metadata is updated
+ * with plain volatile writes. When a write pushes the cache over its maximum size, one writer at a time runs a
+ * sampled eviction: it inspects the next {@value #EVICTION_SAMPLE_SIZE} entries from a rotating cursor and evicts
+ * the worst candidate according to the {@link EvictionPolicy}. The bound can therefore be exceeded briefly under
+ * concurrent writes, and LRU/LFU are approximations, in exchange for no global lock on the read path.</p>
+ *
+ * <p>A cache with a maximum size of zero is disabled: reads always miss and writes are ignored.</p>
+ *
+ * @param <K> the key type, which must implement {@code equals} and {@code hashCode}
+ * @param <V> the value type
+ */
+public class ResultCache<K, V> {
+
+    static final int EVICTION_SAMPLE_SIZE = 8;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maximumSize;
+    private final EvictionPolicy policy;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private Iterator<Map.Entry<K, Entry<V>>> evictionCursor;
+
+    /**
+     * @param maximumSize the maximum number of entries, or {@code 0} to disable the cache
+     * @param policy the eviction policy
+     * @param ttl the time to live of an entry, or for {@link EvictionPolicy#IDLE} the time it may go unread; not used
+     *            by the other policies
+     * @param ttlUnit the unit of {@code ttl}
+     */
+    public ResultCache(int maximumSize, EvictionPolicy policy, long ttl, TimeUnit ttlUnit) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Cache maximum size cannot be negative.");
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("Eviction policy cannot be null.");
+        }
+        this.maximumSize = maximumSize;
+        this.policy = policy;
+        this.ttlNanos = ttlUnit.toNanos(ttl);
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or {@code null} if it is absent or has expired.
+     *
+     * @param key the key to look up
+     * @return the cached value or {@code null}
+     */
+    public V get(K key) {
+        if (maximumSize == 0) {
+            return null;
+        }
+
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (isExpired(entry, now)) {
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+            }
+            misses.increment();
+            return null;
+        }
+
+        entry.lastAccess = now;
+        if (policy == EvictionPolicy.LFU) {
+            entry.frequency++;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    /**
+     * Stores {@code value} under {@code key}, evicting entries if the cache grows past its maximum size.
+     *
+     * @param key the key
+     * @param value the value, must not be {@code null}
+     */
+    public void put(K key, V value) {
+        if (maximumSize == 0) {
+            return;
+        }
+
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        if (entries.size() > maximumSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Removes the entry for {@code key}, if any. This does not count as an eviction.
+     *
+     * @param key the key to remove
+     * @return the removed value, or {@code null} if there was none
+     */
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        return entry == null ? null : entry.value;
+    }
+
+    /**
+     * Evicts every entry that has expired under the {@link EvictionPolicy#TTL} or {@link EvictionPolicy#IDLE}
+     * policy. Expired entries are otherwise only removed when they are read or when the cache is full.
+     */
+    public void evictExpired() {
+        if (policy != EvictionPolicy.TTL && policy != EvictionPolicy.IDLE) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (isExpired(entry.getValue(), now) && entries.remove(entry.getKey(), entry.getValue())) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes all entries. Counters are kept.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return a snapshot of the hit, miss and eviction counters and the current size
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            while (entries.size() > maximumSize) {
+                K victim = null;
+                Entry<V> victimEntry = null;
+                for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+                    if (evictionCursor == null || !evictionCursor.hasNext()) {
+                        evictionCursor = entries.entrySet().iterator();
+                        if (!evictionCursor.hasNext()) {
+                            break;
+                        }
+                    }
+                    Map.Entry<K, Entry<V>> candidate = evictionCursor.next();
+                    if (victimEntry == null || isWorse(candidate.getValue(), victimEntry)) {
+                        victim = candidate.getKey();
+                        victimEntry = candidate.getValue();
+                    }
+                }
+                if (victim == null) {
+                    return;
+                }
+                if (entries.remove(victim, victimEntry)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        switch (policy) {
+            case TTL:
+                return now - entry.createdAt > ttlNanos;
+            case IDLE:
+                return now - entry.lastAccess > ttlNanos;
+            default:
+                return false;
+        }
+    }
+
+    private boolean isWorse(Entry<V> candidate, Entry<V> current) {
+        switch (policy) {
+            case LFU:
+                return candidate.frequency < current.frequency
+                        || (candidate.frequency == current.frequency && candidate.lastAccess - current.lastAccess < 0);
+            case TTL:
+                return candidate.createdAt - current.createdAt < 0;
+            case LRU:
+            case IDLE:
+            default:
+                return candidate.lastAccess - current.lastAccess < 0;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long createdAt;
+        private volatile long lastAccess;
+        private volatile int frequency;
+
+        private Entry(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+            this.lastAccess = createdAt;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.ebay.calculator.demo.cache;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical computations: the first caller of {@link #execute} for a key runs the computation,
+ * and callers with the same key that arrive while it runs wait for it and receive the same result or exception.
+ * Nothing is kept once the computation finishes; remembering results is the job of a {@link ResultCache}.
+ *
+ * <p>The number of keys in flight is bounded. When the bound is reached, further callers compute on their own
+ * without registering, so a burst of distinct keys cannot grow the map. The bound can be exceeded briefly under
+ * concurrent registrations. A single flight with a maximum of zero is disabled: every caller computes.</p>
+ *
+ * @param <K> the key type, which must implement {@code equals} and {@code hashCode}
+ * @param <V> the result type
+ */
+public class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final int maximumInFlight;
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+
+    /**
+     * @param maximumInFlight the maximum number of keys computed at the same time, or {@code 0} to disable
+     */
+    public SingleFlight(int maximumInFlight) {
+        if (maximumInFlight < 0) {
+            throw new IllegalArgumentException("Maximum in-flight count cannot be negative.");
+        }
+        this.maximumInFlight = maximumInFlight;
+    }
+
+    /**
+     * Returns the result of {@code computation} for {@code key}, sharing it with every concurrent caller with an
+     * equal key. Exceptions thrown by the computation are rethrown to all of them.
+     *
+     * @param key the key identifying the computation
+     * @param computation computes the result; runs on the calling thread if this caller leads
+     * @return the result of the computation
+     */
+    public V execute(K key, Supplier<V> computation) {
+        if (maximumInFlight == 0) {
+            return computation.get();
+        }
+
+        CompletableFuture<V> flight = inFlight.get(key);
+        if (flight == null) {
+            if (inFlight.size() >= maximumInFlight) {
+                bypassed.increment();
+                return computation.get();
+            }
+            CompletableFuture<V> leader = new CompletableFuture<>();
+            flight = inFlight.putIfAbsent(key, leader);
+            if (flight == null) {
+                return lead(key, leader, computation);
+            }
+        }
+
+        coalesced.increment();
+        return await(flight);
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> computation) {
+        executions.increment();
+        try {
+            V result = computation.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Detaches every computation in flight. Callers already waiting still receive its result; later callers start
+     * a new computation.
+     */
+    public void clear() {
+        inFlight.clear();
+    }
+
+    /**
+     * Returns a snapshot of the counters.
+     *
+     * @return the number of computations run, callers coalesced and callers that bypassed a full map
+     */
+    public SingleFlightStats stats() {
+        return new SingleFlightStats(executions.sum(), coalesced.sum(), bypassed.sum(), inFlight.size());
+    }
+}
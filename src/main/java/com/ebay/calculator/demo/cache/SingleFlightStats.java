@@ -0,0 +1,16 @@
+package com.ebay.calculator.demo.cache;
+
+import lombok.Value;
+
+/**
+ * Point-in-time counters of a {@link SingleFlight}. {@code coalesced} callers received the result of one of the
+ * {@code executions} instead of computing it; {@code bypassed} callers computed on their own because the in-flight
+ * map was full.
+ */
+@Value
+public class SingleFlightStats {
+    long executions;
+    long coalesced;
+    long bypassed;
+    int inFlight;
+}
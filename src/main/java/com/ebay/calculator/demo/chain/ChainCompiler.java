@@ -0,0 +1,154 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.operations.Addition;
+import com.ebay.calculator.demo.operations.Multiplication;
+import com.ebay.calculator.demo.operations.Subtraction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiles chain calculations into {@link ChainProgram}s.
+ *
+ * <p>The operation sequence of a chain is turned into a {@link ChainPlan} once and cached by shape, so identical
+ * chain shapes with different operands only pay for binding their operands.</p>
+ *
+ * <p>Folding is off by default. When {@code calculator.chain.folding-enabled} is set, consecutive ADD/SUBTRACT runs
+ * and MULTIPLY runs are merged into single steps, and runs long enough are reduced in parallel by
+ * {@link ParallelChainEvaluator}. Folding re-associates floating point arithmetic: a folded run adds the sum of its
+ * operands to the running value instead of adding them one at a time. The difference is not limited to the last few
+ * bits of the result; it is bounded relative to the running value and the operands, as described in
+ * {@link ParallelChainEvaluator}, and under cancellation it can be the whole result. {@code 1 + 1e20 - 1e20} is 0
+ * step by step but 1 when folded. Folding is only applied while the built-in strategies are registered for those
+ * operations.</p>
+ */
+@Component
+public class ChainCompiler {
+
+    private final OperationStrategyFactory strategyFactory;
+    private final ParallelChainEvaluator parallelEvaluator;
+    private final boolean foldingEnabled;
+    private final int planCacheSize;
+    private final Map<ShapeKey, ChainPlan> foldedPlans = new ConcurrentHashMap<>();
+    private final Map<ShapeKey, ChainPlan> unfoldedPlans = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ChainCompiler(OperationStrategyFactory strategyFactory, ParallelChainEvaluator parallelEvaluator,
+                         @Value("${calculator.chain.folding-enabled:false}") boolean foldingEnabled,
+                         @Value("${calculator.chain.plan-cache-size:1024}") int planCacheSize) {
+        this.strategyFactory = strategyFactory;
+        this.parallelEvaluator = parallelEvaluator;
+        this.foldingEnabled = foldingEnabled;
+        this.planCacheSize = planCacheSize;
+    }
+
+    /**
+     * Compiles a chain of operations over {@code double} operands.
+     *
+     * @param initialValue the initial value to start the chain
+     * @param operations the operations to perform
+     * @param operands the operand for each operation; the array is used as is and must not be modified afterwards
+     * @return the compiled program
+     * @throws IllegalArgumentException if the lengths of operations and operands do not match
+     * @throws ArithmeticException if a DIVIDE step has a zero operand
+     */
+    public ChainProgram compile(double initialValue, List<Operation> operations, double[] operands) {
+        byte[] opcodes = new byte[operations.size()];
+        for (int i = 0; i < opcodes.length; i++) {
+            opcodes[i] = (byte) operations.get(i).ordinal();
+        }
+        return compile(initialValue, opcodes, operands);
+    }
+
+    /**
+     * Compiles a chain given as op-codes over {@code double} operands. Built-in operations have their
+     * {@link Operation#ordinal()}; any other opcode registered in the {@link OperationStrategyFactory} is accepted.
+     *
+     * @param initialValue the initial value to start the chain
+     * @param opcodes the op-code of each operation; the array is used as is and must not be modified afterwards
+     * @param operands the operand for each operation; the array is used as is and must not be modified afterwards
+     * @return the compiled program
+     * @throws IllegalArgumentException if the lengths of operations and operands do not match, or an op-code is not
+     *                                  registered
+     * @throws ArithmeticException if a DIVIDE step has a zero operand
+     */
+    public ChainProgram compile(double initialValue, byte[] opcodes, double[] operands) {
+        if (opcodes.length != operands.length) {
+            throw new IllegalArgumentException("Operations and operands lists must have the same length.");
+        }
+
+        byte divide = (byte) Operation.DIVIDE.ordinal();
+        for (int i = 0; i < opcodes.length; i++) {
+            if (!strategyFactory.isRegistered(opcodes[i])) {
+                throw new IllegalArgumentException("Unsupported op-code: " + opcodes[i]);
+            }
+            if (opcodes[i] == divide && operands[i] == 0) {
+                throw new ArithmeticException("Cannot divide by zero.");
+            }
+        }
+
+        return plan(opcodes).bind(initialValue, operands, parallelEvaluator);
+    }
+
+    /**
+     * Compiles an already validated chain; its operands are not checked again.
+     *
+     * @param chain the validated chain, whose arrays become part of the program
+     * @return the compiled program
+     */
+    public ChainProgram compile(ValidatedChain chain) {
+        return plan(chain.getOpcodes()).bind(chain.getInitialValue(), chain.getOperands(), parallelEvaluator);
+    }
+
+    private ChainPlan plan(byte[] opcodes) {
+        boolean fold = foldingEnabled && hasBuiltInAlgebra(strategyFactory);
+        Map<ShapeKey, ChainPlan> plans = fold ? foldedPlans : unfoldedPlans;
+
+        ShapeKey key = new ShapeKey(opcodes);
+        ChainPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = fold ? ChainPlan.folded(opcodes) : ChainPlan.unfolded(opcodes);
+            if (plans.size() >= planCacheSize) {
+                plans.clear();
+            }
+            plans.put(key, plan);
+        }
+        return plan;
+    }
+
+    static boolean hasBuiltInAlgebra(OperationStrategyFactory strategyFactory) {
+        return strategyFactory.getStrategy(Operation.ADD).getClass() == Addition.class
+                && strategyFactory.getStrategy(Operation.SUBTRACT).getClass() == Subtraction.class
+                && strategyFactory.getStrategy(Operation.MULTIPLY).getClass() == Multiplication.class;
+    }
+
+    /**
+     * Cache key for a chain shape: the operation sequence, hashed once.
+     */
+    private static final class ShapeKey {
+        private final byte[] opcodes;
+        private final int hash;
+
+        private ShapeKey(byte[] opcodes) {
+            this.opcodes = opcodes;
+            this.hash = Arrays.hashCode(opcodes);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ShapeKey && Arrays.equals(opcodes, ((ShapeKey) other).opcodes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.util.Arrays;
+
+/**
+ * The operand-independent part of a compiled chain. It is derived from the operation sequence alone,
+ * so every chain with the same shape shares one plan.
+ *
+ * <p>Step {@code k} of the plan covers the original steps {@code [runEnds[k - 1], runEnds[k])}. A folded ADD step
+ * adds the signed sum of its run's operands. A folded MULTIPLY step multiplies by the product of its run's operands.
+ * Every other opcode, including those of registered operation definitions, stays a step of its own.</p>
+ */
+class ChainPlan {
+
+    private static final byte ADD = (byte) Operation.ADD.ordinal();
+    private static final byte SUBTRACT = (byte) Operation.SUBTRACT.ordinal();
+    private static final byte MULTIPLY = (byte) Operation.MULTIPLY.ordinal();
+
+    private final byte[] sourceOpcodes;
+    private final byte[] opcodes;
+    private final int[] runEnds;
+
+    private ChainPlan(byte[] sourceOpcodes, byte[] opcodes, int[] runEnds) {
+        this.sourceOpcodes = sourceOpcodes;
+        this.opcodes = opcodes;
+        this.runEnds = runEnds;
+    }
+
+    /**
+     * Builds a plan that merges consecutive ADD/SUBTRACT runs and consecutive MULTIPLY runs.
+     */
+    static ChainPlan folded(byte[] sourceOpcodes) {
+        int size = sourceOpcodes.length;
+        byte[] opcodes = new byte[size];
+        int[] runEnds = new int[size];
+        int steps = 0;
+
+        int i = 0;
+        while (i < size) {
+            byte opcode = sourceOpcodes[i];
+            int end = i + 1;
+            if (isAdditive(opcode)) {
+                while (end < size && isAdditive(sourceOpcodes[end])) {
+                    end++;
+                }
+                opcode = ADD;
+            } else if (opcode == MULTIPLY) {
+                while (end < size && sourceOpcodes[end] == MULTIPLY) {
+                    end++;
+                }
+            }
+            opcodes[steps] = opcode;
+            runEnds[steps] = end;
+            steps++;
+            i = end;
+        }
+
+        return new ChainPlan(sourceOpcodes, Arrays.copyOf(opcodes, steps), Arrays.copyOf(runEnds, steps));
+    }
+
+    /**
+     * Builds a plan that keeps every step as it is.
+     */
+    static ChainPlan unfolded(byte[] sourceOpcodes) {
+        int[] runEnds = new int[sourceOpcodes.length];
+        for (int i = 0; i < runEnds.length; i++) {
+            runEnds[i] = i + 1;
+        }
+        return new ChainPlan(sourceOpcodes, sourceOpcodes, runEnds);
+    }
+
+    /**
+     * Binds the operands of a chain with this plan's shape, producing an executable program.
+     * Runs long enough for {@code parallelEvaluator} are reduced on the fork-join pool.
+     */
+    ChainProgram bind(double initialValue, double[] operands, ParallelChainEvaluator parallelEvaluator) {
+        if (opcodes == sourceOpcodes) {
+            return new ChainProgram(initialValue, opcodes, operands);
+        }
+
+        double[] folded = new double[opcodes.length];
+        int start = 0;
+        for (int k = 0; k < opcodes.length; k++) {
+            int end = runEnds[k];
+            byte opcode = opcodes[k];
+            if ((opcode == ADD || opcode == MULTIPLY) && parallelEvaluator.isParallel(end - start)) {
+                folded[k] = opcode == ADD
+                        ? parallelEvaluator.signedSum(sourceOpcodes, operands, start, end)
+                        : parallelEvaluator.product(operands, start, end);
+            } else if (opcode == ADD) {
+                double sum = 0;
+                for (int i = start; i < end; i++) {
+                    sum += sourceOpcodes[i] == SUBTRACT ? -operands[i] : operands[i];
+                }
+                folded[k] = sum;
+            } else if (opcode == MULTIPLY) {
+                double product = 1;
+                for (int i = start; i < end; i++) {
+                    product *= operands[i];
+                }
+                folded[k] = product;
+            } else {
+                folded[k] = operands[start];
+            }
+            start = end;
+        }
+        return new ChainProgram(initialValue, opcodes, folded);
+    }
+
+    private static boolean isAdditive(byte opcode) {
+        return opcode == ADD || opcode == SUBTRACT;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.enums.Operation;
+import lombok.Getter;
+
+/**
+ * A compiled chain calculation: a compact op-code/operand program evaluated left to right from
+ * {@code initialValue}. Op-codes are the opcodes of the strategy factory, the
+ * {@link Operation#ordinal()} for built-in operations, and {@code operands[i]} belongs to
+ * {@code opcodes[i]}. Programs are produced by {@link ChainCompiler} and are immutable once built.
+ */
+@Getter
+public class ChainProgram {
+
+    private final double initialValue;
+    private final byte[] opcodes;
+    private final double[] operands;
+
+    ChainProgram(double initialValue, byte[] opcodes, double[] operands) {
+        this.initialValue = initialValue;
+        this.opcodes = opcodes;
+        this.operands = operands;
+    }
+
+    /**
+     * @return the number of steps in the program after folding
+     */
+    public int length() {
+        return opcodes.length;
+    }
+}
@@ -0,0 +1,158 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * An editable chain over {@code double} values that keeps the prefix result at every {@code checkpointInterval}-th
+ * step. After a step is replaced, inserted or removed, {@link #evaluate} resumes from the last checkpoint before the
+ * change, so an edit near the end of a long chain costs {@code O(checkpointInterval + suffix)} instead of the whole
+ * chain. Steps are applied one at a time with {@link OperationStrategy#applyDouble}, like an unfolded
+ * {@link ChainProgram}.
+ *
+ * <p>A session is not thread-safe; callers hold its monitor while editing and evaluating it.</p>
+ */
+public class ChainSession {
+
+    @Getter
+    private final String id;
+    @Getter
+    private final double initialValue;
+    private final int checkpointInterval;
+
+    private byte[] opcodes;
+    private double[] operands;
+    @Getter
+    private int length;
+
+    /** {@code checkpoints[k]} is the value before step {@code k * checkpointInterval}. */
+    private double[] checkpoints;
+    /** The first step edited since the last evaluation. */
+    private int dirtyFrom;
+    private boolean current;
+    private double result;
+    private long version;
+    @Getter
+    private int evaluatedSteps;
+
+    /**
+     * @param id the session id
+     * @param chain the initial steps; the arrays are copied
+     * @param checkpointInterval the number of steps between checkpoints
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public ChainSession(String id, ValidatedChain chain, int checkpointInterval) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive.");
+        }
+        this.id = id;
+        this.initialValue = chain.getInitialValue();
+        this.checkpointInterval = checkpointInterval;
+        this.length = chain.length();
+        this.opcodes = Arrays.copyOf(chain.getOpcodes(), Math.max(length, 16));
+        this.operands = Arrays.copyOf(chain.getOperands(), opcodes.length);
+        this.checkpoints = new double[length / checkpointInterval + 1];
+        this.checkpoints[0] = initialValue;
+    }
+
+    /**
+     * Replaces the step at {@code index}.
+     *
+     * @throws IllegalArgumentException if there is no step at {@code index}
+     */
+    public void replaceStep(int index, int opcode, double operand) {
+        checkIndex(index, length);
+        opcodes[index] = (byte) opcode;
+        operands[index] = operand;
+        invalidateFrom(index);
+    }
+
+    /**
+     * Inserts a step before the step at {@code index}; an index equal to {@link #getLength()} appends it.
+     *
+     * @throws IllegalArgumentException if {@code index} is out of range
+     */
+    public void insertStep(int index, int opcode, double operand) {
+        checkIndex(index, length + 1);
+        if (length == opcodes.length) {
+            int capacity = opcodes.length + (opcodes.length >> 1);
+            opcodes = Arrays.copyOf(opcodes, capacity);
+            operands = Arrays.copyOf(operands, capacity);
+        }
+        System.arraycopy(opcodes, index, opcodes, index + 1, length - index);
+        System.arraycopy(operands, index, operands, index + 1, length - index);
+        opcodes[index] = (byte) opcode;
+        operands[index] = operand;
+        length++;
+        invalidateFrom(index);
+    }
+
+    /**
+     * Removes the step at {@code index}.
+     *
+     * @throws IllegalArgumentException if there is no step at {@code index}
+     */
+    public void removeStep(int index) {
+        checkIndex(index, length);
+        System.arraycopy(opcodes, index + 1, opcodes, index, length - index - 1);
+        System.arraycopy(operands, index + 1, operands, index, length - index - 1);
+        length--;
+        invalidateFrom(index);
+    }
+
+    /**
+     * Returns the result of the chain, evaluating the steps from the last checkpoint before the earliest edit.
+     * If {@code version} differs from the version of the last evaluation, a strategy was replaced in between and
+     * every checkpoint is recomputed.
+     *
+     * @param strategies the strategies indexed by opcode, as returned by
+     *                   {@link com.ebay.calculator.demo.factory.OperationStrategyFactory#getStrategies()}
+     * @param version the registry version the strategies belong to
+     * @return the result of the chain
+     */
+    public double evaluate(OperationStrategy[] strategies, long version) {
+        if (version != this.version) {
+            this.version = version;
+            invalidateFrom(0);
+        }
+        if (current) {
+            evaluatedSteps = 0;
+            return result;
+        }
+
+        int checkpoint = dirtyFrom / checkpointInterval;
+        if (checkpoints.length <= length / checkpointInterval) {
+            checkpoints = Arrays.copyOf(checkpoints, length / checkpointInterval + 1);
+        }
+        double value = checkpoints[checkpoint];
+        int from = checkpoint * checkpointInterval;
+        for (int i = from; i < length; i++) {
+            if (i % checkpointInterval == 0) {
+                checkpoints[i / checkpointInterval] = value;
+            }
+            value = strategies[opcodes[i]].applyDouble(value, operands[i]);
+        }
+        if (length % checkpointInterval == 0) {
+            // A step appended later resumes from here.
+            checkpoints[length / checkpointInterval] = value;
+        }
+        evaluatedSteps = Math.max(0, length - from);
+        dirtyFrom = length;
+        current = true;
+        result = value;
+        return value;
+    }
+
+    private void invalidateFrom(int index) {
+        dirtyFrom = Math.min(dirtyFrom, index);
+        current = false;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IllegalArgumentException("Step index " + index + " is out of range [0, " + bound + ").");
+        }
+    }
+}
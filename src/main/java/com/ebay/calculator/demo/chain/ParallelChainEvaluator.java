@@ -0,0 +1,402 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reduces long associative runs of a chain on the common fork-join pool.
+ *
+ * <p>A chain is split into segments: maximal runs of ADD/SUBTRACT steps, maximal runs of MULTIPLY steps, and single
+ * DIVIDE steps. A run of at least {@code calculator.chain.parallel-threshold} steps is reduced as a parallel tree
+ * and applied to the running value in one step; everything else, including chains mixing operand types, is evaluated
+ * sequentially. Parallel reduction is only used while the built-in strategies are registered for those operations.</p>
+ *
+ * <p>Results match sequential evaluation as follows:</p>
+ * <ul>
+ *     <li>{@code Integer}/{@code Long} runs are exact, including the result type: an {@code Integer} result is
+ *     returned only if sequential evaluation would have kept every intermediate value an {@code Integer}. Runs whose
+ *     intermediate values could overflow a {@code long} fall back to sequential evaluation, which switches to
+ *     {@code BigDecimal} at the overflowing step.</li>
+ *     <li>{@code BigDecimal} runs are exact, including the scale.</li>
+ *     <li>{@code double} runs are re-associated. Let {@code v} be the running value before a run of {@code n}
+ *     operands {@code a_i}, and {@code gamma(n) = n 2^-53 / (1 - n 2^-53)}. Sequential evaluation rounds every
+ *     partial sum {@code v + a_1 + ... + a_k}, so its error grows with {@code |v|} as well as with the operands; the
+ *     folded sum rounds the partial sums of the operands and then {@code v} plus their total. Each is within
+ *     {@code gamma(n) (|v| + sum(|a_i|))} of the exact sum, so they differ by at most
+ *     {@code 2 gamma(n) (|v| + sum(|a_i|))}. With {@code v = 2^53} and the run {@code +1, +1}, sequential evaluation
+ *     gives {@code 2^53} and folding {@code 2^53 + 2}. A folded product differs from the sequential one by a relative
+ *     error of at most {@code 2 gamma(n)}. Both bounds ignore overflow and underflow.</li>
+ * </ul>
+ */
+@Component
+public class ParallelChainEvaluator {
+
+    private final OperationStrategyFactory strategyFactory;
+    private final int threshold;
+    private final int leafSize;
+
+    @Autowired
+    public ParallelChainEvaluator(OperationStrategyFactory strategyFactory,
+                                  @Value("${calculator.chain.parallel-threshold:16384}") int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive.");
+        }
+        this.strategyFactory = strategyFactory;
+        this.threshold = threshold;
+        this.leafSize = Math.max(1, threshold / 8);
+    }
+
+    /**
+     * Returns whether a run of the given number of steps is reduced in parallel.
+     */
+    public boolean isParallel(int runLength) {
+        return runLength >= threshold && ChainCompiler.hasBuiltInAlgebra(strategyFactory);
+    }
+
+    /**
+     * Evaluates a chain over boxed operands, reducing long associative runs in parallel.
+     *
+     * @param initialValue the initial value to start the chain
+     * @param operations the operations to perform
+     * @param operands the operand for each operation, already validated
+     * @param step evaluates a single step sequentially
+     * @return the result of the chain
+     */
+    public Number evaluate(Number initialValue, List<Operation> operations, List<Number> operands, ChainStep step) {
+        int size = operations.size();
+        if (!isParallel(size)) {
+            Number result = initialValue;
+            for (int i = 0; i < size; i++) {
+                result = step.apply(operations.get(i), result, operands.get(i));
+            }
+            return result;
+        }
+
+        Operation[] ops = operations.toArray(new Operation[0]);
+        Number[] values = operands.toArray(new Number[0]);
+        Number result = initialValue;
+        int i = 0;
+        while (i < size) {
+            int end = runEnd(ops, i);
+            if (end - i >= threshold) {
+                Number reduced = reduceRun(result, ops, values, i, end);
+                if (reduced != null) {
+                    result = reduced;
+                    i = end;
+                    continue;
+                }
+            }
+            for (; i < end; i++) {
+                result = step.apply(ops[i], result, values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums the operands of an ADD/SUBTRACT run in parallel, negating SUBTRACT operands.
+     */
+    double signedSum(byte[] opcodes, double[] operands, int from, int to) {
+        byte subtract = (byte) Operation.SUBTRACT.ordinal();
+        return reduce(from, to, (start, end) -> {
+            double sum = 0;
+            for (int i = start; i < end; i++) {
+                sum += opcodes[i] == subtract ? -operands[i] : operands[i];
+            }
+            return sum;
+        }, Double::sum);
+    }
+
+    /**
+     * Multiplies the operands of a MULTIPLY run in parallel.
+     */
+    double product(double[] operands, int from, int to) {
+        return reduce(from, to, (start, end) -> {
+            double product = 1;
+            for (int i = start; i < end; i++) {
+                product *= operands[i];
+            }
+            return product;
+        }, (left, right) -> left * right);
+    }
+
+    private Number reduceRun(Number value, Operation[] ops, Number[] values, int from, int to) {
+        boolean additive = ops[from] != Operation.MULTIPLY;
+        if (value instanceof BigDecimal) {
+            BigDecimal reduced = additive ? decimalSum(ops, values, from, to) : decimalProduct(values, from, to);
+            return additive ? ((BigDecimal) value).add(reduced) : ((BigDecimal) value).multiply(reduced);
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return additive ? longSum(value, ops, values, from, to) : longProduct(value, values, from, to);
+        }
+        return null;
+    }
+
+    private BigDecimal decimalSum(Operation[] ops, Number[] values, int from, int to) {
+        return reduce(from, to, (start, end) -> {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int i = start; i < end; i++) {
+                BigDecimal operand = toBigDecimal(values[i]);
+                sum = ops[i] == Operation.SUBTRACT ? sum.subtract(operand) : sum.add(operand);
+            }
+            return sum;
+        }, BigDecimal::add);
+    }
+
+    private BigDecimal decimalProduct(Number[] values, int from, int to) {
+        return reduce(from, to, (start, end) -> {
+            BigDecimal product = BigDecimal.ONE;
+            for (int i = start; i < end; i++) {
+                product = product.multiply(toBigDecimal(values[i]));
+            }
+            return product;
+        }, BigDecimal::multiply);
+    }
+
+    /**
+     * Adds an integral run to {@code value}. Returns {@code null} if a non-integral operand is found, or if some
+     * intermediate value of the sequential evaluation might not fit in a {@code long}.
+     */
+    private Number longSum(Number value, Operation[] ops, Number[] values, int from, int to) {
+        PrefixSum run = reduce(from, to, (start, end) -> PrefixSum.of(ops, values, start, end), PrefixSum::combine);
+        if (run == null) {
+            return null;
+        }
+
+        long start = value.longValue();
+        long result;
+        long low;
+        long high;
+        try {
+            result = Math.addExact(start, run.sum);
+            low = Math.addExact(start, run.min);
+            high = Math.addExact(start, run.max);
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+
+        if (value instanceof Integer && run.allIntegers && low >= Integer.MIN_VALUE && high <= Integer.MAX_VALUE) {
+            return (int) result;
+        }
+        return result;
+    }
+
+    /**
+     * Multiplies {@code value} by an integral run. Returns {@code null} if a non-integral or zero operand is found,
+     * or if some intermediate value of the sequential evaluation might not fit in a {@code long}.
+     *
+     * <p>Without zero operands the magnitude of the running value never decreases, so every intermediate value fits
+     * whenever the final value does, except that the final value may be {@code MIN_VALUE} while an intermediate one
+     * is {@code -MIN_VALUE}.</p>
+     */
+    private Number longProduct(Number value, Number[] values, int from, int to) {
+        Product run = reduce(from, to, (start, end) -> Product.of(values, start, end), Product::combine);
+        if (run == null) {
+            return null;
+        }
+
+        long result;
+        try {
+            result = Math.multiplyExact(value.longValue(), run.product);
+        } catch (ArithmeticException ex) {
+            return null;
+        }
+        if (result == Long.MIN_VALUE) {
+            return null;
+        }
+
+        if (value instanceof Integer && run.allIntegers && result == (int) result) {
+            return result == Integer.MIN_VALUE ? null : (Number) (int) result;
+        }
+        return result;
+    }
+
+    private static int runEnd(Operation[] ops, int from) {
+        Operation first = ops[from];
+        int end = from + 1;
+        if (first == Operation.ADD || first == Operation.SUBTRACT) {
+            while (end < ops.length && (ops[end] == Operation.ADD || ops[end] == Operation.SUBTRACT)) {
+                end++;
+            }
+        } else if (first == Operation.MULTIPLY) {
+            while (end < ops.length && ops[end] == Operation.MULTIPLY) {
+                end++;
+            }
+        }
+        return end;
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long;
+    }
+
+    /**
+     * Converts an operand the way the built-in strategies do when the other operand is a {@code BigDecimal}.
+     */
+    private static BigDecimal toBigDecimal(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (isIntegral(number)) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+
+    private <T> T reduce(int from, int to, Leaf<T> leaf, Combiner<T> combiner) {
+        return ForkJoinPool.commonPool().invoke(new ReduceTask<>(from, to, leafSize, leaf, combiner));
+    }
+
+    /**
+     * Evaluates a single chain step.
+     */
+    @FunctionalInterface
+    public interface ChainStep {
+        Number apply(Operation operation, Number num1, Number num2);
+    }
+
+    @FunctionalInterface
+    private interface Leaf<T> {
+        T reduce(int from, int to);
+    }
+
+    /**
+     * Combines two adjacent partial results; {@code null} means the range cannot be reduced and propagates.
+     */
+    @FunctionalInterface
+    private interface Combiner<T> {
+        T combine(T left, T right);
+    }
+
+    private static final class ReduceTask<T> extends RecursiveTask<T> {
+        private final int from;
+        private final int to;
+        private final int leafSize;
+        private final Leaf<T> leaf;
+        private final Combiner<T> combiner;
+
+        private ReduceTask(int from, int to, int leafSize, Leaf<T> leaf, Combiner<T> combiner) {
+            this.from = from;
+            this.to = to;
+            this.leafSize = leafSize;
+            this.leaf = leaf;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected T compute() {
+            if (to - from <= leafSize) {
+                return leaf.reduce(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            ReduceTask<T> left = new ReduceTask<>(from, middle, leafSize, leaf, combiner);
+            left.fork();
+            T right = new ReduceTask<>(middle, to, leafSize, leaf, combiner).compute();
+            T reducedLeft = left.join();
+            if (reducedLeft == null || right == null) {
+                return null;
+            }
+            return combiner.combine(reducedLeft, right);
+        }
+    }
+
+    /**
+     * Sum of a range of signed integral operands, with the smallest and largest prefix sums of the range.
+     */
+    private static final class PrefixSum {
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final boolean allIntegers;
+
+        private PrefixSum(long sum, long min, long max, boolean allIntegers) {
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.allIntegers = allIntegers;
+        }
+
+        private static PrefixSum of(Operation[] ops, Number[] values, int from, int to) {
+            long sum = 0;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            boolean allIntegers = true;
+            try {
+                for (int i = from; i < to; i++) {
+                    Number operand = values[i];
+                    if (!isIntegral(operand)) {
+                        return null;
+                    }
+                    allIntegers &= operand instanceof Integer;
+                    long signed = ops[i] == Operation.SUBTRACT
+                            ? Math.negateExact(operand.longValue()) : operand.longValue();
+                    sum = Math.addExact(sum, signed);
+                    min = Math.min(min, sum);
+                    max = Math.max(max, sum);
+                }
+            } catch (ArithmeticException ex) {
+                return null;
+            }
+            return new PrefixSum(sum, min, max, allIntegers);
+        }
+
+        private static PrefixSum combine(PrefixSum left, PrefixSum right) {
+            try {
+                return new PrefixSum(Math.addExact(left.sum, right.sum),
+                        Math.min(left.min, Math.addExact(left.sum, right.min)),
+                        Math.max(left.max, Math.addExact(left.sum, right.max)),
+                        left.allIntegers && right.allIntegers);
+            } catch (ArithmeticException ex) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Product of a range of non-zero integral operands.
+     */
+    private static final class Product {
+        private final long product;
+        private final boolean allIntegers;
+
+        private Product(long product, boolean allIntegers) {
+            this.product = product;
+            this.allIntegers = allIntegers;
+        }
+
+        private static Product of(Number[] values, int from, int to) {
+            long product = 1;
+            boolean allIntegers = true;
+            try {
+                for (int i = from; i < to; i++) {
+                    Number operand = values[i];
+                    if (!isIntegral(operand) || operand.longValue() == 0) {
+                        return null;
+                    }
+                    allIntegers &= operand instanceof Integer;
+                    product = Math.multiplyExact(product, operand.longValue());
+                }
+            } catch (ArithmeticException ex) {
+                return null;
+            }
+            return new Product(product, allIntegers);
+        }
+
+        private static Product combine(Product left, Product right) {
+            try {
+                return new Product(Math.multiplyExact(left.product, right.product),
+                        left.allIntegers && right.allIntegers);
+            } catch (ArithmeticException ex) {
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.ebay.calculator.demo.chain;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * A chain request after validation, decoded into typed arrays: step {@code i} is applied with {@code operands[i]},
+ * and {@code opcodes[i]} is its opcode in the {@code OperationStrategyFactory}. A built-in step has its
+ * {@code operations[i]}; a step of a registered {@link OperationDefinition} has a {@code null} operation and its
+ * {@code definitions[i]}. Every operation is known, the arrays have the same length, and no DIVIDE step has a zero
+ * operand, so consumers do not validate again. A value whose request literal a {@code double} does not hold exactly
+ * also has its exact {@code BigDecimal}, for decimal mode; {@code exactOperands} is {@code null} if no operand needs
+ * one, and otherwise {@code null} at the operands that do not. Instances are built by
+ * {@code CalculatorValidator#validateChainRequest} and are immutable once built.
+ */
+@Getter
+public class ValidatedChain {
+
+    private final double initialValue;
+    private final Operation[] operations;
+    private final OperationDefinition[] definitions;
+    private final byte[] opcodes;
+    private final double[] operands;
+    private final BigDecimal exactInitialValue;
+    private final BigDecimal[] exactOperands;
+
+    /**
+     * @param initialValue the initial value to start the chain
+     * @param operations the validated operations; the array is used as is and must not be modified afterwards
+     * @param opcodes the op-code of each operation; the array is used as is and must not be modified afterwards
+     * @param operands the operand for each operation; the array is used as is and must not be modified afterwards
+     */
+    public ValidatedChain(double initialValue, Operation[] operations, byte[] opcodes, double[] operands) {
+        this(initialValue, operations, null, opcodes, operands);
+    }
+
+    /**
+     * @param initialValue the initial value to start the chain
+     * @param operations the built-in operation of each step, {@code null} for a registered definition
+     * @param definitions the definition of each step whose operation is {@code null}, or {@code null} if every step
+     *                    is built in
+     * @param opcodes the op-code of each step; the array is used as is and must not be modified afterwards
+     * @param operands the operand for each operation; the array is used as is and must not be modified afterwards
+     */
+    public ValidatedChain(double initialValue, Operation[] operations, OperationDefinition[] definitions,
+                          byte[] opcodes, double[] operands) {
+        this(initialValue, null, operations, definitions, opcodes, operands, null);
+    }
+
+    /**
+     * @param initialValue the initial value to start the chain
+     * @param exactInitialValue the exact initial value, or {@code null} if {@code initialValue} is exact
+     * @param operations the built-in operation of each step, {@code null} for a registered definition
+     * @param definitions the definition of each step whose operation is {@code null}, or {@code null} if every step
+     *                    is built in
+     * @param opcodes the op-code of each step; the array is used as is and must not be modified afterwards
+     * @param operands the operand for each operation; the array is used as is and must not be modified afterwards
+     * @param exactOperands the exact operand of each step whose {@code double} operand is not exact, or {@code null}
+     *                      if every operand is exact; the array is used as is and must not be modified afterwards
+     */
+    public ValidatedChain(double initialValue, BigDecimal exactInitialValue, Operation[] operations,
+                          OperationDefinition[] definitions, byte[] opcodes, double[] operands,
+                          BigDecimal[] exactOperands) {
+        this.initialValue = initialValue;
+        this.exactInitialValue = exactInitialValue;
+        this.exactOperands = exactOperands;
+        this.operations = operations;
+        this.definitions = definitions;
+        this.opcodes = opcodes;
+        this.operands = operands;
+    }
+
+    /**
+     * @return the number of steps in the chain
+     */
+    public int length() {
+        return opcodes.length;
+    }
+}
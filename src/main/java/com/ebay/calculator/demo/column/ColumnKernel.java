@@ -0,0 +1,27 @@
+package com.ebay.calculator.demo.column;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+
+/**
+ * Applies one chain step to a range of a value column. Rows whose divisor is zero are left unchanged;
+ * the caller reports them as failed.
+ */
+public interface ColumnKernel {
+
+    /**
+     * Computes {@code values[i] = values[i] op operands[i]} for {@code i} in {@code [from, to)}.
+     */
+    void apply(Operation operation, OperationStrategy strategy, double[] values, double[] operands, int from, int to);
+
+    /**
+     * Computes {@code values[i] = values[i] op operand} for {@code i} in {@code [from, to)}.
+     */
+    void applyBroadcast(Operation operation, OperationStrategy strategy, double[] values, double operand,
+                        int from, int to);
+
+    /**
+     * Returns whether this kernel uses SIMD instructions.
+     */
+    boolean isVectorized();
+}
@@ -0,0 +1,38 @@
+package com.ebay.calculator.demo.column;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates column kernels, detecting at runtime whether the Vector API is available.
+ */
+public final class ColumnKernels {
+
+    private static final Logger logger = LoggerFactory.getLogger(ColumnKernels.class);
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private ColumnKernels() {
+    }
+
+    /**
+     * Returns the Vector API kernel, or {@code null} if the JVM was not started with
+     * {@code --add-modules jdk.incubator.vector}.
+     */
+    public static ColumnKernel vectorKernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.info("Vector API not available, column calculations use the scalar kernel. "
+                    + "Start the JVM with --add-modules {} to enable it.", VECTOR_MODULE);
+            return null;
+        }
+        try {
+            ColumnKernel kernel = new VectorColumnKernel();
+            logger.info("Column calculations use the Vector API kernel");
+            return kernel;
+        } catch (LinkageError ex) {
+            logger.warn("Vector API kernel could not be loaded, column calculations use the scalar kernel: {}",
+                    ex.toString());
+            return null;
+        }
+    }
+}
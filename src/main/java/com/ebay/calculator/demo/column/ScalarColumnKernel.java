@@ -0,0 +1,39 @@
+package com.ebay.calculator.demo.column;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+
+/**
+ * Applies each step element by element through {@link OperationStrategy#applyDouble(double, double)}.
+ * Works with any registered strategy.
+ */
+public class ScalarColumnKernel implements ColumnKernel {
+
+    @Override
+    public void apply(Operation operation, OperationStrategy strategy, double[] values, double[] operands,
+                      int from, int to) {
+        boolean divide = operation == Operation.DIVIDE;
+        for (int i = from; i < to; i++) {
+            if (divide && operands[i] == 0) {
+                continue;
+            }
+            values[i] = strategy.applyDouble(values[i], operands[i]);
+        }
+    }
+
+    @Override
+    public void applyBroadcast(Operation operation, OperationStrategy strategy, double[] values, double operand,
+                               int from, int to) {
+        if (operation == Operation.DIVIDE && operand == 0) {
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            values[i] = strategy.applyDouble(values[i], operand);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,116 @@
+package com.ebay.calculator.demo.column;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Applies each step with the Vector API, {@link #SPECIES} lanes at a time, and finishes the tail of the range with
+ * scalar arithmetic. Only valid for the built-in strategies, whose {@code applyDouble} is plain IEEE arithmetic,
+ * so the results are bit-identical to {@link ScalarColumnKernel}.
+ *
+ * <p>This class links against the incubating {@code jdk.incubator.vector} module. Create it through
+ * {@link ColumnKernels} so a JVM started without {@code --add-modules jdk.incubator.vector} falls back to the
+ * scalar kernel.</p>
+ */
+final class VectorColumnKernel implements ColumnKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void apply(Operation operation, OperationStrategy strategy, double[] values, double[] operands,
+                      int from, int to) {
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        switch (operation) {
+            case ADD:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i)
+                            .add(DoubleVector.fromArray(SPECIES, operands, i)).intoArray(values, i);
+                }
+                for (; i < to; i++) {
+                    values[i] += operands[i];
+                }
+                break;
+            case SUBTRACT:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i)
+                            .sub(DoubleVector.fromArray(SPECIES, operands, i)).intoArray(values, i);
+                }
+                for (; i < to; i++) {
+                    values[i] -= operands[i];
+                }
+                break;
+            case MULTIPLY:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i)
+                            .mul(DoubleVector.fromArray(SPECIES, operands, i)).intoArray(values, i);
+                }
+                for (; i < to; i++) {
+                    values[i] *= operands[i];
+                }
+                break;
+            case DIVIDE:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector divisors = DoubleVector.fromArray(SPECIES, operands, i);
+                    VectorMask<Double> nonZero = divisors.compare(VectorOperators.NE, 0.0);
+                    DoubleVector.fromArray(SPECIES, values, i).div(divisors, nonZero).intoArray(values, i);
+                }
+                for (; i < to; i++) {
+                    if (operands[i] != 0) {
+                        values[i] /= operands[i];
+                    }
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Operation not supported: " + operation);
+        }
+    }
+
+    @Override
+    public void applyBroadcast(Operation operation, OperationStrategy strategy, double[] values, double operand,
+                               int from, int to) {
+        if (operation == Operation.DIVIDE && operand == 0) {
+            return;
+        }
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        // Each operator gets its own loop: the Vector API is only compiled to SIMD instructions when the operator
+        // is a constant at the call site.
+        switch (operation) {
+            case ADD:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i).add(operand).intoArray(values, i);
+                }
+                break;
+            case SUBTRACT:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i).sub(operand).intoArray(values, i);
+                }
+                break;
+            case MULTIPLY:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i).mul(operand).intoArray(values, i);
+                }
+                break;
+            case DIVIDE:
+                for (; i < upper; i += SPECIES.length()) {
+                    DoubleVector.fromArray(SPECIES, values, i).div(operand).intoArray(values, i);
+                }
+                break;
+            default:
+                throw new UnsupportedOperationException("Operation not supported: " + operation);
+        }
+        for (; i < to; i++) {
+            values[i] = strategy.applyDouble(values[i], operand);
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
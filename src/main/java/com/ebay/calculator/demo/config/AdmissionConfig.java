@@ -0,0 +1,23 @@
+package com.ebay.calculator.demo.config;
+
+import com.ebay.calculator.demo.admission.AdaptiveLimit;
+import com.ebay.calculator.demo.admission.AdmissionLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Admission control of the calculator endpoints. The concurrency limit, in cost units, starts at
+ * {@code calculator.admission.initial-limit} and adapts to latency between {@code calculator.admission.min-limit}
+ * and {@code calculator.admission.max-limit}. {@code calculator.admission.enabled=false} admits every request.
+ */
+@Configuration
+public class AdmissionConfig {
+
+    @Bean
+    public AdmissionLimiter admissionLimiter(@Value("${calculator.admission.initial-limit:64}") double initialLimit,
+                                             @Value("${calculator.admission.min-limit:8}") double minLimit,
+                                             @Value("${calculator.admission.max-limit:1024}") double maxLimit) {
+        return new AdmissionLimiter(new AdaptiveLimit(initialLimit, minLimit, maxLimit));
+    }
+}
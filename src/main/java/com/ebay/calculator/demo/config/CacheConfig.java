@@ -0,0 +1,59 @@
+package com.ebay.calculator.demo.config;
+
+import com.ebay.calculator.demo.cache.CalculationKey;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.chain.ChainSession;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+import com.ebay.calculator.demo.expression.CompiledExpression;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Result caches in front of {@code CalculatorService} and the parsed expression cache of {@code ExpressionService}. Setting a maximum size to {@code 0} disables that cache.
+ * Chain calculations that miss the cache are coalesced by a {@link SingleFlight}, which a maximum of {@code 0} disables as well.
+ * Chain sessions of {@code ChainSessionService} are kept in a cache that expires idle sessions.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public ResultCache<CalculationKey, Number> calculationResultCache(
+            @Value("${calculator.cache.maximum-size:10000}") int maximumSize,
+            @Value("${calculator.cache.policy:LRU}") EvictionPolicy policy,
+            @Value("${calculator.cache.ttl-seconds:300}") long ttlSeconds) {
+        return new ResultCache<>(maximumSize, policy, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Bean
+    public ResultCache<CalculationKey, Number> chainResultCache(
+            @Value("${calculator.cache.chain-maximum-size:1000}") int maximumSize,
+            @Value("${calculator.cache.policy:LRU}") EvictionPolicy policy,
+            @Value("${calculator.cache.ttl-seconds:300}") long ttlSeconds) {
+        return new ResultCache<>(maximumSize, policy, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    @Bean
+    public SingleFlight<CalculationKey, Number> chainSingleFlight(
+            @Value("${calculator.coalescing.max-in-flight:1024}") int maximumInFlight) {
+        return new SingleFlight<>(maximumInFlight);
+    }
+
+    @Bean
+    public ResultCache<String, ChainSession> chainSessionCache(
+            @Value("${calculator.session.maximum-sessions:256}") int maximumSessions,
+            @Value("${calculator.session.idle-timeout-seconds:600}") long idleTimeoutSeconds) {
+        return new ResultCache<>(maximumSessions, EvictionPolicy.IDLE, idleTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    @Bean
+    public ResultCache<String, CompiledExpression> expressionCache(
+            @Value("${calculator.cache.expression-maximum-size:1000}") int maximumSize,
+            @Value("${calculator.cache.policy:LRU}") EvictionPolicy policy,
+            @Value("${calculator.cache.ttl-seconds:300}") long ttlSeconds) {
+        return new ResultCache<>(maximumSize, policy, ttlSeconds, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,77 @@
+package com.ebay.calculator.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread model of the application, selected with {@code calculator.execution.mode}:
+ * <ul>
+ *     <li>{@code platform} (default): Tomcat's worker pool serves requests and each streaming request gets a
+ *     platform thread.</li>
+ *     <li>{@code virtual}: every Tomcat request and streaming request runs on its own virtual thread, so concurrency
+ *     is bounded by Tomcat's connection limit instead of its worker pool.</li>
+ * </ul>
+ * CPU-bound batch chunks always run on a fixed pool of platform threads sized to the available processors, and
+ * partitions of bulk jobs on a second one. Tomcat 9 processes a request while holding a monitor, which pins a virtual
+ * request thread to its carrier; waiting there for chunks scheduled on other virtual threads could starve the
+ * carriers.
+ */
+@Configuration
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    public static final String MODE_PROPERTY = "calculator.execution.mode";
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService calculatorExecutor() {
+        return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                platformThreadFactory("calculator-worker-"));
+    }
+
+    /**
+     * Evaluates the partitions of bulk jobs, separately from {@link #calculatorExecutor()} so that a long job does not
+     * delay batch requests. {@code calculator.jobs.threads} of 0 uses one thread per available processor.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService jobExecutor(@Value("${calculator.jobs.threads:0}") int threads) {
+        return Executors.newFixedThreadPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                platformThreadFactory("job-worker-"));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService requestExecutor(@Value("${" + MODE_PROPERTY + ":platform}") String mode) {
+        if ("virtual".equalsIgnoreCase(mode)) {
+            logger.info("Calculator execution mode: virtual threads");
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-virtual-", 0).factory());
+        }
+        logger.info("Calculator execution mode: platform threads");
+        return Executors.newCachedThreadPool(platformThreadFactory("request-worker-"));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = MODE_PROPERTY, havingValue = "virtual")
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("http-virtual-", 0).factory()));
+    }
+
+    private static ThreadFactory platformThreadFactory(String prefix) {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + index.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.ebay.calculator.demo.config;
+
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.journal.CalculationJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The calculation journal, enabled with {@code calculator.journal.enabled}. It writes segments of
+ * {@code calculator.journal.segment-size-mb} MiB into {@code calculator.journal.directory}. When it is disabled,
+ * calculations are not recorded.
+ */
+@Configuration
+public class JournalConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalConfig.class);
+
+    @Bean(destroyMethod = "close")
+    public CalculationJournal calculationJournal(OperationStrategyFactory strategyFactory,
+                                                 @Value("${calculator.journal.enabled:false}") boolean enabled,
+                                                 @Value("${calculator.journal.directory:journal}") String directory,
+                                                 @Value("${calculator.journal.segment-size-mb:64}") int segmentSizeMb)
+            throws IOException {
+        if (!enabled) {
+            return CalculationJournal.disabled();
+        }
+        logger.info("Recording calculations in the journal at {}", Paths.get(directory).toAbsolutePath());
+        return CalculationJournal.open(Paths.get(directory), strategyFactory, (long) segmentSizeMb << 20);
+    }
+}
@@ -2,6 +2,7 @@ package com.ebay.calculator.demo.config;
 
 import springfox.documentation.service.ApiInfo;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import springfox.documentation.builders.PathSelectors;
@@ -11,8 +12,13 @@ import springfox.documentation.spring.web.plugins.Docket;
 
 import java.util.Collections;
 
+/**
+ * Swagger documentation. Scanning the controllers for it is a large part of startup time, so it can be turned off
+ * with {@code springfox.documentation.enabled=false}, as the {@code fast} profile does.
+ */
 @Configuration
 @EnableSwagger2
+@ConditionalOnProperty(name = "springfox.documentation.enabled", havingValue = "true", matchIfMissing = true)
 public class SwaggerConfig {
 
     @Bean
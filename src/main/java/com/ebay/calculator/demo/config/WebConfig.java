@@ -0,0 +1,57 @@
+package com.ebay.calculator.demo.config;
+
+import com.ebay.calculator.demo.admission.AdmissionInterceptor;
+import com.ebay.calculator.demo.metrics.MetricsInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.ExecutorService;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final MetricsInterceptor metricsInterceptor;
+    private final AdmissionInterceptor admissionInterceptor;
+    private final ExecutorService requestExecutor;
+    private final boolean admissionEnabled;
+
+    @Autowired
+    public WebConfig(MetricsInterceptor metricsInterceptor, AdmissionInterceptor admissionInterceptor,
+                     @Qualifier("requestExecutor") ExecutorService requestExecutor,
+                     @Value("${calculator.admission.enabled:true}") boolean admissionEnabled) {
+        this.metricsInterceptor = metricsInterceptor;
+        this.admissionInterceptor = admissionInterceptor;
+        this.requestExecutor = requestExecutor;
+        this.admissionEnabled = admissionEnabled;
+    }
+
+    /**
+     * Runs streaming responses on the calculator executor, so they use virtual threads in virtual execution mode.
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(requestExecutor));
+    }
+
+    /**
+     * Measures every API request, and sheds calculations once the server is at its limit. Metrics, the operation
+     * list and bulk jobs are always served. Streaming requests are not limited either: they last as long as the
+     * client keeps sending records, so their latency says nothing about the load of the server.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(metricsInterceptor).addPathPatterns("/api/**");
+        if (admissionEnabled) {
+            registry.addInterceptor(admissionInterceptor).addPathPatterns("/api/calculator/calculate",
+                    "/api/calculator/chainCalculate", "/api/calculator/batchCalculate",
+                    "/api/calculator/columnCalculate", "/api/calculator/expression", "/api/calculator/sessions/**",
+                    "/api/calculator/registers/**");
+        }
+    }
+}
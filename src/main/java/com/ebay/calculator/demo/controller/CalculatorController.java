@@ -1,9 +1,28 @@
 package com.ebay.calculator.demo.controller;
 
+import com.ebay.calculator.demo.cache.CacheStats;
+import com.ebay.calculator.demo.chain.ValidatedChain;
 import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.BatchCalculationRequest;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
 import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.ChainSessionResult;
+import com.ebay.calculator.demo.model.ChainStepRequest;
+import com.ebay.calculator.demo.model.ColumnCalculationRequest;
+import com.ebay.calculator.demo.model.ExactNumberDeserializer;
+import com.ebay.calculator.demo.model.ExpressionRequest;
+import com.ebay.calculator.demo.model.OperationInfo;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
 import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.ChainSessionService;
+import com.ebay.calculator.demo.service.ColumnCalculationService;
+import com.ebay.calculator.demo.service.DecimalCalculationService;
+import com.ebay.calculator.demo.service.ExpressionService;
+import com.ebay.calculator.demo.service.StreamingCalculationService;
 import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.ebay.calculator.demo.utils.RequestLogSampler;
+import com.ebay.calculator.demo.wire.WireFormat;
 import com.ebay.calculator.demo.model.CalculationRequest;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiResponse;
@@ -12,11 +31,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/calculator")
@@ -25,13 +53,39 @@ public class CalculatorController {
 
     private static final Logger logger = LoggerFactory.getLogger(CalculatorController.class);
 
+    public static final String NDJSON = "application/x-ndjson";
+
     private final CalculatorService calculatorService;
     private final CalculatorValidator calculatorValidator;
+    private final StreamingCalculationService streamingCalculationService;
+    private final ExpressionService expressionService;
+    private final ColumnCalculationService columnCalculationService;
+    private final BinaryCalculationService binaryCalculationService;
+    private final DecimalCalculationService decimalCalculationService;
+    private final RequestLogSampler requestLogSampler;
+    private final OperationStrategyFactory strategyFactory;
+    private final ChainSessionService chainSessionService;
 
     @Autowired
-    public CalculatorController(CalculatorService calculatorService, CalculatorValidator calculatorValidator) {
+    public CalculatorController(CalculatorService calculatorService, CalculatorValidator calculatorValidator,
+                                StreamingCalculationService streamingCalculationService,
+                                ExpressionService expressionService,
+                                ColumnCalculationService columnCalculationService,
+                                BinaryCalculationService binaryCalculationService,
+                                DecimalCalculationService decimalCalculationService,
+                                RequestLogSampler requestLogSampler,
+                                OperationStrategyFactory strategyFactory,
+                                ChainSessionService chainSessionService) {
         this.calculatorService = calculatorService;
         this.calculatorValidator = calculatorValidator;
+        this.streamingCalculationService = streamingCalculationService;
+        this.expressionService = expressionService;
+        this.columnCalculationService = columnCalculationService;
+        this.binaryCalculationService = binaryCalculationService;
+        this.decimalCalculationService = decimalCalculationService;
+        this.requestLogSampler = requestLogSampler;
+        this.strategyFactory = strategyFactory;
+        this.chainSessionService = chainSessionService;
     }
 
     @ApiResponses(value = {
@@ -40,10 +94,17 @@ public class CalculatorController {
     })
     @PostMapping("/calculate")
     public ResponseEntity<Number> calculate(@RequestBody CalculationRequest request) {
-        logger.info("CalculatorController: received calculate request={}", request);
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received calculate operation={}, num1={}, num2={}",
+                    request.getOperation(), request.getNum1(), request.getNum2());
+        }
         try {
-            Operation validOperation = calculatorValidator.validateOperation(request.getOperation());
-            Number result = calculatorService.calculate(validOperation, request.getNum1(), request.getNum2());
+            int opcode = calculatorValidator.validateOpcode(request.getOperation());
+            Number result = request.getDecimal() == null
+                    ? calculatorService.calculate(opcode, ExactNumberDeserializer.approximate(request.getNum1()),
+                    ExactNumberDeserializer.approximate(request.getNum2()))
+                    : decimalCalculationService.calculate(opcode, request.getNum1(), request.getNum2(),
+                    request.getDecimal());
 
             return ResponseEntity.ok(result);
         } catch (IllegalArgumentException ex) {
@@ -55,8 +116,106 @@ public class CalculatorController {
         }
     }
 
+    /**
+     * Binary counterpart of {@link #calculate(CalculationRequest)} and {@link #chainCalculate(ChainCalculationRequest)},
+     * selected by the {@value WireFormat#CONTENT_TYPE} content type. The body is one frame of CALCULATE or CHAIN
+     * records as described in {@link WireFormat}; the response holds one result per record.
+     *
+     * @param request the HTTP request whose body holds the request frame
+     * @param response the HTTP response the result frame is written to
+     * @throws IOException if reading the request or writing the response fails
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully performed the calculations"),
+            @ApiResponse(code = 400, message = "Malformed frame")})
+    @PostMapping(value = {"/calculate", "/chainCalculate"},
+            consumes = WireFormat.CONTENT_TYPE, produces = WireFormat.CONTENT_TYPE)
+    public void calculateBinary(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte frameType = request.getRequestURI().endsWith("/chainCalculate") ? WireFormat.CHAIN : WireFormat.CALCULATE;
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received binary {} frame of {} bytes",
+                    frameType == WireFormat.CHAIN ? "chain" : "calculate", request.getContentLength());
+        }
+        response.setContentType(WireFormat.CONTENT_TYPE);
+        try {
+            binaryCalculationService.handle(frameType, request.getInputStream(), request.getContentLength(),
+                    response.getOutputStream());
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid binary frame: {}", ex.getMessage());
+            response.resetBuffer();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+        }
+    }
+
+    /**
+     * Performs a batch of independent calculations given as columns of operations and operands.
+     * Slots that fail (unknown operation, division by zero, overflow) are reported through per-slot
+     * error codes without failing the rest of the batch.
+     *
+     * @param request the request object containing the operations and operand columns of class BatchCalculationRequest
+     * @return the result column together with the per-slot error codes
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully performed the batch calculation"),
+            @ApiResponse(code = 400, message = "Malformed batch request")})
+    @PostMapping("/batchCalculate")
+    public ResponseEntity<BatchCalculationResult> batchCalculate(@RequestBody BatchCalculationRequest request) {
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received batchCalculate request with size={}",
+                    request.getOperations() == null ? 0 : request.getOperations().size());
+        }
+        try {
+            calculatorValidator.validateBatchRequest(request);
+
+            Operation[] operations = calculatorValidator.resolveOperations(request.getOperations());
+            BatchCalculationResult result = request.getLongNum1() != null
+                    ? calculatorService.calculateBatch(operations, request.getLongNum1(), request.getLongNum2())
+                    : calculatorService.calculateBatch(operations, request.getNum1(), request.getNum2());
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid batch request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Evaluates one chain over columns of inputs, for example a fee formula over many listings. Each step is applied
+     * to a whole column at a time, using SIMD instructions when the Vector API is available.
+     *
+     * @param request the request object containing the initial value column, operations and operand columns of class ColumnCalculationRequest
+     * @return the result column together with the per-row error codes
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully performed the column calculation"),
+            @ApiResponse(code = 400, message = "Malformed column request or unsupported operation")})
+    @PostMapping("/columnCalculate")
+    public ResponseEntity<BatchCalculationResult> columnCalculate(@RequestBody ColumnCalculationRequest request) {
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received columnCalculate request with rows={}, steps={}",
+                    request.getInitialValues() == null ? 0 : request.getInitialValues().length,
+                    request.getOperations() == null ? 0 : request.getOperations().size());
+        }
+        try {
+            calculatorValidator.validateColumnRequest(request);
+
+            Operation[] operations = new Operation[request.getOperations().size()];
+            for (int k = 0; k < operations.length; k++) {
+                operations[k] = calculatorValidator.validateOperation(request.getOperations().get(k));
+            }
+            BatchCalculationResult result = columnCalculationService.calculate(request.getInitialValues(),
+                    operations, request.getOperands().toArray(new double[0][]));
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            logger.error("Invalid column request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
     /**
      * Performs a chain of calculations based on a series of operations and operands.
+     * If the request carries {@code decimal} settings, the chain is evaluated exactly in decimal mode.
      *
      * @param request the request object containing the initial value, operations, and operands of class ChainCalculationRequest
      * @return the result of the chained calculation
@@ -66,23 +225,224 @@ public class CalculatorController {
             @ApiResponse(code = 400, message = "Invalid input provided")})
     @PostMapping("/chainCalculate")
     public ResponseEntity<Number> chainCalculate(@RequestBody ChainCalculationRequest request) {
-        logger.info("CalculatorController: received chainCalculate request={}", request);
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received chainCalculate request with steps={}",
+                    request.getOperations() == null ? 0 : request.getOperations().size());
+        }
         try {
-            calculatorValidator.validateChainRequest(request);
+            ValidatedChain chain = calculatorValidator.validateChainRequest(request);
 
-            List<Operation> operations = request.getOperations().stream()
-                    .map(Operation::valueOf)
-                    .collect(Collectors.toList());
-            Number result = calculatorService.chainOperations(
-                    request.getInitialValue(),
-                    operations,
-                    request.getOperands().stream().collect(Collectors.toList())
-            );
+            Number result = request.getDecimal() == null
+                    ? calculatorService.chainCalculate(chain)
+                    : decimalCalculationService.chainCalculate(chain, request.getDecimal());
 
             return ResponseEntity.ok(result);
-        } catch (IllegalArgumentException ex) {
+        } catch (IllegalArgumentException | ArithmeticException ex) {
             logger.error("Invalid operation in request: {}", ex.getMessage());
             return ResponseEntity.badRequest().body(null);
         }
     }
+
+    /**
+     * Opens a chain session: the chain is evaluated like {@link #chainCalculate(ChainCalculationRequest)} and kept, so
+     * that later edits of single steps only recompute the chain from the last checkpoint before the edit. Sessions
+     * expire when idle. Decimal mode is not supported.
+     *
+     * @param request the request object containing the initial value, operations, and operands of class ChainCalculationRequest
+     * @return the session id and the result of the chain
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully opened the chain session"),
+            @ApiResponse(code = 400, message = "Invalid input provided")})
+    @PostMapping("/sessions")
+    public ResponseEntity<ChainSessionResult> openSession(@RequestBody ChainCalculationRequest request) {
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received openSession request with steps={}",
+                    request.getOperations() == null ? 0 : request.getOperations().size());
+        }
+        try {
+            if (request.getDecimal() != null) {
+                throw new IllegalArgumentException("Chain sessions do not support decimal mode.");
+            }
+            ValidatedChain chain = calculatorValidator.validateChainRequest(request);
+
+            return ResponseEntity.ok(chainSessionService.open(chain));
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid chain session request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Returns the current result of a chain session.
+     *
+     * @param sessionId the id returned when the session was opened
+     * @return the length and result of the chain
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully returned the chain session"),
+            @ApiResponse(code = 404, message = "Unknown or expired session")})
+    @GetMapping("/sessions/{sessionId}")
+    public ResponseEntity<ChainSessionResult> getSession(@PathVariable String sessionId) {
+        try {
+            return ResponseEntity.ok(chainSessionService.get(sessionId));
+        } catch (NoSuchElementException ex) {
+            logger.error("Chain session not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    /**
+     * Replaces one step of a chain session.
+     *
+     * @param sessionId the id returned when the session was opened
+     * @param index the zero-based index of the step
+     * @param request the new operation and operand
+     * @return the length and result of the edited chain
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully replaced the step"),
+            @ApiResponse(code = 400, message = "Invalid step or index"),
+            @ApiResponse(code = 404, message = "Unknown or expired session")})
+    @PutMapping("/sessions/{sessionId}/steps/{index}")
+    public ResponseEntity<ChainSessionResult> replaceStep(@PathVariable String sessionId, @PathVariable int index,
+                                                          @RequestBody ChainStepRequest request) {
+        return editSession(() -> chainSessionService.replaceStep(sessionId, index, request.getOperation(),
+                request.getOperand()));
+    }
+
+    /**
+     * Inserts a step into a chain session before the step at {@code index}; an index equal to the session's length
+     * appends the step.
+     *
+     * @param sessionId the id returned when the session was opened
+     * @param index the zero-based index of the new step
+     * @param request the operation and operand of the new step
+     * @return the length and result of the edited chain
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully inserted the step"),
+            @ApiResponse(code = 400, message = "Invalid step or index"),
+            @ApiResponse(code = 404, message = "Unknown or expired session")})
+    @PostMapping("/sessions/{sessionId}/steps/{index}")
+    public ResponseEntity<ChainSessionResult> insertStep(@PathVariable String sessionId, @PathVariable int index,
+                                                         @RequestBody ChainStepRequest request) {
+        return editSession(() -> chainSessionService.insertStep(sessionId, index, request.getOperation(),
+                request.getOperand()));
+    }
+
+    /**
+     * Removes one step of a chain session.
+     *
+     * @param sessionId the id returned when the session was opened
+     * @param index the zero-based index of the step
+     * @return the length and result of the edited chain
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully removed the step"),
+            @ApiResponse(code = 400, message = "Invalid index"),
+            @ApiResponse(code = 404, message = "Unknown or expired session")})
+    @DeleteMapping("/sessions/{sessionId}/steps/{index}")
+    public ResponseEntity<ChainSessionResult> removeStep(@PathVariable String sessionId, @PathVariable int index) {
+        return editSession(() -> chainSessionService.removeStep(sessionId, index));
+    }
+
+    /**
+     * Closes a chain session.
+     *
+     * @param sessionId the id returned when the session was opened
+     * @return 204 if the session was closed, 404 if it did not exist or had expired
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<Void> closeSession(@PathVariable String sessionId) {
+        return chainSessionService.close(sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    private ResponseEntity<ChainSessionResult> editSession(Supplier<ChainSessionResult> edit) {
+        try {
+            return ResponseEntity.ok(edit.get());
+        } catch (NoSuchElementException ex) {
+            logger.error("Chain session not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid chain session edit: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Evaluates an infix expression with named variables, e.g. {@code (a + b) * 2} with {@code {"a": 1, "b": 2}}.
+     * Supports {@code + - * /}, unary minus and parentheses with the usual precedence.
+     *
+     * @param request the request object containing the expression and variable values of class ExpressionRequest
+     * @return the value of the expression
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully evaluated the expression"),
+            @ApiResponse(code = 400, message = "Malformed expression, unbound variable or division by zero")})
+    @PostMapping("/expression")
+    public ResponseEntity<Number> evaluateExpression(@RequestBody ExpressionRequest request) {
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received expression={}", request.getExpression());
+        }
+        try {
+            Number result = expressionService.evaluate(request.getExpression(), request.getVariables());
+
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException | ArithmeticException ex) {
+            logger.error("Invalid expression: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        }
+    }
+
+    /**
+     * Evaluates a newline-delimited JSON stream of calculation requests and streams one result line back per record.
+     * Records are processed incrementally with constant memory; a failing record yields an error line with its index.
+     *
+     * @param request the HTTP request whose body holds one CalculationRequest JSON object per line
+     * @return a streaming body writing one StreamCalculationResult JSON object per line
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Streaming the calculation results")})
+    @PostMapping(value = "/streamCalculate", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamCalculate(HttpServletRequest request) {
+        if (requestLogSampler.shouldLog()) {
+            logger.info("CalculatorController: received streamCalculate request");
+        }
+        StreamingResponseBody body = out -> streamingCalculationService.process(request.getInputStream(), out);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    /**
+     * Lists the operations accepted by the calculate, chainCalculate and streamCalculate endpoints: the built-in
+     * operations and every registered operation definition.
+     *
+     * @return the supported operations in opcode order
+     */
+    @GetMapping("/operations")
+    public ResponseEntity<List<OperationInfo>> operations() {
+        List<OperationInfo> operations = new ArrayList<>();
+        for (int opcode = 0; opcode < strategyFactory.size(); opcode++) {
+            if (strategyFactory.isRegistered(opcode)) {
+                operations.add(new OperationInfo(strategyFactory.getName(opcode), strategyFactory.getArity(opcode),
+                        opcode, strategyFactory.getDefinition(opcode) == null));
+            }
+        }
+        return ResponseEntity.ok(operations);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counters of the result caches and of the chain session store.
+     *
+     * @return the cache statistics keyed by cache name
+     */
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, CacheStats>> cacheStats() {
+        Map<String, CacheStats> stats = calculatorService.cacheStats();
+        stats.put("expression", expressionService.cacheStats());
+        stats.put("session", chainSessionService.stats());
+        return ResponseEntity.ok(stats);
+    }
 }
@@ -0,0 +1,157 @@
+package com.ebay.calculator.demo.controller;
+
+import com.ebay.calculator.demo.job.UploadTooLargeException;
+import com.ebay.calculator.demo.model.JobRequest;
+import com.ebay.calculator.demo.model.JobStatus;
+import com.ebay.calculator.demo.service.BulkJobService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/calculator")
+@Api("Calculator bulk job APIs")
+public class JobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobController.class);
+
+    private final BulkJobService bulkJobService;
+
+    @Autowired
+    public JobController(BulkJobService bulkJobService) {
+        this.bulkJobService = bulkJobService;
+    }
+
+    /**
+     * Submits a bulk job for a file of chains on the server, one chain per line such as {@code 10 ADD 5 SQRT}. The
+     * job runs in the background; poll {@link #status(String)} until it has completed.
+     *
+     * @param request the input file, relative to the job input directory
+     * @return the id and progress of the new job
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Job submitted"),
+            @ApiResponse(code = 400, message = "Input is not a file in the job input directory")})
+    @PostMapping(value = "/jobs", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<JobStatus> submit(@RequestBody JobRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(bulkJobService.submit(request.getInput()));
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid bulk job request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (IOException ex) {
+            logger.error("Cannot create bulk job: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Submits a bulk job for an uploaded file of chains. The body is stored with the job before it is evaluated, and
+     * is rejected once it is longer than {@code calculator.jobs.max-upload-bytes}.
+     *
+     * @param request the HTTP request whose body holds one chain per line
+     * @return the id and progress of the new job
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Job submitted"),
+            @ApiResponse(code = 400, message = "Input has a line too long to be partitioned"),
+            @ApiResponse(code = 413, message = "Input is larger than the upload limit")})
+    @PostMapping(value = "/jobs", consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<JobStatus> upload(HttpServletRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(bulkJobService.submit(request.getInputStream(), request.getContentLengthLong()));
+        } catch (UploadTooLargeException ex) {
+            logger.error("Bulk job upload rejected: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(null);
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid bulk job upload: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (IOException ex) {
+            logger.error("Cannot store bulk job upload: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    /**
+     * Returns the progress of a bulk job.
+     *
+     * @param jobId the id returned when the job was submitted
+     * @return the state of the job and the number of evaluated partitions and chains
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully returned the job"),
+            @ApiResponse(code = 404, message = "Unknown job")})
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<JobStatus> status(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(bulkJobService.status(jobId));
+        } catch (NoSuchElementException ex) {
+            logger.error("Bulk job not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    /**
+     * Downloads the results of a completed bulk job: one line per input line, holding the result of the chain or
+     * {@code ERROR} and the reason the chain failed.
+     *
+     * @param jobId the id returned when the job was submitted
+     * @return the results file
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Streaming the results"),
+            @ApiResponse(code = 404, message = "Unknown job"),
+            @ApiResponse(code = 409, message = "Job has not completed")})
+    @GetMapping(value = "/jobs/{jobId}/results", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<Resource> results(@PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(new FileSystemResource(bulkJobService.results(jobId)));
+        } catch (NoSuchElementException ex) {
+            logger.error("Bulk job not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
+    }
+
+    /**
+     * Deletes a bulk job that is not running, with its results.
+     *
+     * @param jobId the id returned when the job was submitted
+     * @return 204 if the job was deleted, 404 if it did not exist, 409 if it is running
+     */
+    @DeleteMapping("/jobs/{jobId}")
+    public ResponseEntity<Void> delete(@PathVariable String jobId) {
+        try {
+            return bulkJobService.delete(jobId)
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalStateException ex) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IOException ex) {
+            logger.error("Cannot delete bulk job {}: {}", jobId, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
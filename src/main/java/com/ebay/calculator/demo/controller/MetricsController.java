@@ -0,0 +1,36 @@
+package com.ebay.calculator.demo.controller;
+
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.metrics.PrometheusFormatter;
+import io.swagger.annotations.Api;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/calculator")
+@Api("Calculator metrics APIs")
+public class MetricsController {
+
+    private static final String PROMETHEUS_TEXT = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final CalculatorMetrics metrics;
+
+    @Autowired
+    public MetricsController(CalculatorMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Exposes per-operation and per-endpoint latency percentiles, counts and errors, and the chain length
+     * distribution in the Prometheus text format.
+     *
+     * @return the metrics for scraping
+     */
+    @GetMapping(value = "/metrics", produces = PROMETHEUS_TEXT)
+    public ResponseEntity<String> metrics() {
+        return ResponseEntity.ok(PrometheusFormatter.format(metrics));
+    }
+}
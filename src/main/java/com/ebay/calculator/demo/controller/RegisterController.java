@@ -0,0 +1,149 @@
+package com.ebay.calculator.demo.controller;
+
+import com.ebay.calculator.demo.model.RegisterBatchRequest;
+import com.ebay.calculator.demo.model.RegisterRequest;
+import com.ebay.calculator.demo.model.RegisterUpdate;
+import com.ebay.calculator.demo.model.RegisterValue;
+import com.ebay.calculator.demo.service.RegisterService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/api/calculator")
+@Api("Calculator register APIs")
+public class RegisterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisterController.class);
+
+    private final RegisterService registerService;
+
+    @Autowired
+    public RegisterController(RegisterService registerService) {
+        this.registerService = registerService;
+    }
+
+    /**
+     * Creates a named register to keep a running total in, such as {@code {"name": "orders", "decimal": true}}.
+     *
+     * @param request the name, type and initial value of the register
+     * @return the new register
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Register created"),
+            @ApiResponse(code = 400, message = "Invalid name or initial value"),
+            @ApiResponse(code = 409, message = "Register exists or too many registers")})
+    @PostMapping("/registers")
+    public ResponseEntity<RegisterValue> create(@RequestBody RegisterRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(registerService.create(request));
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid register request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(null);
+        } catch (IllegalStateException ex) {
+            logger.error("Cannot create register: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(null);
+        }
+    }
+
+    /**
+     * Returns a snapshot of every register, ordered by name.
+     */
+    @GetMapping("/registers")
+    public ResponseEntity<List<RegisterValue>> snapshots() {
+        return ResponseEntity.ok(registerService.snapshots());
+    }
+
+    /**
+     * Returns a snapshot of a register: its value and the number of updates applied to it.
+     *
+     * @param name the register's name
+     * @return the register's value
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successfully returned the register"),
+            @ApiResponse(code = 404, message = "Unknown register")})
+    @GetMapping("/registers/{name}")
+    public ResponseEntity<RegisterValue> snapshot(@PathVariable String name) {
+        try {
+            return ResponseEntity.ok(registerService.snapshot(name));
+        } catch (NoSuchElementException ex) {
+            logger.error("Register not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+    }
+
+    /**
+     * Applies one update to a register, such as {@code {"operation": "ADD", "operand": 2.5}}. The new value is not
+     * returned; read it with {@link #snapshot(String)}.
+     *
+     * @param name the register's name
+     * @param update the operation and operand
+     * @return 204 once the update is applied
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Update applied"),
+            @ApiResponse(code = 400, message = "Operation other than ADD, SUBTRACT or MULTIPLY, or invalid operand"),
+            @ApiResponse(code = 404, message = "Unknown register")})
+    @PostMapping("/registers/{name}/updates")
+    public ResponseEntity<Void> update(@PathVariable String name, @RequestBody RegisterUpdate update) {
+        try {
+            registerService.update(name, update.getOperation(), update.getOperand());
+            return ResponseEntity.noContent().build();
+        } catch (NoSuchElementException ex) {
+            logger.error("Register not found: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid register update: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Applies updates of one or more registers in order. Nothing is applied unless every update is valid.
+     *
+     * @param request the updates, each naming its register
+     * @return 204 once the updates are applied
+     */
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Updates applied"),
+            @ApiResponse(code = 400, message = "Unknown register, unsupported operation or invalid operand")})
+    @PostMapping("/registers/updates")
+    public ResponseEntity<Void> batchUpdate(@RequestBody RegisterBatchRequest request) {
+        try {
+            registerService.update(request.getUpdates());
+            return ResponseEntity.noContent().build();
+        } catch (IllegalArgumentException ex) {
+            logger.error("Invalid register batch: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Deletes a register.
+     *
+     * @param name the register's name
+     * @return 204 if the register was deleted, 404 if it did not exist
+     */
+    @DeleteMapping("/registers/{name}")
+    public ResponseEntity<Void> delete(@PathVariable String name) {
+        return registerService.delete(name)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+}
@@ -0,0 +1,251 @@
+package com.ebay.calculator.demo.decimal;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Exact decimal evaluation under a {@link DecimalContext}. Values are computed as scaled {@code long}s by
+ * {@link ScaledArithmetic} while they fit. A chain that overflows continues in {@code BigDecimal} from the step that
+ * overflowed. Both paths give the same results, and every result is a {@code BigDecimal} with the context's scale.
+ *
+ * <p>The {@code BigDecimal} semantics: operands are rounded to the scale. Sums and differences are exact. Products are
+ * rounded to the scale, and quotients are computed to the scale. If a precision is set, every result is then rounded
+ * to that many significant digits.</p>
+ */
+public final class DecimalCalculator {
+
+    private DecimalCalculator() {
+    }
+
+    /**
+     * Applies {@code operation} to two operands.
+     *
+     * @throws ArithmeticException if dividing by zero, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if an operand is NaN or infinite, or the operation has no decimal
+     *                                  implementation
+     */
+    public static BigDecimal calculate(Operation operation, Number num1, Number num2, DecimalContext context) {
+        if (ScaledArithmetic.supports(context)) {
+            long scaled1 = ScaledArithmetic.toScaled(num1, context);
+            long scaled2 = ScaledArithmetic.toScaled(num2, context);
+            if (scaled1 != ScaledArithmetic.OVERFLOW && scaled2 != ScaledArithmetic.OVERFLOW) {
+                long result = ScaledArithmetic.apply(operation, scaled1, scaled2, context);
+                if (result != ScaledArithmetic.OVERFLOW) {
+                    return ScaledArithmetic.toBigDecimal(result, context);
+                }
+            }
+        }
+        return apply(operation, toBigDecimal(num1, context), toBigDecimal(num2, context), context);
+    }
+
+    /**
+     * Applies a registered operation definition to two operands, like {@link #calculate(Operation, Number, Number,
+     * DecimalContext)}.
+     *
+     * @throws ArithmeticException if the result is undefined, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if an operand is NaN or infinite, or the operation has no decimal
+     *                                  implementation
+     */
+    public static BigDecimal calculate(OperationDefinition definition, Number num1, Number num2,
+                                       DecimalContext context) {
+        if (ScaledArithmetic.supports(context)) {
+            long scaled1 = ScaledArithmetic.toScaled(num1, context);
+            long scaled2 = ScaledArithmetic.toScaled(num2, context);
+            if (scaled1 != ScaledArithmetic.OVERFLOW && scaled2 != ScaledArithmetic.OVERFLOW) {
+                long result = ScaledArithmetic.apply(definition, scaled1, scaled2, context);
+                if (result != ScaledArithmetic.OVERFLOW) {
+                    return ScaledArithmetic.toBigDecimal(result, context);
+                }
+            }
+        }
+        return apply(definition, toBigDecimal(num1, context), toBigDecimal(num2, context), context);
+    }
+
+    /**
+     * Applies each operation in order to the running value and the matching operand.
+     *
+     * @throws ArithmeticException if a step divides by zero, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if a value is NaN or infinite, or an operation has no decimal implementation
+     */
+    public static BigDecimal chain(Number initialValue, List<Operation> operations, List<? extends Number> operands,
+                                   DecimalContext context) {
+        int steps = operations.size();
+        int step = 0;
+        BigDecimal value;
+        long scaled = ScaledArithmetic.supports(context)
+                ? ScaledArithmetic.toScaled(initialValue, context)
+                : ScaledArithmetic.OVERFLOW;
+        if (scaled != ScaledArithmetic.OVERFLOW) {
+            for (; step < steps; step++) {
+                long operand = ScaledArithmetic.toScaled(operands.get(step), context);
+                if (operand == ScaledArithmetic.OVERFLOW) {
+                    break;
+                }
+                long result = ScaledArithmetic.apply(operations.get(step), scaled, operand, context);
+                if (result == ScaledArithmetic.OVERFLOW) {
+                    break;
+                }
+                scaled = result;
+            }
+            value = ScaledArithmetic.toBigDecimal(scaled, context);
+        } else {
+            value = toBigDecimal(initialValue, context);
+        }
+
+        for (; step < steps; step++) {
+            value = apply(operations.get(step), value, toBigDecimal(operands.get(step), context), context);
+        }
+        return value;
+    }
+
+    /**
+     * Applies each operation in order to the running value and the matching {@code double} operand, like
+     * {@link #chain(Number, List, List, DecimalContext)} but without boxing the operands.
+     *
+     * @throws ArithmeticException if a step divides by zero, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if a value is NaN or infinite, or an operation has no decimal implementation
+     */
+    public static BigDecimal chain(double initialValue, Operation[] operations, double[] operands,
+                                   DecimalContext context) {
+        return chain(initialValue, operations, null, operands, context);
+    }
+
+    /**
+     * Applies each step in order to the running value and the matching {@code double} operand. Step {@code i} is
+     * {@code operations[i]}, or {@code definitions[i]} where {@code operations[i]} is {@code null}.
+     *
+     * @param definitions the definition of each step that is not a built-in operation; may be {@code null} if every
+     *                    step is built in
+     * @throws ArithmeticException if a step is undefined, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if a value is NaN or infinite, or an operation has no decimal implementation
+     */
+    public static BigDecimal chain(double initialValue, Operation[] operations, OperationDefinition[] definitions,
+                                   double[] operands, DecimalContext context) {
+        return chain(initialValue, null, operations, definitions, operands, null, context);
+    }
+
+    /**
+     * Applies each step in order like {@link #chain(double, Operation[], OperationDefinition[], double[],
+     * DecimalContext)}, taking the initial value and each operand from the exact values where they are given.
+     *
+     * @param exactInitialValue the initial value, if {@code initialValue} does not hold it exactly; may be {@code null}
+     * @param exactOperands the operands that {@code operands} do not hold exactly, {@code null} elsewhere; may be
+     *                      {@code null} if every operand is exact
+     * @throws ArithmeticException if a step is undefined, or if rounding is needed under {@code UNNECESSARY}
+     * @throws IllegalArgumentException if a value is NaN or infinite, or an operation has no decimal implementation
+     */
+    public static BigDecimal chain(double initialValue, BigDecimal exactInitialValue, Operation[] operations,
+                                   OperationDefinition[] definitions, double[] operands, BigDecimal[] exactOperands,
+                                   DecimalContext context) {
+        int steps = operations.length;
+        int step = 0;
+        BigDecimal value;
+        long scaled = !ScaledArithmetic.supports(context) ? ScaledArithmetic.OVERFLOW
+                : exactInitialValue != null ? ScaledArithmetic.toScaled(exactInitialValue, context)
+                : ScaledArithmetic.toScaled(initialValue, context);
+        if (scaled != ScaledArithmetic.OVERFLOW) {
+            for (; step < steps; step++) {
+                long operand = exactOperands != null && exactOperands[step] != null
+                        ? ScaledArithmetic.toScaled(exactOperands[step], context)
+                        : ScaledArithmetic.toScaled(operands[step], context);
+                if (operand == ScaledArithmetic.OVERFLOW) {
+                    break;
+                }
+                Operation operation = operations[step];
+                long result = operation != null
+                        ? ScaledArithmetic.apply(operation, scaled, operand, context)
+                        : ScaledArithmetic.apply(definitions[step], scaled, operand, context);
+                if (result == ScaledArithmetic.OVERFLOW) {
+                    break;
+                }
+                scaled = result;
+            }
+            value = ScaledArithmetic.toBigDecimal(scaled, context);
+        } else {
+            value = exactInitialValue != null
+                    ? toBigDecimal(exactInitialValue, context)
+                    : toBigDecimal(initialValue, context);
+        }
+
+        for (; step < steps; step++) {
+            BigDecimal operand = exactOperands != null && exactOperands[step] != null
+                    ? toBigDecimal(exactOperands[step], context)
+                    : toBigDecimal(operands[step], context);
+            Operation operation = operations[step];
+            value = operation != null
+                    ? apply(operation, value, operand, context)
+                    : apply(definitions[step], value, operand, context);
+        }
+        return value;
+    }
+
+    /**
+     * The {@code BigDecimal} reference of {@link ScaledArithmetic#apply}; both operands have the context's scale.
+     */
+    static BigDecimal apply(Operation operation, BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        BigDecimal result;
+        switch (operation) {
+            case ADD:
+                result = num1.add(num2);
+                break;
+            case SUBTRACT:
+                result = num1.subtract(num2);
+                break;
+            case MULTIPLY:
+                result = num1.multiply(num2).setScale(context.getScale(), context.getRoundingMode());
+                break;
+            case DIVIDE:
+                if (num2.signum() == 0) {
+                    throw new ArithmeticException("Cannot divide by zero.");
+                }
+                result = num1.divide(num2, context.getScale(), context.getRoundingMode());
+                break;
+            default:
+                throw new IllegalArgumentException("Decimal calculations do not support " + operation);
+        }
+        return limitPrecision(result, context);
+    }
+
+    /**
+     * The {@code BigDecimal} reference of {@link ScaledArithmetic#apply(OperationDefinition, long, long,
+     * DecimalContext)}; both operands have the context's scale.
+     */
+    static BigDecimal apply(OperationDefinition definition, BigDecimal num1, BigDecimal num2,
+                            DecimalContext context) {
+        return limitPrecision(definition.applyDecimal(num1, num2, context), context);
+    }
+
+    private static BigDecimal limitPrecision(BigDecimal result, DecimalContext context) {
+        if (context.getPrecision() > 0) {
+            // Rounding to a precision can only lower the scale, so padding back to the scale is exact.
+            result = result.round(context.getMathContext()).setScale(context.getScale());
+        }
+        return result;
+    }
+
+    /**
+     * Converts an operand to a {@code BigDecimal} with the context's scale.
+     */
+    static BigDecimal toBigDecimal(Number value, DecimalContext context) {
+        BigDecimal decimal;
+        if (value instanceof BigDecimal) {
+            decimal = (BigDecimal) value;
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte) {
+            decimal = BigDecimal.valueOf(value.longValue());
+        } else {
+            return toBigDecimal(value.doubleValue(), context);
+        }
+        return decimal.setScale(context.getScale(), context.getRoundingMode());
+    }
+
+    static BigDecimal toBigDecimal(double value, DecimalContext context) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Decimal calculations do not support " + value);
+        }
+        return BigDecimal.valueOf(value).setScale(context.getScale(), context.getRoundingMode());
+    }
+}
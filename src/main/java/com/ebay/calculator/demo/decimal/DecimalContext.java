@@ -0,0 +1,64 @@
+package com.ebay.calculator.demo.decimal;
+
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Settings of a decimal calculation. Every operand and result is rounded to {@code scale} fractional digits with
+ * {@code roundingMode}. If {@code precision} is positive, results are further rounded to that many significant
+ * digits and then padded back to {@code scale}. A precision of {@code 0} means unlimited.
+ */
+public final class DecimalContext {
+
+    /** Largest supported scale. */
+    public static final int MAX_SCALE = 38;
+
+    private final int precision;
+    private final int scale;
+    private final RoundingMode roundingMode;
+    private final MathContext mathContext;
+
+    /**
+     * @param precision the number of significant digits of a result, or {@code 0} for unlimited
+     * @param scale the number of fractional digits of every value
+     * @param roundingMode how values are rounded to {@code scale} and {@code precision}
+     * @throws IllegalArgumentException if precision is negative, scale is outside {@code 0..MAX_SCALE} or the
+     *                                  rounding mode is null
+     */
+    public DecimalContext(int precision, int scale, RoundingMode roundingMode) {
+        if (precision < 0) {
+            throw new IllegalArgumentException("Precision must not be negative: " + precision);
+        }
+        if (scale < 0 || scale > MAX_SCALE) {
+            throw new IllegalArgumentException("Scale must be between 0 and " + MAX_SCALE + ": " + scale);
+        }
+        if (roundingMode == null) {
+            throw new IllegalArgumentException("Rounding mode cannot be null.");
+        }
+        this.precision = precision;
+        this.scale = scale;
+        this.roundingMode = roundingMode;
+        this.mathContext = new MathContext(precision, roundingMode);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public RoundingMode getRoundingMode() {
+        return roundingMode;
+    }
+
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+
+    @Override
+    public String toString() {
+        return "DecimalContext{precision=" + precision + ", scale=" + scale + ", roundingMode=" + roundingMode + "}";
+    }
+}
@@ -0,0 +1,259 @@
+package com.ebay.calculator.demo.decimal;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Decimal arithmetic on scaled {@code long}s: a value {@code v} with scale {@code s} is stored as the unscaled
+ * {@code v * 10^s}. Results are identical to the {@code BigDecimal} reference in {@link DecimalCalculator}, but no
+ * objects are allocated. When a result or an intermediate product does not fit in a {@code long}, the methods return
+ * {@link #OVERFLOW} and the caller repeats the step in {@code BigDecimal}.
+ */
+public final class ScaledArithmetic {
+
+    /**
+     * Returned when a value cannot be represented. {@code Long.MIN_VALUE} itself is therefore never a valid unscaled
+     * value, which also keeps {@link Math#abs(long)} safe on every valid value.
+     */
+    public static final long OVERFLOW = Long.MIN_VALUE;
+
+    /** Largest scale whose factor {@code 10^scale} fits in a {@code long}. */
+    public static final int MAX_SCALE = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[16];
+
+    /** Below this magnitude, adjacent scaled doubles are at most half a unit apart. */
+    private static final double EXACT_DOUBLE_LIMIT = 0x1p52;
+
+    static {
+        long power = 1;
+        for (int i = 0; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+        for (int i = 0; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = POWERS_OF_TEN[i];
+        }
+    }
+
+    private ScaledArithmetic() {
+    }
+
+    /**
+     * Returns whether values of the context can be computed on scaled {@code long}s at all.
+     */
+    public static boolean supports(DecimalContext context) {
+        return context.getScale() <= MAX_SCALE;
+    }
+
+    /**
+     * Converts an operand to its unscaled value, rounding it to the context's scale.
+     * A {@code Double} is taken at the value of its shortest decimal representation, like
+     * {@link BigDecimal#valueOf(double)}. Only doubles with more fractional digits than the scale allocate.
+     *
+     * @return the unscaled value, or {@link #OVERFLOW} if it does not fit
+     * @throws IllegalArgumentException if the operand is NaN or infinite
+     */
+    public static long toScaled(Number value, DecimalContext context) {
+        int scale = context.getScale();
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long factor = POWERS_OF_TEN[scale];
+            long number = value.longValue();
+            long limit = Long.MAX_VALUE / factor;
+            return number > limit || number < -limit ? OVERFLOW : number * factor;
+        }
+        if (value instanceof BigDecimal) {
+            return unscaledValue(((BigDecimal) value).setScale(scale, context.getRoundingMode()));
+        }
+        return toScaled(value.doubleValue(), context);
+    }
+
+    /**
+     * Converts a {@code double} to its unscaled value, like {@link #toScaled(Number, DecimalContext)}.
+     *
+     * @return the unscaled value, or {@link #OVERFLOW} if it does not fit
+     * @throws IllegalArgumentException if the operand is NaN or infinite
+     */
+    public static long toScaled(double number, DecimalContext context) {
+        int scale = context.getScale();
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            throw new IllegalArgumentException("Decimal calculations do not support " + number);
+        }
+        if (scale < DOUBLE_POWERS_OF_TEN.length) {
+            double scaled = number * DOUBLE_POWERS_OF_TEN[scale];
+            if (Math.abs(scaled) < EXACT_DOUBLE_LIMIT) {
+                long candidate = Math.round(scaled);
+                // Below the limit, at most one multiple of 10^-scale rounds to this double. If the candidate does,
+                // it is the double's shortest decimal representation, so no rounding to the scale is needed.
+                if (candidate / DOUBLE_POWERS_OF_TEN[scale] == number) {
+                    return candidate;
+                }
+            }
+        }
+        return unscaledValue(BigDecimal.valueOf(number).setScale(scale, context.getRoundingMode()));
+    }
+
+    private static long unscaledValue(BigDecimal scaled) {
+        if (scaled.unscaledValue().bitLength() > 63) {
+            return OVERFLOW;
+        }
+        return scaled.unscaledValue().longValue();
+    }
+
+    /**
+     * Returns {@code BigDecimal} of an unscaled value.
+     */
+    public static BigDecimal toBigDecimal(long unscaled, DecimalContext context) {
+        return BigDecimal.valueOf(unscaled, context.getScale());
+    }
+
+    /**
+     * Applies {@code operation} to two unscaled values.
+     *
+     * @return the unscaled result, or {@link #OVERFLOW} if it does not fit
+     * @throws ArithmeticException if dividing by zero, or if rounding is needed under {@link RoundingMode#UNNECESSARY}
+     * @throws IllegalArgumentException if the operation has no decimal implementation
+     */
+    public static long apply(Operation operation, long num1, long num2, DecimalContext context) {
+        switch (operation) {
+            case ADD:
+                return add(num1, num2, context);
+            case SUBTRACT:
+                return subtract(num1, num2, context);
+            case MULTIPLY:
+                return multiply(num1, num2, context);
+            case DIVIDE:
+                return divide(num1, num2, context);
+            default:
+                throw new IllegalArgumentException("Decimal calculations do not support " + operation);
+        }
+    }
+
+    /**
+     * Applies an operation definition to two unscaled values and rounds the result to the context's precision.
+     *
+     * @return the unscaled result, or {@link #OVERFLOW} if it does not fit or the definition has no scaled form
+     * @throws ArithmeticException if the result is undefined, or if rounding is needed under
+     *                             {@link RoundingMode#UNNECESSARY}
+     */
+    public static long apply(OperationDefinition definition, long num1, long num2, DecimalContext context) {
+        long result = definition.applyScaled(num1, num2, context);
+        return result == OVERFLOW ? OVERFLOW : limitPrecision(result, context);
+    }
+
+    /**
+     * Returns {@code 10^exponent} for {@code 0 <= exponent <= MAX_SCALE}.
+     */
+    public static long powerOfTen(int exponent) {
+        return POWERS_OF_TEN[exponent];
+    }
+
+    public static long add(long num1, long num2, DecimalContext context) {
+        long result = num1 + num2;
+        if (((num1 ^ result) & (num2 ^ result)) < 0 || result == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return limitPrecision(result, context);
+    }
+
+    public static long subtract(long num1, long num2, DecimalContext context) {
+        long result = num1 - num2;
+        if (((num1 ^ num2) & (num1 ^ result)) < 0 || result == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return limitPrecision(result, context);
+    }
+
+    public static long multiply(long num1, long num2, DecimalContext context) {
+        long low = num1 * num2;
+        if (Math.multiplyHigh(num1, num2) != (low >> 63) || low == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return limitPrecision(divideRounded(low, POWERS_OF_TEN[context.getScale()], context.getRoundingMode()),
+                context);
+    }
+
+    public static long divide(long num1, long num2, DecimalContext context) {
+        if (num2 == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        long factor = POWERS_OF_TEN[context.getScale()];
+        long dividend = num1 * factor;
+        if (Math.multiplyHigh(num1, factor) != (dividend >> 63) || dividend == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return limitPrecision(divideRounded(dividend, num2, context.getRoundingMode()), context);
+    }
+
+    /**
+     * Rounds {@code value} to the context's precision in significant digits, keeping the scale.
+     */
+    private static long limitPrecision(long value, DecimalContext context) {
+        int precision = context.getPrecision();
+        long magnitude = Math.abs(value);
+        if (precision == 0 || precision > MAX_SCALE || magnitude < POWERS_OF_TEN[precision]) {
+            return value;
+        }
+        int digits = precision;
+        while (digits <= MAX_SCALE && magnitude >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        long unit = POWERS_OF_TEN[digits - precision];
+        long rounded = divideRounded(value, unit, context.getRoundingMode());
+        long result = rounded * unit;
+        if (Math.multiplyHigh(rounded, unit) != (result >> 63) || result == OVERFLOW) {
+            return OVERFLOW;
+        }
+        return result;
+    }
+
+    /**
+     * Divides with the given rounding, like {@link BigDecimal#divide(BigDecimal, RoundingMode)} at scale 0.
+     * Neither argument may be {@link #OVERFLOW}.
+     *
+     * @throws ArithmeticException if rounding is needed under {@link RoundingMode#UNNECESSARY}
+     */
+    public static long divideRounded(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = (dividend ^ divisor) < 0 ? -1 : 1;
+        long absRemainder = Math.abs(remainder);
+        // Sign of 2|remainder| - |divisor| without overflow: the discarded fraction compared with one half.
+        int half = Long.compare(absRemainder, Math.abs(divisor) - absRemainder);
+        boolean increment;
+        switch (roundingMode) {
+            case UP:
+                increment = true;
+                break;
+            case DOWN:
+                increment = false;
+                break;
+            case CEILING:
+                increment = sign > 0;
+                break;
+            case FLOOR:
+                increment = sign < 0;
+                break;
+            case HALF_UP:
+                increment = half >= 0;
+                break;
+            case HALF_DOWN:
+                increment = half > 0;
+                break;
+            case HALF_EVEN:
+                increment = half > 0 || (half == 0 && (quotient & 1) != 0);
+                break;
+            default:
+                throw new ArithmeticException("Rounding necessary");
+        }
+        return increment ? quotient + sign : quotient;
+    }
+}
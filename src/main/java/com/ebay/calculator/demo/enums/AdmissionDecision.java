@@ -0,0 +1,16 @@
+package com.ebay.calculator.demo.enums;
+
+/**
+ * Outcomes of asking {@link com.ebay.calculator.demo.admission.AdmissionLimiter} to admit a request.
+ * <ul>
+ *     <li>{@code ADMITTED} if the request may run.</li>
+ *     <li>{@code OVERLOADED} if the server is at its concurrency limit; answered with 503.</li>
+ *     <li>{@code OVER_CLIENT_SHARE} if the server is at its limit and the client already holds more than its fair
+ *     share of it while other clients are waiting; answered with 429.</li>
+ * </ul>
+ */
+public enum AdmissionDecision {
+    ADMITTED,
+    OVERLOADED,
+    OVER_CLIENT_SHARE
+}
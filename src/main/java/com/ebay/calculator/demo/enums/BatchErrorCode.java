@@ -0,0 +1,22 @@
+package com.ebay.calculator.demo.enums;
+
+/**
+ * Per-slot status codes reported by a batch calculation. A failing slot carries one of these
+ * codes instead of failing the whole batch; its result value is left at zero.
+ */
+public enum BatchErrorCode {
+    NONE(0),
+    INVALID_OPERATION(1),
+    DIVISION_BY_ZERO(2),
+    OVERFLOW(3);
+
+    private final int code;
+
+    BatchErrorCode(int code) {
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
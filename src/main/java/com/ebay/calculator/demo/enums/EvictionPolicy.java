@@ -0,0 +1,18 @@
+package com.ebay.calculator.demo.enums;
+
+/**
+ * Eviction policies supported by {@link com.ebay.calculator.demo.cache.ResultCache}.
+ * <ul>
+ *     <li>{@code LRU} evicts the least recently read entry.</li>
+ *     <li>{@code LFU} evicts the least frequently read entry.</li>
+ *     <li>{@code TTL} expires entries a fixed time after they were written and evicts the oldest first.</li>
+ *     <li>{@code IDLE} expires entries a fixed time after they were last read and evicts the least recently read
+ *     first.</li>
+ * </ul>
+ */
+public enum EvictionPolicy {
+    LRU,
+    LFU,
+    TTL,
+    IDLE
+}
@@ -0,0 +1,16 @@
+package com.ebay.calculator.demo.enums;
+
+/**
+ * States of a bulk job run by {@link com.ebay.calculator.demo.service.BulkJobService}.
+ * <ul>
+ *     <li>{@code RUNNING} while partitions of the input are queued or being evaluated.</li>
+ *     <li>{@code COMPLETED} once every partition is evaluated and the results file is written.</li>
+ *     <li>{@code FAILED} if the input or output could not be read or written. A failed job is resumed on the next
+ *     start of the application.</li>
+ * </ul>
+ */
+public enum JobState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -9,5 +9,54 @@ public enum Operation {
     ADD,
     SUBTRACT,
     MULTIPLY,
-    DIVIDE
+    DIVIDE;
+
+    /**
+     * Operations grouped by the length of their name, so a lookup compares against at most a few candidates.
+     */
+    private static final Operation[][] BY_NAME_LENGTH;
+
+    static {
+        Operation[] values = values();
+        int longest = 0;
+        for (Operation operation : values) {
+            longest = Math.max(longest, operation.name().length());
+        }
+
+        BY_NAME_LENGTH = new Operation[longest + 1][];
+        for (int length = 0; length <= longest; length++) {
+            int count = 0;
+            for (Operation operation : values) {
+                if (operation.name().length() == length) {
+                    count++;
+                }
+            }
+            BY_NAME_LENGTH[length] = new Operation[count];
+            count = 0;
+            for (Operation operation : values) {
+                if (operation.name().length() == length) {
+                    BY_NAME_LENGTH[length][count++] = operation;
+                }
+            }
+        }
+    }
+
+    /**
+     * Resolves an operation name case-insensitively. Unlike {@link #valueOf(String)}, an unknown name returns
+     * {@code null} instead of throwing, and the name is not copied to upper case.
+     *
+     * @param name the operation name, e.g. {@code "add"} or {@code "DIVIDE"}
+     * @return the operation, or {@code null} if the name is {@code null} or unknown
+     */
+    public static Operation lookup(String name) {
+        if (name == null || name.length() >= BY_NAME_LENGTH.length) {
+            return null;
+        }
+        for (Operation operation : BY_NAME_LENGTH[name.length()]) {
+            if (operation.name().equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,29 @@
+package com.ebay.calculator.demo.expression;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+/**
+ * A binary operation on two sub-expressions.
+ */
+final class BinaryNode implements ExpressionNode {
+
+    private final Operation operation;
+    private final ExpressionNode left;
+    private final ExpressionNode right;
+
+    BinaryNode(Operation operation, ExpressionNode left, ExpressionNode right) {
+        this.operation = operation;
+        this.left = left;
+        this.right = right;
+    }
+
+    @Override
+    public Number evaluate(Number[] variables, Step step) {
+        return step.apply(operation, left.evaluate(variables, step), right.evaluate(variables, step));
+    }
+
+    @Override
+    public String toString() {
+        return "(" + left + " " + operation + " " + right + ")";
+    }
+}
@@ -0,0 +1,60 @@
+package com.ebay.calculator.demo.expression;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A parsed expression. It is immutable and independent of variable values, so one instance can be cached and
+ * evaluated concurrently with different bindings.
+ */
+public final class CompiledExpression {
+
+    private final String text;
+    private final ExpressionNode root;
+    private final String[] variableNames;
+
+    CompiledExpression(String text, ExpressionNode root, String[] variableNames) {
+        this.text = text;
+        this.root = root;
+        this.variableNames = variableNames;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the names of the variables referenced by the expression, in order of first appearance.
+     */
+    public List<String> getVariableNames() {
+        return Collections.unmodifiableList(Arrays.asList(variableNames));
+    }
+
+    /**
+     * Evaluates the expression with the given variable bindings. Bindings for names the expression does not
+     * reference are ignored.
+     *
+     * @param variables the variable values by name
+     * @param step evaluates a single binary operation
+     * @return the value of the expression
+     * @throws IllegalArgumentException if a referenced variable is not bound or bound to {@code null}
+     */
+    public Number evaluate(Map<String, ? extends Number> variables, ExpressionNode.Step step) {
+        Number[] values = new Number[variableNames.length];
+        for (int i = 0; i < variableNames.length; i++) {
+            Number value = variables == null ? null : variables.get(variableNames[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for variable: " + variableNames[i]);
+            }
+            values[i] = value;
+        }
+        return root.evaluate(values, step);
+    }
+
+    @Override
+    public String toString() {
+        return root.toString();
+    }
+}
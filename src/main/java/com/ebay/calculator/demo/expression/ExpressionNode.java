@@ -0,0 +1,26 @@
+package com.ebay.calculator.demo.expression;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+/**
+ * A node of a parsed expression tree.
+ */
+public interface ExpressionNode {
+
+    /**
+     * Evaluates this node.
+     *
+     * @param variables the variable values, indexed by the slots assigned while parsing
+     * @param step evaluates a single binary operation
+     * @return the value of this node
+     */
+    Number evaluate(Number[] variables, Step step);
+
+    /**
+     * Evaluates a single binary operation through the registered {@code OperationStrategy}.
+     */
+    @FunctionalInterface
+    interface Step {
+        Number apply(Operation operation, Number num1, Number num2);
+    }
+}
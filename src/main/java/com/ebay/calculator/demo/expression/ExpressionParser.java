@@ -0,0 +1,226 @@
+package com.ebay.calculator.demo.expression;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recursive-descent parser for infix arithmetic expressions.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := ('-' | '+') unary | primary
+ * primary    := number | variable | '(' expression ')'
+ * </pre>
+ *
+ * Operators of the same precedence associate to the left. Integer literals become {@code Integer}, {@code Long} or
+ * {@code BigDecimal} depending on their size, and literals with a fraction or exponent become {@code Double}, like
+ * numbers in a JSON request. Variable names start with a letter or underscore followed by letters, digits or
+ * underscores.
+ */
+public class ExpressionParser {
+
+    private final int maxDepth;
+
+    private String text;
+    private int position;
+    private int depth;
+    private List<String> variables;
+
+    /**
+     * @param maxDepth the maximum nesting depth of parentheses and unary operators, which bounds the recursion
+     */
+    public ExpressionParser(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * Parses an expression. A parser instance is not thread-safe.
+     *
+     * @param expression the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is empty, malformed or nested too deeply
+     */
+    public CompiledExpression parse(String expression) {
+        if (expression == null || expression.trim().isEmpty()) {
+            throw new IllegalArgumentException("Expression must not be empty.");
+        }
+
+        text = expression;
+        position = 0;
+        depth = 0;
+        variables = new ArrayList<>();
+        try {
+            ExpressionNode root = parseExpression();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("Unexpected '" + text.charAt(position) + "'");
+            }
+            return new CompiledExpression(expression, root, variables.toArray(new String[0]));
+        } finally {
+            text = null;
+            variables = null;
+        }
+    }
+
+    private ExpressionNode parseExpression() {
+        ExpressionNode node = parseTerm();
+        while (true) {
+            if (accept('+')) {
+                node = new BinaryNode(Operation.ADD, node, parseTerm());
+            } else if (accept('-')) {
+                node = new BinaryNode(Operation.SUBTRACT, node, parseTerm());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode parseTerm() {
+        ExpressionNode node = parseUnary();
+        while (true) {
+            if (accept('*')) {
+                node = new BinaryNode(Operation.MULTIPLY, node, parseUnary());
+            } else if (accept('/')) {
+                node = new BinaryNode(Operation.DIVIDE, node, parseUnary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ExpressionNode parseUnary() {
+        if (accept('-')) {
+            enter();
+            ExpressionNode operand = parseUnary();
+            depth--;
+            return new NegationNode(operand);
+        }
+        if (accept('+')) {
+            enter();
+            ExpressionNode operand = parseUnary();
+            depth--;
+            return operand;
+        }
+        return parsePrimary();
+    }
+
+    private ExpressionNode parsePrimary() {
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("Unexpected end of expression");
+        }
+
+        char c = text.charAt(position);
+        if (c == '(') {
+            position++;
+            enter();
+            ExpressionNode node = parseExpression();
+            depth--;
+            if (!accept(')')) {
+                throw error("Expected ')'");
+            }
+            return node;
+        }
+        if (isDigit(c) || c == '.') {
+            return parseNumber();
+        }
+        if (Character.isLetter(c) || c == '_') {
+            return parseVariable();
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private ExpressionNode parseNumber() {
+        int start = position;
+        boolean decimal = false;
+        while (position < text.length() && isDigit(text.charAt(position))) {
+            position++;
+        }
+        if (position < text.length() && text.charAt(position) == '.') {
+            decimal = true;
+            position++;
+            while (position < text.length() && isDigit(text.charAt(position))) {
+                position++;
+            }
+        }
+        if (position < text.length() && (text.charAt(position) == 'e' || text.charAt(position) == 'E')) {
+            decimal = true;
+            position++;
+            if (position < text.length() && (text.charAt(position) == '+' || text.charAt(position) == '-')) {
+                position++;
+            }
+            int exponentStart = position;
+            while (position < text.length() && isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (position == exponentStart) {
+                throw error("Malformed number");
+            }
+        }
+
+        String literal = text.substring(start, position);
+        if (literal.equals(".")) {
+            throw error("Malformed number");
+        }
+        if (decimal) {
+            return new NumberNode(Double.parseDouble(literal));
+        }
+        BigInteger value = new BigInteger(literal);
+        if (value.bitLength() < 32) {
+            return new NumberNode(value.intValue());
+        }
+        if (value.bitLength() < 64) {
+            return new NumberNode(value.longValue());
+        }
+        return new NumberNode(new BigDecimal(value));
+    }
+
+    private ExpressionNode parseVariable() {
+        int start = position;
+        while (position < text.length()
+                && (Character.isLetterOrDigit(text.charAt(position)) || text.charAt(position) == '_')) {
+            position++;
+        }
+        String name = text.substring(start, position);
+        int slot = variables.indexOf(name);
+        if (slot < 0) {
+            slot = variables.size();
+            variables.add(name);
+        }
+        return new VariableNode(name, slot);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void enter() {
+        if (++depth > maxDepth) {
+            throw error("Expression is nested deeper than " + maxDepth + " levels");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in expression: " + text);
+    }
+}
@@ -0,0 +1,27 @@
+package com.ebay.calculator.demo.expression;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+/**
+ * Unary minus, evaluated as a subtraction from zero so the result keeps the operand's numeric type.
+ */
+final class NegationNode implements ExpressionNode {
+
+    private static final Integer ZERO = 0;
+
+    private final ExpressionNode operand;
+
+    NegationNode(ExpressionNode operand) {
+        this.operand = operand;
+    }
+
+    @Override
+    public Number evaluate(Number[] variables, Step step) {
+        return step.apply(Operation.SUBTRACT, ZERO, operand.evaluate(variables, step));
+    }
+
+    @Override
+    public String toString() {
+        return "-" + operand;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ebay.calculator.demo.expression;
+
+/**
+ * A numeric literal.
+ */
+final class NumberNode implements ExpressionNode {
+
+    private final Number value;
+
+    NumberNode(Number value) {
+        this.value = value;
+    }
+
+    @Override
+    public Number evaluate(Number[] variables, Step step) {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString();
+    }
+}
@@ -0,0 +1,25 @@
+package com.ebay.calculator.demo.expression;
+
+/**
+ * A reference to a named variable, resolved to a slot of the variable array when the expression is parsed.
+ */
+final class VariableNode implements ExpressionNode {
+
+    private final String name;
+    private final int slot;
+
+    VariableNode(String name, int slot) {
+        this.name = name;
+        this.slot = slot;
+    }
+
+    @Override
+    public Number evaluate(Number[] variables, Step step) {
+        return variables[slot];
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,46 +1,181 @@
 package com.ebay.calculator.demo.factory;
 
 import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
 import com.ebay.calculator.demo.strategy.OperationStrategy;
 import com.ebay.calculator.demo.operations.Addition;
 import com.ebay.calculator.demo.operations.Division;
 import com.ebay.calculator.demo.operations.Multiplication;
 import com.ebay.calculator.demo.operations.Subtraction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.EnumMap;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.ServiceLoader;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Factory to provide the correct {@code OperationStrategy} based on the requested {@code Operation}.
  * New operations can be added without modifying existing code, adhering to the Open-Closed Principle.
+ *
+ * <p>Every operation has an opcode. The built-in operations keep their {@link Operation#ordinal()}, and
+ * {@link OperationDefinition}s get the following opcodes in registration order, up to {@link #MAX_OPERATIONS} in
+ * total. Definitions found by {@link ServiceLoader} are registered at construction, sorted by name. Callers on the
+ * hot path resolve a name to an opcode once and then work with opcodes, like the built-ins.</p>
+ *
+ * <p>Strategies can be replaced while requests are being served. The registry is an immutable snapshot, arrays
+ * indexed by opcode with a version number, published through a volatile field. Lookups read the current snapshot
+ * without locking or allocating. Registrations copy the arrays, publish a new snapshot with the next version and
+ * then notify the {@link StrategyRegistrationListener}s.</p>
  */
 @Component
 public class OperationStrategyFactory {
 
-    private final Map<Operation, OperationStrategy> opStrategies = new EnumMap<>(Operation.class);
+    /** Upper bound on the number of opcodes, so that an opcode always fits in a non-negative {@code byte}. */
+    public static final int MAX_OPERATIONS = 64;
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationStrategyFactory.class);
+    private static final int BUILT_IN_COUNT = Operation.values().length;
+
+    private volatile Registry registry;
+    private final List<StrategyRegistrationListener> listeners = new CopyOnWriteArrayList<>();
+    private final Object registrationLock = new Object();
 
     public OperationStrategyFactory() {
-        registerOperation(Operation.ADD, (OperationStrategy) new Addition());
-        registerOperation(Operation.SUBTRACT, (OperationStrategy) new Subtraction());
-        registerOperation(Operation.MULTIPLY, (OperationStrategy) new Multiplication());
-        registerOperation(Operation.DIVIDE, (OperationStrategy) new Division());
+        String[] names = new String[BUILT_IN_COUNT];
+        for (Operation operation : Operation.values()) {
+            names[operation.ordinal()] = operation.name();
+        }
+        registry = new Registry(new OperationStrategy[BUILT_IN_COUNT], new OperationDefinition[BUILT_IN_COUNT], names,
+                Collections.emptyMap(), 0);
+
+        registerOperation(Operation.ADD, new Addition());
+        registerOperation(Operation.SUBTRACT, new Subtraction());
+        registerOperation(Operation.MULTIPLY, new Multiplication());
+        registerOperation(Operation.DIVIDE, new Division());
+
+        List<OperationDefinition> definitions = new ArrayList<>();
+        ServiceLoader.load(OperationDefinition.class, OperationStrategyFactory.class.getClassLoader())
+                .forEach(definitions::add);
+        definitions.sort(Comparator.comparing(OperationDefinition::getName, String.CASE_INSENSITIVE_ORDER));
+        for (OperationDefinition definition : definitions) {
+            registerOperation(definition);
+        }
     }
 
     /**
-     * Registers a custom operation strategy for a specific {@code Operation}.
-     * This allows for extending the calculator with new operations without modifying the existing code.
+     * Registers a custom operation strategy for a specific {@code Operation}, replacing any strategy registered
+     * before. This allows for extending the calculator with new operations without modifying the existing code.
+     * Calls that are already running finish with the strategy they resolved; later lookups see the new one.
      *
      * @param op       the {@code Operation} enum constant representing the operation to be registered
      * @param strategy the {@code OperationStrategy} implementation that defines the operation's behavior
-     * @throws NullPointerException if the provided operation or strategy is {@code null}
+     * @throws IllegalArgumentException if the provided operation or strategy is {@code null}
      */
     public void registerOperation(final Operation op, final OperationStrategy strategy) {
         if (Objects.isNull(op) || Objects.isNull(strategy)) {
             throw new IllegalArgumentException("Operation or strategy cannot be null.");
         }
-        opStrategies.put(op, strategy);
+
+        synchronized (registrationLock) {
+            publish(op.ordinal(), strategy, null, registry.extensions);
+        }
+    }
+
+    /**
+     * Registers an operation by its name. A definition whose name is already registered replaces the previous one
+     * and keeps its opcode; a new name gets the next free opcode.
+     *
+     * @param definition the operation to register
+     * @return the operation's opcode
+     * @throws IllegalArgumentException if the definition is {@code null}, has no name or an arity other than 1 or 2,
+     *                                  uses the name of a built-in operation, or if {@link #MAX_OPERATIONS} are
+     *                                  already registered
+     */
+    public int registerOperation(final OperationDefinition definition) {
+        if (Objects.isNull(definition) || Objects.isNull(definition.getName()) || definition.getName().isEmpty()) {
+            throw new IllegalArgumentException("Operation definition and its name cannot be null.");
+        }
+        String name = definition.getName();
+        if (definition.getArity() != 1 && definition.getArity() != 2) {
+            throw new IllegalArgumentException("Operation " + name + " must take 1 or 2 operands.");
+        }
+        if (Operation.lookup(name) != null) {
+            throw new IllegalArgumentException("Operation " + name + " is built in.");
+        }
+
+        synchronized (registrationLock) {
+            Registry current = registry;
+            Integer existing = current.extensions.get(name);
+            int opcode = existing != null ? existing : current.strategies.length;
+            if (opcode >= MAX_OPERATIONS) {
+                throw new IllegalArgumentException("Cannot register more than " + MAX_OPERATIONS + " operations.");
+            }
+
+            Map<String, Integer> extensions = current.extensions;
+            if (existing == null) {
+                extensions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+                extensions.putAll(current.extensions);
+                extensions.put(name, opcode);
+                extensions = Collections.unmodifiableMap(extensions);
+            }
+            publish(opcode, definition, definition, extensions);
+            return opcode;
+        }
+    }
+
+    /**
+     * Publishes a snapshot with {@code strategy} at {@code opcode}, growing the arrays for a new opcode.
+     * Must be called with {@link #registrationLock} held.
+     */
+    private void publish(int opcode, OperationStrategy strategy, OperationDefinition definition,
+                         Map<String, Integer> extensions) {
+        Registry current = registry;
+        int size = Math.max(current.strategies.length, opcode + 1);
+        OperationStrategy[] strategies = Arrays.copyOf(current.strategies, size);
+        OperationDefinition[] definitions = Arrays.copyOf(current.definitions, size);
+        String[] names = Arrays.copyOf(current.names, size);
+        OperationStrategy previous = strategies[opcode];
+        strategies[opcode] = strategy;
+        definitions[opcode] = definition;
+        if (definition != null) {
+            names[opcode] = definition.getName().toUpperCase();
+        }
+        Registry next = new Registry(strategies, definitions, names, extensions, current.version + 1);
+        registry = next;
+
+        // Notified under the lock, so listeners see changes in version order.
+        for (StrategyRegistrationListener listener : listeners) {
+            try {
+                listener.onRegistration(opcode, previous, strategy, next.version);
+            } catch (RuntimeException ex) {
+                logger.error("Strategy registration listener failed for operation {}", names[opcode], ex);
+            }
+        }
+    }
+
+    /**
+     * Resolves an operation name case-insensitively. Built-in names are resolved without a map lookup.
+     *
+     * @param name the operation name
+     * @return the opcode, or {@code -1} if the name is {@code null} or not registered
+     */
+    public int lookup(String name) {
+        Operation operation = Operation.lookup(name);
+        if (operation != null) {
+            return operation.ordinal();
+        }
+        Integer opcode = name == null ? null : registry.extensions.get(name);
+        return opcode == null ? -1 : opcode;
     }
 
     /**
@@ -51,11 +186,168 @@ public class OperationStrategyFactory {
      * @throws UnsupportedOperationException if the operation is not registered
      */
     public OperationStrategy getStrategy(Operation operation) {
-        if (opStrategies.containsKey(operation)) {
-            return opStrategies.get(operation);
-        } else {
+        OperationStrategy strategy = operation == null ? null : registry.strategies[operation.ordinal()];
+        if (strategy == null) {
             throw new UnsupportedOperationException("No strategy registered for operation: " + operation);
         }
+        return strategy;
+    }
+
+    /**
+     * Returns the strategy registered for an opcode.
+     *
+     * @param opcode the opcode, as returned by {@link #lookup(String)}
+     * @return the corresponding {@code OperationStrategy}
+     * @throws UnsupportedOperationException if no operation has this opcode
+     */
+    public OperationStrategy getStrategy(int opcode) {
+        OperationStrategy[] strategies = registry.strategies;
+        OperationStrategy strategy = opcode >= 0 && opcode < strategies.length ? strategies[opcode] : null;
+        if (strategy == null) {
+            throw new UnsupportedOperationException("No strategy registered for opcode: " + opcode);
+        }
+        return strategy;
+    }
+
+    /**
+     * Returns whether an operation is registered for the opcode.
+     */
+    public boolean isRegistered(int opcode) {
+        OperationStrategy[] strategies = registry.strategies;
+        return opcode >= 0 && opcode < strategies.length && strategies[opcode] != null;
+    }
+
+    /**
+     * Returns the definition registered for an opcode.
+     *
+     * @return the definition, or {@code null} for a built-in or unknown opcode
+     */
+    public OperationDefinition getDefinition(int opcode) {
+        OperationDefinition[] definitions = registry.definitions;
+        return opcode >= 0 && opcode < definitions.length ? definitions[opcode] : null;
+    }
+
+    /**
+     * Returns the upper-case name of an opcode, or {@code null} if the opcode is unknown.
+     */
+    public String getName(int opcode) {
+        String[] names = registry.names;
+        return opcode >= 0 && opcode < names.length ? names[opcode] : null;
+    }
+
+    /**
+     * Returns the number of operands of an opcode: 2 for the built-in operations, the definition's arity otherwise.
+     */
+    public int getArity(int opcode) {
+        OperationDefinition definition = getDefinition(opcode);
+        return definition == null ? 2 : definition.getArity();
+    }
+
+    /**
+     * Returns the number of opcodes in use; every registered opcode is below it.
+     */
+    public int size() {
+        return registry.strategies.length;
+    }
+
+    /**
+     * Returns the strategies of one registry version, indexed by opcode, so that a caller resolving several
+     * operations does not mix versions.
+     *
+     * @return a copy of the strategy table; unregistered opcodes are {@code null}
+     */
+    public OperationStrategy[] getStrategies() {
+        return registry.strategies.clone();
+    }
+
+    /**
+     * Returns the registry version, which increases with every registration.
+     *
+     * @return the current version
+     */
+    public long getVersion() {
+        return registry.version;
+    }
+
+    /**
+     * Adds a listener that is notified after every later registration.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(StrategyRegistrationListener listener) {
+        listeners.add(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Removes a listener added with {@link #addListener(StrategyRegistrationListener)}.
+     *
+     * @param listener the listener to remove
+     */
+    public void removeListener(StrategyRegistrationListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Applies the strategy registered for {@code operation}, dispatching on the runtime operand types:
+     * <ul>
+     *     <li>{@code Integer}/{@code Long} pairs use {@link OperationStrategy#applyLong(long, long)}. The result is an
+     *     {@code Integer} when both operands are {@code Integer} and it fits, otherwise a {@code Long}. If the exact
+     *     result overflows a {@code long} the operation is repeated in {@code BigDecimal}. {@code DIVIDE} is the
+     *     exception: only {@code Integer} pairs divide as integers, and pairs with a {@code Long} divide as
+     *     {@code double}s.</li>
+     *     <li>Pairs containing a {@code BigDecimal} use {@link OperationStrategy#apply(Object, Object)}.</li>
+     *     <li>All other pairs use {@link OperationStrategy#applyDouble(double, double)}.</li>
+     * </ul>
+     *
+     * @param operation the operation to apply
+     * @param num1 the first operand
+     * @param num2 the second operand
+     * @return the result of the operation
+     * @throws UnsupportedOperationException if the operation is not registered
+     */
+    public Number evaluate(Operation operation, Number num1, Number num2) {
+        return evaluate(getStrategy(operation), operation == Operation.DIVIDE, num1, num2);
+    }
+
+    /**
+     * Applies the strategy registered for an opcode, dispatching on the runtime operand types like
+     * {@link #evaluate(Operation, Number, Number)}.
+     *
+     * @throws UnsupportedOperationException if no operation has this opcode
+     */
+    public Number evaluate(int opcode, Number num1, Number num2) {
+        return evaluate(getStrategy(opcode), opcode == Operation.DIVIDE.ordinal(), num1, num2);
+    }
+
+    private static Number evaluate(OperationStrategy strategy, boolean division, Number num1, Number num2) {
+        // Integer division truncates, which only Integer pairs did before Long operands had an integer path.
+        boolean integral = division
+                ? num1 instanceof Integer && num2 instanceof Integer
+                : isIntegral(num1) && isIntegral(num2);
+        if (integral) {
+            long a = num1.longValue();
+            long b = num2.longValue();
+            long result;
+            try {
+                result = strategy.applyLong(a, b);
+            } catch (ArithmeticException ex) {
+                return strategy.apply(BigDecimal.valueOf(a), BigDecimal.valueOf(b));
+            }
+            if (num1 instanceof Integer && num2 instanceof Integer && result == (int) result) {
+                return (int) result;
+            }
+            return result;
+        }
+
+        if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
+            return strategy.apply(num1, num2);
+        }
+
+        return strategy.applyDouble(num1.doubleValue(), num2.doubleValue());
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long;
     }
 
     /**
@@ -63,8 +355,29 @@ public class OperationStrategyFactory {
      *
      * @param operation the operation to register
      * @param strategy the corresponding strategy to associate with the operation
+     * @see #registerOperation(Operation, OperationStrategy)
      */
     public void registerCustomOperation(Operation operation, OperationStrategy strategy) {
-        opStrategies.put(operation, strategy);
+        registerOperation(operation, strategy);
+    }
+
+    /**
+     * One published version of the registry. Never modified after construction.
+     */
+    private static final class Registry {
+        private final OperationStrategy[] strategies;
+        private final OperationDefinition[] definitions;
+        private final String[] names;
+        private final Map<String, Integer> extensions;
+        private final long version;
+
+        private Registry(OperationStrategy[] strategies, OperationDefinition[] definitions, String[] names,
+                         Map<String, Integer> extensions, long version) {
+            this.strategies = strategies;
+            this.definitions = definitions;
+            this.names = names;
+            this.extensions = extensions;
+            this.version = version;
+        }
     }
 }
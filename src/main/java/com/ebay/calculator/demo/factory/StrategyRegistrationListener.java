@@ -0,0 +1,21 @@
+package com.ebay.calculator.demo.factory;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+
+/**
+ * Notified after a strategy is registered or replaced in an {@link OperationStrategyFactory}.
+ */
+@FunctionalInterface
+public interface StrategyRegistrationListener {
+
+    /**
+     * Called once the new strategy is visible to readers. Calls arrive in registration order.
+     *
+     * @param opcode the opcode whose strategy changed; built-in operations use their {@link Operation#ordinal()}
+     * @param previous the strategy that was replaced, or {@code null} if there was none
+     * @param current the newly registered strategy
+     * @param version the registry version that includes the change
+     */
+    void onRegistration(int opcode, OperationStrategy previous, OperationStrategy current, long version);
+}
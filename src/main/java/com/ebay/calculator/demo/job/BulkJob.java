@@ -0,0 +1,337 @@
+package com.ebay.calculator.demo.job;
+
+import com.ebay.calculator.demo.enums.JobState;
+import com.ebay.calculator.demo.model.JobStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A bulk job and its files. A job lives in its own directory:
+ *
+ * <pre>
+ * job.properties      the input file, its size and modification time, and the partition size and count
+ * checkpoint          one line "partition chains failedChains" per finished partition, in completion order
+ * part-NNNNNN.txt     the result lines of one partition
+ * results.txt         the result lines of the whole input, written once every partition is finished
+ * </pre>
+ *
+ * The input is split into partitions of about {@code partitionBytes} bytes that end at a line break, so the same
+ * input is always split the same way. A partition is finished once its part file is on disk and its checkpoint line
+ * is written; a resumed job only evaluates the partitions that are not in the checkpoint. Finished part files are
+ * concatenated into {@code results.txt} in partition order, so the results have one line per input line in input
+ * order.
+ */
+public class BulkJob {
+
+    private static final String PROPERTIES = "job.properties";
+    private static final String CHECKPOINT = "checkpoint";
+    private static final String RESULTS = "results.txt";
+
+    private static final int SCAN_BYTES = 8192;
+
+    private final String id;
+    private final Path directory;
+    private final Path input;
+    private final long[] boundaries;
+    private final int partitions;
+    private final Set<Integer> finished = new HashSet<>();
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final LongAdder chains = new LongAdder();
+    private final LongAdder failedChains = new LongAdder();
+    private volatile JobState state = JobState.RUNNING;
+    private volatile String message;
+
+    private BulkJob(String id, Path directory, Path input, long[] boundaries) {
+        this.id = id;
+        this.directory = directory;
+        this.input = input;
+        this.boundaries = boundaries;
+        this.partitions = boundaries.length - 1;
+    }
+
+    /** A completed job, whose partitions are only known from its checkpoint. */
+    private BulkJob(String id, Path directory, Path input, int partitions) {
+        this.id = id;
+        this.directory = directory;
+        this.input = input;
+        this.boundaries = null;
+        this.partitions = partitions;
+        this.state = JobState.COMPLETED;
+    }
+
+    /**
+     * Creates a job for an input file in a new job directory.
+     *
+     * @param id the job id
+     * @param directory the job directory, which must not exist yet
+     * @param input the input file
+     * @param partitionBytes the approximate size of a partition
+     * @return the job, with no partition finished
+     * @throws IOException if the input cannot be read or the job directory cannot be written
+     * @throws IllegalArgumentException if a line of the input is longer than a partition can be
+     */
+    public static BulkJob create(String id, Path directory, Path input, long partitionBytes) throws IOException {
+        long[] boundaries = partition(input, partitionBytes);
+        Files.createDirectories(directory);
+        Properties properties = new Properties();
+        properties.setProperty("input", input.toAbsolutePath().toString());
+        properties.setProperty("inputSize", Long.toString(Files.size(input)));
+        properties.setProperty("inputModified", Long.toString(Files.getLastModifiedTime(input).toMillis()));
+        properties.setProperty("partitionBytes", Long.toString(partitionBytes));
+        properties.setProperty("partitions", Integer.toString(boundaries.length - 1));
+        try (OutputStream out = Files.newOutputStream(directory.resolve(PROPERTIES))) {
+            properties.store(out, "Bulk job " + id);
+        }
+        return new BulkJob(id, directory, input, boundaries);
+    }
+
+    /**
+     * Loads a job from its directory, with the partitions in its checkpoint marked as finished.
+     *
+     * @param directory the job directory
+     * @return the job
+     * @throws IOException if the job files cannot be read
+     * @throws IllegalStateException if the input file changed since the job was submitted
+     */
+    public static BulkJob load(Path directory) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(directory.resolve(PROPERTIES))) {
+            properties.load(in);
+        }
+        String id = directory.getFileName().toString();
+        Path input = Paths.get(properties.getProperty("input"));
+        if (Files.exists(directory.resolve(RESULTS))) {
+            BulkJob job = new BulkJob(id, directory, input, Integer.parseInt(properties.getProperty("partitions")));
+            job.readCheckpoint();
+            return job;
+        }
+
+        long size = Long.parseLong(properties.getProperty("inputSize"));
+        long modified = Long.parseLong(properties.getProperty("inputModified"));
+        if (!Files.isRegularFile(input) || Files.size(input) != size
+                || Files.getLastModifiedTime(input).toMillis() != modified) {
+            throw new IllegalStateException("Input " + input + " of job " + id + " changed since it was submitted.");
+        }
+        BulkJob job = new BulkJob(id, directory, input,
+                partition(input, Long.parseLong(properties.getProperty("partitionBytes"))));
+        job.readCheckpoint();
+        return job;
+    }
+
+    /**
+     * Returns whether a directory holds a job.
+     */
+    public static boolean isJob(Path directory) {
+        return Files.isRegularFile(directory.resolve(PROPERTIES));
+    }
+
+    /**
+     * Splits a file into ranges of about {@code partitionBytes} bytes, each ending after a line break or at the end
+     * of the file.
+     *
+     * @return the start of every partition followed by the size of the file; only the size for an empty file
+     */
+    public static long[] partition(Path file, long partitionBytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Every partition but the last one is at least partitionBytes long.
+            long[] boundaries = new long[Math.toIntExact(size / partitionBytes + 2)];
+            int count = 1;
+            ByteBuffer scan = ByteBuffer.allocate(SCAN_BYTES);
+            while (boundaries[count - 1] < size) {
+                long start = boundaries[count - 1];
+                long end = lineStart(channel, start + partitionBytes, scan);
+                if (end - start > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("The input has a line longer than " + Integer.MAX_VALUE
+                            + " bytes.");
+                }
+                boundaries[count++] = end;
+            }
+            return Arrays.copyOf(boundaries, count);
+        }
+    }
+
+    /**
+     * Returns the start of the first line at or after {@code position}: the index after the first line break at or
+     * after {@code position - 1}, or the size of the file.
+     */
+    private static long lineStart(FileChannel channel, long position, ByteBuffer scan) throws IOException {
+        long size = channel.size();
+        long offset = position - 1;
+        while (offset < size) {
+            scan.clear();
+            int read = channel.read(scan, offset);
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += Math.max(read, 0);
+        }
+        return size;
+    }
+
+    private void readCheckpoint() throws IOException {
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        if (!Files.exists(checkpoint)) {
+            return;
+        }
+        List<String> lines = Files.readAllLines(checkpoint, StandardCharsets.US_ASCII);
+        for (String line : lines) {
+            String[] fields = line.split(" ");
+            // A line cut short by a crash is ignored; its partition is evaluated again.
+            if (fields.length != 3) {
+                continue;
+            }
+            int partition = Integer.parseInt(fields[0]);
+            if (state == JobState.COMPLETED || Files.exists(partFile(partition))) {
+                finished.add(partition);
+                chains.add(Long.parseLong(fields[1]));
+                failedChains.add(Long.parseLong(fields[2]));
+            }
+        }
+        completedPartitions.set(finished.size());
+    }
+
+    /**
+     * Records a partition as finished. Its part file must already be forced to disk.
+     *
+     * @return {@code true} if this was the last unfinished partition
+     */
+    public synchronized boolean finish(int partition, long partitionChains, long partitionFailures) throws IOException {
+        byte[] line = (partition + " " + partitionChains + " " + partitionFailures + "\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        try (FileChannel checkpoint = FileChannel.open(directory.resolve(CHECKPOINT), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                checkpoint.write(buffer);
+            }
+            checkpoint.force(false);
+        }
+        finished.add(partition);
+        return completedPartitions.incrementAndGet() == partitions;
+    }
+
+    /**
+     * Concatenates the part files into the results file and deletes them.
+     */
+    public void writeResults() throws IOException {
+        Path temporary = directory.resolve(RESULTS + ".tmp");
+        try (FileChannel results = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (int partition = 0; partition < partitions; partition++) {
+                try (FileChannel part = FileChannel.open(partFile(partition), StandardOpenOption.READ)) {
+                    long position = 0;
+                    long size = part.size();
+                    while (position < size) {
+                        position += part.transferTo(position, size - position, results);
+                    }
+                }
+            }
+            results.force(false);
+        }
+        Files.move(temporary, directory.resolve(RESULTS), StandardCopyOption.ATOMIC_MOVE);
+        for (int partition = 0; partition < partitions; partition++) {
+            Files.deleteIfExists(partFile(partition));
+        }
+        state = JobState.COMPLETED;
+    }
+
+    /**
+     * Returns when the results file was written, in milliseconds since the epoch.
+     *
+     * @throws IOException if the job has no results file
+     */
+    public long completedAt() throws IOException {
+        return Files.getLastModifiedTime(getResults()).toMillis();
+    }
+
+    /**
+     * Deletes the job directory and everything in it.
+     */
+    public void delete() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Adds evaluated chains to the progress of the job.
+     *
+     * @param evaluated the number of evaluated chains
+     * @param failed how many of them produced an error line
+     */
+    public void recordChains(long evaluated, long failed) {
+        chains.add(evaluated);
+        failedChains.add(failed);
+    }
+
+    public void fail(String reason) {
+        message = reason;
+        state = JobState.FAILED;
+    }
+
+    public synchronized boolean isFinished(int partition) {
+        return finished.contains(partition);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public JobState getState() {
+        return state;
+    }
+
+    public Path getInput() {
+        return input;
+    }
+
+    public Path getResults() {
+        return directory.resolve(RESULTS);
+    }
+
+    public Path partFile(int partition) {
+        return directory.resolve(String.format("part-%06d.txt", partition));
+    }
+
+    public int partitions() {
+        return partitions;
+    }
+
+    public long start(int partition) {
+        return boundaries[partition];
+    }
+
+    public long end(int partition) {
+        return boundaries[partition + 1];
+    }
+
+    public JobStatus status() {
+        return new JobStatus(id, state, partitions, completedPartitions.get(), chains.sum(), failedChains.sum(),
+                message);
+    }
+}
@@ -0,0 +1,234 @@
+package com.ebay.calculator.demo.job;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Parses the chains of a bulk job input, one chain per line. A line holds the initial value followed by its steps,
+ * separated by whitespace:
+ *
+ * <pre>
+ * line := initialValue (operation operand?)+
+ * </pre>
+ *
+ * Operations are resolved like in a chain request: any registered operation, case-insensitively. A binary operation
+ * is followed by its operand and a unary operation has none, e.g. {@code 16 SQRT ADD 1}. The rules of
+ * {@code CalculatorValidator#validateChainRequest} apply, so the parsed chain is a {@link ValidatedChain}.
+ *
+ * <p>Tokens are parsed from the bytes of the line: operation names are compared with the registered names without
+ * creating strings, and decimal numbers of up to 15 digits are converted exactly without
+ * {@link Double#parseDouble}. A parser reuses its scratch arrays between lines and is not thread-safe; each partition
+ * worker has its own.</p>
+ */
+public class ChainLineParser {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /** Digits of a mantissa below 2^53, which a {@code double} holds exactly. */
+    private static final int EXACT_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = new double[EXACT_DIGITS + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final OperationStrategyFactory strategyFactory;
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private byte[] opcodes = new byte[16];
+    private double[] operands = new double[16];
+    private long namesVersion = -1;
+    private byte[][] names;
+
+    public ChainLineParser(OperationStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**
+     * Parses the line between {@code from} and {@code to} of a buffer. The buffer's position is not used or changed.
+     *
+     * @param buffer the input
+     * @param from the index of the first byte of the line
+     * @param to the index after the last byte of the line, excluding its line break
+     * @return the validated chain
+     * @throws IllegalArgumentException if the line is not a valid chain
+     */
+    public ValidatedChain parse(ByteBuffer buffer, int from, int to) {
+        int position = nextToken(buffer, from, to);
+        if (tokenLength == 0) {
+            throw new IllegalArgumentException("Initial value cannot be null.");
+        }
+        double initialValue = number();
+
+        int steps = 0;
+        boolean extensions = false;
+        for (position = nextToken(buffer, position, to); tokenLength > 0; position = nextToken(buffer, position, to)) {
+            int opcode = opcode();
+            if (opcode < 0) {
+                throw new IllegalArgumentException("Invalid operation: " + text());
+            }
+            double operand = 0.0;
+            if (strategyFactory.getArity(opcode) != 1) {
+                position = nextToken(buffer, position, to);
+                if (tokenLength == 0) {
+                    throw new IllegalArgumentException("Missing operand for operation: "
+                            + strategyFactory.getName(opcode));
+                }
+                operand = number();
+            }
+            if (opcode == Operation.DIVIDE.ordinal() && operand == 0) {
+                throw new IllegalArgumentException("Division by zero is not allowed.");
+            }
+
+            if (steps == opcodes.length) {
+                opcodes = Arrays.copyOf(opcodes, steps * 2);
+                operands = Arrays.copyOf(operands, steps * 2);
+            }
+            extensions |= opcode >= OPERATIONS.length;
+            opcodes[steps] = (byte) opcode;
+            operands[steps] = operand;
+            steps++;
+        }
+        if (steps == 0) {
+            throw new IllegalArgumentException("Operations list cannot be null or empty.");
+        }
+
+        // The chain keeps its arrays: compiled plans are cached by their opcode array.
+        Operation[] operations = new Operation[steps];
+        OperationDefinition[] definitions = extensions ? new OperationDefinition[steps] : null;
+        for (int i = 0; i < steps; i++) {
+            if (opcodes[i] < OPERATIONS.length) {
+                operations[i] = OPERATIONS[opcodes[i]];
+            } else {
+                definitions[i] = strategyFactory.getDefinition(opcodes[i]);
+            }
+        }
+        return new ValidatedChain(initialValue, operations, definitions, Arrays.copyOf(opcodes, steps),
+                Arrays.copyOf(operands, steps));
+    }
+
+    /**
+     * Copies the next whitespace-separated token into {@code token}.
+     *
+     * @return the index after the token; {@code tokenLength} is zero if the line has no more tokens
+     */
+    private int nextToken(ByteBuffer buffer, int position, int to) {
+        while (position < to && isWhitespace(buffer.get(position))) {
+            position++;
+        }
+        tokenLength = 0;
+        while (position < to && !isWhitespace(buffer.get(position))) {
+            if (tokenLength == token.length) {
+                token = Arrays.copyOf(token, tokenLength * 2);
+            }
+            token[tokenLength++] = buffer.get(position++);
+        }
+        return position;
+    }
+
+    /**
+     * Resolves the token as an operation name, case-insensitively.
+     *
+     * @return the opcode, or {@code -1} if no operation has this name
+     */
+    private int opcode() {
+        long version = strategyFactory.getVersion();
+        if (version != namesVersion) {
+            byte[][] registered = new byte[strategyFactory.size()][];
+            for (int opcode = 0; opcode < registered.length; opcode++) {
+                String name = strategyFactory.getName(opcode);
+                if (name != null && StandardCharsets.US_ASCII.newEncoder().canEncode(name)) {
+                    registered[opcode] = name.getBytes(StandardCharsets.US_ASCII);
+                }
+            }
+            names = registered;
+            namesVersion = version;
+        }
+
+        for (int opcode = 0; opcode < names.length; opcode++) {
+            byte[] name = names[opcode];
+            if (name != null && name.length == tokenLength && equalsIgnoreCase(name)) {
+                return opcode;
+            }
+        }
+        // Names with other than ASCII letters are left to the factory.
+        return strategyFactory.lookup(text());
+    }
+
+    private boolean equalsIgnoreCase(byte[] name) {
+        for (int i = 0; i < tokenLength; i++) {
+            byte b = token[i];
+            if (b >= 'a' && b <= 'z') {
+                b -= 'a' - 'A';
+            }
+            if (b != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the token as a number. Plain decimals of up to {@value #EXACT_DIGITS} digits are the quotient of two
+     * exactly represented doubles, which is correctly rounded and so equal to what {@link Double#parseDouble} returns.
+     * Any other form goes through {@code parseDouble}.
+     */
+    private double number() {
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i = 1;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < tokenLength; i++) {
+            byte b = token[i];
+            if (b >= '0' && b <= '9') {
+                if (++digits > EXACT_DIGITS) {
+                    return parseNumber();
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseNumber();
+            }
+        }
+        if (digits == 0) {
+            return parseNumber();
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseNumber() {
+        String text = text();
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Invalid number: " + text);
+        }
+    }
+
+    private String text() {
+        return new String(token, 0, tokenLength, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+}
@@ -0,0 +1,12 @@
+package com.ebay.calculator.demo.job;
+
+/**
+ * Thrown when an uploaded job input is larger than {@code calculator.jobs.max-upload-bytes}, either by its declared
+ * length or while it is stored.
+ */
+public class UploadTooLargeException extends IllegalArgumentException {
+
+    public UploadTooLargeException(long maxBytes) {
+        super("Job input exceeds " + maxBytes + " bytes.");
+    }
+}
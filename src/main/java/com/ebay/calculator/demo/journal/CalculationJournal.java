@@ -0,0 +1,321 @@
+package com.ebay.calculator.demo.journal;
+
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Append-only journal of calculation results in memory-mapped segment files, see {@link JournalFormat}.
+ *
+ * <p>Writers never take a lock: {@link #record} claims the next record slot with one atomic increment, writes the
+ * record with plain stores into the mapped segment and publishes it by setting its commit word with release
+ * semantics. A record is in the page cache once {@code record} returns and survives a crash of the process; segments
+ * are forced to disk when they are full and when the journal is closed. The next segment is mapped by a background
+ * thread while the current one fills up, so request threads do not wait for file creation. If a segment cannot be
+ * mapped, its records are dropped and counted rather than failing the calculation.</p>
+ *
+ * <p>Every journal instance is a run with its own random id and starts a new segment after the highest existing one.
+ * The operation names of the run's opcodes are kept in each segment header and updated when operations are
+ * registered.</p>
+ */
+public class CalculationJournal implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculationJournal.class);
+
+    private static final CalculationJournal DISABLED = new CalculationJournal();
+
+    /** Stands in for a segment that could not be mapped, so that its writers drop their records without retrying. */
+    private static final Segment FAILED = new Segment(-1, null);
+
+    private final Path directory;
+    private final OperationStrategyFactory strategyFactory;
+    private final long segmentBytes;
+    private final int recordsPerSegment;
+    private final long runId;
+    private final long firstSegment;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<Long, Segment> segments = new ConcurrentHashMap<>();
+    private final ExecutorService background;
+    private volatile Segment current;
+    private volatile boolean closed;
+
+    private CalculationJournal() {
+        this.directory = null;
+        this.strategyFactory = null;
+        this.segmentBytes = 0;
+        this.recordsPerSegment = 0;
+        this.runId = 0;
+        this.firstSegment = 0;
+        this.background = null;
+        this.closed = true;
+    }
+
+    private CalculationJournal(Path directory, OperationStrategyFactory strategyFactory, long segmentBytes)
+            throws IOException {
+        if (segmentBytes < JournalFormat.HEADER_BYTES + JournalFormat.RECORD_BYTES
+                || segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal segment size must be between "
+                    + (JournalFormat.HEADER_BYTES + JournalFormat.RECORD_BYTES) + " and " + Integer.MAX_VALUE
+                    + " bytes.");
+        }
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.strategyFactory = strategyFactory;
+        this.recordsPerSegment = (int) ((segmentBytes - JournalFormat.HEADER_BYTES) / JournalFormat.RECORD_BYTES);
+        this.segmentBytes = JournalFormat.HEADER_BYTES + (long) recordsPerSegment * JournalFormat.RECORD_BYTES;
+        this.runId = ThreadLocalRandom.current().nextLong();
+        this.firstSegment = nextSegmentIndex(directory);
+        this.background = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "calculation-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.current = map(firstSegment);
+        segments.put(firstSegment, current);
+        prepare(firstSegment + 1);
+        strategyFactory.addListener((opcode, previous, strategy, version) -> updateNames());
+    }
+
+    /**
+     * Opens a journal that writes segments of about {@code segmentBytes} bytes into {@code directory}.
+     *
+     * @param directory the journal directory, created if needed
+     * @param strategyFactory the factory whose operation names are recorded with the opcodes
+     * @param segmentBytes the size of a segment file
+     * @return the journal
+     * @throws IOException if the first segment cannot be created
+     */
+    public static CalculationJournal open(Path directory, OperationStrategyFactory strategyFactory,
+                                          long segmentBytes) throws IOException {
+        return new CalculationJournal(directory, strategyFactory, segmentBytes);
+    }
+
+    /**
+     * Returns a journal that records nothing.
+     */
+    public static CalculationJournal disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Appends a calculation result. Never blocks on disk and never throws.
+     *
+     * @param opcode the opcode of the operation
+     * @param num1 the first operand
+     * @param num2 the second operand
+     * @param result the result
+     * @param latencyNanos the time the calculation took
+     */
+    public void record(int opcode, Number num1, Number num2, Number result, long latencyNanos) {
+        if (closed) {
+            return;
+        }
+        long slot = sequence.getAndIncrement();
+        long index = firstSegment + slot / recordsPerSegment;
+        Segment segment = current;
+        if (segment == null || segment.index != index) {
+            segment = segment(index);
+            if (segment == FAILED) {
+                dropped.increment();
+                return;
+            }
+        }
+
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = JournalFormat.HEADER_BYTES + (int) (slot % recordsPerSegment) * JournalFormat.RECORD_BYTES;
+        byte type1 = JournalFormat.typeOf(num1);
+        byte type2 = JournalFormat.typeOf(num2);
+        byte resultType = JournalFormat.typeOf(result);
+        buffer.put(offset + JournalFormat.OPCODE, (byte) opcode);
+        buffer.put(offset + JournalFormat.TYPE1, type1);
+        buffer.put(offset + JournalFormat.TYPE2, type2);
+        buffer.put(offset + JournalFormat.RESULT_TYPE, resultType);
+        buffer.putLong(offset + JournalFormat.NUM1, JournalFormat.bitsOf(num1, type1));
+        buffer.putLong(offset + JournalFormat.NUM2, JournalFormat.bitsOf(num2, type2));
+        buffer.putLong(offset + JournalFormat.RESULT, JournalFormat.bitsOf(result, resultType));
+        buffer.putLong(offset + JournalFormat.TIMESTAMP, System.currentTimeMillis());
+        buffer.putLong(offset + JournalFormat.LATENCY, latencyNanos);
+        buffer.putShort(offset + JournalFormat.SCALE1, scale(num1, type1));
+        buffer.putShort(offset + JournalFormat.SCALE2, scale(num2, type2));
+        buffer.putShort(offset + JournalFormat.RESULT_SCALE, scale(result, resultType));
+        JournalFormat.COMMIT.setRelease(buffer, offset, JournalFormat.COMMITTED);
+
+        if (segment.written.incrementAndGet() == recordsPerSegment) {
+            retire(segment);
+        }
+    }
+
+    /**
+     * @return the number of records claimed so far, including dropped ones
+     */
+    public long recordCount() {
+        return sequence.get();
+    }
+
+    /**
+     * @return the number of records dropped because their segment could not be mapped
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Stops recording and forces the open segments to disk. A segment that was mapped ahead but never written to is
+     * deleted. Records claimed concurrently with closing may be lost.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        long lastWritten = firstSegment + Math.max(0, sequence.get() - 1) / recordsPerSegment;
+        for (Segment segment : segments.values()) {
+            if (segment == FAILED) {
+                continue;
+            }
+            if (segment.index > lastWritten) {
+                try {
+                    Files.deleteIfExists(directory.resolve(JournalFormat.segmentName(segment.index)));
+                } catch (IOException ex) {
+                    logger.warn("Cannot delete unused journal segment {}: {}", segment.index, ex.getMessage());
+                }
+            } else {
+                segment.buffer.force();
+            }
+        }
+        segments.clear();
+    }
+
+    private Segment segment(long index) {
+        Segment segment = segments.computeIfAbsent(index, this::mapOrFail);
+        if (segment != FAILED && index > current.index) {
+            current = segment;
+            prepare(index + 1);
+        }
+        return segment;
+    }
+
+    /** Maps the next segment ahead of time on the background thread. */
+    private void prepare(long index) {
+        try {
+            background.execute(() -> segments.computeIfAbsent(index, this::mapOrFail));
+        } catch (RuntimeException ex) {
+            // Closed: the writer maps the segment itself if it still needs it.
+        }
+    }
+
+    /** Forces a full segment to disk on the background thread and stops tracking it. */
+    private void retire(Segment segment) {
+        try {
+            background.execute(() -> {
+                segment.buffer.force();
+                segments.remove(segment.index, segment);
+            });
+        } catch (RuntimeException ex) {
+            segments.remove(segment.index, segment);
+        }
+    }
+
+    private Segment mapOrFail(long index) {
+        try {
+            return map(index);
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Cannot map journal segment {}, its records are dropped: {}", index, ex.getMessage());
+            return FAILED;
+        }
+    }
+
+    private Segment map(long index) throws IOException {
+        Path file = directory.resolve(JournalFormat.segmentName(index));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            JournalFormat.writeHeader(buffer, runId, index, names());
+            return new Segment(index, buffer);
+        }
+    }
+
+    private synchronized void updateNames() {
+        Map<Integer, String> names = names();
+        for (Segment segment : segments.values()) {
+            if (segment != FAILED) {
+                JournalFormat.writeNames(segment.buffer, names);
+            }
+        }
+    }
+
+    private Map<Integer, String> names() {
+        Map<Integer, String> names = new TreeMap<>();
+        for (int opcode = 0; opcode < strategyFactory.size(); opcode++) {
+            if (strategyFactory.isRegistered(opcode)) {
+                names.put(opcode, strategyFactory.getName(opcode));
+            }
+        }
+        return names;
+    }
+
+    private static short scale(Number value, byte type) {
+        return type == JournalFormat.TYPE_DECIMAL ? (short) ((BigDecimal) value).scale() : 0;
+    }
+
+    private static long nextSegmentIndex(Path directory) throws IOException {
+        long next = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String digits = name.substring(JournalFormat.SEGMENT_PREFIX.length(),
+                        name.length() - JournalFormat.SEGMENT_SUFFIX.length());
+                try {
+                    next = Math.max(next, Long.parseLong(digits) + 1);
+                } catch (NumberFormatException ex) {
+                    // Not a segment.
+                }
+            }
+        }
+        return next;
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private final AtomicLong written = new AtomicLong();
+
+        private Segment(long index, MappedByteBuffer buffer) {
+            this.index = index;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ebay.calculator.demo.journal;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Layout of the calculation journal. A journal is a directory of segment files named {@code journal-<index>.dat},
+ * each a {@value #HEADER_BYTES}-byte header followed by fixed-size records. All values are little-endian.
+ *
+ * <pre>
+ * header := magic:i32 version:i32 recordBytes:i32 reserved:i32 runId:i64 segment:i64 names
+ * names  := count:u16 (opcode:u8 length:u8 name:u8{length}){count}
+ * record := commit:i32 opcode:u8 type1:u8 type2:u8 resultType:u8 num1:i64 num2:i64 result:i64
+ *           timestampMillis:i64 latencyNanos:i64 scale1:i16 scale2:i16 resultScale:i16 reserved:u8{10}
+ * </pre>
+ *
+ * {@code runId} identifies the journal instance that wrote the segment; opcodes are only meaningful within a run, and
+ * {@code names} maps them to operation names. A record slot is written in place and becomes visible when its
+ * {@code commit} word is set to {@link #COMMITTED}; a slot whose commit word is zero was never written.
+ *
+ * <p>Each value is stored with a type: {@link #TYPE_INTEGER} and {@link #TYPE_LONG} as the value,
+ * {@link #TYPE_DOUBLE} as its IEEE 754 bits, {@link #TYPE_DECIMAL} as its unscaled value and scale, and
+ * {@link #TYPE_OTHER} as the bits of its {@code doubleValue()}. OTHER values, and decimals whose unscaled value does
+ * not fit in a {@code long}, cannot be reproduced exactly.</p>
+ */
+public final class JournalFormat {
+
+    public static final int MAGIC = 0x4C4E4A43;
+    public static final int VERSION = 1;
+    public static final int COMMITTED = 0x31524543;
+
+    public static final int HEADER_BYTES = 4096;
+    public static final int RECORD_BYTES = 64;
+    public static final String SEGMENT_PREFIX = "journal-";
+    public static final String SEGMENT_SUFFIX = ".dat";
+
+    public static final byte TYPE_INTEGER = 1;
+    public static final byte TYPE_LONG = 2;
+    public static final byte TYPE_DOUBLE = 3;
+    public static final byte TYPE_DECIMAL = 4;
+    public static final byte TYPE_OTHER = 5;
+
+    static final int RUN_ID = 16;
+    static final int SEGMENT = 24;
+    static final int NAMES = 32;
+
+    static final int OPCODE = 4;
+    static final int TYPE1 = 5;
+    static final int TYPE2 = 6;
+    static final int RESULT_TYPE = 7;
+    static final int NUM1 = 8;
+    static final int NUM2 = 16;
+    static final int RESULT = 24;
+    static final int TIMESTAMP = 32;
+    static final int LATENCY = 40;
+    static final int SCALE1 = 48;
+    static final int SCALE2 = 50;
+    static final int RESULT_SCALE = 52;
+
+    /** Reads and writes the commit word of a record with memory ordering. */
+    static final VarHandle COMMIT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private JournalFormat() {
+    }
+
+    /**
+     * Returns the file name of a segment; names sort in segment order.
+     */
+    public static String segmentName(long index) {
+        return SEGMENT_PREFIX + String.format("%012d", index) + SEGMENT_SUFFIX;
+    }
+
+    /**
+     * Returns the journal type of a value.
+     */
+    static byte typeOf(Number value) {
+        if (value instanceof Integer) {
+            return TYPE_INTEGER;
+        }
+        if (value instanceof Long) {
+            return TYPE_LONG;
+        }
+        if (value instanceof Double) {
+            return TYPE_DOUBLE;
+        }
+        if (value instanceof BigDecimal && ((BigDecimal) value).scale() == (short) ((BigDecimal) value).scale()
+                && ((BigDecimal) value).unscaledValue().bitLength() < Long.SIZE) {
+            return TYPE_DECIMAL;
+        }
+        return TYPE_OTHER;
+    }
+
+    /**
+     * Returns the 64 bits stored for a value of the given type.
+     */
+    static long bitsOf(Number value, byte type) {
+        switch (type) {
+            case TYPE_INTEGER:
+            case TYPE_LONG:
+                return value.longValue();
+            case TYPE_DECIMAL:
+                return ((BigDecimal) value).unscaledValue().longValue();
+            default:
+                return Double.doubleToRawLongBits(value.doubleValue());
+        }
+    }
+
+    /**
+     * Rebuilds a stored value. OTHER values are returned as a {@code Double}.
+     */
+    static Number valueOf(byte type, long bits, short scale) {
+        switch (type) {
+            case TYPE_INTEGER:
+                return (int) bits;
+            case TYPE_LONG:
+                return bits;
+            case TYPE_DECIMAL:
+                return BigDecimal.valueOf(bits, scale);
+            default:
+                return Double.longBitsToDouble(bits);
+        }
+    }
+
+    /**
+     * Writes the header of a segment. Names that no longer fit in the header are left out.
+     */
+    static void writeHeader(ByteBuffer buffer, long runId, long segment, Map<Integer, String> names) {
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, RECORD_BYTES);
+        buffer.putLong(RUN_ID, runId);
+        buffer.putLong(SEGMENT, segment);
+        writeNames(buffer, names);
+    }
+
+    static void writeNames(ByteBuffer buffer, Map<Integer, String> names) {
+        int position = NAMES + Short.BYTES;
+        int count = 0;
+        for (Map.Entry<Integer, String> entry : names.entrySet()) {
+            byte[] name = entry.getValue().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 255 || position + 2 + name.length > HEADER_BYTES) {
+                continue;
+            }
+            buffer.put(position, (byte) entry.getKey().intValue());
+            buffer.put(position + 1, (byte) name.length);
+            buffer.put(position + 2, name);
+            position += 2 + name.length;
+            count++;
+        }
+        buffer.putShort(NAMES, (short) count);
+    }
+}
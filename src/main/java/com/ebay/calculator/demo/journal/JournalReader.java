@@ -0,0 +1,195 @@
+package com.ebay.calculator.demo.journal;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the segments of a calculation journal written by {@link CalculationJournal}. Segments are mapped read-only
+ * and records are read in place through a reusable {@link Record} view, so scanning allocates nothing per record.
+ */
+public final class JournalReader {
+
+    private JournalReader() {
+    }
+
+    /**
+     * Receives the committed records of a segment. The record view is only valid during the call.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(Record record);
+    }
+
+    /**
+     * Lists the segment files of a journal in segment order.
+     *
+     * @param directory the journal directory
+     * @return the segment files
+     * @throws IOException if the directory cannot be listed
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+            files.forEach(segments::add);
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Maps a segment and checks its header.
+     *
+     * @param file the segment file
+     * @return the segment
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is not a journal segment of a supported version
+     */
+    public static Segment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.limit() < JournalFormat.HEADER_BYTES || buffer.getInt(0) != JournalFormat.MAGIC) {
+                throw new IllegalArgumentException(file + " is not a journal segment.");
+            }
+            if (buffer.getInt(4) != JournalFormat.VERSION || buffer.getInt(8) != JournalFormat.RECORD_BYTES) {
+                throw new IllegalArgumentException(file + " has unsupported journal version " + buffer.getInt(4));
+            }
+            return new Segment(buffer);
+        }
+    }
+
+    /**
+     * A mapped segment: its header and records.
+     */
+    public static final class Segment {
+        private final MappedByteBuffer buffer;
+
+        private Segment(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public long runId() {
+            return buffer.getLong(JournalFormat.RUN_ID);
+        }
+
+        public long index() {
+            return buffer.getLong(JournalFormat.SEGMENT);
+        }
+
+        /**
+         * @return the operation names of the run's opcodes, as far as they were recorded in this segment
+         */
+        public Map<Integer, String> names() {
+            Map<Integer, String> names = new HashMap<>();
+            int count = Short.toUnsignedInt(buffer.getShort(JournalFormat.NAMES));
+            int position = JournalFormat.NAMES + Short.BYTES;
+            for (int i = 0; i < count; i++) {
+                int opcode = Byte.toUnsignedInt(buffer.get(position));
+                byte[] name = new byte[Byte.toUnsignedInt(buffer.get(position + 1))];
+                buffer.get(position + 2, name);
+                names.put(opcode, new String(name, StandardCharsets.UTF_8));
+                position += 2 + name.length;
+            }
+            return names;
+        }
+
+        /**
+         * Visits the committed records in slot order. Slots that were claimed but never committed, for example
+         * because the process stopped while writing them, are skipped.
+         *
+         * @param visitor the visitor
+         * @return the number of records visited
+         */
+        public long forEach(RecordVisitor visitor) {
+            Record record = new Record(buffer);
+            long count = 0;
+            for (int offset = JournalFormat.HEADER_BYTES; offset + JournalFormat.RECORD_BYTES <= buffer.limit();
+                 offset += JournalFormat.RECORD_BYTES) {
+                if ((int) JournalFormat.COMMIT.getAcquire(buffer, offset) != JournalFormat.COMMITTED) {
+                    continue;
+                }
+                record.offset = offset;
+                visitor.visit(record);
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * A view of one record. Values are available both raw, for fast comparisons, and as rebuilt {@link Number}s.
+     */
+    public static final class Record {
+        private final MappedByteBuffer buffer;
+        private int offset;
+
+        private Record(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        public int opcode() {
+            return Byte.toUnsignedInt(buffer.get(offset + JournalFormat.OPCODE));
+        }
+
+        public byte type1() {
+            return buffer.get(offset + JournalFormat.TYPE1);
+        }
+
+        public byte type2() {
+            return buffer.get(offset + JournalFormat.TYPE2);
+        }
+
+        public byte resultType() {
+            return buffer.get(offset + JournalFormat.RESULT_TYPE);
+        }
+
+        public long num1Bits() {
+            return buffer.getLong(offset + JournalFormat.NUM1);
+        }
+
+        public long num2Bits() {
+            return buffer.getLong(offset + JournalFormat.NUM2);
+        }
+
+        public long resultBits() {
+            return buffer.getLong(offset + JournalFormat.RESULT);
+        }
+
+        public short resultScale() {
+            return buffer.getShort(offset + JournalFormat.RESULT_SCALE);
+        }
+
+        public Number num1() {
+            return JournalFormat.valueOf(type1(), num1Bits(), buffer.getShort(offset + JournalFormat.SCALE1));
+        }
+
+        public Number num2() {
+            return JournalFormat.valueOf(type2(), num2Bits(), buffer.getShort(offset + JournalFormat.SCALE2));
+        }
+
+        public Number result() {
+            return JournalFormat.valueOf(resultType(), resultBits(), resultScale());
+        }
+
+        public long timestampMillis() {
+            return buffer.getLong(offset + JournalFormat.TIMESTAMP);
+        }
+
+        public long latencyNanos() {
+            return buffer.getLong(offset + JournalFormat.LATENCY);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ebay.calculator.demo.journal;
+
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays a calculation journal through an {@link OperationStrategyFactory} and checks that every recorded result is
+ * reproduced exactly, including its type. Segments are verified in parallel. Records whose operands are all
+ * {@code double} are replayed with {@link OperationStrategy#applyDouble} without boxing; other records go through
+ * {@link OperationStrategyFactory#evaluate}.
+ *
+ * <p>A record cannot be verified if its operation is unknown to the factory or one of its values was stored as
+ * {@link JournalFormat#TYPE_OTHER}. Opcodes are resolved by the operation names recorded in the segment headers of
+ * the record's run.</p>
+ *
+ * <p>Run {@link #main(String[])} with the journal directory, and optionally {@code --dump <n>} to print the first
+ * {@code n} records instead of verifying.</p>
+ */
+public class JournalVerifier {
+
+    /** Number of mismatches described in a report. */
+    public static final int MAX_REPORTED_MISMATCHES = 10;
+
+    private final OperationStrategyFactory strategyFactory;
+
+    public JournalVerifier(OperationStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+    }
+
+    /**
+     * Verifies every segment of a journal.
+     *
+     * @param directory the journal directory
+     * @return the counts of verified, mismatched and unverifiable records
+     * @throws IOException if the journal cannot be read
+     */
+    public Report verify(Path directory) throws IOException {
+        List<JournalReader.Segment> segments = new ArrayList<>();
+        Map<Long, Map<Integer, String>> names = new HashMap<>();
+        for (Path file : JournalReader.segments(directory)) {
+            JournalReader.Segment segment = JournalReader.open(file);
+            segments.add(segment);
+            names.computeIfAbsent(segment.runId(), run -> new HashMap<>()).putAll(segment.names());
+        }
+
+        Map<Long, int[]> opcodes = new HashMap<>();
+        names.forEach((run, runNames) -> opcodes.put(run, resolve(runNames)));
+        OperationStrategy[] strategies = strategyFactory.getStrategies();
+
+        return segments.parallelStream()
+                .map(segment -> verify(segment, opcodes.get(segment.runId()), strategies))
+                .reduce(new Report(), Report::merge);
+    }
+
+    private int[] resolve(Map<Integer, String> names) {
+        int[] opcodes = new int[256];
+        Arrays.fill(opcodes, -1);
+        names.forEach((opcode, name) -> opcodes[opcode] = strategyFactory.lookup(name));
+        return opcodes;
+    }
+
+    private Report verify(JournalReader.Segment segment, int[] opcodes, OperationStrategy[] strategies) {
+        Report report = new Report();
+        segment.forEach(record -> {
+            report.records++;
+            int opcode = opcodes[record.opcode()];
+            if (opcode < 0 || record.type1() == JournalFormat.TYPE_OTHER || record.type2() == JournalFormat.TYPE_OTHER
+                    || record.resultType() == JournalFormat.TYPE_OTHER) {
+                report.unverifiable++;
+                return;
+            }
+
+            if (record.type1() == JournalFormat.TYPE_DOUBLE && record.type2() == JournalFormat.TYPE_DOUBLE
+                    && record.resultType() == JournalFormat.TYPE_DOUBLE) {
+                double result = strategies[opcode].applyDouble(Double.longBitsToDouble(record.num1Bits()),
+                        Double.longBitsToDouble(record.num2Bits()));
+                if (Double.doubleToLongBits(result)
+                        == Double.doubleToLongBits(Double.longBitsToDouble(record.resultBits()))) {
+                    report.verified++;
+                    return;
+                }
+            }
+
+            Number expected;
+            try {
+                expected = strategyFactory.evaluate(opcode, record.num1(), record.num2());
+            } catch (RuntimeException ex) {
+                report.mismatch(segment, record, ex.getMessage());
+                return;
+            }
+            byte type = JournalFormat.typeOf(expected);
+            if (type == record.resultType() && JournalFormat.bitsOf(expected, type) == record.resultBits()
+                    && (type != JournalFormat.TYPE_DECIMAL
+                    || ((BigDecimal) expected).scale() == record.resultScale())) {
+                report.verified++;
+            } else {
+                report.mismatch(segment, record, String.valueOf(expected));
+            }
+        });
+        return report;
+    }
+
+    /**
+     * Counts of a verification. Every record is verified, mismatched or unverifiable.
+     */
+    @Getter
+    public static class Report {
+        private long records;
+        private long verified;
+        private long mismatched;
+        private long unverifiable;
+        private final List<String> mismatches = new ArrayList<>();
+
+        private void mismatch(JournalReader.Segment segment, JournalReader.Record record, String replayed) {
+            mismatched++;
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                mismatches.add("segment " + segment.index() + ": " + describe(record) + ", replayed " + replayed);
+            }
+        }
+
+        private Report merge(Report other) {
+            Report merged = new Report();
+            merged.records = records + other.records;
+            merged.verified = verified + other.verified;
+            merged.mismatched = mismatched + other.mismatched;
+            merged.unverifiable = unverifiable + other.unverifiable;
+            merged.mismatches.addAll(mismatches);
+            merged.mismatches.addAll(other.mismatches);
+            if (merged.mismatches.size() > MAX_REPORTED_MISMATCHES) {
+                merged.mismatches.subList(MAX_REPORTED_MISMATCHES, merged.mismatches.size()).clear();
+            }
+            return merged;
+        }
+
+        @Override
+        public String toString() {
+            return records + " records: " + verified + " verified, " + mismatched + " mismatched, " + unverifiable
+                    + " unverifiable";
+        }
+    }
+
+    private static String describe(JournalReader.Record record) {
+        return "opcode " + record.opcode() + " (" + record.num1() + ", " + record.num2() + ") = " + record.result()
+                + " at " + record.timestampMillis() + " in " + record.latencyNanos() + " ns";
+    }
+
+    /**
+     * Verifies a journal directory, or dumps its first records with {@code --dump <n>}. Exits with status 1 if a
+     * record does not match.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1 && !(args.length == 3 && "--dump".equals(args[1]))) {
+            System.err.println("Usage: JournalVerifier <journal-directory> [--dump <records>]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+
+        if (args.length == 3) {
+            long[] remaining = {Long.parseLong(args[2])};
+            for (Path file : JournalReader.segments(directory)) {
+                JournalReader.Segment segment = JournalReader.open(file);
+                Map<Integer, String> names = segment.names();
+                segment.forEach(record -> {
+                    if (remaining[0]-- > 0) {
+                        System.out.println(names.getOrDefault(record.opcode(), "?") + " " + describe(record));
+                    }
+                });
+                if (remaining[0] <= 0) {
+                    break;
+                }
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        Report report = new JournalVerifier(new OperationStrategyFactory()).verify(directory);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println(report + " in " + millis + " ms");
+        report.getMismatches().forEach(System.out::println);
+        if (report.getMismatched() > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.ebay.calculator.demo.metrics;
+
+import com.ebay.calculator.demo.admission.AdmissionStats;
+import com.ebay.calculator.demo.cache.SingleFlightStats;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Calculator metrics: latency, count and error rate per operation and per endpoint, and the distribution
+ * of chain lengths. All recording goes through {@link LongAdder}s and {@link Histogram}s and never locks.
+ *
+ * <p>Operations are kept by opcode. The built-in {@link Operation}s have their metrics from the start; an operation
+ * registered later gets them on its first calculation.</p>
+ */
+@Component
+public class CalculatorMetrics {
+
+    private final AtomicReferenceArray<OperationMetrics> operations =
+            new AtomicReferenceArray<>(OperationStrategyFactory.MAX_OPERATIONS);
+    private final Map<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<SingleFlightStats>> singleFlights = new ConcurrentHashMap<>();
+    private final Histogram chainLength = new Histogram();
+    private volatile Supplier<AdmissionStats> admission;
+
+    public CalculatorMetrics() {
+        for (Operation operation : Operation.values()) {
+            operations.set(operation.ordinal(), new OperationMetrics(operation.name()));
+        }
+    }
+
+    /**
+     * Records a single calculation.
+     *
+     * @param operation the operation performed
+     * @param latencyNanos the time the calculation took
+     * @param failed whether the calculation failed
+     */
+    public void recordOperation(Operation operation, long latencyNanos, boolean failed) {
+        operations.get(operation.ordinal()).record(latencyNanos, failed);
+    }
+
+    /**
+     * Records a single calculation of any registered operation.
+     *
+     * @param opcode the opcode of the operation performed
+     * @param name the operation's name, used if this is its first calculation
+     * @param latencyNanos the time the calculation took
+     * @param failed whether the calculation failed
+     */
+    public void recordOperation(int opcode, String name, long latencyNanos, boolean failed) {
+        OperationMetrics metrics = operations.get(opcode);
+        if (metrics == null) {
+            operations.compareAndSet(opcode, null, new OperationMetrics(name));
+            metrics = operations.get(opcode);
+        }
+        metrics.record(latencyNanos, failed);
+    }
+
+    /**
+     * Records the counts of many calculations at once, such as the slots of a batch, without latency.
+     *
+     * @param counts the number of calculations per {@link Operation#ordinal()}
+     * @param errors the number of failed calculations per {@link Operation#ordinal()}
+     */
+    public void recordOperationCounts(int[] counts, int[] errors) {
+        for (int i = 0; i < counts.length; i++) {
+            OperationMetrics metrics = operations.get(i);
+            if (counts[i] > 0) {
+                metrics.count.add(counts[i]);
+            }
+            if (errors[i] > 0) {
+                metrics.errors.add(errors[i]);
+            }
+        }
+    }
+
+    /**
+     * Records a request served by an endpoint.
+     *
+     * @param endpoint the endpoint's path pattern
+     * @param latencyNanos the time the request took
+     * @param failed whether the request ended with an error status
+     */
+    public void recordEndpoint(String endpoint, long latencyNanos, boolean failed) {
+        EndpointMetrics metrics = endpoints.computeIfAbsent(endpoint, e -> new EndpointMetrics());
+        metrics.latency.record(latencyNanos);
+        metrics.count.increment();
+        if (failed) {
+            metrics.errors.increment();
+        }
+    }
+
+    /**
+     * Exposes the counters of a {@link com.ebay.calculator.demo.cache.SingleFlight}, read whenever metrics are
+     * exported.
+     *
+     * @param name the name the counters are exported under
+     * @param stats supplies the current counters
+     */
+    public void registerSingleFlight(String name, Supplier<SingleFlightStats> stats) {
+        singleFlights.put(name, stats);
+    }
+
+    /**
+     * Exposes the state of the {@link com.ebay.calculator.demo.admission.AdmissionLimiter}, read whenever metrics are
+     * exported.
+     *
+     * @param stats supplies the current state
+     */
+    public void registerAdmission(Supplier<AdmissionStats> stats) {
+        admission = stats;
+    }
+
+    /**
+     * Records the number of steps of a chain calculation.
+     *
+     * @param length the number of operations in the chain
+     */
+    public void recordChainLength(int length) {
+        chainLength.record(length);
+    }
+
+    public Histogram operationLatency(Operation operation) {
+        return operations.get(operation.ordinal()).latency;
+    }
+
+    public long operationCount(Operation operation) {
+        return operations.get(operation.ordinal()).count.sum();
+    }
+
+    public long operationErrors(Operation operation) {
+        return operations.get(operation.ordinal()).errors.sum();
+    }
+
+    /**
+     * Returns the metrics of every operation calculated so far and of the built-in operations, in opcode order.
+     */
+    public List<OperationMetrics> operations() {
+        List<OperationMetrics> result = new ArrayList<>();
+        for (int i = 0; i < operations.length(); i++) {
+            OperationMetrics metrics = operations.get(i);
+            if (metrics != null) {
+                result.add(metrics);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, EndpointMetrics> endpoints() {
+        return endpoints;
+    }
+
+    public Map<String, Supplier<SingleFlightStats>> singleFlights() {
+        return singleFlights;
+    }
+
+    /**
+     * Returns the state of admission control, or {@code null} if no limiter is registered.
+     */
+    public AdmissionStats admission() {
+        Supplier<AdmissionStats> stats = admission;
+        return stats != null ? stats.get() : null;
+    }
+
+    public Histogram chainLength() {
+        return chainLength;
+    }
+
+    /**
+     * Latency, count and errors of one operation.
+     */
+    public static final class OperationMetrics {
+        private final String name;
+        private final Histogram latency = new Histogram();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private OperationMetrics(String name) {
+            this.name = name;
+        }
+
+        private void record(long latencyNanos, boolean failed) {
+            latency.record(latencyNanos);
+            count.increment();
+            if (failed) {
+                errors.increment();
+            }
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Histogram latency() {
+            return latency;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+
+    /**
+     * Latency, count and errors of one endpoint.
+     */
+    public static final class EndpointMetrics {
+        private final Histogram latency = new Histogram();
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        public Histogram latency() {
+            return latency;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+    }
+}
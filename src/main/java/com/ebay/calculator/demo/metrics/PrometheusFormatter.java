@@ -0,0 +1,123 @@
+package com.ebay.calculator.demo.metrics;
+
+import com.ebay.calculator.demo.admission.AdmissionStats;
+import com.ebay.calculator.demo.cache.SingleFlightStats;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Renders {@link CalculatorMetrics} in the Prometheus text exposition format. Latencies are exported in seconds
+ * as summaries with the 0.5, 0.99 and 0.999 quantiles.
+ */
+public final class PrometheusFormatter {
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private PrometheusFormatter() {
+    }
+
+    public static String format(CalculatorMetrics metrics) {
+        StringBuilder out = new StringBuilder(4096);
+
+        List<CalculatorMetrics.OperationMetrics> operations = metrics.operations();
+        out.append("# TYPE calculator_operation_latency_seconds summary\n");
+        for (CalculatorMetrics.OperationMetrics operation : operations) {
+            summary(out, "calculator_operation_latency_seconds", "operation", operation.name(),
+                    operation.latency(), NANOS_PER_SECOND);
+        }
+        out.append("# TYPE calculator_operation_requests_total counter\n");
+        for (CalculatorMetrics.OperationMetrics operation : operations) {
+            sample(out, "calculator_operation_requests_total", "operation", operation.name(), operation.count());
+        }
+        out.append("# TYPE calculator_operation_errors_total counter\n");
+        for (CalculatorMetrics.OperationMetrics operation : operations) {
+            sample(out, "calculator_operation_errors_total", "operation", operation.name(), operation.errors());
+        }
+
+        out.append("# TYPE calculator_endpoint_latency_seconds summary\n");
+        for (Map.Entry<String, CalculatorMetrics.EndpointMetrics> entry : metrics.endpoints().entrySet()) {
+            summary(out, "calculator_endpoint_latency_seconds", "endpoint", entry.getKey(),
+                    entry.getValue().latency(), NANOS_PER_SECOND);
+        }
+        out.append("# TYPE calculator_endpoint_requests_total counter\n");
+        for (Map.Entry<String, CalculatorMetrics.EndpointMetrics> entry : metrics.endpoints().entrySet()) {
+            sample(out, "calculator_endpoint_requests_total", "endpoint", entry.getKey(), entry.getValue().count());
+        }
+        out.append("# TYPE calculator_endpoint_errors_total counter\n");
+        for (Map.Entry<String, CalculatorMetrics.EndpointMetrics> entry : metrics.endpoints().entrySet()) {
+            sample(out, "calculator_endpoint_errors_total", "endpoint", entry.getKey(), entry.getValue().errors());
+        }
+
+        Map<String, SingleFlightStats> flights = new TreeMap<>();
+        metrics.singleFlights().forEach((name, stats) -> flights.put(name, stats.get()));
+        out.append("# TYPE calculator_coalescing_executions_total counter\n");
+        for (Map.Entry<String, SingleFlightStats> entry : flights.entrySet()) {
+            sample(out, "calculator_coalescing_executions_total", "flight", entry.getKey(),
+                    entry.getValue().getExecutions());
+        }
+        out.append("# TYPE calculator_coalescing_coalesced_total counter\n");
+        for (Map.Entry<String, SingleFlightStats> entry : flights.entrySet()) {
+            sample(out, "calculator_coalescing_coalesced_total", "flight", entry.getKey(),
+                    entry.getValue().getCoalesced());
+        }
+        out.append("# TYPE calculator_coalescing_bypassed_total counter\n");
+        for (Map.Entry<String, SingleFlightStats> entry : flights.entrySet()) {
+            sample(out, "calculator_coalescing_bypassed_total", "flight", entry.getKey(),
+                    entry.getValue().getBypassed());
+        }
+        out.append("# TYPE calculator_coalescing_in_flight gauge\n");
+        for (Map.Entry<String, SingleFlightStats> entry : flights.entrySet()) {
+            sample(out, "calculator_coalescing_in_flight", "flight", entry.getKey(), entry.getValue().getInFlight());
+        }
+
+        AdmissionStats admission = metrics.admission();
+        if (admission != null) {
+            out.append("# TYPE calculator_admission_limit gauge\n");
+            appendName(out, "calculator_admission_limit", null, null).append(admission.getLimit()).append('\n');
+            out.append("# TYPE calculator_admission_in_flight gauge\n");
+            sample(out, "calculator_admission_in_flight", null, null, admission.getInFlight());
+            out.append("# TYPE calculator_admission_clients gauge\n");
+            sample(out, "calculator_admission_clients", null, null, admission.getClients());
+            out.append("# TYPE calculator_admission_admitted_total counter\n");
+            sample(out, "calculator_admission_admitted_total", null, null, admission.getAdmitted());
+            out.append("# TYPE calculator_admission_rejected_total counter\n");
+            sample(out, "calculator_admission_rejected_total", "reason", "overloaded",
+                    admission.getRejectedOverloaded());
+            sample(out, "calculator_admission_rejected_total", "reason", "client_share",
+                    admission.getRejectedClientShare());
+        }
+
+        out.append("# TYPE calculator_chain_length summary\n");
+        summary(out, "calculator_chain_length", null, null, metrics.chainLength(), 1);
+
+        return out.toString();
+    }
+
+    private static void summary(StringBuilder out, String name, String label, String value, Histogram histogram, double scale) {
+        for (double quantile : QUANTILES) {
+            out.append(name).append('{');
+            if (label != null) {
+                out.append(label).append("=\"").append(value).append("\",");
+            }
+            out.append("quantile=\"").append(quantile).append("\"} ")
+                    .append(histogram.percentile(quantile * 100) / scale).append('\n');
+        }
+        appendName(out, name + "_sum", label, value).append(histogram.sum() / scale).append('\n');
+        appendName(out, name + "_count", label, value).append(histogram.count()).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String label, String value, long sample) {
+        appendName(out, name, label, value).append(sample).append('\n');
+    }
+
+    private static StringBuilder appendName(StringBuilder out, String name, String label, String value) {
+        out.append(name);
+        if (label != null) {
+            out.append('{').append(label).append("=\"").append(value).append("\"}");
+        }
+        return out.append(' ');
+    }
+}
@@ -0,0 +1,19 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Columnar batch request. Slot {@code i} applies {@code operations[i]} to {@code num1[i]} and {@code num2[i]}.
+ * Either the floating point columns ({@code num1}/{@code num2}) or the integer columns
+ * ({@code longNum1}/{@code longNum2}) must be provided.
+ */
+@Data
+public class BatchCalculationRequest {
+    private List<String> operations;
+    private double[] num1;
+    private double[] num2;
+    private long[] longNum1;
+    private long[] longNum2;
+}
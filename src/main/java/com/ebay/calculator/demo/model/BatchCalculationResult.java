@@ -0,0 +1,20 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a batch calculation. Only one of {@code results}/{@code longResults} is populated,
+ * matching the columns of the request. {@code errorCodes[i]} holds a {@link com.ebay.calculator.demo.enums.BatchErrorCode}
+ * code for slot {@code i}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCalculationResult {
+    private double[] results;
+    private long[] longResults;
+    private int[] errorCodes;
+    private int errorCount;
+}
@@ -1,10 +1,14 @@
 package com.ebay.calculator.demo.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
 
 @Data
 public class CalculationRequest {
     private String operation;
+    @JsonDeserialize(using = ExactNumberDeserializer.class)
     private Number num1;
+    @JsonDeserialize(using = ExactNumberDeserializer.class)
     private Number num2;
-}
\ No newline at end of file
+    private DecimalSettings decimal;
+}
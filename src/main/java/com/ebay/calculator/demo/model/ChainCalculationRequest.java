@@ -1,11 +1,15 @@
 package com.ebay.calculator.demo.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import lombok.Data;
 import java.util.List;
 
 @Data
 public class ChainCalculationRequest {
-    private double initialValue;
+    @JsonDeserialize(using = ExactNumberDeserializer.class)
+    private Number initialValue;
     private List<String> operations;
-    private List<Double> operands;
-}
\ No newline at end of file
+    @JsonDeserialize(contentUsing = ExactNumberDeserializer.class)
+    private List<? extends Number> operands;
+    private DecimalSettings decimal;
+}
@@ -0,0 +1,19 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The state of a chain session after a request: its current number of steps and result. {@code evaluatedSteps} is
+ * the number of steps the request evaluated, which is small for an edit near the end of the chain.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChainSessionResult {
+    private String sessionId;
+    private int length;
+    private double result;
+    private int evaluatedSteps;
+}
@@ -0,0 +1,12 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+/**
+ * One step of a chain session: an operation name and its operand. The operand of a unary operation may be left out.
+ */
+@Data
+public class ChainStepRequest {
+    private String operation;
+    private Double operand;
+}
@@ -0,0 +1,17 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A chain evaluated over whole columns. Row {@code r} starts at {@code initialValues[r]} and applies
+ * {@code operations[k]} with {@code operands[k][r]} for each step {@code k}. An operand column of length one
+ * is a constant applied to every row.
+ */
+@Data
+public class ColumnCalculationRequest {
+    private double[] initialValues;
+    private List<String> operations;
+    private List<double[]> operands;
+}
@@ -0,0 +1,14 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+/**
+ * Per-request settings of the exact decimal mode. Fields left out use the {@code calculator.decimal.default-*}
+ * properties.
+ */
+@Data
+public class DecimalSettings {
+    private Integer precision;
+    private Integer scale;
+    private String rounding;
+}
@@ -0,0 +1,56 @@
+package com.ebay.calculator.demo.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads a JSON number like Jackson's default {@code Number} handling, except that a floating point literal whose
+ * digits do not survive the conversion to {@code double}, such as {@code 12345678901234567.89}, is read as the exact
+ * {@code BigDecimal}. Literals a {@code double} holds at their shortest decimal form stay {@code Double}s, so the
+ * {@code BigDecimal} is only parsed for literals long enough to lose digits.
+ *
+ * <p>Only decimal mode computes with the exact operands. Other paths reading the same request narrow them back with
+ * {@link #approximate(Number)}, so that a literal's type does not depend on its length.</p>
+ */
+public class ExactNumberDeserializer extends JsonDeserializer<Number> {
+
+    /**
+     * Every floating point literal of at most this many characters has at most 15 significant digits, which a
+     * {@code double} always keeps.
+     */
+    private static final int ALWAYS_EXACT_LENGTH = 16;
+
+    @Override
+    public Number deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getNumberValue();
+        }
+        if (token != JsonToken.VALUE_NUMBER_FLOAT) {
+            return ctxt.readValue(p, Number.class);
+        }
+
+        double value = p.getDoubleValue();
+        if (p.getTextLength() <= ALWAYS_EXACT_LENGTH) {
+            return value;
+        }
+        BigDecimal exact = p.getDecimalValue();
+        return Double.isInfinite(value) || exact.compareTo(BigDecimal.valueOf(value)) != 0 ? exact : value;
+    }
+
+    /**
+     * Returns an operand read as an exact {@code BigDecimal} as the nearest {@code double}, and any other operand
+     * unchanged.
+     *
+     * @param value the operand, may be {@code null}
+     * @return the operand as Jackson's default {@code Number} handling would have read it
+     */
+    public static Number approximate(Number value) {
+        return value instanceof BigDecimal ? value.doubleValue() : value;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class ExpressionRequest {
+    private String expression;
+    private Map<String, Number> variables;
+}
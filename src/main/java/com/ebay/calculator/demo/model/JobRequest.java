@@ -0,0 +1,11 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+/**
+ * Submits a bulk job for an input file on the server, given relative to the configured job input directory.
+ */
+@Data
+public class JobRequest {
+    private String input;
+}
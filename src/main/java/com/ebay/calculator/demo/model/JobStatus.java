@@ -0,0 +1,23 @@
+package com.ebay.calculator.demo.model;
+
+import com.ebay.calculator.demo.enums.JobState;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a bulk job. {@code chains} counts the evaluated input lines, of which {@code failedChains} produced an
+ * error line; {@code message} describes why a job failed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobStatus {
+    private String jobId;
+    private JobState state;
+    private int partitions;
+    private int completedPartitions;
+    private long chains;
+    private long failedChains;
+    private String message;
+}
@@ -0,0 +1,19 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An operation the calculator supports. {@code arity} is the number of operands it uses; the second operand of a
+ * unary operation may be left out. {@code opcode} identifies the operation within this instance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperationInfo {
+    private String name;
+    private int arity;
+    private int opcode;
+    private boolean builtIn;
+}
@@ -0,0 +1,13 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Updates of one or more registers, applied in order once all of them are valid.
+ */
+@Data
+public class RegisterBatchRequest {
+    private List<RegisterUpdate> updates;
+}
@@ -0,0 +1,14 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+/**
+ * Creates a named register. A {@code decimal} register computes exactly in {@code BigDecimal}; the initial value
+ * defaults to zero.
+ */
+@Data
+public class RegisterRequest {
+    private String name;
+    private boolean decimal;
+    private Number initialValue;
+}
@@ -0,0 +1,14 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.Data;
+
+/**
+ * One update of a register: {@code ADD}, {@code SUBTRACT} or {@code MULTIPLY} and its operand. {@code register} names
+ * the register in a batch and is not needed when the register is in the path.
+ */
+@Data
+public class RegisterUpdate {
+    private String register;
+    private String operation;
+    private Number operand;
+}
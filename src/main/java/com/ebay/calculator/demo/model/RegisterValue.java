@@ -0,0 +1,18 @@
+package com.ebay.calculator.demo.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A snapshot of a register: its value and the number of updates applied to it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegisterValue {
+    private String name;
+    private boolean decimal;
+    private Number value;
+    private long updates;
+}
@@ -0,0 +1,16 @@
+package com.ebay.calculator.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * One output record of a streaming calculation. {@code index} is the zero-based position of the input record;
+ * exactly one of {@code result} and {@code error} is set.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StreamCalculationResult {
+    private long index;
+    private Number result;
+    private String error;
+}
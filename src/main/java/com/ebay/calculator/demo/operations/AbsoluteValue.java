@@ -0,0 +1,60 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the absolute value operation.
+ * Returns the magnitude of the first number; the second number is ignored.
+ */
+public class AbsoluteValue implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "ABS";
+    }
+
+    @Override
+    public int getArity() {
+        return 1;
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in absolute value.");
+        }
+
+        if (num1 instanceof BigDecimal) {
+            return ((BigDecimal) num1).abs();
+        }
+
+        if (num1 instanceof Integer) {
+            return Math.abs(num1.intValue());
+        }
+
+        return Math.abs(num1.doubleValue());
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        return Math.absExact(num1);
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return Math.abs(num1);
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        return num1.abs();
+    }
+
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        return Math.abs(num1);
+    }
+}
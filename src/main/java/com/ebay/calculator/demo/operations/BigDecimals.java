@@ -0,0 +1,25 @@
+package com.ebay.calculator.demo.operations;
+
+import java.math.BigDecimal;
+
+/**
+ * Operand conversion shared by the operation definitions.
+ */
+final class BigDecimals {
+
+    private BigDecimals() {
+    }
+
+    /**
+     * Converts an operand to {@code BigDecimal}, keeping integral values exact.
+     */
+    static BigDecimal of(Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof Integer || number instanceof Long) {
+            return BigDecimal.valueOf(number.longValue());
+        }
+        return BigDecimal.valueOf(number.doubleValue());
+    }
+}
@@ -3,6 +3,7 @@ package com.ebay.calculator.demo.operations;
 import com.ebay.calculator.demo.strategy.OperationStrategy;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Represents the division operation.
@@ -22,7 +23,7 @@ public class Division implements OperationStrategy {
         }
 
         if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
-            return toBigDecimal(num1).divide(toBigDecimal(num2), BigDecimal.ROUND_HALF_EVEN);
+            return toBigDecimal(num1).divide(toBigDecimal(num2), RoundingMode.HALF_EVEN);
         }
 
         if (num1 instanceof Integer && num2 instanceof Integer) {
@@ -32,10 +33,32 @@ public class Division implements OperationStrategy {
         return num1.doubleValue() / num2.doubleValue();
     }
 
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        if (num2 == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        if (num1 == Long.MIN_VALUE && num2 == -1) {
+            throw new ArithmeticException("long overflow");
+        }
+        return num1 / num2;
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        if (num2 == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        return num1 / num2;
+    }
+
     private BigDecimal toBigDecimal(Number number) {
         if (number instanceof BigDecimal) {
             return (BigDecimal) number;
         }
+        if (number instanceof Integer || number instanceof Long) {
+            return BigDecimal.valueOf(number.longValue());
+        }
         return BigDecimal.valueOf(number.doubleValue());
     }
 
@@ -0,0 +1,55 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the maximum operation.
+ * Returns the larger of two numbers.
+ */
+public class Maximum implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "MAX";
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in maximum.");
+        }
+
+        if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
+            return BigDecimals.of(num1).max(BigDecimals.of(num2));
+        }
+
+        if (num1 instanceof Integer && num2 instanceof Integer) {
+            return Math.max(num1.intValue(), num2.intValue());
+        }
+
+        return Math.max(num1.doubleValue(), num2.doubleValue());
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        return Math.max(num1, num2);
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return Math.max(num1, num2);
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        return num1.max(num2);
+    }
+
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        return Math.max(num1, num2);
+    }
+}
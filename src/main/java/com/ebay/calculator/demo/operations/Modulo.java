@@ -0,0 +1,72 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the modulo operation.
+ * Returns the remainder of dividing the first number by the second, with the sign of the first like Java's
+ * {@code %}. Throws an {@link ArithmeticException} if the second number is zero.
+ */
+public class Modulo implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "MOD";
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in modulo.");
+        }
+
+        if (num2.doubleValue() == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+
+        if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
+            return BigDecimals.of(num1).remainder(BigDecimals.of(num2));
+        }
+
+        if (num1 instanceof Integer && num2 instanceof Integer) {
+            return num1.intValue() % num2.intValue();
+        }
+
+        return num1.doubleValue() % num2.doubleValue();
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        if (num2 == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        return num1 % num2;
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        if (num2 == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        return num1 % num2;
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        if (num2.signum() == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        return num1.remainder(num2);
+    }
+
+    /**
+     * Both operands have the same scale, so the remainder of the unscaled values is the unscaled remainder.
+     */
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        return applyLong(num1, num2);
+    }
+}
@@ -27,10 +27,23 @@ public class Multiplication implements OperationStrategy {
         return num1.doubleValue() * num2.doubleValue();
     }
 
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        return Math.multiplyExact(num1, num2);
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return num1 * num2;
+    }
+
     private BigDecimal toBigDecimal(Number number) {
         if (number instanceof BigDecimal) {
             return (BigDecimal) number;
         }
+        if (number instanceof Integer || number instanceof Long) {
+            return BigDecimal.valueOf(number.longValue());
+        }
         return BigDecimal.valueOf(number.doubleValue());
     }
 
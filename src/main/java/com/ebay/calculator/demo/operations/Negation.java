@@ -0,0 +1,60 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the negation operation.
+ * Returns the first number with its sign flipped; the second number is ignored.
+ */
+public class Negation implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "NEGATE";
+    }
+
+    @Override
+    public int getArity() {
+        return 1;
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in negation.");
+        }
+
+        if (num1 instanceof BigDecimal) {
+            return ((BigDecimal) num1).negate();
+        }
+
+        if (num1 instanceof Integer) {
+            return -num1.intValue();
+        }
+
+        return -num1.doubleValue();
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        return Math.negateExact(num1);
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return -num1;
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        return num1.negate();
+    }
+
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        return -num1;
+    }
+}
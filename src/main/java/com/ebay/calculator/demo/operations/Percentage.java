@@ -0,0 +1,66 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.decimal.ScaledArithmetic;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+
+/**
+ * Represents the percentage operation.
+ * Returns the second number percent of the first, {@code num1 * num2 / 100}. An integral calculation whose result
+ * is not a whole number continues in {@code BigDecimal}.
+ */
+public class Percentage implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "PERCENT";
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in percentage.");
+        }
+
+        if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
+            return BigDecimals.of(num1).multiply(BigDecimals.of(num2)).movePointLeft(2);
+        }
+
+        return applyDouble(num1.doubleValue(), num2.doubleValue());
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        long product = Math.multiplyExact(num1, num2);
+        if (product % 100 != 0) {
+            throw new ArithmeticException("Percentage has no exact long result.");
+        }
+        return product / 100;
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return num1 * num2 / 100;
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        return num1.multiply(num2).movePointLeft(2).setScale(context.getScale(), context.getRoundingMode());
+    }
+
+    /**
+     * The product of the unscaled values has twice the scale, so it is divided by {@code 10^(scale + 2)}.
+     */
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        int shift = context.getScale() + 2;
+        long product = num1 * num2;
+        if (shift > ScaledArithmetic.MAX_SCALE || Math.multiplyHigh(num1, num2) != (product >> 63)
+                || product == ScaledArithmetic.OVERFLOW) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        return ScaledArithmetic.divideRounded(product, ScaledArithmetic.powerOfTen(shift), context.getRoundingMode());
+    }
+}
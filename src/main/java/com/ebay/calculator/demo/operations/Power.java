@@ -0,0 +1,125 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.decimal.ScaledArithmetic;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Represents the power operation.
+ * Raises the first number to the power of the second. {@code long} and decimal calculations need an integer
+ * exponent; a negative exponent makes an integral calculation continue in {@code BigDecimal}.
+ */
+public class Power implements OperationDefinition {
+
+    /** Largest number of digits an exact decimal power may have before it is rejected. */
+    private static final long MAX_DIGITS = 100_000;
+
+    @Override
+    public String getName() {
+        return "POWER";
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null || num2 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in power.");
+        }
+
+        if (num1 instanceof BigDecimal || num2 instanceof BigDecimal) {
+            BigDecimal base = BigDecimals.of(num1);
+            int exponent = exponent(BigDecimals.of(num2));
+            checkSize(base, exponent);
+            return exponent >= 0
+                    ? base.pow(exponent)
+                    : BigDecimal.ONE.divide(base.pow(-exponent), MathContext.DECIMAL128);
+        }
+
+        return Math.pow(num1.doubleValue(), num2.doubleValue());
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        if (num2 < 0) {
+            throw new ArithmeticException("Negative exponent has no long result.");
+        }
+        long base = num1;
+        long exponent = num2;
+        long result = 1;
+        while (exponent != 0) {
+            if ((exponent & 1) != 0) {
+                result = Math.multiplyExact(result, base);
+            }
+            exponent >>= 1;
+            if (exponent != 0) {
+                base = Math.multiplyExact(base, base);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        return Math.pow(num1, num2);
+    }
+
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        int exponent = exponent(num2);
+        checkSize(num1, exponent);
+        if (exponent >= 0) {
+            return num1.pow(exponent).setScale(context.getScale(), context.getRoundingMode());
+        }
+        if (num1.signum() == 0) {
+            throw new ArithmeticException("Cannot divide by zero.");
+        }
+        return BigDecimal.ONE.divide(num1.pow(-exponent), context.getScale(), context.getRoundingMode());
+    }
+
+    /**
+     * Computes {@code num1^n} as {@code A^n / 10^(s * (n - 1))} for a non-negative integer exponent {@code n}.
+     * Other exponents, and results that do not fit, are left to {@link #applyDecimal}.
+     */
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        int scale = context.getScale();
+        long factor = ScaledArithmetic.powerOfTen(scale);
+        if (num2 < 0 || num2 % factor != 0) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        long exponent = num2 / factor;
+        if (exponent == 0) {
+            return factor;
+        }
+        if (scale * (exponent - 1) > ScaledArithmetic.MAX_SCALE) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        long power;
+        try {
+            power = applyLong(num1, exponent);
+        } catch (ArithmeticException ex) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        if (power == ScaledArithmetic.OVERFLOW) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        return ScaledArithmetic.divideRounded(power, ScaledArithmetic.powerOfTen((int) (scale * (exponent - 1))),
+                context.getRoundingMode());
+    }
+
+    private static int exponent(BigDecimal exponent) {
+        try {
+            return exponent.intValueExact();
+        } catch (ArithmeticException ex) {
+            throw new ArithmeticException("Exponent must be an integer: " + exponent);
+        }
+    }
+
+    private static void checkSize(BigDecimal base, int exponent) {
+        if ((long) base.precision() * Math.abs((long) exponent) > MAX_DIGITS) {
+            throw new ArithmeticException("Power result is too large: " + base + "^" + exponent);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ebay.calculator.demo.operations;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.decimal.ScaledArithmetic;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+/**
+ * Represents the square root operation.
+ * Returns the square root of the first number; the second number is ignored. Integral square roots are truncated
+ * like integer division. Throws an {@link ArithmeticException} if the number is negative.
+ */
+public class SquareRoot implements OperationDefinition {
+
+    @Override
+    public String getName() {
+        return "SQRT";
+    }
+
+    @Override
+    public int getArity() {
+        return 1;
+    }
+
+    @Override
+    public Number apply(final Number num1, final Number num2) {
+        if (num1 == null) {
+            throw new IllegalArgumentException("Null values are not allowed in square root.");
+        }
+
+        if (num1 instanceof BigDecimal) {
+            BigDecimal value = (BigDecimal) num1;
+            checkSign(value.signum());
+            return value.sqrt(MathContext.DECIMAL128);
+        }
+
+        return applyDouble(num1.doubleValue(), 0);
+    }
+
+    @Override
+    public long applyLong(final long num1, final long num2) {
+        checkSign(Long.signum(num1));
+        return floorSqrt(num1);
+    }
+
+    @Override
+    public double applyDouble(final double num1, final double num2) {
+        if (num1 < 0) {
+            checkSign(-1);
+        }
+        return Math.sqrt(num1);
+    }
+
+    /**
+     * Truncates the root to one digit beyond the scale and appends a sticky digit if it is inexact, so that the final
+     * rounding to the scale is correct under every rounding mode.
+     */
+    @Override
+    public BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        checkSign(num1.signum());
+        int scale = context.getScale();
+        BigInteger square = num1.setScale(2 * (scale + 1)).unscaledValue();
+        BigInteger root = square.sqrt();
+        BigDecimal truncated = root.multiply(root).equals(square)
+                ? new BigDecimal(root, scale + 1)
+                : new BigDecimal(root.multiply(BigInteger.TEN).add(BigInteger.ONE), scale + 2);
+        return truncated.setScale(scale, context.getRoundingMode());
+    }
+
+    /**
+     * The same computation as {@link #applyDecimal} on {@code A * 10^(scale + 2)}, whose root has scale + 1 digits.
+     */
+    @Override
+    public long applyScaled(long num1, long num2, DecimalContext context) {
+        checkSign(Long.signum(num1));
+        int shift = context.getScale() + 2;
+        if (shift > ScaledArithmetic.MAX_SCALE) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        long factor = ScaledArithmetic.powerOfTen(shift);
+        long square = num1 * factor;
+        if (Math.multiplyHigh(num1, factor) != 0 || square < 0) {
+            return ScaledArithmetic.OVERFLOW;
+        }
+        long root = floorSqrt(square);
+        return root * root == square
+                ? ScaledArithmetic.divideRounded(root, 10, context.getRoundingMode())
+                : ScaledArithmetic.divideRounded(root * 10 + 1, 100, context.getRoundingMode());
+    }
+
+    private static long floorSqrt(long value) {
+        long root = (long) Math.sqrt((double) value);
+        while (root > 0 && root > value / root) {
+            root--;
+        }
+        while (root + 1 <= value / (root + 1)) {
+            root++;
+        }
+        return root;
+    }
+
+    private static void checkSign(int signum) {
+        if (signum < 0) {
+            throw new ArithmeticException("Cannot take the square root of a negative number.");
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.ebay.calculator.demo.register;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A {@link Register} of exact {@code BigDecimal}s. Sums and products are never rounded, so the value is the same
+ * whatever order the additions were made in. A floating point operand is taken at its shortest decimal form, so
+ * adding {@code 0.1} ten times gives exactly {@code 1.0}.
+ */
+public final class DecimalRegister extends Register {
+
+    /** References take at most 8 bytes, so this keeps stripes at least 128 bytes apart. */
+    private static final int STRIDE = STRIPE_BYTES / 8;
+    /** Marks a stripe locked by a multiplication; compared by identity. */
+    private static final BigDecimal LOCKED = new BigDecimal("0");
+
+    private final AtomicReferenceArray<BigDecimal> cells;
+
+    public DecimalRegister(String name, int stripes, Number initialValue) {
+        super(name, stripes);
+        cells = new AtomicReferenceArray<>(stripes * STRIDE);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            cells.set(stripe * STRIDE, BigDecimal.ZERO);
+        }
+        cells.set(0, convert(initialValue));
+    }
+
+    @Override
+    public boolean isDecimal() {
+        return true;
+    }
+
+    @Override
+    BigDecimal convert(Number operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("Operand must not be null.");
+        }
+        if (operand instanceof BigDecimal) {
+            return (BigDecimal) operand;
+        }
+        if (operand instanceof Integer || operand instanceof Long || operand instanceof Short
+                || operand instanceof Byte) {
+            return BigDecimal.valueOf(operand.longValue());
+        }
+        double value = operand.doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Registers do not support " + value);
+        }
+        return BigDecimal.valueOf(value);
+    }
+
+    @Override
+    Number negate(Number converted) {
+        return ((BigDecimal) converted).negate();
+    }
+
+    @Override
+    Number plus(Number converted, Number other) {
+        return ((BigDecimal) converted).add((BigDecimal) other);
+    }
+
+    @Override
+    void add(Number converted) {
+        BigDecimal operand = (BigDecimal) converted;
+        int stripe = stripe();
+        int spins = 0;
+        while (true) {
+            int index = stripe * STRIDE;
+            BigDecimal current = cells.get(index);
+            if (current == LOCKED) {
+                awaitUnlock(spins++);
+                continue;
+            }
+            if (cells.weakCompareAndSetVolatile(index, current, current.add(operand))) {
+                return;
+            }
+            stripe = nextStripe(stripe);
+        }
+    }
+
+    @Override
+    void multiply(Number converted) {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int stripe = 0; stripe < stripes(); stripe++) {
+            sum = sum.add(lock(stripe * STRIDE));
+        }
+        for (int stripe = stripes() - 1; stripe > 0; stripe--) {
+            cells.set(stripe * STRIDE, BigDecimal.ZERO);
+        }
+        cells.set(0, sum.multiply((BigDecimal) converted));
+    }
+
+    @Override
+    Number sum() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (int stripe = 0; stripe < stripes(); stripe++) {
+            BigDecimal value = cells.get(stripe * STRIDE);
+            if (value == LOCKED) {
+                return null;
+            }
+            sum = sum.add(value);
+        }
+        return sum;
+    }
+
+    private BigDecimal lock(int index) {
+        int spins = 0;
+        while (true) {
+            BigDecimal value = cells.get(index);
+            if (value != LOCKED && cells.compareAndSet(index, value, LOCKED)) {
+                return value;
+            }
+            awaitUnlock(spins++);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ebay.calculator.demo.register;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A {@link Register} of {@code double}s, the striped counterpart of a {@code DoubleAdder}. Each stripe holds the bits
+ * of a {@code double} and is updated with a compare-and-set. Additions in different stripes are summed in a different
+ * order than they were made, so the value can differ from sequential addition in the last bits; use a
+ * {@link DecimalRegister} for exact totals.
+ */
+public final class DoubleRegister extends Register {
+
+    private static final int STRIDE = STRIPE_BYTES / Long.BYTES;
+    /** A NaN that arithmetic never produces, marking a stripe locked by a multiplication. */
+    private static final long LOCKED = 0x7ff8_dead_beef_0001L;
+
+    private final AtomicLongArray cells;
+
+    public DoubleRegister(String name, int stripes, double initialValue) {
+        super(name, stripes);
+        cells = new AtomicLongArray(stripes * STRIDE);
+        cells.set(0, Double.doubleToRawLongBits(convert(initialValue)));
+    }
+
+    @Override
+    public boolean isDecimal() {
+        return false;
+    }
+
+    @Override
+    Double convert(Number operand) {
+        if (operand == null) {
+            throw new IllegalArgumentException("Operand must not be null.");
+        }
+        double value = operand.doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException("Registers do not support " + value);
+        }
+        return value;
+    }
+
+    @Override
+    Number negate(Number converted) {
+        return -converted.doubleValue();
+    }
+
+    @Override
+    Number plus(Number converted, Number other) {
+        return converted.doubleValue() + other.doubleValue();
+    }
+
+    @Override
+    void add(Number converted) {
+        double operand = converted.doubleValue();
+        int stripe = stripe();
+        int spins = 0;
+        while (true) {
+            int index = stripe * STRIDE;
+            long bits = cells.get(index);
+            if (bits == LOCKED) {
+                awaitUnlock(spins++);
+                continue;
+            }
+            if (cells.weakCompareAndSetVolatile(index, bits,
+                    Double.doubleToRawLongBits(Double.longBitsToDouble(bits) + operand))) {
+                return;
+            }
+            // Another thread updated this stripe; move to the next one, as a LongAdder rehashes.
+            stripe = nextStripe(stripe);
+        }
+    }
+
+    @Override
+    void multiply(Number converted) {
+        double sum = 0;
+        for (int stripe = 0; stripe < stripes(); stripe++) {
+            sum += Double.longBitsToDouble(lock(stripe * STRIDE));
+        }
+        for (int stripe = stripes() - 1; stripe > 0; stripe--) {
+            cells.set(stripe * STRIDE, 0L);
+        }
+        cells.set(0, Double.doubleToRawLongBits(sum * converted.doubleValue()));
+    }
+
+    @Override
+    Number sum() {
+        double sum = 0;
+        for (int stripe = 0; stripe < stripes(); stripe++) {
+            long bits = cells.get(stripe * STRIDE);
+            if (bits == LOCKED) {
+                return null;
+            }
+            sum += Double.longBitsToDouble(bits);
+        }
+        return sum;
+    }
+
+    private long lock(int index) {
+        int spins = 0;
+        while (true) {
+            long bits = cells.get(index);
+            if (bits != LOCKED && cells.compareAndSet(index, bits, LOCKED)) {
+                return bits;
+            }
+            awaitUnlock(spins++);
+        }
+    }
+}
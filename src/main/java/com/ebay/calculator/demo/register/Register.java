@@ -0,0 +1,164 @@
+package com.ebay.calculator.demo.register;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A named memory cell on the server that clients update with {@link Operation#ADD}, {@link Operation#SUBTRACT} and
+ * {@link Operation#MULTIPLY} instead of feeding the last result back into {@code calculate}.
+ *
+ * <p>The value is kept in stripes, each on its own cache line, and is the sum of the stripes. An addition goes to
+ * the stripe of the updating thread and moves on to the next stripe if another thread changed it first, so writers on
+ * different cores rarely touch the same cache line and never wait for each other. A multiplication cannot be split
+ * that way: it locks every stripe in order, folds the product of their sum into the first one, and unlocks them.
+ * Additions that meet a locked stripe wait for the multiplication to finish.</p>
+ *
+ * <p>A multiplication increments the version once before it locks the stripes and once after it has unlocked them.
+ * A read sums the stripes between two reads of the same even version, so it never sees a multiplication half done,
+ * and it never blocks a writer. It includes every update completed before the read started; additions running
+ * concurrently may or may not be included.</p>
+ */
+public abstract class Register {
+
+    /** Stripes are 128 bytes apart, so no two share a cache line or an adjacent-line prefetch pair. */
+    static final int STRIPE_BYTES = 128;
+
+    private final String name;
+    private final int stripeMask;
+    private final AtomicLong version = new AtomicLong();
+    private final LongAdder updates = new LongAdder();
+
+    Register(String name, int stripes) {
+        if (stripes < 1 || Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("The number of stripes must be a power of two.");
+        }
+        this.name = name;
+        this.stripeMask = stripes - 1;
+    }
+
+    /**
+     * Applies one update.
+     *
+     * @param operation {@link Operation#ADD}, {@link Operation#SUBTRACT} or {@link Operation#MULTIPLY}
+     * @param operand the operand of the operation
+     * @throws IllegalArgumentException if the operation cannot update a register or the operand is not a finite number
+     */
+    public void update(Operation operation, Number operand) {
+        checkOperation(operation);
+        Number converted = convert(operand);
+        if (operation == Operation.MULTIPLY) {
+            applyMultiply(converted);
+        } else {
+            applyAdd(operation == Operation.SUBTRACT ? negate(converted) : converted, 1);
+        }
+    }
+
+    static void checkOperation(Operation operation) {
+        if (operation != Operation.ADD && operation != Operation.SUBTRACT && operation != Operation.MULTIPLY) {
+            throw new IllegalArgumentException("Operation " + operation
+                    + " cannot update a register. Supported operations are: [ADD, SUBTRACT, MULTIPLY]");
+        }
+    }
+
+    /**
+     * Adds a converted operand that stands for {@code count} updates.
+     */
+    void applyAdd(Number converted, long count) {
+        add(converted);
+        updates.add(count);
+    }
+
+    void applyMultiply(Number converted) {
+        version.incrementAndGet();
+        try {
+            multiply(converted);
+        } finally {
+            version.incrementAndGet();
+        }
+        updates.increment();
+    }
+
+    /**
+     * Returns the value of the register. See the class documentation for what a concurrent read sees.
+     */
+    public Number value() {
+        while (true) {
+            long before = version.get();
+            if ((before & 1) == 0) {
+                Number value = sum();
+                if (value != null && version.get() == before) {
+                    return value;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public abstract boolean isDecimal();
+
+    /**
+     * Returns the number of updates applied so far.
+     */
+    public long updates() {
+        return updates.sum();
+    }
+
+    /**
+     * Converts an operand to the type the register computes in.
+     *
+     * @throws IllegalArgumentException if the operand is missing or not a finite number
+     */
+    abstract Number convert(Number operand);
+
+    abstract Number negate(Number converted);
+
+    /**
+     * Adds two converted operands, to sum the additions of a batch before they are applied.
+     */
+    abstract Number plus(Number converted, Number other);
+
+    abstract void add(Number converted);
+
+    /**
+     * Multiplies the value by a converted operand. Called between the two version increments.
+     */
+    abstract void multiply(Number converted);
+
+    /**
+     * Sums the stripes, or returns {@code null} if a stripe is locked.
+     */
+    abstract Number sum();
+
+    /**
+     * Returns the index of the first stripe the current thread adds to.
+     */
+    int stripe() {
+        long id = Thread.currentThread().threadId();
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 40) & stripeMask;
+    }
+
+    int nextStripe(int stripe) {
+        return (stripe + 1) & stripeMask;
+    }
+
+    int stripes() {
+        return stripeMask + 1;
+    }
+
+    /**
+     * Waits briefly for a multiplication to unlock a stripe.
+     */
+    static void awaitUnlock(int spins) {
+        if ((spins & 63) == 63) {
+            Thread.yield();
+        } else {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.ebay.calculator.demo.register;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Updates of many registers, checked as a whole before any of them is applied. The additions and subtractions a
+ * register receives between two of its multiplications commute, so they are summed in the batch and applied with a
+ * single update of a stripe; each register still sees its updates in the order of the batch.
+ */
+public final class RegisterBatch {
+
+    private final List<Step> steps = new ArrayList<>();
+    private final Map<Register, Step> openSums = new IdentityHashMap<>();
+
+    /**
+     * Adds an update to the batch.
+     *
+     * @throws IllegalArgumentException if the operation cannot update a register or the operand is not a finite number
+     */
+    public void add(Register register, Operation operation, Number operand) {
+        Register.checkOperation(operation);
+        Number converted = register.convert(operand);
+        if (operation == Operation.MULTIPLY) {
+            openSums.remove(register);
+            steps.add(new Step(register, true, converted));
+            return;
+        }
+        if (operation == Operation.SUBTRACT) {
+            converted = register.negate(converted);
+        }
+        Step sum = openSums.get(register);
+        if (sum == null) {
+            sum = new Step(register, false, converted);
+            steps.add(sum);
+            openSums.put(register, sum);
+        } else {
+            sum.operand = register.plus(sum.operand, converted);
+            sum.count++;
+        }
+    }
+
+    /**
+     * Applies the batch. Readers may see some of its updates before the others are applied.
+     */
+    public void apply() {
+        for (Step step : steps) {
+            if (step.multiply) {
+                step.register.applyMultiply(step.operand);
+            } else {
+                step.register.applyAdd(step.operand, step.count);
+            }
+        }
+    }
+
+    private static final class Step {
+        private final Register register;
+        private final boolean multiply;
+        private Number operand;
+        private long count = 1;
+
+        private Step(Register register, boolean multiply, Number operand) {
+            this.register = register;
+            this.multiply = multiply;
+            this.operand = operand;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.ebay.calculator.demo.server;
+
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Standalone TCP server for co-located callers that cannot afford the Spring MVC stack. It runs without a Spring
+ * context: {@link #main(String[])} wires {@link CalculatorService} by hand. Connections are spread round-robin over
+ * a fixed number of {@link EventLoop}s, and each loop evaluates requests on its own thread.
+ *
+ * <pre>
+ * request  := length:i32 requestId:i64 frame
+ * response := length:i32 requestId:i64 status:u8 frame?
+ * </pre>
+ *
+ * {@code length} counts the bytes after itself. {@code frame} is a {@link com.ebay.calculator.demo.wire.WireFormat}
+ * request or response frame, and the frame type in the request selects calculate or chain. A client may send any
+ * number of requests without waiting for responses. Responses come back in request order and echo the request id.
+ * {@code status} is {@link #STATUS_OK}, followed by the response frame, or {@link #STATUS_BAD_FRAME} if the frame
+ * could not be decoded. A length below 8 or above the frame limit closes the connection.
+ */
+public class CalculatorServer implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(CalculatorServer.class);
+
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_BAD_FRAME = 1;
+
+    /** Size of the length and request id in front of every frame. */
+    public static final int PREFIX_BYTES = Integer.BYTES + Long.BYTES;
+
+    private final BinaryCalculationService binaryService;
+    private final int maxFrameBytes;
+    private final int bufferSize;
+    private final EventLoop[] eventLoops;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptor;
+
+    public CalculatorServer(BinaryCalculationService binaryService, int eventLoops, int maxFrameBytes,
+                            int bufferSize) {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("At least one event loop is required.");
+        }
+        this.binaryService = binaryService;
+        this.maxFrameBytes = maxFrameBytes;
+        this.bufferSize = bufferSize;
+        this.eventLoops = new EventLoop[eventLoops];
+    }
+
+    /**
+     * Binds the server and starts the event loops and the acceptor thread.
+     *
+     * @param address the address to listen on; port {@code 0} picks a free port
+     * @throws IOException if the address cannot be bound
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        if (serverChannel != null) {
+            throw new IllegalStateException("Server already started.");
+        }
+        for (int i = 0; i < eventLoops.length; i++) {
+            eventLoops[i] = new EventLoop(binaryService, maxFrameBytes, bufferSize);
+            Thread thread = new Thread(eventLoops[i], "calculator-event-loop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address);
+
+        acceptor = new Thread(this::accept, "calculator-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Calculator server listening on port {} with {} event loops", getPort(), eventLoops.length);
+    }
+
+    /**
+     * Blocks until the server is closed.
+     */
+    public void awaitClose() throws InterruptedException {
+        Thread thread;
+        synchronized (this) {
+            thread = acceptor;
+        }
+        if (thread != null) {
+            thread.join();
+        }
+    }
+
+    public synchronized int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (serverChannel != null) {
+            serverChannel.close();
+        }
+        for (EventLoop eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                eventLoop.shutdown();
+            }
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                eventLoops[next].register(channel);
+                next = (next + 1) % eventLoops.length;
+            } catch (ClosedChannelException ex) {
+                return;
+            } catch (IOException ex) {
+                logger.warn("Accept failed: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Starts the server without a Spring context. Options: {@code --port} (default 9090), {@code --event-loops}
+     * (default: available processors), {@code --max-frame-bytes} (default 1048576) and {@code --buffer-size}
+     * (default 16384).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = 9090;
+        int loops = Runtime.getRuntime().availableProcessors();
+        int maxFrameBytes = 1 << 20;
+        int bufferSize = 16384;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--port" -> port = Integer.parseInt(args[i + 1]);
+                case "--event-loops" -> loops = Integer.parseInt(args[i + 1]);
+                case "--max-frame-bytes" -> maxFrameBytes = Integer.parseInt(args[i + 1]);
+                case "--buffer-size" -> bufferSize = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+
+        BinaryCalculationService binaryService =
+                new BinaryCalculationService(standaloneCalculatorService(), maxFrameBytes, bufferSize);
+        CalculatorServer server = new CalculatorServer(binaryService, loops, maxFrameBytes, bufferSize);
+        server.start(new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                server.close();
+            } catch (IOException ex) {
+                logger.warn("Shutdown failed: {}", ex.getMessage());
+            }
+        }));
+        server.awaitClose();
+    }
+
+    /**
+     * Builds a {@link CalculatorService} with the defaults of the Spring configuration.
+     */
+    static CalculatorService standaloneCalculatorService() {
+        return CalculatorService.builder(new OperationStrategyFactory()).build();
+    }
+}
@@ -0,0 +1,35 @@
+package com.ebay.calculator.demo.server;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * State of one client connection, owned by a single {@link EventLoop}. Both buffers are kept in write mode:
+ * {@code in} holds received bytes that do not yet form a complete frame, {@code out} holds responses that have not
+ * been written to the socket yet.
+ */
+final class Connection {
+
+    final SocketChannel channel;
+    ByteBuffer in;
+    ByteBuffer out;
+
+    Connection(SocketChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.in = ByteBuffer.allocateDirect(bufferSize);
+        this.out = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Returns {@code buffer}, or a larger copy of it, with at least {@code bytes} bytes remaining.
+     */
+    static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        ByteBuffer larger = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
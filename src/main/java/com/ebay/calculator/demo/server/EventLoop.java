@@ -0,0 +1,194 @@
+package com.ebay.calculator.demo.server;
+
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.wire.WireFormat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A single-threaded selector loop serving a share of the server's connections. Requests are evaluated on the loop
+ * thread as soon as their frame is complete: every complete frame in the read buffer is answered before the
+ * responses are written back in one call, so pipelined requests cost one read and one write per batch rather than
+ * per request. While responses cannot be written, the loop stops reading from that connection.
+ */
+final class EventLoop implements Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoop.class);
+
+    private final BinaryCalculationService binaryService;
+    private final int maxFrameBytes;
+    private final int bufferSize;
+    private final Selector selector;
+    private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+    private volatile boolean running = true;
+
+    EventLoop(BinaryCalculationService binaryService, int maxFrameBytes, int bufferSize) throws IOException {
+        this.binaryService = binaryService;
+        this.maxFrameBytes = maxFrameBytes;
+        this.bufferSize = bufferSize;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Hands an accepted connection to this loop. Safe to call from any thread.
+     */
+    void register(SocketChannel channel) {
+        pending.offer(channel);
+        selector.wakeup();
+    }
+
+    void shutdown() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                registerPending();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Connection connection = (Connection) key.attachment();
+                    try {
+                        if (key.isValid() && key.isReadable()) {
+                            read(key, connection);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(key, connection);
+                        }
+                    } catch (IOException | RuntimeException ex) {
+                        logger.debug("Closing connection {}: {}", connection.channel, ex.getMessage());
+                        close(key);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Event loop failed", ex);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                close(key);
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void registerPending() {
+        SocketChannel channel;
+        while ((channel = pending.poll()) != null) {
+            try {
+                channel.register(selector, SelectionKey.OP_READ, new Connection(channel, bufferSize));
+            } catch (IOException ex) {
+                logger.debug("Could not register connection {}: {}", channel, ex.getMessage());
+                closeQuietly(channel);
+            }
+        }
+    }
+
+    private void read(SelectionKey key, Connection connection) throws IOException {
+        if (connection.channel.read(connection.in) < 0) {
+            close(key);
+            return;
+        }
+        processFrames(connection);
+        flush(key, connection);
+    }
+
+    /**
+     * Answers every complete frame in the read buffer and keeps the bytes of a trailing partial frame, growing the
+     * buffer if that frame does not fit.
+     */
+    private void processFrames(Connection connection) throws IOException {
+        ByteBuffer in = connection.in.flip();
+        int limit = in.limit();
+        while (in.remaining() >= Integer.BYTES) {
+            int start = in.position();
+            int length = in.getInt(start);
+            if (length < Long.BYTES || length > maxFrameBytes) {
+                throw new IOException("Invalid frame length: " + length);
+            }
+            int end = start + Integer.BYTES + length;
+            if (end > limit) {
+                break;
+            }
+
+            long requestId = in.getLong(start + Integer.BYTES);
+            in.position(start + CalculatorServer.PREFIX_BYTES).limit(end);
+            try {
+                respond(connection, requestId, in);
+            } finally {
+                in.limit(limit).position(end);
+            }
+        }
+        in.compact();
+
+        if (in.position() == 0 && in.capacity() > bufferSize) {
+            connection.in = ByteBuffer.allocateDirect(bufferSize);
+        } else if (in.position() >= Integer.BYTES) {
+            int needed = Integer.BYTES + in.getInt(0);
+            if (needed > in.capacity()) {
+                connection.in = Connection.ensureCapacity(in, needed - in.position());
+            }
+        }
+    }
+
+    private void respond(Connection connection, long requestId, ByteBuffer frame) {
+        ByteBuffer out = Connection.ensureCapacity(connection.out, CalculatorServer.PREFIX_BYTES + 1);
+        int start = out.position();
+        out.position(start + CalculatorServer.PREFIX_BYTES);
+
+        byte frameType = frame.remaining() >= 2 ? frame.get(frame.position() + 1) : 0;
+        if (frameType == WireFormat.CALCULATE || frameType == WireFormat.CHAIN) {
+            out.put(CalculatorServer.STATUS_OK);
+            try {
+                out = binaryService.process(frameType, frame, out);
+            } catch (IllegalArgumentException ex) {
+                out.position(start + CalculatorServer.PREFIX_BYTES).put(CalculatorServer.STATUS_BAD_FRAME);
+            }
+        } else {
+            out.put(CalculatorServer.STATUS_BAD_FRAME);
+        }
+
+        out.putInt(start, out.position() - start - Integer.BYTES).putLong(start + Integer.BYTES, requestId);
+        connection.out = out;
+    }
+
+    private void flush(SelectionKey key, Connection connection) throws IOException {
+        ByteBuffer out = connection.out.flip();
+        connection.channel.write(out);
+        out.compact();
+        if (out.position() > 0) {
+            key.interestOps(SelectionKey.OP_WRITE);
+            return;
+        }
+        key.interestOps(SelectionKey.OP_READ);
+        if (out.capacity() > bufferSize) {
+            connection.out = ByteBuffer.allocateDirect(bufferSize);
+        }
+    }
+
+    private static void close(SelectionKey key) {
+        key.cancel();
+        closeQuietly(key.channel());
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ex) {
+            logger.debug("Close failed: {}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.wire.BinaryCodec;
+import com.ebay.calculator.demo.wire.DirectBufferPool;
+import com.ebay.calculator.demo.wire.WireFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Serves the binary protocol described in {@link WireFormat}. Records are decoded straight from a direct buffer
+ * into {@link CalculatorService} calls, and results are encoded straight into the response buffer, so no request
+ * or response objects are built.
+ */
+@Service
+public class BinaryCalculationService {
+
+    private final CalculatorService calculatorService;
+    private final int maxFrameBytes;
+    private final DirectBufferPool bufferPool;
+
+    @Autowired
+    public BinaryCalculationService(CalculatorService calculatorService,
+                                    @Value("${calculator.binary.max-frame-bytes:1048576}") int maxFrameBytes,
+                                    @Value("${calculator.binary.buffer-size:16384}") int bufferSize) {
+        this.calculatorService = calculatorService;
+        this.maxFrameBytes = maxFrameBytes;
+        this.bufferPool = new DirectBufferPool(bufferSize, 64);
+    }
+
+    /**
+     * Reads one request frame from a stream, evaluates it and writes the response frame.
+     *
+     * @param frameType the frame type the endpoint accepts
+     * @param in the request body
+     * @param contentLength the length of the request body, or {@code -1} if unknown
+     * @param out the response body
+     * @return the number of records processed
+     * @throws IllegalArgumentException if the frame is malformed, of another type or larger than the limit
+     * @throws IOException if reading or writing fails
+     */
+    public int handle(byte frameType, InputStream in, int contentLength, OutputStream out) throws IOException {
+        if (contentLength > maxFrameBytes) {
+            throw new IllegalArgumentException("Frame exceeds " + maxFrameBytes + " bytes.");
+        }
+
+        ByteBuffer pooledRequest = bufferPool.acquire(Math.max(contentLength, 0));
+        ByteBuffer pooledResponse = bufferPool.acquire(0);
+        try {
+            ByteBuffer request = readFully(Channels.newChannel(in), pooledRequest);
+            request.flip();
+            int records = request.remaining() >= WireFormat.HEADER_BYTES ? request.getInt(2) : 0;
+
+            ByteBuffer response = process(frameType, request, pooledResponse);
+            response.flip();
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (response.hasRemaining()) {
+                channel.write(response);
+            }
+            return records;
+        } finally {
+            bufferPool.release(pooledRequest);
+            bufferPool.release(pooledResponse);
+        }
+    }
+
+    /**
+     * Evaluates every record of the request frame between the buffer's position and limit, writing the response
+     * frame at the position of {@code response}.
+     *
+     * @param frameType the frame type the caller accepts
+     * @param request the request frame
+     * @param response the buffer to write to
+     * @return the buffer holding the response; a larger copy of {@code response} if it ran out of space
+     * @throws IllegalArgumentException if the frame is malformed or of another type
+     */
+    public ByteBuffer process(byte frameType, ByteBuffer request, ByteBuffer response) {
+        if (request.remaining() < WireFormat.HEADER_BYTES) {
+            throw new IllegalArgumentException("Truncated frame header.");
+        }
+        byte version = request.get();
+        byte type = request.get();
+        int count = request.getInt();
+        if (version != WireFormat.VERSION) {
+            throw new IllegalArgumentException("Unsupported protocol version: " + version);
+        }
+        if (type != frameType) {
+            throw new IllegalArgumentException("Unexpected frame type: " + type);
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Invalid record count: " + count);
+        }
+
+        response = ensureCapacity(response, WireFormat.HEADER_BYTES);
+        response.put(WireFormat.VERSION).put(type).putInt(count);
+        for (int i = 0; i < count; i++) {
+            response = type == WireFormat.CALCULATE
+                    ? processCalculation(request, response)
+                    : processChain(request, response);
+        }
+        if (request.hasRemaining()) {
+            throw new IllegalArgumentException("Unexpected bytes after the last record.");
+        }
+        return response;
+    }
+
+    private ByteBuffer processCalculation(ByteBuffer request, ByteBuffer response) {
+        Operation operation = BinaryCodec.readOperation(request);
+        Number num1 = BinaryCodec.readOperand(request);
+        Number num2 = BinaryCodec.readOperand(request);
+        if (operation == null) {
+            return writeError(response, BatchErrorCode.INVALID_OPERATION);
+        }
+
+        try {
+            return writeResult(response, calculatorService.calculate(operation, num1, num2));
+        } catch (ArithmeticException ex) {
+            return writeError(response, BatchErrorCode.DIVISION_BY_ZERO);
+        }
+    }
+
+    private ByteBuffer processChain(ByteBuffer request, ByteBuffer response) {
+        Number initialValue = BinaryCodec.readOperand(request);
+        BinaryCodec.requireRemaining(request, Integer.BYTES);
+        int steps = request.getInt();
+        // Every step takes at least an opcode, a tag and an int.
+        if (steps < 0 || steps > request.remaining() / 6) {
+            throw new IllegalArgumentException("Invalid chain length: " + steps);
+        }
+
+        byte[] opcodes = new byte[steps];
+        double[] doubles = initialValue instanceof Double ? new double[steps] : null;
+        Number[] numbers = doubles == null ? new Number[steps] : null;
+        boolean valid = true;
+        for (int i = 0; i < steps; i++) {
+            Operation operation = BinaryCodec.readOperation(request);
+            valid &= operation != null;
+            opcodes[i] = operation == null ? 0 : (byte) operation.ordinal();
+
+            Number operand = BinaryCodec.readOperand(request);
+            if (doubles != null && !(operand instanceof Double)) {
+                numbers = new Number[steps];
+                for (int j = 0; j < i; j++) {
+                    numbers[j] = doubles[j];
+                }
+                doubles = null;
+            }
+            if (doubles != null) {
+                doubles[i] = operand.doubleValue();
+            } else {
+                numbers[i] = operand;
+            }
+        }
+        if (!valid) {
+            return writeError(response, BatchErrorCode.INVALID_OPERATION);
+        }
+
+        try {
+            Number result;
+            if (doubles != null) {
+                result = calculatorService.chainOperations(initialValue.doubleValue(), opcodes, doubles);
+            } else {
+                Operation[] operations = new Operation[steps];
+                Operation[] values = Operation.values();
+                for (int i = 0; i < steps; i++) {
+                    operations[i] = values[opcodes[i]];
+                }
+                result = calculatorService.chainOperations(initialValue, Arrays.asList(operations),
+                        Arrays.asList(numbers));
+            }
+            return writeResult(response, result);
+        } catch (ArithmeticException ex) {
+            return writeError(response, BatchErrorCode.DIVISION_BY_ZERO);
+        }
+    }
+
+    private static ByteBuffer writeResult(ByteBuffer response, Number result) {
+        response = ensureCapacity(response, 1 + BinaryCodec.operandSize(result));
+        response.put((byte) BatchErrorCode.NONE.getCode());
+        BinaryCodec.writeOperand(response, result);
+        return response;
+    }
+
+    private static ByteBuffer writeError(ByteBuffer response, BatchErrorCode error) {
+        response = ensureCapacity(response, 1);
+        response.put((byte) error.getCode());
+        return response;
+    }
+
+    private ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        ByteBuffer probe = ByteBuffer.allocate(1);
+        while (true) {
+            if (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    return buffer;
+                }
+                continue;
+            }
+            // The buffer is full: only grow it if the body has more bytes.
+            probe.clear();
+            if (channel.read(probe) < 0) {
+                return buffer;
+            }
+            if (buffer.capacity() >= maxFrameBytes) {
+                throw new IllegalArgumentException("Frame exceeds " + maxFrameBytes + " bytes.");
+            }
+            buffer = grow(buffer, Math.min(maxFrameBytes, buffer.capacity() * 2));
+            buffer.put(probe.flip());
+        }
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes) {
+            return buffer;
+        }
+        return grow(buffer, Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer larger = ByteBuffer.allocateDirect(capacity);
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
@@ -0,0 +1,409 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.JobState;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.job.BulkJob;
+import com.ebay.calculator.demo.job.ChainLineParser;
+import com.ebay.calculator.demo.job.UploadTooLargeException;
+import com.ebay.calculator.demo.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Runs bulk jobs: files of chains, one per line as described in {@link ChainLineParser}, that are too large for a
+ * synchronous chain request. A job is submitted with an input file, runs in the background and is polled for its
+ * progress until its results file is written, with one result line per input line.
+ *
+ * <p>The input is split into partitions, see {@link BulkJob}, that are evaluated concurrently on the job executor.
+ * Each partition is memory-mapped and scanned in place; its chains are evaluated with
+ * {@link CalculatorService#evaluateChain} and their results written to the partition's part file. A chain that is
+ * invalid or fails produces an {@code ERROR <message>} line instead of failing the job.</p>
+ *
+ * <p>Jobs are kept in {@code calculator.jobs.directory}. When the application starts, it resumes every job that has
+ * not completed, evaluating only the partitions missing from its checkpoint. A completed job is deleted
+ * {@code calculator.jobs.retention-minutes} after its results were written; expired jobs are looked for at startup and
+ * whenever a job is submitted. Uploaded inputs are limited to {@code calculator.jobs.max-upload-bytes}.</p>
+ */
+@Service
+public class BulkJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkJobService.class);
+
+    private static final String UPLOADED_INPUT = "input.txt";
+    private static final int OUTPUT_BUFFER_BYTES = 1 << 16;
+    private static final int UPLOAD_BUFFER_BYTES = 1 << 16;
+    /** Progress is added to the job every {@code PROGRESS_MASK + 1} chains. */
+    private static final int PROGRESS_MASK = 0xFFF;
+
+    private final CalculatorService calculatorService;
+    private final OperationStrategyFactory strategyFactory;
+    private final ExecutorService jobExecutor;
+    private final Path jobsDirectory;
+    private final Path inputDirectory;
+    private final long partitionBytes;
+    private final long maxUploadBytes;
+    private final long retentionMillis;
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BulkJobService(CalculatorService calculatorService, OperationStrategyFactory strategyFactory,
+                          @Qualifier("jobExecutor") ExecutorService jobExecutor,
+                          @Value("${calculator.jobs.directory:jobs}") String jobsDirectory,
+                          @Value("${calculator.jobs.input-directory:jobs/input}") String inputDirectory,
+                          @Value("${calculator.jobs.partition-size-mb:64}") int partitionSizeMb,
+                          @Value("${calculator.jobs.max-upload-bytes:1073741824}") long maxUploadBytes,
+                          @Value("${calculator.jobs.retention-minutes:1440}") long retentionMinutes) {
+        if (partitionSizeMb < 1 || partitionSizeMb > 1024) {
+            throw new IllegalArgumentException("Job partition size must be between 1 and 1024 MiB.");
+        }
+        if (maxUploadBytes < 0) {
+            throw new IllegalArgumentException("Job upload limit cannot be negative.");
+        }
+        if (retentionMinutes < 0) {
+            throw new IllegalArgumentException("Job retention cannot be negative.");
+        }
+        this.calculatorService = calculatorService;
+        this.strategyFactory = strategyFactory;
+        this.jobExecutor = jobExecutor;
+        this.jobsDirectory = Paths.get(jobsDirectory).toAbsolutePath().normalize();
+        this.inputDirectory = Paths.get(inputDirectory).toAbsolutePath().normalize();
+        this.partitionBytes = (long) partitionSizeMb << 20;
+        this.maxUploadBytes = maxUploadBytes;
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+    }
+
+    /**
+     * Submits a job for a file in the job input directory.
+     *
+     * @param input the path of the input file, relative to the input directory
+     * @return the status of the new job
+     * @throws IllegalArgumentException if the path is outside the input directory or not a regular file, or a line of
+     *                                  the input is too long to be partitioned
+     * @throws IOException if the input cannot be read or the job cannot be created
+     */
+    public JobStatus submit(String input) throws IOException {
+        if (input == null || input.isEmpty()) {
+            throw new IllegalArgumentException("Input file cannot be null or empty.");
+        }
+        Path file = inputDirectory.resolve(input).normalize();
+        if (!file.startsWith(inputDirectory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Input must be a file in the job input directory: " + input);
+        }
+        deleteExpiredJobs();
+        String id = UUID.randomUUID().toString();
+        return start(BulkJob.create(id, jobsDirectory.resolve(id), file, partitionBytes));
+    }
+
+    /**
+     * Submits a job for an uploaded input, which is stored in the job's directory first.
+     *
+     * @param body the input
+     * @param contentLength the declared length of the input, or {@code -1} if it is not known
+     * @return the status of the new job
+     * @throws IOException if the input cannot be stored or the job cannot be created
+     * @throws UploadTooLargeException if the input is longer than {@code calculator.jobs.max-upload-bytes}
+     * @throws IllegalArgumentException if a line of the input is too long to be partitioned
+     */
+    public JobStatus submit(InputStream body, long contentLength) throws IOException {
+        if (contentLength > maxUploadBytes) {
+            throw new UploadTooLargeException(maxUploadBytes);
+        }
+        deleteExpiredJobs();
+        String id = UUID.randomUUID().toString();
+        Path directory = jobsDirectory.resolve(id);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(UPLOADED_INPUT);
+        BulkJob job;
+        try {
+            store(body, file);
+            job = BulkJob.create(id, directory, file, partitionBytes);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(directory);
+            throw ex;
+        }
+        return start(job);
+    }
+
+    /**
+     * Copies an upload to a file, failing as soon as it is longer than the upload limit, whatever length it declared.
+     */
+    private void store(InputStream body, Path file) throws IOException {
+        byte[] buffer = new byte[UPLOAD_BUFFER_BYTES];
+        long stored = 0;
+        try (OutputStream out = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                stored += read;
+                if (stored > maxUploadBytes) {
+                    throw new UploadTooLargeException(maxUploadBytes);
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Returns the progress of a job.
+     *
+     * @throws NoSuchElementException if there is no such job
+     */
+    public JobStatus status(String jobId) {
+        return find(jobId).status();
+    }
+
+    /**
+     * Returns the results file of a completed job.
+     *
+     * @throws NoSuchElementException if there is no such job
+     * @throws IllegalStateException if the job has not completed
+     */
+    public Path results(String jobId) {
+        BulkJob job = find(jobId);
+        if (job.getState() != JobState.COMPLETED) {
+            throw new IllegalStateException("Job " + jobId + " has not completed.");
+        }
+        return job.getResults();
+    }
+
+    /**
+     * Deletes a job that is not running and its files, including an uploaded input.
+     *
+     * @return {@code true} if the job existed
+     * @throws IllegalStateException if the job is running
+     */
+    public boolean delete(String jobId) throws IOException {
+        BulkJob job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) {
+            return false;
+        }
+        if (job.getState() == JobState.RUNNING) {
+            throw new IllegalStateException("Job " + jobId + " is running.");
+        }
+        jobs.remove(jobId, job);
+        job.delete();
+        return true;
+    }
+
+    /**
+     * Loads the jobs of previous runs and resumes those that have not completed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeJobs() {
+        if (!Files.isDirectory(jobsDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(jobsDirectory, Files::isDirectory)) {
+            for (Path directory : directories) {
+                if (!BulkJob.isJob(directory)) {
+                    continue;
+                }
+                try {
+                    BulkJob job = BulkJob.load(directory);
+                    if (job.getState() == JobState.COMPLETED) {
+                        jobs.put(job.getId(), job);
+                    } else {
+                        logger.info("Resuming bulk job {} with {} of {} partitions finished", job.getId(),
+                                job.status().getCompletedPartitions(), job.status().getPartitions());
+                        start(job);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    logger.error("Cannot resume bulk job in {}: {}", directory, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            logger.error("Cannot list bulk jobs in {}: {}", jobsDirectory, ex.getMessage());
+        }
+        deleteExpiredJobs();
+    }
+
+    /**
+     * Deletes the completed jobs whose results are older than the retention, unless the retention is 0. Running and
+     * failed jobs are kept.
+     */
+    public void deleteExpiredJobs() {
+        if (retentionMillis == 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (BulkJob job : jobs.values()) {
+            if (job.getState() != JobState.COMPLETED) {
+                continue;
+            }
+            try {
+                if (now - job.completedAt() > retentionMillis && jobs.remove(job.getId(), job)) {
+                    job.delete();
+                    logger.info("Deleted expired bulk job {}", job.getId());
+                }
+            } catch (IOException ex) {
+                logger.error("Cannot delete expired bulk job {}: {}", job.getId(), ex.getMessage());
+            }
+        }
+    }
+
+    private BulkJob find(String jobId) {
+        BulkJob job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) {
+            throw new NoSuchElementException("Unknown bulk job: " + jobId);
+        }
+        return job;
+    }
+
+    private JobStatus start(BulkJob job) {
+        jobs.put(job.getId(), job);
+        logger.info("Bulk job {} for {}: {} partitions", job.getId(), job.getInput(), job.partitions());
+        if (job.status().getCompletedPartitions() == job.partitions()) {
+            jobExecutor.execute(() -> complete(job));
+        }
+        for (int partition = 0; partition < job.partitions(); partition++) {
+            if (!job.isFinished(partition)) {
+                int index = partition;
+                jobExecutor.execute(() -> run(job, index));
+            }
+        }
+        return job.status();
+    }
+
+    private void run(BulkJob job, int partition) {
+        if (job.getState() != JobState.RUNNING) {
+            return;
+        }
+        try {
+            if (evaluate(job, partition)) {
+                complete(job);
+            }
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Bulk job {} failed in partition {}: {}", job.getId(), partition, ex.getMessage());
+            job.fail("Partition " + partition + " failed: " + ex.getMessage());
+        }
+    }
+
+    private void complete(BulkJob job) {
+        try {
+            job.writeResults();
+            JobStatus status = job.status();
+            logger.info("Bulk job {} completed: {} chains, {} failed", job.getId(), status.getChains(),
+                    status.getFailedChains());
+        } catch (IOException | RuntimeException ex) {
+            logger.error("Bulk job {} cannot write its results: {}", job.getId(), ex.getMessage());
+            job.fail("Cannot write the results: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Evaluates one partition into its part file and checkpoints it.
+     *
+     * @return {@code true} if it was the last unfinished partition of the job
+     */
+    private boolean evaluate(BulkJob job, int partition) throws IOException {
+        long chains = 0;
+        long failures = 0;
+        long reportedFailures = 0;
+        ChainLineParser parser = new ChainLineParser(strategyFactory);
+        ByteBuffer output = ByteBuffer.allocate(OUTPUT_BUFFER_BYTES);
+        try (FileChannel in = FileChannel.open(job.getInput(), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(job.partFile(partition), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = in.map(FileChannel.MapMode.READ_ONLY, job.start(partition),
+                    job.end(partition) - job.start(partition));
+            int limit = buffer.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+
+                String line;
+                try {
+                    ValidatedChain chain = parser.parse(buffer, lineStart, lineEnd);
+                    line = Double.toString(calculatorService.evaluateChain(chain));
+                } catch (RuntimeException ex) {
+                    line = "ERROR " + ex.getMessage();
+                    failures++;
+                }
+                write(out, output, line);
+                chains++;
+                lineStart = lineEnd + 1;
+
+                if ((chains & PROGRESS_MASK) == 0) {
+                    job.recordChains(PROGRESS_MASK + 1, failures - reportedFailures);
+                    reportedFailures = failures;
+                    if (job.getState() != JobState.RUNNING) {
+                        return false;
+                    }
+                }
+            }
+            job.recordChains(chains & PROGRESS_MASK, failures - reportedFailures);
+            flush(out, output);
+            out.force(false);
+        }
+        return job.finish(partition, chains, failures);
+    }
+
+    /**
+     * Appends a line to the output buffer. Results are ASCII and copied char by char; error lines may quote the
+     * input and are encoded as UTF-8.
+     */
+    private static void write(FileChannel out, ByteBuffer output, String line) throws IOException {
+        int length = line.length();
+        if (output.remaining() <= length) {
+            flush(out, output);
+        }
+        if (length < output.capacity() && isAscii(line)) {
+            for (int i = 0; i < length; i++) {
+                output.put((byte) line.charAt(i));
+            }
+            output.put((byte) '\n');
+            return;
+        }
+        ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+        flush(out, output);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+    }
+
+    private static boolean isAscii(String line) {
+        for (int i = 0; i < line.length(); i++) {
+            if (line.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void flush(FileChannel out, ByteBuffer output) throws IOException {
+        output.flip();
+        while (output.hasRemaining()) {
+            out.write(output);
+        }
+        output.clear();
+    }
+}
@@ -1,12 +1,37 @@
 package com.ebay.calculator.demo.service;
 
+import com.ebay.calculator.demo.cache.CacheStats;
+import com.ebay.calculator.demo.cache.CalculationKey;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.chain.ChainCompiler;
+import com.ebay.calculator.demo.chain.ChainProgram;
+import com.ebay.calculator.demo.chain.ParallelChainEvaluator;
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
 import com.ebay.calculator.demo.enums.Operation;
 import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.journal.CalculationJournal;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
 import com.ebay.calculator.demo.utils.CalculatorValidator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Service for performing calculations using different arithmetic operations.
@@ -14,17 +39,65 @@ import java.util.List;
 @Service
 public class CalculatorService {
 
+    private static final int DIVIDE = Operation.DIVIDE.ordinal();
+
     private final OperationStrategyFactory strategyFactory;
     private final CalculatorValidator validator;
+    private final ChainCompiler chainCompiler;
+    private final ParallelChainEvaluator parallelEvaluator;
+    private final ResultCache<CalculationKey, Number> resultCache;
+    private final ResultCache<CalculationKey, Number> chainResultCache;
+    private final SingleFlight<CalculationKey, Number> chainFlights;
+    private final int coalescingMinLength;
+    private final CalculatorMetrics metrics;
+    private final CalculationJournal journal;
+    private final ExecutorService calculatorExecutor;
+    private final int batchChunkSize;
 
     @Autowired
-    public CalculatorService(OperationStrategyFactory strategyFactory, CalculatorValidator validator) {
+    public CalculatorService(OperationStrategyFactory strategyFactory, CalculatorValidator validator,
+                             ChainCompiler chainCompiler, ParallelChainEvaluator parallelEvaluator,
+                             @Qualifier("calculationResultCache") ResultCache<CalculationKey, Number> resultCache,
+                             @Qualifier("chainResultCache") ResultCache<CalculationKey, Number> chainResultCache,
+                             @Qualifier("chainSingleFlight") SingleFlight<CalculationKey, Number> chainFlights,
+                             @Value("${calculator.coalescing.min-chain-length:64}") int coalescingMinLength,
+                             CalculatorMetrics metrics, CalculationJournal journal,
+                             @Qualifier("calculatorExecutor") ExecutorService calculatorExecutor,
+                             @Value("${calculator.execution.batch-chunk-size:65536}") int batchChunkSize) {
         this.strategyFactory = strategyFactory;
         this.validator = validator;
+        this.chainCompiler = chainCompiler;
+        this.parallelEvaluator = parallelEvaluator;
+        this.resultCache = resultCache;
+        this.chainResultCache = chainResultCache;
+        this.chainFlights = chainFlights;
+        this.coalescingMinLength = coalescingMinLength;
+        this.metrics = metrics;
+        this.journal = journal;
+        this.calculatorExecutor = calculatorExecutor;
+        this.batchChunkSize = batchChunkSize;
+
+        // Memoized results were computed by the strategies that were registered at the time, and so are the chains
+        // still in flight.
+        strategyFactory.addListener((opcode, previous, current, version) -> {
+            resultCache.clear();
+            chainResultCache.clear();
+            chainFlights.clear();
+        });
+        metrics.registerSingleFlight("chain", chainFlights::stats);
+    }
+
+    /**
+     * Returns a builder for a service outside the Spring context, such as the standalone binary server's. Every
+     * setting starts at the default of its {@code calculator.*} property.
+     */
+    public static Builder builder(OperationStrategyFactory strategyFactory) {
+        return new Builder(strategyFactory);
     }
 
     /**
      * Performs the specified operation on the given operands.
+     * Results are memoized in the calculation result cache, so a repeated calculation skips strategy dispatch.
      *
      * @param operation the operation to perform
      * @param num1 the first operand
@@ -33,17 +106,71 @@ public class CalculatorService {
      * @throws UnsupportedOperationException if the operation is not supported
      */
     public Number calculate(Operation operation, Number num1, Number num2) {
-        validator.validateOperands(num1, num2);
+        if (operation == null) {
+            throw new UnsupportedOperationException("No strategy registered for operation: null");
+        }
+        return calculate(operation.ordinal(), num1, num2);
+    }
+
+    /**
+     * Performs the operation registered for an opcode on the given operands, like
+     * {@link #calculate(Operation, Number, Number)}. The second operand of a unary operation may be {@code null}.
+     * Every result, including a cached one, is appended to the {@link CalculationJournal}.
+     *
+     * @param opcode the opcode of the operation, as returned by {@link OperationStrategyFactory#lookup(String)}
+     * @param num1 the first operand
+     * @param num2 the second operand
+     * @return the result of the operation
+     * @throws UnsupportedOperationException if no operation has this opcode
+     */
+    public Number calculate(int opcode, Number num1, Number num2) {
+        if (!strategyFactory.isRegistered(opcode)) {
+            throw new UnsupportedOperationException("No strategy registered for opcode: " + opcode);
+        }
+        if (strategyFactory.getArity(opcode) == 1) {
+            // Keyed and evaluated with a constant second operand, which unary operations ignore.
+            num2 = 0;
+        }
 
+        long start = System.nanoTime();
+        Number result = null;
+        try {
+            validator.validateOperands(num1, num2);
+
+            if (opcode == DIVIDE) {
+                validator.validateDivision(num1, num2);
+            }
+
+            CalculationKey key = CalculationKey.of(opcode, num1, num2);
+            result = resultCache.get(key);
+            if (result == null) {
+                long version = strategyFactory.getVersion();
+                result = strategyFactory.evaluate(opcode, num1, num2);
+                memoize(resultCache, key, result, version);
+            }
+            return result;
+        } finally {
+            long latency = System.nanoTime() - start;
+            metrics.recordOperation(opcode, strategyFactory.getName(opcode), latency, result == null);
+            if (result != null) {
+                journal.record(opcode, num1, num2, result, latency);
+            }
+        }
+    }
+
+    private Number calculateStep(Operation operation, Number num1, Number num2) {
         if (operation == Operation.DIVIDE) {
             validator.validateDivision(num1, num2);
         }
-
-        return strategyFactory.getStrategy(operation).apply(num1, num2);
+        return strategyFactory.evaluate(operation, num1, num2);
     }
 
     /**
      * Chains multiple operations on an initial value sequentially.
+     * Chains made only of {@code Double} values are compiled with {@link ChainCompiler} and run through
+     * {@link #execute(ChainProgram)}; other chains are evaluated step by step. In both cases, long ADD/SUBTRACT
+     * and MULTIPLY runs are reduced in parallel by {@link ParallelChainEvaluator}. Results are memoized in the
+     * chain result cache, and concurrent identical chains are computed once, see {@link SingleFlight}.
      *
      * @param initialValue the initial value to start the chain
      * @param operations an array of operations to perform
@@ -52,15 +179,426 @@ public class CalculatorService {
      * @throws IllegalArgumentException if the lengths of operations and operands do not match
      */
     public Number chainOperations(Number initialValue, List<Operation> operations, List<Number> operands) {
+        if (initialValue == null || operations == null || operands == null) {
+            throw new IllegalArgumentException("Initial value, operations and operands must not be null.");
+        }
         if (operations.size() != operands.size()) {
             throw new IllegalArgumentException("Operations and operands lists must have the same length.");
         }
 
-        Number result = initialValue;
-        for (int i = 0; i < operations.size(); i++) {
-            result = calculate(operations.get(i), result, operands.get(i));
+        if (initialValue instanceof Double && allDoubles(operands)) {
+            byte[] opcodes = new byte[operations.size()];
+            double[] values = new double[operands.size()];
+            for (int i = 0; i < values.length; i++) {
+                opcodes[i] = (byte) operations.get(i).ordinal();
+                values[i] = operands.get(i).doubleValue();
+            }
+            return chainOperations(initialValue.doubleValue(), opcodes, values);
+        }
+
+        metrics.recordChainLength(operations.size());
+        for (Number operand : operands) {
+            validator.validateOperands(initialValue, operand);
+        }
+        CalculationKey key = CalculationKey.ofChain(initialValue, operations, operands);
+        Number result = chainResultCache.get(key);
+        if (result != null) {
+            return result;
+        }
+
+        return coalesce(key, operations.size(), () -> {
+            long version = strategyFactory.getVersion();
+            Number computed = parallelEvaluator.evaluate(initialValue, operations, operands, this::calculateStep);
+            memoize(chainResultCache, key, computed, version);
+            return computed;
+        });
+    }
+
+    /**
+     * Performs a validated chain calculation request. The chain was decoded by the validator, so it is compiled
+     * without checking its operations or operands again. Identical requests that arrive while the chain is being
+     * computed wait for that computation instead of running their own.
+     *
+     * @param chain the chain returned by {@link CalculatorValidator#validateChainRequest}
+     * @return the final result after applying all operations
+     */
+    public Number chainCalculate(ValidatedChain chain) {
+        metrics.recordChainLength(chain.length());
+        CalculationKey key = CalculationKey.ofDoubleChain(chain.getInitialValue(), chain.getOpcodes(),
+                chain.getOperands());
+        Number cached = chainResultCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        return coalesce(key, chain.length(), () -> {
+            long version = strategyFactory.getVersion();
+            Number result = execute(chainCompiler.compile(chain));
+            memoize(chainResultCache, key, result, version);
+            return result;
+        });
+    }
+
+    /**
+     * Evaluates a validated chain without the chain result cache or coalescing. Bulk jobs evaluate millions of chains
+     * that are rarely repeated; memoizing them would only evict the results of interactive requests.
+     *
+     * @param chain the validated chain, whose arrays become part of the compiled program
+     * @return the final result after applying all operations
+     */
+    public double evaluateChain(ValidatedChain chain) {
+        metrics.recordChainLength(chain.length());
+        return execute(chainCompiler.compile(chain));
+    }
+
+    /**
+     * Chains operations given as op-codes over {@code double} values: {@link Operation#ordinal()} for the built-in
+     * operations, or the opcode of any registered operation. The chain is compiled and executed on a cache miss only.
+     *
+     * @param initialValue the initial value to start the chain
+     * @param opcodes the op-code of each operation
+     * @param operands the operand for each operation
+     * @return the final result after applying all operations
+     * @throws IllegalArgumentException if an op-code is not registered
+     * @throws ArithmeticException if a DIVIDE step has a zero operand
+     */
+    public double chainOperations(double initialValue, byte[] opcodes, double[] operands) {
+        metrics.recordChainLength(opcodes.length);
+        CalculationKey key = CalculationKey.ofDoubleChain(initialValue, opcodes, operands);
+        Number cached = chainResultCache.get(key);
+        if (cached != null) {
+            return cached.doubleValue();
+        }
+
+        return coalesce(key, opcodes.length, () -> {
+            long version = strategyFactory.getVersion();
+            Number result = execute(chainCompiler.compile(initialValue, opcodes, operands));
+            memoize(chainResultCache, key, result, version);
+            return result;
+        }).doubleValue();
+    }
+
+    /**
+     * Runs a chain computation that missed the cache. Chains of at least {@code coalescingMinLength} steps go through
+     * the single flight, so concurrent identical chains are computed once; shorter chains cost less than
+     * coordinating would.
+     */
+    private Number coalesce(CalculationKey key, int length, Supplier<Number> computation) {
+        return length < coalescingMinLength ? computation.get() : chainFlights.execute(key, computation);
+    }
+
+    /**
+     * Caches a result computed while the strategy registry was at {@code version}. If a strategy was replaced in the
+     * meantime, the registration listener may have cleared the cache before this put, so it is cleared again.
+     */
+    private void memoize(ResultCache<CalculationKey, Number> cache, CalculationKey key, Number result, long version) {
+        cache.put(key, result);
+        if (strategyFactory.getVersion() != version) {
+            cache.clear();
         }
+    }
+
+    /**
+     * Returns the counters of the calculation and chain result caches.
+     *
+     * @return the cache statistics keyed by cache name
+     */
+    public Map<String, CacheStats> cacheStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("calculate", resultCache.stats());
+        stats.put("chain", chainResultCache.stats());
+        return stats;
+    }
+
+    /**
+     * Runs a compiled chain program. Validation already happened when the program was compiled,
+     * so each step is a single primitive strategy call.
+     *
+     * @param program the compiled chain
+     * @return the final result after applying all steps
+     */
+    public double execute(ChainProgram program) {
+        OperationStrategy[] strategies = resolveStrategies();
+        byte[] opcodes = program.getOpcodes();
+        double[] operands = program.getOperands();
 
+        double result = program.getInitialValue();
+        for (int i = 0; i < opcodes.length; i++) {
+            result = strategies[opcodes[i]].applyDouble(result, operands[i]);
+        }
         return result;
     }
+
+    private static boolean allDoubles(List<Number> operands) {
+        for (Number operand : operands) {
+            if (!(operand instanceof Double)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates a batch of independent operations over primitive {@code double} columns.
+     * A slot with an unknown ({@code null}) operation or a zero divisor is reported through its error code
+     * and does not fail the rest of the batch. Large batches are evaluated in concurrent chunks.
+     *
+     * @param operations the operation for each slot, {@code null} for an unresolved operation
+     * @param num1 the first operand column
+     * @param num2 the second operand column
+     * @return the result column with per-slot error codes
+     * @throws IllegalArgumentException if the columns do not have the same length
+     */
+    public BatchCalculationResult calculateBatch(Operation[] operations, double[] num1, double[] num2) {
+        validateBatchColumns(operations.length, num1.length, num2.length);
+
+        int size = operations.length;
+        double[] results = new double[size];
+        int[] errorCodes = new int[size];
+        OperationStrategy[] strategies = resolveStrategies();
+
+        int errorCount = runBatch(size, (from, to, counts, errors) -> {
+            int failed = 0;
+            for (int i = from; i < to; i++) {
+                Operation operation = operations[i];
+                if (operation == null) {
+                    errorCodes[i] = BatchErrorCode.INVALID_OPERATION.getCode();
+                    failed++;
+                    continue;
+                }
+                counts[operation.ordinal()]++;
+                double b = num2[i];
+                if (operation == Operation.DIVIDE && b == 0) {
+                    errorCodes[i] = BatchErrorCode.DIVISION_BY_ZERO.getCode();
+                    errors[operation.ordinal()]++;
+                    failed++;
+                    continue;
+                }
+                results[i] = strategies[operation.ordinal()].applyDouble(num1[i], b);
+            }
+            return failed;
+        });
+
+        return new BatchCalculationResult(results, null, errorCodes, errorCount);
+    }
+
+    /**
+     * Evaluates a batch of independent operations over primitive {@code long} columns.
+     * Division truncates like integer division, and a slot whose exact result does not fit in a {@code long}
+     * is reported as {@link BatchErrorCode#OVERFLOW}.
+     *
+     * @param operations the operation for each slot, {@code null} for an unresolved operation
+     * @param num1 the first operand column
+     * @param num2 the second operand column
+     * @return the result column with per-slot error codes
+     * @throws IllegalArgumentException if the columns do not have the same length
+     */
+    public BatchCalculationResult calculateBatch(Operation[] operations, long[] num1, long[] num2) {
+        validateBatchColumns(operations.length, num1.length, num2.length);
+
+        int size = operations.length;
+        long[] results = new long[size];
+        int[] errorCodes = new int[size];
+        OperationStrategy[] strategies = resolveStrategies();
+
+        int errorCount = runBatch(size, (from, to, counts, errors) -> {
+            int failed = 0;
+            for (int i = from; i < to; i++) {
+                Operation operation = operations[i];
+                if (operation == null) {
+                    errorCodes[i] = BatchErrorCode.INVALID_OPERATION.getCode();
+                    failed++;
+                    continue;
+                }
+                counts[operation.ordinal()]++;
+                long b = num2[i];
+                if (operation == Operation.DIVIDE && b == 0) {
+                    errorCodes[i] = BatchErrorCode.DIVISION_BY_ZERO.getCode();
+                    errors[operation.ordinal()]++;
+                    failed++;
+                    continue;
+                }
+                try {
+                    results[i] = strategies[operation.ordinal()].applyLong(num1[i], b);
+                } catch (ArithmeticException ex) {
+                    errorCodes[i] = BatchErrorCode.OVERFLOW.getCode();
+                    errors[operation.ordinal()]++;
+                    failed++;
+                }
+            }
+            return failed;
+        });
+
+        return new BatchCalculationResult(null, results, errorCodes, errorCount);
+    }
+
+    /**
+     * Runs a batch over {@code [0, size)}. Batches larger than {@code batchChunkSize} slots are split into chunks
+     * that run concurrently on the calculator executor; smaller batches run on the calling thread.
+     *
+     * @return the total number of failed slots
+     */
+    private int runBatch(int size, BatchSlice slice) {
+        if (size <= batchChunkSize) {
+            return evaluateChunk(slice, 0, size);
+        }
+
+        // The calling thread evaluates the first chunk itself while the pool works through the rest.
+        List<Future<Integer>> chunks = new ArrayList<>();
+        for (int from = batchChunkSize; from < size; from += batchChunkSize) {
+            int start = from;
+            int end = Math.min(size, from + batchChunkSize);
+            chunks.add(calculatorExecutor.submit(() -> evaluateChunk(slice, start, end)));
+        }
+
+        int failed = 0;
+        try {
+            failed += evaluateChunk(slice, 0, batchChunkSize);
+            for (Future<Integer> chunk : chunks) {
+                failed += chunk.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw new IllegalStateException("Interrupted while evaluating a batch.", ex);
+        } catch (RuntimeException ex) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            throw ex;
+        } catch (ExecutionException ex) {
+            chunks.forEach(chunk -> chunk.cancel(true));
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Batch evaluation failed.", ex.getCause());
+        }
+        return failed;
+    }
+
+    private int evaluateChunk(BatchSlice slice, int from, int to) {
+        int[] counts = new int[Operation.values().length];
+        int[] errors = new int[Operation.values().length];
+        int failed = slice.evaluate(from, to, counts, errors);
+        metrics.recordOperationCounts(counts, errors);
+        return failed;
+    }
+
+    /**
+     * Evaluates the slots {@code [from, to)} of a batch, counting calculations and failures per operation ordinal.
+     */
+    @FunctionalInterface
+    private interface BatchSlice {
+        int evaluate(int from, int to, int[] counts, int[] errors);
+    }
+
+    private OperationStrategy[] resolveStrategies() {
+        OperationStrategy[] strategies = strategyFactory.getStrategies();
+        for (Operation operation : Operation.values()) {
+            if (strategies[operation.ordinal()] == null) {
+                throw new UnsupportedOperationException("No strategy registered for operation: " + operation);
+            }
+        }
+        return strategies;
+    }
+
+    private void validateBatchColumns(int operations, int num1, int num2) {
+        if (operations != num1 || operations != num2) {
+            throw new IllegalArgumentException("Operations and operand columns must have the same length.");
+        }
+    }
+
+    /**
+     * Builds a {@link CalculatorService} with the defaults of the {@code calculator.*} properties, for code that
+     * runs without Spring.
+     */
+    public static final class Builder {
+        private final OperationStrategyFactory strategyFactory;
+        private int parallelThreshold = 16384;
+        private boolean foldingEnabled;
+        private ChainCompiler chainCompiler;
+        private int resultCacheSize = 10000;
+        private int chainResultCacheSize = 1000;
+        private SingleFlight<CalculationKey, Number> chainFlights;
+        private int coalescingMinLength = 64;
+        private CalculatorMetrics metrics;
+        private CalculationJournal journal = CalculationJournal.disabled();
+        private ExecutorService executor = ForkJoinPool.commonPool();
+        private int batchChunkSize = 65536;
+
+        private Builder(OperationStrategyFactory strategyFactory) {
+            this.strategyFactory = strategyFactory;
+        }
+
+        /**
+         * Sets {@code calculator.chain.parallel-threshold}.
+         */
+        public Builder parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
+        /**
+         * Sets {@code calculator.chain.folding-enabled}.
+         */
+        public Builder foldingEnabled(boolean foldingEnabled) {
+            this.foldingEnabled = foldingEnabled;
+            return this;
+        }
+
+        /**
+         * Uses the given compiler instead of one built from the threshold and folding settings.
+         */
+        public Builder chainCompiler(ChainCompiler chainCompiler) {
+            this.chainCompiler = chainCompiler;
+            return this;
+        }
+
+        /**
+         * Sets the maximum sizes of the result and chain result caches; 0 disables a cache.
+         */
+        public Builder cacheSizes(int resultCacheSize, int chainResultCacheSize) {
+            this.resultCacheSize = resultCacheSize;
+            this.chainResultCacheSize = chainResultCacheSize;
+            return this;
+        }
+
+        /**
+         * Shares identical chains of at least {@code minChainLength} steps through {@code chainFlights}.
+         */
+        public Builder coalescing(SingleFlight<CalculationKey, Number> chainFlights, int minChainLength) {
+            this.chainFlights = chainFlights;
+            this.coalescingMinLength = minChainLength;
+            return this;
+        }
+
+        public Builder metrics(CalculatorMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public Builder journal(CalculationJournal journal) {
+            this.journal = journal;
+            return this;
+        }
+
+        /**
+         * Runs batches on {@code executor} in chunks of {@code batchChunkSize} calculations.
+         */
+        public Builder executor(ExecutorService executor, int batchChunkSize) {
+            this.executor = executor;
+            this.batchChunkSize = batchChunkSize;
+            return this;
+        }
+
+        public CalculatorService build() {
+            ParallelChainEvaluator parallelEvaluator = new ParallelChainEvaluator(strategyFactory, parallelThreshold);
+            return new CalculatorService(strategyFactory, new CalculatorValidator(strategyFactory),
+                    chainCompiler != null ? chainCompiler
+                            : new ChainCompiler(strategyFactory, parallelEvaluator, foldingEnabled, 1024),
+                    parallelEvaluator,
+                    new ResultCache<>(resultCacheSize, EvictionPolicy.LRU, 300, TimeUnit.SECONDS),
+                    new ResultCache<>(chainResultCacheSize, EvictionPolicy.LRU, 300, TimeUnit.SECONDS),
+                    chainFlights != null ? chainFlights : new SingleFlight<>(1024), coalescingMinLength,
+                    metrics != null ? metrics : new CalculatorMetrics(), journal, executor, batchChunkSize);
+        }
+    }
 }
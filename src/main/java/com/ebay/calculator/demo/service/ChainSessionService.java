@@ -0,0 +1,165 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.cache.CacheStats;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.chain.ChainSession;
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.ChainSessionResult;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Keeps editable chains between requests, so that a client changing one step of a long chain does not resend and
+ * recompute the whole chain. Each {@link ChainSession} checkpoints its prefix results, and an edit is evaluated from
+ * the last checkpoint before it.
+ *
+ * <p>Sessions live in a {@link ResultCache} with the {@code IDLE} policy: a session expires when it has not been used
+ * for the configured idle timeout, and the least recently used sessions are evicted once the maximum number of
+ * sessions is reached. Each session holds at most {@code maxSteps} steps.</p>
+ */
+@Service
+public class ChainSessionService {
+
+    private final OperationStrategyFactory strategyFactory;
+    private final CalculatorValidator validator;
+    private final ResultCache<String, ChainSession> sessions;
+    private final int checkpointInterval;
+    private final int maxSteps;
+
+    @Autowired
+    public ChainSessionService(OperationStrategyFactory strategyFactory, CalculatorValidator validator,
+                               @Qualifier("chainSessionCache") ResultCache<String, ChainSession> sessions,
+                               @Value("${calculator.session.checkpoint-interval:64}") int checkpointInterval,
+                               @Value("${calculator.session.max-steps:65536}") int maxSteps) {
+        this.strategyFactory = strategyFactory;
+        this.validator = validator;
+        this.sessions = sessions;
+        this.checkpointInterval = checkpointInterval;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * Opens a session for a validated chain and evaluates it.
+     *
+     * @param chain the chain returned by {@link CalculatorValidator#validateChainRequest}
+     * @return the new session id and the result of the chain
+     * @throws IllegalArgumentException if the chain has more than {@code maxSteps} steps
+     */
+    public ChainSessionResult open(ValidatedChain chain) {
+        checkLength(chain.length());
+        sessions.evictExpired();
+
+        ChainSession session = new ChainSession(UUID.randomUUID().toString(), chain, checkpointInterval);
+        synchronized (session) {
+            ChainSessionResult result = evaluate(session);
+            sessions.put(session.getId(), session);
+            return result;
+        }
+    }
+
+    /**
+     * Returns the current result of a session.
+     *
+     * @param sessionId the session id
+     * @return the session's length and result
+     * @throws NoSuchElementException if the session does not exist or has expired
+     */
+    public ChainSessionResult get(String sessionId) {
+        ChainSession session = find(sessionId);
+        synchronized (session) {
+            return evaluate(session);
+        }
+    }
+
+    /**
+     * Replaces the step at {@code index} and evaluates the chain from the last checkpoint before it.
+     *
+     * @throws NoSuchElementException if the session does not exist or has expired
+     * @throws IllegalArgumentException if the step is invalid or there is no step at {@code index}
+     */
+    public ChainSessionResult replaceStep(String sessionId, int index, String operation, Double operand) {
+        int opcode = validator.validateChainStep(operation, operand);
+        ChainSession session = find(sessionId);
+        synchronized (session) {
+            session.replaceStep(index, opcode, operand == null ? 0.0 : operand);
+            return evaluate(session);
+        }
+    }
+
+    /**
+     * Inserts a step before the step at {@code index}, or appends it if {@code index} is the session's length, and
+     * evaluates the chain from the last checkpoint before it.
+     *
+     * @throws NoSuchElementException if the session does not exist or has expired
+     * @throws IllegalArgumentException if the step is invalid, {@code index} is out of range or the session would
+     *                                  have more than {@code maxSteps} steps
+     */
+    public ChainSessionResult insertStep(String sessionId, int index, String operation, Double operand) {
+        int opcode = validator.validateChainStep(operation, operand);
+        ChainSession session = find(sessionId);
+        synchronized (session) {
+            checkLength(session.getLength() + 1);
+            session.insertStep(index, opcode, operand == null ? 0.0 : operand);
+            return evaluate(session);
+        }
+    }
+
+    /**
+     * Removes the step at {@code index} and evaluates the chain from the last checkpoint before it.
+     *
+     * @throws NoSuchElementException if the session does not exist or has expired
+     * @throws IllegalArgumentException if there is no step at {@code index}
+     */
+    public ChainSessionResult removeStep(String sessionId, int index) {
+        ChainSession session = find(sessionId);
+        synchronized (session) {
+            session.removeStep(index);
+            return evaluate(session);
+        }
+    }
+
+    /**
+     * Closes a session.
+     *
+     * @param sessionId the session id
+     * @return {@code true} if the session existed
+     */
+    public boolean close(String sessionId) {
+        return sessions.remove(sessionId) != null;
+    }
+
+    /**
+     * @return the counters of the session store; evictions count expired and evicted sessions
+     */
+    public CacheStats stats() {
+        return sessions.stats();
+    }
+
+    private ChainSession find(String sessionId) {
+        ChainSession session = sessionId == null ? null : sessions.get(sessionId);
+        if (session == null) {
+            throw new NoSuchElementException("Unknown or expired chain session: " + sessionId);
+        }
+        return session;
+    }
+
+    private ChainSessionResult evaluate(ChainSession session) {
+        // The version is read first: strategies from a later version only cause one extra full evaluation.
+        long version = strategyFactory.getVersion();
+        double result = session.evaluate(strategyFactory.getStrategies(), version);
+        return new ChainSessionResult(session.getId(), session.getLength(), result, session.getEvaluatedSteps());
+    }
+
+    private void checkLength(int length) {
+        if (length > maxSteps) {
+            throw new IllegalArgumentException("Chain sessions are limited to " + maxSteps + " steps.");
+        }
+    }
+}
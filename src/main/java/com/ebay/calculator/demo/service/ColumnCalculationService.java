@@ -0,0 +1,128 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.column.ColumnKernel;
+import com.ebay.calculator.demo.column.ColumnKernels;
+import com.ebay.calculator.demo.column.ScalarColumnKernel;
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
+import com.ebay.calculator.demo.operations.Addition;
+import com.ebay.calculator.demo.operations.Division;
+import com.ebay.calculator.demo.operations.Multiplication;
+import com.ebay.calculator.demo.operations.Subtraction;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Evaluates one chain over columns of inputs, one step at a time across a block of rows.
+ *
+ * <p>Rows are processed in blocks of {@value #BLOCK_SIZE} so a block stays in cache while every step is applied to
+ * it. With the built-in strategies and a JVM started with {@code --add-modules jdk.incubator.vector}, steps run on
+ * the Vector API kernel; otherwise each element goes through the strategy's {@code applyDouble}.</p>
+ */
+@Service
+public class ColumnCalculationService {
+
+    static final int BLOCK_SIZE = 4096;
+
+    private final OperationStrategyFactory strategyFactory;
+    private final CalculatorMetrics metrics;
+    private final ColumnKernel scalarKernel = new ScalarColumnKernel();
+    private final ColumnKernel vectorKernel;
+
+    @Autowired
+    public ColumnCalculationService(OperationStrategyFactory strategyFactory, CalculatorMetrics metrics,
+                                    @Value("${calculator.column.vector-enabled:true}") boolean vectorEnabled) {
+        this.strategyFactory = strategyFactory;
+        this.metrics = metrics;
+        this.vectorKernel = vectorEnabled ? ColumnKernels.vectorKernel() : null;
+    }
+
+    /**
+     * Evaluates a chain for every row. A row that divides by zero is reported with
+     * {@link BatchErrorCode#DIVISION_BY_ZERO} and a result of zero, without failing the other rows.
+     *
+     * @param initialValues the initial value of each row
+     * @param operations the operations of the chain
+     * @param operands the operand column of each step, holding one value per row or a single constant
+     * @return the result of each row with per-row error codes
+     */
+    public BatchCalculationResult calculate(double[] initialValues, Operation[] operations, double[][] operands) {
+        int rows = initialValues.length;
+        double[] values = initialValues.clone();
+        int[] errorCodes = new int[rows];
+        int[] counts = new int[Operation.values().length];
+        int[] errors = new int[Operation.values().length];
+
+        OperationStrategy[] strategies = new OperationStrategy[operations.length];
+        for (int k = 0; k < operations.length; k++) {
+            strategies[k] = strategyFactory.getStrategy(operations[k]);
+            counts[operations[k].ordinal()] += rows;
+        }
+        ColumnKernel kernel = selectKernel();
+
+        for (int from = 0; from < rows; from += BLOCK_SIZE) {
+            int to = Math.min(rows, from + BLOCK_SIZE);
+            for (int k = 0; k < operations.length; k++) {
+                double[] column = operands[k];
+                if (column.length == 1 && rows != 1) {
+                    if (operations[k] == Operation.DIVIDE && column[0] == 0) {
+                        errors[Operation.DIVIDE.ordinal()] += to - from;
+                        Arrays.fill(errorCodes, from, to, BatchErrorCode.DIVISION_BY_ZERO.getCode());
+                    }
+                    kernel.applyBroadcast(operations[k], strategies[k], values, column[0], from, to);
+                    continue;
+                }
+                if (operations[k] == Operation.DIVIDE) {
+                    errors[Operation.DIVIDE.ordinal()] += markZeroDivisors(column, errorCodes, from, to);
+                }
+                kernel.apply(operations[k], strategies[k], values, column, from, to);
+            }
+        }
+
+        int errorCount = 0;
+        for (int i = 0; i < rows; i++) {
+            if (errorCodes[i] != 0) {
+                values[i] = 0;
+                errorCount++;
+            }
+        }
+        metrics.recordOperationCounts(counts, errors);
+        return new BatchCalculationResult(values, null, errorCodes, errorCount);
+    }
+
+    /**
+     * Returns whether column steps currently run on the Vector API kernel.
+     */
+    public boolean isVectorized() {
+        return selectKernel().isVectorized();
+    }
+
+    private ColumnKernel selectKernel() {
+        if (vectorKernel != null
+                && strategyFactory.getStrategy(Operation.ADD).getClass() == Addition.class
+                && strategyFactory.getStrategy(Operation.SUBTRACT).getClass() == Subtraction.class
+                && strategyFactory.getStrategy(Operation.MULTIPLY).getClass() == Multiplication.class
+                && strategyFactory.getStrategy(Operation.DIVIDE).getClass() == Division.class) {
+            return vectorKernel;
+        }
+        return scalarKernel;
+    }
+
+    private static int markZeroDivisors(double[] divisors, int[] errorCodes, int from, int to) {
+        int zeros = 0;
+        for (int i = from; i < to; i++) {
+            if (divisors[i] == 0) {
+                errorCodes[i] = BatchErrorCode.DIVISION_BY_ZERO.getCode();
+                zeros++;
+            }
+        }
+        return zeros;
+    }
+}
@@ -0,0 +1,132 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.decimal.DecimalCalculator;
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.DecimalSettings;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Exact decimal calculations for requests that carry {@link DecimalSettings}, e.g. currency amounts. Values are
+ * computed as scaled {@code long}s and only promoted to {@code BigDecimal} on overflow; see {@link DecimalCalculator}.
+ */
+@Service
+public class DecimalCalculationService {
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private final OperationStrategyFactory strategyFactory;
+    private final CalculatorValidator validator;
+    private final CalculatorMetrics metrics;
+    private final DecimalContext defaultContext;
+
+    @Autowired
+    public DecimalCalculationService(OperationStrategyFactory strategyFactory, CalculatorValidator validator,
+                                     CalculatorMetrics metrics,
+                                     @Value("${calculator.decimal.default-precision:0}") int defaultPrecision,
+                                     @Value("${calculator.decimal.default-scale:2}") int defaultScale,
+                                     @Value("${calculator.decimal.default-rounding:HALF_EVEN}") String defaultRounding) {
+        this.strategyFactory = strategyFactory;
+        this.validator = validator;
+        this.metrics = metrics;
+        this.defaultContext = new DecimalContext(defaultPrecision, defaultScale, roundingMode(defaultRounding));
+    }
+
+    /**
+     * Resolves request settings against the configured defaults.
+     *
+     * @throws IllegalArgumentException if a setting is out of range or the rounding mode is unknown
+     */
+    public DecimalContext context(DecimalSettings settings) {
+        if (settings == null) {
+            return defaultContext;
+        }
+        return new DecimalContext(
+                settings.getPrecision() == null ? defaultContext.getPrecision() : settings.getPrecision(),
+                settings.getScale() == null ? defaultContext.getScale() : settings.getScale(),
+                settings.getRounding() == null ? defaultContext.getRoundingMode() : roundingMode(settings.getRounding()));
+    }
+
+    /**
+     * Performs the operation in decimal mode.
+     *
+     * @return the result with the requested scale
+     * @throws IllegalArgumentException if an operand is null, NaN or infinite, or the settings are invalid
+     * @throws ArithmeticException if dividing by zero, or if rounding is needed under {@code UNNECESSARY}
+     */
+    public BigDecimal calculate(Operation operation, Number num1, Number num2, DecimalSettings settings) {
+        if (operation == null) {
+            throw new UnsupportedOperationException("No strategy registered for operation: null");
+        }
+        return calculate(operation.ordinal(), num1, num2, settings);
+    }
+
+    /**
+     * Performs the operation registered for an opcode in decimal mode. Built-in operations use
+     * {@link DecimalCalculator}'s own arithmetic, others their {@link OperationDefinition}'s decimal implementation.
+     * The second operand of a unary operation may be {@code null}.
+     *
+     * @return the result with the requested scale
+     * @throws UnsupportedOperationException if no operation has this opcode
+     * @throws IllegalArgumentException if an operand is null, NaN or infinite, the settings are invalid, or the
+     *                                  operation has no decimal implementation
+     * @throws ArithmeticException if the result is undefined, or if rounding is needed under {@code UNNECESSARY}
+     */
+    public BigDecimal calculate(int opcode, Number num1, Number num2, DecimalSettings settings) {
+        if (!strategyFactory.isRegistered(opcode)) {
+            throw new UnsupportedOperationException("No strategy registered for opcode: " + opcode);
+        }
+        OperationDefinition definition = strategyFactory.getDefinition(opcode);
+        if (definition != null && definition.getArity() == 1) {
+            num2 = 0;
+        }
+
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            validator.validateOperands(num1, num2);
+            BigDecimal result = definition == null
+                    ? DecimalCalculator.calculate(OPERATIONS[opcode], num1, num2, context(settings))
+                    : DecimalCalculator.calculate(definition, num1, num2, context(settings));
+            failed = false;
+            return result;
+        } finally {
+            metrics.recordOperation(opcode, strategyFactory.getName(opcode), System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Chains the operations of a validated request in decimal mode.
+     *
+     * @param chain the chain returned by {@link CalculatorValidator#validateChainRequest}
+     * @param settings the decimal settings of the request, or {@code null} for the defaults
+     * @return the final result with the requested scale
+     * @throws IllegalArgumentException if a value is NaN or infinite, or the settings are invalid
+     * @throws ArithmeticException if a step divides by zero, or if rounding is needed under {@code UNNECESSARY}
+     */
+    public BigDecimal chainCalculate(ValidatedChain chain, DecimalSettings settings) {
+        metrics.recordChainLength(chain.length());
+        return DecimalCalculator.chain(chain.getInitialValue(), chain.getExactInitialValue(), chain.getOperations(),
+                chain.getDefinitions(), chain.getOperands(), chain.getExactOperands(), context(settings));
+    }
+
+    private static RoundingMode roundingMode(String rounding) {
+        try {
+            return RoundingMode.valueOf(rounding.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported rounding mode: " + rounding +
+                    ". Supported rounding modes are: " + Arrays.toString(RoundingMode.values()));
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.cache.CacheStats;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.expression.CompiledExpression;
+import com.ebay.calculator.demo.expression.ExpressionParser;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+
+/**
+ * Evaluates infix expressions such as {@code (price - discount) * quantity / 100}.
+ * Parsed expressions are cached by their text, so evaluating a known formula with new variable values skips parsing.
+ */
+@Service
+public class ExpressionService {
+
+    private static final int MAX_DEPTH = 256;
+
+    private final OperationStrategyFactory strategyFactory;
+    private final CalculatorValidator validator;
+    private final ResultCache<String, CompiledExpression> expressionCache;
+    private final int maxLength;
+
+    @Autowired
+    public ExpressionService(OperationStrategyFactory strategyFactory, CalculatorValidator validator,
+                             @Qualifier("expressionCache") ResultCache<String, CompiledExpression> expressionCache,
+                             @Value("${calculator.expression.max-length:4096}") int maxLength) {
+        this.strategyFactory = strategyFactory;
+        this.validator = validator;
+        this.expressionCache = expressionCache;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Parses an expression, or returns the cached parse of the same text.
+     *
+     * @param expression the expression text
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is empty, too long or malformed
+     */
+    public CompiledExpression compile(String expression) {
+        if (expression != null && expression.length() > maxLength) {
+            throw new IllegalArgumentException("Expression is longer than " + maxLength + " characters.");
+        }
+        CompiledExpression compiled = expression == null ? null : expressionCache.get(expression);
+        if (compiled == null) {
+            compiled = new ExpressionParser(MAX_DEPTH).parse(expression);
+            expressionCache.put(expression, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluates an expression with the given variable bindings. Operations are applied with the registered
+     * operation strategies, with the same numeric types and division checks as {@code CalculatorService}.
+     *
+     * @param expression the expression text
+     * @param variables the variable values by name; may be {@code null} if the expression has no variables
+     * @return the value of the expression
+     * @throws IllegalArgumentException if the expression is malformed or a variable is not bound
+     * @throws ArithmeticException if the expression divides by zero
+     */
+    public Number evaluate(String expression, Map<String, ? extends Number> variables) {
+        return compile(expression).evaluate(variables, this::evaluateStep);
+    }
+
+    public CacheStats cacheStats() {
+        return expressionCache.stats();
+    }
+
+    private Number evaluateStep(Operation operation, Number num1, Number num2) {
+        if (operation == Operation.DIVIDE) {
+            validator.validateDivision(num1, num2);
+        }
+        return strategyFactory.evaluate(operation, num1, num2);
+    }
+}
@@ -0,0 +1,157 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.model.RegisterRequest;
+import com.ebay.calculator.demo.model.RegisterUpdate;
+import com.ebay.calculator.demo.model.RegisterValue;
+import com.ebay.calculator.demo.register.DecimalRegister;
+import com.ebay.calculator.demo.register.DoubleRegister;
+import com.ebay.calculator.demo.register.Register;
+import com.ebay.calculator.demo.register.RegisterBatch;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Named {@link Register}s that clients keep running totals in. A register is updated with {@code ADD},
+ * {@code SUBTRACT} or {@code MULTIPLY} and read as a snapshot; updates do not return the new value, so concurrent
+ * writers never wait for a read.
+ *
+ * <p>Each register has {@code calculator.registers.stripes} stripes; the default 0 means the power of two at or above
+ * twice the number of processors. At most {@code calculator.registers.maximum-registers} registers exist at once.</p>
+ */
+@Service
+public class RegisterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisterService.class);
+
+    private static final Pattern NAME = Pattern.compile("[A-Za-z0-9_.-]{1,64}");
+
+    private final CalculatorValidator validator;
+    private final int maximumRegisters;
+    private final int stripes;
+    private final Map<String, Register> registers = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public RegisterService(CalculatorValidator validator,
+                           @Value("${calculator.registers.maximum-registers:1024}") int maximumRegisters,
+                           @Value("${calculator.registers.stripes:0}") int stripes) {
+        if (maximumRegisters < 1) {
+            throw new IllegalArgumentException("Maximum number of registers must be positive.");
+        }
+        if (stripes < 0 || (stripes > 0 && Integer.bitCount(stripes) != 1)) {
+            throw new IllegalArgumentException("Register stripes must be 0 or a power of two.");
+        }
+        this.validator = validator;
+        this.maximumRegisters = maximumRegisters;
+        this.stripes = stripes > 0
+                ? stripes
+                : Integer.highestOneBit(Math.max(1, 2 * Runtime.getRuntime().availableProcessors() - 1)) << 1;
+    }
+
+    /**
+     * Creates a register.
+     *
+     * @param request the name, type and initial value of the register
+     * @return the new register's value
+     * @throws IllegalArgumentException if the name or initial value is invalid
+     * @throws IllegalStateException if a register with this name exists, or the maximum number of registers does
+     */
+    public RegisterValue create(RegisterRequest request) {
+        String name = request.getName();
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Register names are 1 to 64 letters, digits, '_', '.' or '-'.");
+        }
+        Number initialValue = request.getInitialValue() != null ? request.getInitialValue() : 0;
+        Register register = request.isDecimal()
+                ? new DecimalRegister(name, stripes, initialValue)
+                : new DoubleRegister(name, stripes, initialValue.doubleValue());
+        if (registers.size() >= maximumRegisters) {
+            throw new IllegalStateException("There are already " + maximumRegisters + " registers.");
+        }
+        if (registers.putIfAbsent(name, register) != null) {
+            throw new IllegalStateException("Register " + name + " already exists.");
+        }
+        logger.info("Created {} register {}", register.isDecimal() ? "decimal" : "double", name);
+        return snapshot(register);
+    }
+
+    /**
+     * Applies one update to a register.
+     *
+     * @throws NoSuchElementException if there is no such register
+     * @throws IllegalArgumentException if the operation cannot update a register or the operand is invalid
+     */
+    public void update(String name, String operation, Number operand) {
+        register(name).update(validator.validateOperation(operation), operand);
+    }
+
+    /**
+     * Applies a batch of updates, in order. Nothing is applied unless every update is valid.
+     *
+     * @throws IllegalArgumentException if the batch is empty, or an update names an unknown register, an operation
+     *                                  that cannot update a register or an invalid operand
+     */
+    public void update(List<RegisterUpdate> updates) {
+        if (updates == null || updates.isEmpty()) {
+            throw new IllegalArgumentException("Updates list cannot be null or empty.");
+        }
+        RegisterBatch batch = new RegisterBatch();
+        for (RegisterUpdate update : updates) {
+            Register register = update.getRegister() != null ? registers.get(update.getRegister()) : null;
+            if (register == null) {
+                throw new IllegalArgumentException("Unknown register: " + update.getRegister());
+            }
+            batch.add(register, validator.validateOperation(update.getOperation()), update.getOperand());
+        }
+        batch.apply();
+    }
+
+    /**
+     * @throws NoSuchElementException if there is no such register
+     */
+    public RegisterValue snapshot(String name) {
+        return snapshot(register(name));
+    }
+
+    /**
+     * Returns a snapshot of every register, ordered by name. Each value is read on its own, not all at one instant.
+     */
+    public List<RegisterValue> snapshots() {
+        List<RegisterValue> values = new ArrayList<>(registers.size());
+        for (Register register : registers.values()) {
+            values.add(snapshot(register));
+        }
+        return values;
+    }
+
+    /**
+     * Deletes a register. Updates that were running at the same time may be lost with it.
+     *
+     * @return whether the register existed
+     */
+    public boolean delete(String name) {
+        return registers.remove(name) != null;
+    }
+
+    private Register register(String name) {
+        Register register = registers.get(name);
+        if (register == null) {
+            throw new NoSuchElementException("No register named " + name);
+        }
+        return register;
+    }
+
+    private static RegisterValue snapshot(Register register) {
+        return new RegisterValue(register.getName(), register.isDecimal(), register.value(), register.updates());
+    }
+}
@@ -0,0 +1,203 @@
+package com.ebay.calculator.demo.service;
+
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.model.CalculationRequest;
+import com.ebay.calculator.demo.model.ExactNumberDeserializer;
+import com.ebay.calculator.demo.model.StreamCalculationResult;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Evaluates newline-delimited JSON {@link CalculationRequest} records from a stream and writes one
+ * {@link StreamCalculationResult} per record.
+ *
+ * <p>Records are read one line at a time into a reusable buffer and results are written through a bounded
+ * generator buffer, so memory use does not depend on the size of the stream. Reading and writing both block:
+ * when the client stops consuming results, the output stream blocks, which in turn stops reading input.
+ * A record that is not a JSON object, is malformed or fails produces an error record and does not stop the
+ * stream.</p>
+ */
+@Service
+public class StreamingCalculationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingCalculationService.class);
+
+    private static final int INITIAL_LINE_CAPACITY = 256;
+
+    private final CalculatorService calculatorService;
+    private final CalculatorValidator calculatorValidator;
+    private final ObjectReader requestReader;
+    private final ObjectMapper objectMapper;
+    private final int maxRecordBytes;
+    private final int flushInterval;
+
+    @Autowired
+    public StreamingCalculationService(CalculatorService calculatorService, CalculatorValidator calculatorValidator,
+                                       ObjectMapper objectMapper,
+                                       @Value("${calculator.stream.max-record-bytes:65536}") int maxRecordBytes,
+                                       @Value("${calculator.stream.flush-interval:256}") int flushInterval) {
+        this.calculatorService = calculatorService;
+        this.calculatorValidator = calculatorValidator;
+        this.objectMapper = objectMapper;
+        this.requestReader = objectMapper.readerFor(CalculationRequest.class);
+        this.maxRecordBytes = maxRecordBytes;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Reads records from {@code in} until the end of the stream and writes a result line for each of them to {@code out}.
+     * Blank lines are skipped and do not consume an index.
+     *
+     * @param in the NDJSON request stream
+     * @param out the NDJSON response stream
+     * @return the number of records processed
+     * @throws IOException if reading or writing the streams fails
+     */
+    public long process(InputStream in, OutputStream out) throws IOException {
+        LineReader lines = new LineReader(in, maxRecordBytes);
+        StreamCalculationResult record = new StreamCalculationResult();
+        long index = 0;
+
+        try (SequenceWriter writer = objectMapper.writerFor(StreamCalculationResult.class)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            int length;
+            while ((length = lines.next()) >= 0) {
+                if (length == 0) {
+                    continue;
+                }
+
+                record.setIndex(index);
+                record.setResult(null);
+                record.setError(null);
+                if (lines.isTruncated()) {
+                    record.setError("Record exceeds " + maxRecordBytes + " bytes.");
+                } else {
+                    evaluate(lines.buffer(), length, record);
+                }
+                writer.write(record);
+
+                index++;
+                if (index % flushInterval == 0) {
+                    writer.flush();
+                }
+            }
+            if (index > 0) {
+                writer.flush();
+                out.write('\n');
+            }
+        }
+
+        logger.debug("StreamingCalculationService: processed {} records", index);
+        return index;
+    }
+
+    private void evaluate(byte[] buffer, int length, StreamCalculationResult record) {
+        if (!isObject(buffer, length)) {
+            // Jackson reads a JSON null as a null request, and some scalars as empty ones.
+            record.setError("Malformed record: expected a JSON object.");
+            return;
+        }
+        try {
+            CalculationRequest request = requestReader.readValue(buffer, 0, length);
+            int opcode = calculatorValidator.validateOpcode(request.getOperation());
+            record.setResult(calculatorService.calculate(opcode, ExactNumberDeserializer.approximate(request.getNum1()),
+                    ExactNumberDeserializer.approximate(request.getNum2())));
+        } catch (JsonProcessingException ex) {
+            record.setError("Malformed record: " + ex.getOriginalMessage());
+        } catch (IllegalArgumentException | ArithmeticException | UnsupportedOperationException ex) {
+            record.setError(ex.getMessage());
+        } catch (IOException ex) {
+            record.setError("Unreadable record: " + ex.getMessage());
+        }
+    }
+
+    private static boolean isObject(byte[] buffer, int length) {
+        int start = 0;
+        while (start < length && (buffer[start] == ' ' || buffer[start] == '\t')) {
+            start++;
+        }
+        return start < length && buffer[start] == '{';
+    }
+
+    /**
+     * Splits an input stream into lines using one growable, reusable buffer. Lines longer than the limit are
+     * consumed to their end but only reported as truncated.
+     */
+    private static final class LineReader {
+        private final InputStream in;
+        private final int limit;
+        private final byte[] chunk = new byte[8192];
+        private int chunkPosition;
+        private int chunkLength;
+        private byte[] line = new byte[INITIAL_LINE_CAPACITY];
+        private boolean truncated;
+
+        private LineReader(InputStream in, int limit) {
+            this.in = in;
+            this.limit = limit;
+        }
+
+        /**
+         * @return the length of the next line without its terminator, or {@code -1} at the end of the stream
+         */
+        private int next() throws IOException {
+            int length = 0;
+            boolean any = false;
+            truncated = false;
+
+            while (true) {
+                if (chunkPosition == chunkLength) {
+                    chunkLength = in.read(chunk);
+                    chunkPosition = 0;
+                    if (chunkLength <= 0) {
+                        chunkLength = 0;
+                        return any ? trimmed(length) : -1;
+                    }
+                }
+                any = true;
+
+                byte b = chunk[chunkPosition++];
+                if (b == '\n') {
+                    return trimmed(length);
+                }
+                if (length == limit) {
+                    truncated = true;
+                    continue;
+                }
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, Math.min(limit, line.length * 2));
+                }
+                line[length++] = b;
+            }
+        }
+
+        private int trimmed(int length) {
+            while (length > 0 && (line[length - 1] == '\r' || line[length - 1] == ' ' || line[length - 1] == '\t')) {
+                length--;
+            }
+            return length;
+        }
+
+        private byte[] buffer() {
+            return line;
+        }
+
+        private boolean isTruncated() {
+            return truncated;
+        }
+    }
+}
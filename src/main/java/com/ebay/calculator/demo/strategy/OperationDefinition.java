@@ -0,0 +1,55 @@
+package com.ebay.calculator.demo.strategy;
+
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.decimal.ScaledArithmetic;
+
+import java.math.BigDecimal;
+
+/**
+ * An operation beyond the built-in {@link com.ebay.calculator.demo.enums.Operation}s, registered by name.
+ * Implementations are discovered with {@link java.util.ServiceLoader}: list them in
+ * {@code META-INF/services/com.ebay.calculator.demo.strategy.OperationDefinition}, or register them at runtime with
+ * {@link com.ebay.calculator.demo.factory.OperationStrategyFactory#registerOperation(OperationDefinition)}.
+ *
+ * <p>As an {@link OperationStrategy}, a definition provides the boxed {@code apply} and the {@code long} and
+ * {@code double} specializations used by calculations and compiled chains. Decimal mode uses
+ * {@link #applyDecimal} and, while values fit, {@link #applyScaled}. A unary operation ({@link #getArity()} 1)
+ * ignores its second operand, which callers pass as zero.</p>
+ */
+public interface OperationDefinition extends OperationStrategy {
+
+    /**
+     * Returns the operation's name. Names are matched case-insensitively and must not collide with a built-in
+     * operation.
+     */
+    String getName();
+
+    /**
+     * Returns the number of operands the operation uses, 1 or 2.
+     */
+    default int getArity() {
+        return 2;
+    }
+
+    /**
+     * Applies the operation in decimal mode. Both operands have the context's scale, and the result must be rounded
+     * to that scale with the context's rounding mode. The context's precision is applied to the result afterwards.
+     *
+     * @throws IllegalArgumentException if the operation has no decimal implementation
+     * @throws ArithmeticException if the result is undefined, or if rounding is needed under {@code UNNECESSARY}
+     */
+    default BigDecimal applyDecimal(BigDecimal num1, BigDecimal num2, DecimalContext context) {
+        throw new IllegalArgumentException("Decimal calculations do not support " + getName());
+    }
+
+    /**
+     * Applies the operation in decimal mode to unscaled values, see {@link ScaledArithmetic}. Must give the same
+     * result as {@link #applyDecimal}. The default returns {@link ScaledArithmetic#OVERFLOW}, so the step is computed
+     * by {@link #applyDecimal}.
+     *
+     * @return the unscaled result, or {@link ScaledArithmetic#OVERFLOW} to use {@link #applyDecimal}
+     */
+    default long applyScaled(long num1, long num2, DecimalContext context) {
+        return ScaledArithmetic.OVERFLOW;
+    }
+}
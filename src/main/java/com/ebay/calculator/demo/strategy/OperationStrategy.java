@@ -1,5 +1,7 @@
 package com.ebay.calculator.demo.strategy;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.function.BiFunction;
 
 
@@ -9,10 +11,53 @@ import java.util.function.BiFunction;
  * <p>This interface extends the {@code BiFunction} interface, which takes two {@code Double} arguments and produces
  * a {@code Double} result. It can be implemented to define custom behavior for arithmetic operations in the {@link Calculator} class.</p>
  *
- * <p>As a functional interface, {@code OperationStrategy} can be used with lambda expressions or method references.</p>
+ * <p>As a functional interface, {@code OperationStrategy} can be used with lambda expressions or method references.
+ * Implementations may additionally override {@link #applyLong(long, long)} and {@link #applyDouble(double, double)}
+ * to provide primitive specializations that avoid boxing; the defaults delegate to {@code apply}. The default
+ * {@code applyLong} only returns results that are exactly a {@code long}; for any other result, such as {@code 0.5}
+ * from a division, it throws so that callers fall back to {@code apply}.</p>
  *
  * @see BiFunction
  * @see Calculator
  */
 @FunctionalInterface
-public interface OperationStrategy extends BiFunction<Number, Number, Number> {}
+public interface OperationStrategy extends BiFunction<Number, Number, Number> {
+
+    /**
+     * Applies the operation to two {@code long} operands.
+     *
+     * @param num1 the first operand
+     * @param num2 the second operand
+     * @return the exact result of the operation
+     * @throws ArithmeticException if the exact result is not integral or does not fit in a {@code long}
+     */
+    default long applyLong(long num1, long num2) {
+        Number result = apply(num1, num2);
+        if (result instanceof Long || result instanceof Integer || result instanceof Short || result instanceof Byte) {
+            return result.longValue();
+        }
+        if (result instanceof BigDecimal) {
+            return ((BigDecimal) result).longValueExact();
+        }
+        if (result instanceof BigInteger) {
+            return ((BigInteger) result).longValueExact();
+        }
+        double value = result.doubleValue();
+        // The bounds exclude 2^63, which the cast would saturate to Long.MAX_VALUE; NaN fails the comparison.
+        if (value >= -0x1p63 && value < 0x1p63 && (long) value == value) {
+            return (long) value;
+        }
+        throw new ArithmeticException("Result " + result + " is not exactly a long.");
+    }
+
+    /**
+     * Applies the operation to two {@code double} operands.
+     *
+     * @param num1 the first operand
+     * @param num2 the second operand
+     * @return the result of the operation
+     */
+    default double applyDouble(double num1, double num2) {
+        return apply(num1, num2).doubleValue();
+    }
+}
@@ -1,11 +1,19 @@
 package com.ebay.calculator.demo.utils;
 
+import com.ebay.calculator.demo.chain.ValidatedChain;
 import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.BatchCalculationRequest;
 import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.ColumnCalculationRequest;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.List;
 
@@ -14,6 +22,19 @@ public class CalculatorValidator {
 
     private static final Logger logger = LoggerFactory.getLogger(CalculatorValidator.class);
 
+    private final OperationStrategyFactory strategyFactory;
+
+    /**
+     * Creates a validator that resolves operation names against a factory with the default operations.
+     */
+    public CalculatorValidator() {
+        this(new OperationStrategyFactory());
+    }
+
+    @Autowired
+    public CalculatorValidator(OperationStrategyFactory strategyFactory) {
+        this.strategyFactory = strategyFactory;
+    }
 
     /**
      * Validates if the provided operation is part of the supported {@link Operation}.
@@ -24,12 +45,38 @@ public class CalculatorValidator {
      * @throws IllegalArgumentException if the operation is invalid
      */
     public Operation validateOperation(String operation) {
-        try {
-            return Operation.valueOf(operation.toUpperCase());
-        } catch (IllegalArgumentException e) {
+        Operation resolved = Operation.lookup(operation);
+        if (resolved == null) {
             throw new IllegalArgumentException("Unsupported operation: " + operation +
                     ". Supported operations are: " + Arrays.toString(Operation.values()));
         }
+        return resolved;
+    }
+
+    /**
+     * Resolves the name of any registered operation, built in or not, to its opcode.
+     *
+     * @param operation The operation provided by the user
+     * @return the opcode of the operation
+     * @throws IllegalArgumentException if no operation has this name
+     */
+    public int validateOpcode(String operation) {
+        int opcode = strategyFactory.lookup(operation);
+        if (opcode < 0) {
+            throw new IllegalArgumentException("Unsupported operation: " + operation +
+                    ". Supported operations are: " + supportedOperations());
+        }
+        return opcode;
+    }
+
+    private String supportedOperations() {
+        StringBuilder names = new StringBuilder("[");
+        for (int opcode = 0; opcode < strategyFactory.size(); opcode++) {
+            if (strategyFactory.isRegistered(opcode)) {
+                names.append(names.length() > 1 ? ", " : "").append(strategyFactory.getName(opcode));
+            }
+        }
+        return names.append(']').toString();
     }
 
     /**
@@ -67,19 +114,22 @@ public class CalculatorValidator {
     }
 
     /**
-     * Validates the chain calculation request to ensure all operations and operands are valid.
+     * Validates the chain calculation request to ensure all operations and operands are valid, and decodes it in the
+     * same pass. Services evaluate the returned chain without validating it again. Operations may be any registered
+     * operation; the operand of a unary operation may be {@code null}.
      *
      * @param request the request object containing initial value, operations, and operands of class ChainCalculationRequest
+     * @return the validated chain with resolved operations and primitive operands
      * @throws IllegalArgumentException if validation fails
      */
-    public void validateChainRequest(ChainCalculationRequest request) {
+    public ValidatedChain validateChainRequest(ChainCalculationRequest request) {
         if (request.getInitialValue() == null) {
             logger.error("Initial value is missing.");
             throw new IllegalArgumentException("Initial value cannot be null.");
         }
 
         List<String> operations = request.getOperations();
-        List<Number> operands = request.getOperands();
+        List<? extends Number> operands = request.getOperands();
 
         if (operations == null || operations.isEmpty()) {
             logger.error("Operations list is missing or empty.");
@@ -96,23 +146,186 @@ public class CalculatorValidator {
             throw new IllegalArgumentException("The number of operations and operands must match.");
         }
 
-        for (String operation : operations) {
-            try {
-                Operation.valueOf(operation.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                logger.error("Invalid operation found: {}", operation);
-                throw new IllegalArgumentException("Invalid operation: " + operation);
+        int size = operations.size();
+        Operation[] resolved = new Operation[size];
+        OperationDefinition[] definitions = null;
+        BigDecimal[] exactOperands = null;
+        byte[] opcodes = new byte[size];
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            Operation operation = Operation.lookup(operations.get(i));
+            OperationDefinition definition = null;
+            int opcode;
+            if (operation != null) {
+                opcode = operation.ordinal();
+            } else {
+                opcode = strategyFactory.lookup(operations.get(i));
+                if (opcode < 0) {
+                    logger.error("Invalid operation found: {}", operations.get(i));
+                    throw new IllegalArgumentException("Invalid operation: " + operations.get(i));
+                }
+                definition = strategyFactory.getDefinition(opcode);
+                if (definitions == null) {
+                    definitions = new OperationDefinition[size];
+                }
+                definitions[i] = definition;
             }
-        }
-
-        for (int i = 0; i < operations.size(); i++) {
-            if ("DIVIDE".equalsIgnoreCase(operations.get(i)) && operands.get(i).doubleValue() == 0) {
+            Number operand = operands.get(i);
+            double value = 0;
+            if (operand == null) {
+                if (definition == null || definition.getArity() != 1) {
+                    logger.error("Operand {} is null.", i);
+                    throw new IllegalArgumentException("Operands must not be null.");
+                }
+                // A unary step ignores its operand, so it may be left out.
+            } else {
+                value = operand.doubleValue();
+                BigDecimal exact = exactValue(operand);
+                if (exact != null) {
+                    if (exactOperands == null) {
+                        exactOperands = new BigDecimal[size];
+                    }
+                    exactOperands[i] = exact;
+                }
+            }
+            if (operation == Operation.DIVIDE && value == 0) {
                 logger.error("Division by zero detected in the operands list.");
                 throw new IllegalArgumentException("Division by zero is not allowed.");
             }
+            resolved[i] = operation;
+            opcodes[i] = (byte) opcode;
+            values[i] = value;
         }
 
-        logger.info("Chain calculation request is valid.");
+        logger.debug("Chain calculation request is valid.");
+        Number initialValue = request.getInitialValue();
+        return new ValidatedChain(initialValue.doubleValue(), exactValue(initialValue), resolved, definitions, opcodes,
+                values, exactOperands);
+    }
+
+    /**
+     * Returns a value that a {@code double} does not hold exactly as a {@code BigDecimal}, or {@code null} if the
+     * {@code double} is exact. Such values come from literals with more digits than a {@code double} keeps.
+     */
+    private static BigDecimal exactValue(Number value) {
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        if (value instanceof BigInteger) {
+            return new BigDecimal((BigInteger) value);
+        }
+        if (value instanceof Long && (value.longValue() > 1L << 53 || value.longValue() < -(1L << 53))) {
+            return BigDecimal.valueOf(value.longValue());
+        }
+        return null;
+    }
+
+    /**
+     * Validates one step of a chain session like a step of {@link #validateChainRequest}: the operation may be any
+     * registered operation, the operand of a unary operation may be {@code null}, and a DIVIDE step needs a non-zero
+     * operand.
+     *
+     * @param operation the operation name
+     * @param operand the operand
+     * @return the opcode of the operation
+     * @throws IllegalArgumentException if validation fails
+     */
+    public int validateChainStep(String operation, Double operand) {
+        int opcode = validateOpcode(operation);
+        if (operand == null && strategyFactory.getArity(opcode) != 1) {
+            logger.error("Operand of chain step {} is null.", operation);
+            throw new IllegalArgumentException("Operands must not be null.");
+        }
+        if (opcode == Operation.DIVIDE.ordinal() && operand == 0) {
+            logger.error("Division by zero detected in a chain step.");
+            throw new IllegalArgumentException("Division by zero is not allowed.");
+        }
+        return opcode;
+    }
+
+    /**
+     * Validates the shape of a batch calculation request: exactly one pair of operand columns
+     * must be present and every column must have as many entries as the operations list.
+     *
+     * @param request the batch request of class BatchCalculationRequest
+     * @throws IllegalArgumentException if validation fails
+     */
+    public void validateBatchRequest(BatchCalculationRequest request) {
+        List<String> operations = request.getOperations();
+        if (operations == null) {
+            logger.error("Batch operations list is missing.");
+            throw new IllegalArgumentException("Operations list cannot be null.");
+        }
+
+        boolean doubleColumns = request.getNum1() != null || request.getNum2() != null;
+        boolean longColumns = request.getLongNum1() != null || request.getLongNum2() != null;
+        if (doubleColumns == longColumns) {
+            logger.error("Batch request must contain either num1/num2 or longNum1/longNum2 columns.");
+            throw new IllegalArgumentException("Exactly one pair of operand columns must be provided.");
+        }
+
+        int size = operations.size();
+        boolean lengthsMatch = doubleColumns
+                ? request.getNum1() != null && request.getNum2() != null
+                        && request.getNum1().length == size && request.getNum2().length == size
+                : request.getLongNum1() != null && request.getLongNum2() != null
+                        && request.getLongNum1().length == size && request.getLongNum2().length == size;
+        if (!lengthsMatch) {
+            logger.error("Mismatch between the number of batch operations and operands: operations={}", size);
+            throw new IllegalArgumentException("The number of operations and operands must match.");
+        }
+    }
+
+    /**
+     * Validates the shape of a column request: every operand column holds either one value or one value per row,
+     * and no constant divisor is zero.
+     *
+     * @param request the column calculation request
+     * @throws IllegalArgumentException if a column is missing or the lengths do not match
+     * @throws ArithmeticException if a DIVIDE step has a constant zero divisor
+     */
+    public void validateColumnRequest(ColumnCalculationRequest request) {
+        if (request.getInitialValues() == null || request.getOperations() == null || request.getOperands() == null) {
+            logger.error("Column request is missing initial values, operations or operands.");
+            throw new IllegalArgumentException("Initial values, operations and operands cannot be null.");
+        }
+        if (request.getOperations().size() != request.getOperands().size()) {
+            logger.error("Mismatch between the number of column operations and operands: operations={}, operands={}",
+                    request.getOperations().size(), request.getOperands().size());
+            throw new IllegalArgumentException("The number of operations and operands must match.");
+        }
+
+        int rows = request.getInitialValues().length;
+        for (int k = 0; k < request.getOperands().size(); k++) {
+            if (request.getOperations().get(k) == null) {
+                logger.error("Column operation {} is null.", k);
+                throw new IllegalArgumentException("Operation " + k + " cannot be null.");
+            }
+            double[] column = request.getOperands().get(k);
+            if (column == null || (column.length != 1 && column.length != rows)) {
+                logger.error("Operand column {} must hold 1 or {} values.", k, rows);
+                throw new IllegalArgumentException("Operand column " + k + " must hold 1 or " + rows + " values.");
+            }
+            if (column.length == 1 && column[0] == 0 && "DIVIDE".equalsIgnoreCase(request.getOperations().get(k))) {
+                logger.error("Division by a constant zero in column step {}.", k);
+                throw new ArithmeticException("Cannot divide by zero.");
+            }
+        }
+    }
+
+    /**
+     * Resolves batch operation names. Unlike {@link #validateOperation(String)} an unknown name does not
+     * throw; its slot is left {@code null} so that only that slot fails.
+     *
+     * @param operations the operation names provided by the user
+     * @return the resolved operations, with {@code null} for every unsupported name
+     */
+    public Operation[] resolveOperations(List<String> operations) {
+        Operation[] resolved = new Operation[operations.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = Operation.lookup(operations.get(i));
+        }
+        return resolved;
     }
 
 }
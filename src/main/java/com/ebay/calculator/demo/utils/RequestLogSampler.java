@@ -0,0 +1,34 @@
+package com.ebay.calculator.demo.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides which requests get an INFO log line. With a sample rate of {@code n}, on average one request in
+ * {@code n} is logged; {@code 1} logs every request and {@code 0} disables request logging. The decision uses
+ * a thread-local random number, so it neither allocates nor contends between request threads.
+ */
+@Component
+public class RequestLogSampler {
+
+    private final int sampleRate;
+
+    public RequestLogSampler(@Value("${calculator.logging.sample-rate:1}") int sampleRate) {
+        if (sampleRate < 0) {
+            throw new IllegalArgumentException("Log sample rate cannot be negative.");
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * @return whether the current request should be logged
+     */
+    public boolean shouldLog() {
+        if (sampleRate <= 1) {
+            return sampleRate == 1;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+}
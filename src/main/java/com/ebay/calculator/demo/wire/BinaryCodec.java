@@ -0,0 +1,103 @@
+package com.ebay.calculator.demo.wire;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes tagged operands of the binary protocol directly on {@link ByteBuffer}s.
+ */
+public final class BinaryCodec {
+
+    private BinaryCodec() {
+    }
+
+    /**
+     * Reads a tagged operand.
+     *
+     * @throws IllegalArgumentException if the tag is unknown or the operand is truncated
+     */
+    public static Number readOperand(ByteBuffer buffer) {
+        requireRemaining(buffer, 1);
+        byte tag = buffer.get();
+        switch (tag) {
+            case WireFormat.TAG_INT:
+                requireRemaining(buffer, Integer.BYTES);
+                return buffer.getInt();
+            case WireFormat.TAG_LONG:
+                requireRemaining(buffer, Long.BYTES);
+                return buffer.getLong();
+            case WireFormat.TAG_DOUBLE:
+                requireRemaining(buffer, Double.BYTES);
+                return buffer.getDouble();
+            case WireFormat.TAG_DECIMAL:
+                requireRemaining(buffer, 2 * Integer.BYTES);
+                int scale = buffer.getInt();
+                int length = buffer.getInt();
+                if (length <= 0) {
+                    throw new IllegalArgumentException("Invalid decimal length: " + length);
+                }
+                requireRemaining(buffer, length);
+                byte[] unscaled = new byte[length];
+                buffer.get(unscaled);
+                return new BigDecimal(new BigInteger(unscaled), scale);
+            default:
+                throw new IllegalArgumentException("Unknown operand tag: " + tag);
+        }
+    }
+
+    /**
+     * Writes a tagged operand. {@code Integer}, {@code Long} and {@code BigDecimal} keep their type; any other number
+     * is written as a double.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer has less than {@link #operandSize(Number)} bytes left
+     */
+    public static void writeOperand(ByteBuffer buffer, Number value) {
+        if (value instanceof Integer) {
+            buffer.put(WireFormat.TAG_INT).putInt(value.intValue());
+        } else if (value instanceof Long) {
+            buffer.put(WireFormat.TAG_LONG).putLong(value.longValue());
+        } else if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            byte[] unscaled = decimal.unscaledValue().toByteArray();
+            buffer.put(WireFormat.TAG_DECIMAL).putInt(decimal.scale()).putInt(unscaled.length).put(unscaled);
+        } else {
+            buffer.put(WireFormat.TAG_DOUBLE).putDouble(value.doubleValue());
+        }
+    }
+
+    /**
+     * Returns the number of bytes {@link #writeOperand(ByteBuffer, Number)} writes for a value.
+     */
+    public static int operandSize(Number value) {
+        if (value instanceof Integer) {
+            return 1 + Integer.BYTES;
+        }
+        if (value instanceof BigDecimal) {
+            return 1 + 2 * Integer.BYTES + ((BigDecimal) value).unscaledValue().bitLength() / 8 + 1;
+        }
+        return 1 + Long.BYTES;
+    }
+
+    /**
+     * Reads an opcode.
+     *
+     * @return the operation, or {@code null} if the opcode is unknown
+     * @throws IllegalArgumentException if the frame is truncated
+     */
+    public static Operation readOperation(ByteBuffer buffer) {
+        requireRemaining(buffer, 1);
+        return WireFormat.operation(buffer.get() & 0xFF);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the buffer has fewer than {@code bytes} bytes left
+     */
+    public static void requireRemaining(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() < bytes) {
+            throw new IllegalArgumentException("Truncated frame: expected " + bytes + " more bytes.");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.ebay.calculator.demo.wire;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of equally sized direct buffers. Allocating direct memory is expensive, and per-thread buffers
+ * would be wasted on virtual threads, so request and response buffers are shared through this pool instead.
+ */
+public class DirectBufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    public DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Returns a cleared buffer of at least {@code minimumCapacity} bytes. Buffers larger than the pooled size are
+     * allocated on demand.
+     */
+    public ByteBuffer acquire(int minimumCapacity) {
+        if (minimumCapacity > bufferSize) {
+            return ByteBuffer.allocateDirect(minimumCapacity);
+        }
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer.clear();
+    }
+
+    /**
+     * Returns a buffer to the pool. Buffers that were not handed out by {@link #acquire(int)} at the pooled size, or
+     * that do not fit in the pool, are dropped.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect() || buffer.capacity() != bufferSize) {
+            return;
+        }
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        buffers.offer(buffer);
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,66 @@
+package com.ebay.calculator.demo.wire;
+
+import com.ebay.calculator.demo.enums.Operation;
+
+/**
+ * Constants of the binary calculation protocol, served as {@value #CONTENT_TYPE}. All values are big-endian.
+ *
+ * <pre>
+ * frame     := version:u8 frameType:u8 count:i32 record{count}
+ * CALCULATE := opcode:u8 operand operand
+ * CHAIN     := operand steps:i32 (opcode:u8 operand){steps}
+ * operand   := TAG_INT i32 | TAG_LONG i64 | TAG_DOUBLE f64 | TAG_DECIMAL scale:i32 length:i32 unscaled:u8{length}
+ * result    := status:u8 operand?
+ * </pre>
+ *
+ * A response frame has the same header as its request, followed by one result per record. The status is a
+ * {@link com.ebay.calculator.demo.enums.BatchErrorCode} code, and the result operand is only present when the status
+ * is {@code NONE}. A DECIMAL operand carries the two's-complement bytes of its unscaled value.
+ */
+public final class WireFormat {
+
+    public static final String CONTENT_TYPE = "application/x-calculator-binary";
+
+    public static final byte VERSION = 1;
+
+    public static final byte CALCULATE = 1;
+    public static final byte CHAIN = 2;
+
+    public static final byte TAG_INT = 0;
+    public static final byte TAG_LONG = 1;
+    public static final byte TAG_DOUBLE = 2;
+    public static final byte TAG_DECIMAL = 3;
+
+    /** Size of the frame header: version, frame type and record count. */
+    public static final int HEADER_BYTES = 6;
+
+    /** Operations by opcode. Opcodes are part of the protocol and must never be reassigned. */
+    private static final Operation[] OPERATIONS = {
+            Operation.ADD, Operation.SUBTRACT, Operation.MULTIPLY, Operation.DIVIDE
+    };
+
+    private static final byte[] OPCODES = new byte[Operation.values().length];
+
+    static {
+        for (int opcode = 0; opcode < OPERATIONS.length; opcode++) {
+            OPCODES[OPERATIONS[opcode].ordinal()] = (byte) opcode;
+        }
+    }
+
+    private WireFormat() {
+    }
+
+    /**
+     * Returns the operation of an opcode, or {@code null} if the opcode is unknown.
+     */
+    public static Operation operation(int opcode) {
+        return opcode >= 0 && opcode < OPERATIONS.length ? OPERATIONS[opcode] : null;
+    }
+
+    /**
+     * Returns the opcode of an operation.
+     */
+    public static byte opcode(Operation operation) {
+        return OPCODES[operation.ordinal()];
+    }
+}
@@ -0,0 +1,174 @@
+import com.ebay.calculator.demo.admission.AdaptiveLimit;
+import com.ebay.calculator.demo.admission.AdmissionInterceptor;
+import com.ebay.calculator.demo.admission.AdmissionLimiter;
+import com.ebay.calculator.demo.admission.AdmissionStats;
+import com.ebay.calculator.demo.enums.AdmissionDecision;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.metrics.PrometheusFormatter;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionTest {
+
+    @Test
+    public void testLimitGrowsWhileLatencyIsSteady() {
+        AdaptiveLimit limit = new AdaptiveLimit(10, 5, 100);
+        double previous = limit.get();
+        for (int i = 0; i < 50; i++) {
+            limit.sample(1000, limit.get());
+            assertTrue(limit.get() >= previous);
+            previous = limit.get();
+        }
+        assertTrue(limit.get() > 40, "limit: " + limit.get());
+        for (int i = 0; i < 500; i++) {
+            limit.sample(1000, limit.get());
+        }
+        assertEquals(100, limit.get());
+    }
+
+    @Test
+    public void testLimitShrinksWhenLatencyRises() {
+        AdaptiveLimit limit = new AdaptiveLimit(50, 5, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.sample(1000, limit.get());
+        }
+        double before = limit.get();
+        for (int i = 0; i < 10; i++) {
+            limit.sample(20_000, limit.get());
+        }
+        assertTrue(limit.get() < before / 2, before + " -> " + limit.get());
+        for (int i = 0; i < 100; i++) {
+            limit.sample(20_000, limit.get());
+        }
+        assertEquals(5, limit.get());
+    }
+
+    @Test
+    public void testLimitDoesNotGrowWhenMostlyIdle() {
+        AdaptiveLimit limit = new AdaptiveLimit(50, 5, 100);
+        for (int i = 0; i < 100; i++) {
+            limit.sample(1000, 3);
+        }
+        assertEquals(50, limit.get());
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveLimit(10, 20, 30));
+    }
+
+    @Test
+    public void testFullServerRejectsUntilPermitsAreReleased() {
+        AdmissionLimiter limiter = new AdmissionLimiter(new AdaptiveLimit(10, 10, 10));
+        AdmissionLimiter.Permit first = limiter.acquire("a", 6);
+        AdmissionLimiter.Permit second = limiter.acquire("a", 4);
+        assertEquals(AdmissionDecision.ADMITTED, first.getDecision());
+        assertEquals(AdmissionDecision.ADMITTED, second.getDecision());
+        assertEquals(AdmissionDecision.OVERLOADED, limiter.acquire("a", 1).getDecision());
+
+        first.release();
+        assertEquals(AdmissionDecision.ADMITTED, limiter.acquire("a", 3).getDecision());
+        AdmissionStats stats = limiter.stats();
+        assertEquals(7, stats.getInFlight());
+        assertEquals(1, stats.getClients());
+        assertEquals(3, stats.getAdmitted());
+        assertEquals(1, stats.getRejectedOverloaded());
+        assertEquals(0, stats.getRejectedClientShare());
+    }
+
+    @Test
+    public void testExpensiveRequestsCannotStarveOtherClients() {
+        AdmissionLimiter limiter = new AdmissionLimiter(new AdaptiveLimit(10, 10, 10));
+        // A request costing more than the limit runs on an idle server, charged the whole limit.
+        AdmissionLimiter.Permit huge = limiter.acquire("heavy", 1_000);
+        assertEquals(AdmissionDecision.ADMITTED, huge.getDecision());
+        assertEquals(10, huge.getUnits());
+
+        // The heavy client holds the whole limit, yet small requests of other clients get their share.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(AdmissionDecision.ADMITTED, limiter.acquire("light", 1).getDecision());
+        }
+        assertEquals(AdmissionDecision.OVER_CLIENT_SHARE, limiter.acquire("heavy", 1).getDecision());
+        assertEquals(AdmissionDecision.ADMITTED, limiter.acquire("other", 1).getDecision());
+        // Three clients share the limit of 10, so "light" may hold 3 units at most.
+        assertEquals(AdmissionDecision.OVER_CLIENT_SHARE, limiter.acquire("light", 1).getDecision());
+        assertEquals(3, limiter.stats().getClients());
+
+        huge.release();
+        assertEquals(2, limiter.stats().getClients());
+        assertEquals(AdmissionDecision.ADMITTED, limiter.acquire("heavy", 5).getDecision());
+    }
+
+    @Test
+    public void testNewClientIdsCannotTakeMoreThanTwiceTheLimit() {
+        AdmissionLimiter limiter = new AdmissionLimiter(new AdaptiveLimit(64, 64, 64));
+        assertEquals(AdmissionDecision.ADMITTED, limiter.acquire("heavy", 64).getDecision());
+
+        // The n-th new client asks for exactly its share, 64 / (n + 1), so the shares alone would add up to about
+        // 64 * H(n): more than four times the limit after 64 clients.
+        int rejected = 0;
+        for (int n = 1; n <= 64; n++) {
+            AdmissionLimiter.Permit permit = limiter.acquire("client-" + n, 64 / (n + 1));
+            if (permit.getDecision() != AdmissionDecision.ADMITTED) {
+                assertEquals(AdmissionDecision.OVERLOADED, permit.getDecision());
+                rejected++;
+            }
+            assertTrue(limiter.stats().getInFlight() <= 128, "in flight: " + limiter.stats().getInFlight());
+        }
+        assertTrue(limiter.stats().getInFlight() > 64);
+        assertTrue(rejected > 0);
+        assertEquals(rejected, limiter.stats().getRejectedOverloaded());
+        assertEquals(AdmissionDecision.OVER_CLIENT_SHARE, limiter.acquire("heavy", 1).getDecision());
+    }
+
+    @Test
+    public void testInterceptorShedsRequestsWeightedBySize() {
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        AdmissionLimiter limiter = new AdmissionLimiter(new AdaptiveLimit(8, 8, 8));
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(limiter, metrics, "X-Client-Id", 1024);
+
+        // A chain of about 6 KiB costs 7 units.
+        MockHttpServletRequest chain = request("heavy", 6 * 1024 + 100);
+        assertTrue(interceptor.preHandle(chain, new MockHttpServletResponse(), null));
+        assertEquals(7, limiter.stats().getInFlight());
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("heavy", 2048), rejected, null));
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+
+        MockHttpServletRequest calculate = request("light", 60);
+        assertTrue(interceptor.preHandle(calculate, new MockHttpServletResponse(), null));
+        MockHttpServletResponse overShare = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("heavy", 60), overShare, null));
+        assertEquals(429, overShare.getStatus());
+
+        // Requests without the client header are told apart by address.
+        MockHttpServletRequest anonymous = request(null, 60);
+        anonymous.setRemoteAddr("10.0.0.7");
+        assertTrue(interceptor.preHandle(anonymous, new MockHttpServletResponse(), null));
+        assertEquals(3, limiter.stats().getClients());
+
+        interceptor.afterCompletion(chain, new MockHttpServletResponse(), null, null);
+        interceptor.afterCompletion(calculate, new MockHttpServletResponse(), null, null);
+        interceptor.afterCompletion(anonymous, new MockHttpServletResponse(), null, null);
+        // Completing a request twice returns its cost only once.
+        interceptor.afterCompletion(chain, new MockHttpServletResponse(), null, null);
+        assertEquals(0, limiter.stats().getInFlight());
+        assertEquals(0, limiter.stats().getClients());
+
+        String exported = PrometheusFormatter.format(metrics);
+        assertTrue(exported.contains("calculator_admission_limit 8.0\n"), exported);
+        assertTrue(exported.contains("calculator_admission_admitted_total 3\n"), exported);
+        assertTrue(exported.contains("calculator_admission_rejected_total{reason=\"overloaded\"} 1\n"), exported);
+        assertTrue(exported.contains("calculator_admission_rejected_total{reason=\"client_share\"} 1\n"), exported);
+    }
+
+    private static MockHttpServletRequest request(String client, int bodyBytes) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/calculator/chainCalculate");
+        if (client != null) {
+            request.addHeader("X-Client-Id", client);
+        }
+        request.setContent(new byte[bodyBytes]);
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchCalculationTest {
+
+    private static final Operation[] CYCLE = {Operation.ADD, Operation.SUBTRACT, Operation.MULTIPLY, Operation.DIVIDE, null};
+
+    private ExecutorService executor;
+    private CalculatorService chunked;
+    private CalculatorService sequential;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        chunked = calculatorService(executor, 7);
+        sequential = calculatorService(executor, Integer.MAX_VALUE);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testChunkedDoubleBatchMatchesSequential() {
+        int size = 100;
+        Operation[] operations = new Operation[size];
+        double[] num1 = new double[size];
+        double[] num2 = new double[size];
+        for (int i = 0; i < size; i++) {
+            operations[i] = CYCLE[i % CYCLE.length];
+            num1[i] = i * 1.5;
+            num2[i] = i % 3;
+        }
+
+        BatchCalculationResult expected = sequential.calculateBatch(operations, num1, num2);
+        BatchCalculationResult actual = chunked.calculateBatch(operations, num1, num2);
+
+        assertArrayEquals(expected.getResults(), actual.getResults());
+        assertArrayEquals(expected.getErrorCodes(), actual.getErrorCodes());
+        assertEquals(expected.getErrorCount(), actual.getErrorCount());
+        assertTrue(actual.getErrorCount() > 0);
+    }
+
+    @Test
+    public void testChunkedLongBatchReportsOverflowPerSlot() {
+        int size = 50;
+        Operation[] operations = new Operation[size];
+        long[] num1 = new long[size];
+        long[] num2 = new long[size];
+        for (int i = 0; i < size; i++) {
+            operations[i] = Operation.MULTIPLY;
+            num1[i] = i;
+            num2[i] = 3;
+        }
+        num1[33] = Long.MAX_VALUE;
+
+        BatchCalculationResult result = chunked.calculateBatch(operations, num1, num2);
+
+        assertEquals(1, result.getErrorCount());
+        assertEquals(BatchErrorCode.OVERFLOW.getCode(), result.getErrorCodes()[33]);
+        assertEquals(3L * 49, result.getLongResults()[49]);
+    }
+
+    private static CalculatorService calculatorService(ExecutorService executor, int chunkSize) {
+        return CalculatorService.builder(new OperationStrategyFactory())
+                .cacheSizes(0, 0)
+                .executor(executor, chunkSize)
+                .build();
+    }
+}
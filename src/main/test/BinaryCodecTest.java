@@ -0,0 +1,146 @@
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.wire.BinaryCodec;
+import com.ebay.calculator.demo.wire.WireFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryCodecTest {
+
+    private BinaryCalculationService binaryService;
+
+    @BeforeEach
+    public void setUp() {
+        CalculatorService calculatorService = CalculatorService.builder(new OperationStrategyFactory())
+                .cacheSizes(0, 0)
+                .build();
+        binaryService = new BinaryCalculationService(calculatorService, 4096, 16);
+    }
+
+    @Test
+    public void testOperandRoundTrip() {
+        Number[] values = {42, -7L, Long.MIN_VALUE, 2.5, new BigDecimal("-12345678901234567890.125"),
+                BigDecimal.ZERO};
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        for (Number value : values) {
+            BinaryCodec.writeOperand(buffer, value);
+        }
+        buffer.flip();
+
+        for (Number value : values) {
+            assertEquals(value, BinaryCodec.readOperand(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testCalculateFrameReportsErrorsPerRecord() {
+        ByteBuffer request = header(WireFormat.CALCULATE, 3);
+        request.put(WireFormat.opcode(Operation.ADD));
+        BinaryCodec.writeOperand(request, 40);
+        BinaryCodec.writeOperand(request, 2);
+        request.put(WireFormat.opcode(Operation.DIVIDE));
+        BinaryCodec.writeOperand(request, 1.5);
+        BinaryCodec.writeOperand(request, 0);
+        request.put((byte) 99);
+        BinaryCodec.writeOperand(request, 1);
+        BinaryCodec.writeOperand(request, 1);
+
+        ByteBuffer response = process(WireFormat.CALCULATE, request);
+
+        assertEquals(3, response.getInt(2));
+        response.position(WireFormat.HEADER_BYTES);
+        assertEquals(BatchErrorCode.NONE.getCode(), response.get());
+        assertEquals(42, BinaryCodec.readOperand(response));
+        assertEquals(BatchErrorCode.DIVISION_BY_ZERO.getCode(), response.get());
+        assertEquals(BatchErrorCode.INVALID_OPERATION.getCode(), response.get());
+        assertFalse(response.hasRemaining());
+    }
+
+    @Test
+    public void testChainFrame() {
+        ByteBuffer request = header(WireFormat.CHAIN, 2);
+        BinaryCodec.writeOperand(request, 10.0);
+        request.putInt(2);
+        request.put(WireFormat.opcode(Operation.MULTIPLY));
+        BinaryCodec.writeOperand(request, 3.0);
+        request.put(WireFormat.opcode(Operation.SUBTRACT));
+        BinaryCodec.writeOperand(request, 0.5);
+        BinaryCodec.writeOperand(request, 10);
+        request.putInt(1);
+        request.put(WireFormat.opcode(Operation.MULTIPLY));
+        BinaryCodec.writeOperand(request, Long.MAX_VALUE);
+
+        ByteBuffer response = process(WireFormat.CHAIN, request);
+
+        response.position(WireFormat.HEADER_BYTES);
+        assertEquals(BatchErrorCode.NONE.getCode(), response.get());
+        assertEquals(29.5, BinaryCodec.readOperand(response));
+        assertEquals(BatchErrorCode.NONE.getCode(), response.get());
+        assertEquals(new BigDecimal(Long.MAX_VALUE).multiply(BigDecimal.TEN), BinaryCodec.readOperand(response));
+    }
+
+    @Test
+    public void testMalformedFrames() {
+        assertThrows(IllegalArgumentException.class,
+                () -> process(WireFormat.CALCULATE, ByteBuffer.allocate(3)));
+        assertThrows(IllegalArgumentException.class,
+                () -> process(WireFormat.CHAIN, header(WireFormat.CALCULATE, 0)));
+
+        ByteBuffer truncated = header(WireFormat.CALCULATE, 1);
+        truncated.put(WireFormat.opcode(Operation.ADD));
+        BinaryCodec.writeOperand(truncated, 1L);
+        assertThrows(IllegalArgumentException.class, () -> process(WireFormat.CALCULATE, truncated));
+
+        ByteBuffer chain = header(WireFormat.CHAIN, 1);
+        BinaryCodec.writeOperand(chain, 1);
+        chain.putInt(Integer.MAX_VALUE);
+        assertThrows(IllegalArgumentException.class, () -> process(WireFormat.CHAIN, chain));
+    }
+
+    @Test
+    public void testHandleGrowsBuffersUpToTheFrameLimit() throws IOException {
+        int records = 200;
+        ByteBuffer request = ByteBuffer.allocate(WireFormat.HEADER_BYTES + records * 11);
+        request.put(WireFormat.VERSION).put(WireFormat.CALCULATE).putInt(records);
+        for (int i = 0; i < records; i++) {
+            request.put(WireFormat.opcode(Operation.ADD));
+            BinaryCodec.writeOperand(request, i);
+            BinaryCodec.writeOperand(request, 1);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(records, binaryService.handle(WireFormat.CALCULATE,
+                new ByteArrayInputStream(request.array()), -1, out));
+
+        ByteBuffer response = ByteBuffer.wrap(out.toByteArray());
+        response.position(WireFormat.HEADER_BYTES + (records - 1) * 6);
+        assertEquals(BatchErrorCode.NONE.getCode(), response.get());
+        assertEquals(records, BinaryCodec.readOperand(response));
+
+        assertThrows(IllegalArgumentException.class, () -> binaryService.handle(WireFormat.CALCULATE,
+                new ByteArrayInputStream(new byte[8192]), -1, new ByteArrayOutputStream()));
+    }
+
+    private ByteBuffer process(byte frameType, ByteBuffer request) {
+        request.flip();
+        ByteBuffer response = binaryService.process(frameType, request, ByteBuffer.allocate(8));
+        response.flip();
+        return response;
+    }
+
+    private static ByteBuffer header(byte frameType, int count) {
+        return ByteBuffer.allocate(256).put(WireFormat.VERSION).put(frameType).putInt(count);
+    }
+}
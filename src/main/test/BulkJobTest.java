@@ -0,0 +1,272 @@
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.JobState;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.job.BulkJob;
+import com.ebay.calculator.demo.job.ChainLineParser;
+import com.ebay.calculator.demo.job.UploadTooLargeException;
+import com.ebay.calculator.demo.model.JobStatus;
+import com.ebay.calculator.demo.service.BulkJobService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkJobTest {
+
+    private static final int LINES = 120_000;
+
+    @TempDir
+    Path directory;
+
+    private OperationStrategyFactory factory;
+    private CalculatorService calculatorService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        calculatorService = CalculatorService.builder(factory).build();
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testParseLines() {
+        ChainLineParser parser = new ChainLineParser(factory);
+
+        ValidatedChain chain = parse(parser, "16 sqrt  ADD 1\tmultiply -2.5\r");
+        assertEquals(16.0, chain.getInitialValue());
+        assertArrayEquals(new byte[]{(byte) factory.lookup("SQRT"), (byte) Operation.ADD.ordinal(),
+                (byte) Operation.MULTIPLY.ordinal()}, chain.getOpcodes());
+        assertNull(chain.getOperations()[0]);
+        assertEquals("SQRT", chain.getDefinitions()[0].getName());
+        assertArrayEquals(new double[]{0.0, 1.0, -2.5}, chain.getOperands());
+        assertEquals(-12.5, calculatorService.evaluateChain(chain));
+
+        assertParseError(parser, "", "Initial value cannot be null.");
+        assertParseError(parser, "7", "Operations list cannot be null or empty.");
+        assertParseError(parser, "x ADD 1", "Invalid number: x");
+        assertParseError(parser, "1 CUBE 2", "Invalid operation: CUBE");
+        assertParseError(parser, "1 ADD", "Missing operand for operation: ADD");
+        assertParseError(parser, "1 DIVIDE 0", "Division by zero is not allowed.");
+        assertParseError(parser, ". ADD 1", "Invalid number: .");
+    }
+
+    @Test
+    public void testParsedNumbersMatchParseDouble() {
+        ChainLineParser parser = new ChainLineParser(factory);
+        Random random = new Random(42);
+        List<String> numbers = new ArrayList<>(List.of("0", "-0", "+7", "5.", ".5", "-0.000", "999999999999999",
+                "9999999999999999", "0.1", "123456789.012345", "1e3", "-2.5E-3", "Infinity", "NaN", "0x1p3"));
+        for (int i = 0; i < 100_000; i++) {
+            String digits = String.format("%019d", random.nextLong() & Long.MAX_VALUE)
+                    .substring(0, 1 + random.nextInt(17));
+            int point = random.nextInt(digits.length() + 1);
+            numbers.add((random.nextBoolean() ? "-" : "") + digits.substring(0, point) + "." + digits.substring(point));
+        }
+        for (String number : numbers) {
+            double parsed = parse(parser, number + " ADD 1").getInitialValue();
+            assertEquals(Double.doubleToRawLongBits(Double.parseDouble(number)), Double.doubleToRawLongBits(parsed),
+                    number);
+        }
+    }
+
+    @Test
+    public void testJobEvaluatesEveryLineInOrder() throws Exception {
+        Path inputDirectory = Files.createDirectories(directory.resolve("input"));
+        Path input = writeInput(inputDirectory.resolve("chains.txt"));
+        BulkJobService service = service();
+
+        JobStatus submitted = service.submit("chains.txt");
+        assertTrue(submitted.getPartitions() > 1, "partitions: " + submitted.getPartitions());
+        long[] boundaries = BulkJob.partition(input, 1 << 20);
+        byte[] bytes = Files.readAllBytes(input);
+        for (int i = 1; i < boundaries.length - 1; i++) {
+            assertEquals('\n', bytes[(int) boundaries[i] - 1]);
+        }
+
+        JobStatus status = await(service, submitted.getJobId());
+        assertEquals(JobState.COMPLETED, status.getState());
+        assertEquals(submitted.getPartitions(), status.getCompletedPartitions());
+        assertEquals(LINES, status.getChains());
+        assertEquals(LINES / 1000, status.getFailedChains());
+        assertResults(service.results(submitted.getJobId()));
+
+        assertThrows(IllegalArgumentException.class, () -> service.submit("../chains.txt"));
+        assertTrue(service.delete(submitted.getJobId()));
+        assertFalse(Files.exists(directory.resolve("jobs").resolve(submitted.getJobId())));
+    }
+
+    @Test
+    public void testResumedJobSkipsCheckpointedPartitions() throws Exception {
+        Path input = writeInput(directory.resolve("upload.txt"));
+        Path jobDirectory = directory.resolve("jobs").resolve("resumed");
+        BulkJob interrupted = BulkJob.create("resumed", jobDirectory, input, 1 << 20);
+        assertTrue(interrupted.partitions() > 2);
+
+        // Partition 1 finished before the restart; its results must be kept, not evaluated again.
+        Files.write(interrupted.partFile(1), "kept\n".getBytes(StandardCharsets.US_ASCII));
+        interrupted.finish(1, 1, 0);
+        // Partition 0 was being written when the process stopped.
+        Files.write(interrupted.partFile(0), "partial\n".getBytes(StandardCharsets.US_ASCII));
+
+        BulkJobService service = service();
+        service.resumeJobs();
+        JobStatus status = await(service, "resumed");
+        assertEquals(JobState.COMPLETED, status.getState());
+        assertEquals(interrupted.partitions(), status.getCompletedPartitions());
+
+        byte[] bytes = Files.readAllBytes(input);
+        int firstPartitionLines = lines(bytes, 0, interrupted.start(1));
+        int secondPartitionLines = lines(bytes, interrupted.start(1), interrupted.end(1));
+        List<String> results = Files.readAllLines(service.results("resumed"));
+        assertEquals(LINES - secondPartitionLines + 1, results.size());
+        assertEquals(Double.toString(Math.sqrt(6.0)), results.get(0));
+        assertEquals("kept", results.get(firstPartitionLines));
+        assertFalse(results.contains("partial"));
+
+        // After another restart the completed job is still known.
+        BulkJobService restarted = service();
+        restarted.resumeJobs();
+        assertEquals(JobState.COMPLETED, restarted.status("resumed").getState());
+    }
+
+    @Test
+    public void testUploadedEmptyInputCompletes() throws Exception {
+        BulkJobService service = service();
+        JobStatus submitted = service.submit(new ByteArrayInputStream(new byte[0]), 0);
+        assertEquals(0, submitted.getPartitions());
+        JobStatus status = await(service, submitted.getJobId());
+        assertEquals(JobState.COMPLETED, status.getState());
+        assertEquals(0, Files.size(service.results(submitted.getJobId())));
+    }
+
+    @Test
+    public void testUploadsAreLimited() throws Exception {
+        BulkJobService service = service(16, 0);
+        byte[] input = "1 ADD 2\n3 ADD 4\n5 ADD 6\n".getBytes(StandardCharsets.US_ASCII);
+
+        assertThrows(UploadTooLargeException.class, () -> service.submit(new ByteArrayInputStream(input), 24));
+        // A body without a Content-Length, or with a false one, is cut off while it is stored.
+        assertThrows(UploadTooLargeException.class, () -> service.submit(new ByteArrayInputStream(input), -1));
+        assertThrows(UploadTooLargeException.class, () -> service.submit(new ByteArrayInputStream(input), 8));
+        try (Stream<Path> jobs = Files.list(directory.resolve("jobs"))) {
+            assertEquals(0, jobs.count());
+        }
+
+        JobStatus submitted = service.submit(new ByteArrayInputStream(input, 0, 16), -1);
+        assertEquals(JobState.COMPLETED, await(service, submitted.getJobId()).getState());
+        assertEquals(List.of("3.0", "7.0"), Files.readAllLines(service.results(submitted.getJobId())));
+    }
+
+    @Test
+    public void testCompletedJobsExpire() throws Exception {
+        BulkJobService service = service(1 << 20, 60);
+        String expired = service.submit(new ByteArrayInputStream("1 ADD 2\n".getBytes(StandardCharsets.US_ASCII)), -1)
+                .getJobId();
+        String kept = service.submit(new ByteArrayInputStream("3 ADD 4\n".getBytes(StandardCharsets.US_ASCII)), -1)
+                .getJobId();
+        assertEquals(JobState.COMPLETED, await(service, expired).getState());
+        assertEquals(JobState.COMPLETED, await(service, kept).getState());
+        Files.setLastModifiedTime(service.results(expired),
+                FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(61)));
+
+        service.deleteExpiredJobs();
+        assertThrows(NoSuchElementException.class, () -> service.status(expired));
+        assertFalse(Files.exists(directory.resolve("jobs").resolve(expired)));
+        assertEquals(List.of("7.0"), Files.readAllLines(service.results(kept)));
+
+        // Expired jobs left by a previous run are deleted when they are loaded.
+        Files.setLastModifiedTime(service.results(kept),
+                FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(61)));
+        BulkJobService restarted = service(1 << 20, 60);
+        restarted.resumeJobs();
+        assertThrows(NoSuchElementException.class, () -> restarted.status(kept));
+        assertFalse(Files.exists(directory.resolve("jobs").resolve(kept)));
+    }
+
+    private BulkJobService service() {
+        return service(1 << 20, 0);
+    }
+
+    private BulkJobService service(long maxUploadBytes, long retentionMinutes) {
+        return new BulkJobService(calculatorService, factory, executor, directory.resolve("jobs").toString(),
+                directory.resolve("input").toString(), 1, maxUploadBytes, retentionMinutes);
+    }
+
+    /** Line {@code i} is {@code i ADD 2 MULTIPLY 3 SQRT}; every 1000th line divides by zero instead. */
+    private static Path writeInput(Path file) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < LINES; i++) {
+                writer.write(i % 1000 == 999 ? i + " DIVIDE 0\n" : i + " ADD 2 MULTIPLY 3 SQRT\n");
+            }
+        }
+        return file;
+    }
+
+    private static int lines(byte[] bytes, long from, long to) {
+        int lines = 0;
+        for (long i = from; i < to; i++) {
+            if (bytes[(int) i] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static void assertResults(Path results) throws IOException {
+        List<String> lines = Files.readAllLines(results);
+        assertEquals(LINES, lines.size());
+        for (int i = 0; i < LINES; i++) {
+            String expected = i % 1000 == 999
+                    ? "ERROR Division by zero is not allowed."
+                    : Double.toString(Math.sqrt((i + 2) * 3.0));
+            assertEquals(expected, lines.get(i), "line " + i);
+        }
+    }
+
+    private static JobStatus await(BulkJobService service, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        JobStatus status = service.status(jobId);
+        while (status.getState() == JobState.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            status = service.status(jobId);
+        }
+        return status;
+    }
+
+    private static ValidatedChain parse(ChainLineParser parser, String line) {
+        ByteBuffer buffer = ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII));
+        return parser.parse(buffer, 0, buffer.limit());
+    }
+
+    private static void assertParseError(ChainLineParser parser, String line, String message) {
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> parse(parser, line));
+        assertEquals(message, ex.getMessage());
+    }
+}
@@ -0,0 +1,144 @@
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.server.CalculatorServer;
+import com.ebay.calculator.demo.service.BinaryCalculationService;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.wire.BinaryCodec;
+import com.ebay.calculator.demo.wire.WireFormat;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CalculatorServerTest {
+
+    private CalculatorServer server;
+    private SocketChannel client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        CalculatorService calculatorService = CalculatorService.builder(new OperationStrategyFactory())
+                .cacheSizes(0, 0)
+                .build();
+        // Small buffers so that frames span several reads and force the buffers to grow.
+        server = new CalculatorServer(new BinaryCalculationService(calculatorService, 4096, 64), 2, 4096, 64);
+        server.start(new InetSocketAddress("127.0.0.1", 0));
+        client = SocketChannel.open(new InetSocketAddress("127.0.0.1", server.getPort()));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        client.close();
+        server.close();
+    }
+
+    @Test
+    public void testPipelinedRequestsAreAnsweredInOrder() throws IOException {
+        int requests = 100;
+        ByteBuffer out = ByteBuffer.allocate(requests * 64);
+        for (int i = 0; i < requests; i++) {
+            if (i % 10 == 9) {
+                writeChain(out, i, 1, i);
+            } else {
+                writeCalculation(out, i, Operation.MULTIPLY, i, 3);
+            }
+        }
+        write(out);
+
+        for (int i = 0; i < requests; i++) {
+            ByteBuffer response = readResponse(i);
+            assertEquals(CalculatorServer.STATUS_OK, response.get());
+            response.position(response.position() + WireFormat.HEADER_BYTES);
+            assertEquals(BatchErrorCode.NONE.getCode(), response.get());
+            assertEquals(i % 10 == 9 ? 10 + i : 3 * i, BinaryCodec.readOperand(response).intValue());
+        }
+    }
+
+    @Test
+    public void testLargeFrameAndBadFrameKeepTheConnectionOpen() throws IOException {
+        int steps = 300;
+        ByteBuffer out = ByteBuffer.allocate(4096);
+        writeChain(out, 1, steps, 1);
+
+        out.putInt(Long.BYTES + 3).putLong(2).put(WireFormat.VERSION).put((byte) 7).put((byte) 0);
+        writeCalculation(out, 3, Operation.DIVIDE, 1, 0);
+        write(out);
+
+        ByteBuffer chain = readResponse(1);
+        assertEquals(CalculatorServer.STATUS_OK, chain.get());
+        chain.position(chain.position() + WireFormat.HEADER_BYTES + 1);
+        assertEquals(10.0 + steps, BinaryCodec.readOperand(chain).doubleValue());
+
+        assertEquals(CalculatorServer.STATUS_BAD_FRAME, readResponse(2).get());
+
+        ByteBuffer division = readResponse(3);
+        assertEquals(CalculatorServer.STATUS_OK, division.get());
+        division.position(division.position() + WireFormat.HEADER_BYTES);
+        assertEquals(BatchErrorCode.DIVISION_BY_ZERO.getCode(), division.get());
+    }
+
+    @Test
+    public void testInvalidLengthClosesTheConnection() throws IOException {
+        ByteBuffer out = ByteBuffer.allocate(4);
+        out.putInt(1 << 24);
+        write(out);
+
+        assertEquals(-1, client.read(ByteBuffer.allocate(16)));
+    }
+
+    private void writeCalculation(ByteBuffer out, long requestId, Operation operation, int num1, int num2) {
+        int start = out.position();
+        out.position(start + CalculatorServer.PREFIX_BYTES);
+        out.put(WireFormat.VERSION).put(WireFormat.CALCULATE).putInt(1).put(WireFormat.opcode(operation));
+        BinaryCodec.writeOperand(out, num1);
+        BinaryCodec.writeOperand(out, num2);
+        out.putInt(start, out.position() - start - Integer.BYTES).putLong(start + Integer.BYTES, requestId);
+    }
+
+    private void writeChain(ByteBuffer out, long requestId, int steps, int operand) {
+        int start = out.position();
+        out.position(start + CalculatorServer.PREFIX_BYTES);
+        out.put(WireFormat.VERSION).put(WireFormat.CHAIN).putInt(1);
+        BinaryCodec.writeOperand(out, 10.0);
+        out.putInt(steps);
+        for (int i = 0; i < steps; i++) {
+            out.put(WireFormat.opcode(Operation.ADD));
+            BinaryCodec.writeOperand(out, operand);
+        }
+        out.putInt(start, out.position() - start - Integer.BYTES).putLong(start + Integer.BYTES, requestId);
+    }
+
+    private void write(ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            client.write(out);
+        }
+    }
+
+    /**
+     * Reads one response, checks its request id and returns its body starting at the status.
+     */
+    private ByteBuffer readResponse(long expectedRequestId) throws IOException {
+        ByteBuffer length = readFully(Integer.BYTES);
+        ByteBuffer body = readFully(length.getInt());
+        assertEquals(expectedRequestId, body.getLong());
+        return body;
+    }
+
+    private ByteBuffer readFully(int bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bytes);
+        while (buffer.hasRemaining()) {
+            if (client.read(buffer) < 0) {
+                fail("Connection closed");
+            }
+        }
+        return buffer.flip();
+    }
+}
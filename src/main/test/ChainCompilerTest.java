@@ -0,0 +1,80 @@
+import com.ebay.calculator.demo.chain.ChainCompiler;
+import com.ebay.calculator.demo.chain.ChainProgram;
+import com.ebay.calculator.demo.chain.ParallelChainEvaluator;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChainCompilerTest {
+
+    private ChainCompiler compiler;
+    private CalculatorService calculator;
+
+    @BeforeEach
+    public void setUp() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        compiler = new ChainCompiler(factory, new ParallelChainEvaluator(factory, 16384), true, 16);
+        calculator = CalculatorService.builder(factory).chainCompiler(compiler).build();
+    }
+
+    @Test
+    public void testFoldsAdditiveAndMultiplicativeRuns() {
+        // 1 + 2 - 3 + 4 = 4, 4 * 2 * 3 = 24, 24 / 4 = 6
+        ChainProgram program = compiler.compile(1,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT, Operation.ADD,
+                        Operation.MULTIPLY, Operation.MULTIPLY, Operation.DIVIDE),
+                new double[]{2, 3, 4, 2, 3, 4});
+
+        assertEquals(3, program.length());
+        assertEquals(6.0, calculator.execute(program));
+    }
+
+    @Test
+    public void testUnfoldedProgramKeepsEveryStep() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        ChainCompiler unfolded = new ChainCompiler(factory, new ParallelChainEvaluator(factory, 16384), false, 16);
+        ChainProgram program = unfolded.compile(1,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT), new double[]{2, 3});
+
+        assertEquals(2, program.length());
+        assertEquals(0.0, calculator.execute(program));
+    }
+
+    @Test
+    public void testFoldingChangesCancellingChains() {
+        // 1 + 1e20 - 1e20: step by step, the 1 is absorbed by 1e20; folded, the operands cancel first.
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        ChainCompiler unfolded = new ChainCompiler(factory, new ParallelChainEvaluator(factory, 16384), false, 16);
+        double[] operands = {1e20, 1e20};
+
+        assertEquals(0.0, calculator.execute(unfolded.compile(1,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT), operands)));
+        assertEquals(1.0, calculator.execute(compiler.compile(1,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT), operands)));
+    }
+
+    @Test
+    public void testChainOfDoublesMatchesStepByStep() {
+        assertEquals(-0.75, calculator.chainOperations(0.0,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT, Operation.MULTIPLY, Operation.DIVIDE),
+                Arrays.asList(1.0, 2.0, 3.0, 4.0)));
+    }
+
+    @Test
+    public void testDivisionByZeroIsRejectedAtCompileTime() {
+        assertThrows(ArithmeticException.class, () -> compiler.compile(1,
+                Arrays.asList(Operation.ADD, Operation.DIVIDE), new double[]{3.2, 0.0}));
+    }
+
+    @Test
+    public void testMismatchedLengths() {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compile(1,
+                Arrays.asList(Operation.ADD, Operation.SUBTRACT), new double[]{1}));
+    }
+}
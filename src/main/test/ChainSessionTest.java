@@ -0,0 +1,153 @@
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.chain.ChainSession;
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.ChainSessionResult;
+import com.ebay.calculator.demo.service.ChainSessionService;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChainSessionTest {
+
+    @Test
+    public void testEditsMatchFullEvaluation() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        OperationStrategy[] strategies = factory.getStrategies();
+        Random random = new Random(42);
+        List<Byte> opcodes = new ArrayList<>();
+        List<Double> operands = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            opcodes.add((byte) random.nextInt(4));
+            operands.add(1.0 + random.nextInt(9));
+        }
+        ChainSession session = new ChainSession("s", chain(1.5, opcodes, operands), 16);
+        assertEquals(evaluate(strategies, 1.5, opcodes, operands), session.evaluate(strategies, 0));
+        assertEquals(1000, session.getEvaluatedSteps());
+
+        for (int edit = 0; edit < 300; edit++) {
+            int index = random.nextInt(opcodes.size());
+            byte opcode = (byte) random.nextInt(4);
+            double operand = 1.0 + random.nextInt(9);
+            switch (edit % 3) {
+                case 0:
+                    session.replaceStep(index, opcode, operand);
+                    opcodes.set(index, opcode);
+                    operands.set(index, operand);
+                    break;
+                case 1:
+                    session.insertStep(index, opcode, operand);
+                    opcodes.add(index, opcode);
+                    operands.add(index, operand);
+                    break;
+                default:
+                    session.removeStep(index);
+                    opcodes.remove(index);
+                    operands.remove(index);
+                    break;
+            }
+
+            assertEquals(evaluate(strategies, 1.5, opcodes, operands), session.evaluate(strategies, 0));
+            assertEquals(opcodes.size(), session.getLength());
+            assertTrue(session.getEvaluatedSteps() <= 16 + opcodes.size() - index);
+        }
+
+        // Appending after a checkpoint boundary resumes at the end.
+        while (opcodes.size() % 16 != 0) {
+            session.removeStep(opcodes.size() - 1);
+            opcodes.remove(opcodes.size() - 1);
+            operands.remove(operands.size() - 1);
+        }
+        session.evaluate(strategies, 0);
+        session.insertStep(opcodes.size(), Operation.ADD.ordinal(), 1.0);
+        opcodes.add((byte) Operation.ADD.ordinal());
+        operands.add(1.0);
+        assertEquals(evaluate(strategies, 1.5, opcodes, operands), session.evaluate(strategies, 0));
+        assertEquals(1, session.getEvaluatedSteps());
+
+        assertEquals(session.evaluate(strategies, 0), session.evaluate(strategies, 0));
+        assertEquals(0, session.getEvaluatedSteps());
+        assertThrows(IllegalArgumentException.class, () -> session.replaceStep(opcodes.size(), 0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> session.insertStep(-1, 0, 1.0));
+    }
+
+    @Test
+    public void testServiceEditsRecomputeTheSuffix() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        ChainSessionService service = new ChainSessionService(factory, new CalculatorValidator(factory),
+                new ResultCache<>(4, EvictionPolicy.IDLE, 1, TimeUnit.MINUTES), 64, 2000);
+        CalculatorValidator validator = new CalculatorValidator(factory);
+
+        ChainCalculationRequest request = new ChainCalculationRequest();
+        request.setInitialValue(0.0);
+        request.setOperations(new ArrayList<>(Collections.nCopies(1000, "add")));
+        request.setOperands(new ArrayList<>(Collections.nCopies(1000, 1.0)));
+        ChainSessionResult opened = service.open(validator.validateChainRequest(request));
+        assertEquals(1000.0, opened.getResult());
+        assertEquals(1000, opened.getEvaluatedSteps());
+        String id = opened.getSessionId();
+
+        ChainSessionResult edited = service.replaceStep(id, 998, "MULTIPLY", 2.0);
+        assertEquals(1997.0, edited.getResult());
+        assertEquals(1000 - 960, edited.getEvaluatedSteps());
+        assertEquals(1997.0, service.get(id).getResult());
+        assertEquals(0, service.get(id).getEvaluatedSteps());
+
+        ChainSessionResult removed = service.removeStep(id, 0);
+        assertEquals(1995.0, removed.getResult());
+        assertEquals(999, removed.getLength());
+        assertEquals(999, removed.getEvaluatedSteps());
+        ChainSessionResult appended = service.insertStep(id, 999, "SQRT", null);
+        assertEquals(Math.sqrt(1995.0), appended.getResult());
+        assertEquals(1000 - 960, appended.getEvaluatedSteps());
+
+        // Replacing a strategy makes every checkpoint stale.
+        factory.registerOperation(Operation.ADD, (num1, num2) -> num1.doubleValue() + num2.doubleValue());
+        assertEquals(1000, service.get(id).getEvaluatedSteps());
+
+        assertThrows(IllegalArgumentException.class, () -> service.replaceStep(id, 0, "DIVIDE", 0.0));
+        assertThrows(IllegalArgumentException.class, () -> service.replaceStep(id, 0, "ADD", null));
+        assertThrows(IllegalArgumentException.class, () -> service.replaceStep(id, 1000, "ADD", 1.0));
+        assertThrows(NoSuchElementException.class, () -> service.get("missing"));
+        assertTrue(service.close(id));
+        assertFalse(service.close(id));
+        assertThrows(NoSuchElementException.class, () -> service.get(id));
+
+        request.setOperations(new ArrayList<>(Collections.nCopies(2001, "add")));
+        request.setOperands(new ArrayList<>(Collections.nCopies(2001, 1.0)));
+        assertThrows(IllegalArgumentException.class, () -> service.open(validator.validateChainRequest(request)));
+    }
+
+    private static ValidatedChain chain(double initialValue, List<Byte> opcodes, List<Double> operands) {
+        byte[] codes = new byte[opcodes.size()];
+        double[] values = new double[operands.size()];
+        Operation[] operations = new Operation[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = opcodes.get(i);
+            values[i] = operands.get(i);
+            operations[i] = Operation.values()[codes[i]];
+        }
+        return new ValidatedChain(initialValue, operations, codes, values);
+    }
+
+    private static double evaluate(OperationStrategy[] strategies, double initialValue, List<Byte> opcodes,
+                                   List<Double> operands) {
+        double result = initialValue;
+        for (int i = 0; i < opcodes.size(); i++) {
+            result = strategies[opcodes.get(i)].applyDouble(result, operands.get(i));
+        }
+        return result;
+    }
+}
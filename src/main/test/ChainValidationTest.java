@@ -0,0 +1,76 @@
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChainValidationTest {
+
+    private final CalculatorValidator validator = new CalculatorValidator();
+
+    @Test
+    public void testLookupIsCaseInsensitive() {
+        for (Operation operation : Operation.values()) {
+            assertSame(operation, Operation.lookup(operation.name()));
+            assertSame(operation, Operation.lookup(operation.name().toLowerCase()));
+        }
+        assertSame(Operation.MULTIPLY, Operation.lookup("mUlTiPlY"));
+        assertNull(Operation.lookup("POWER"));
+        assertNull(Operation.lookup("ADDD"));
+        assertNull(Operation.lookup(""));
+        assertNull(Operation.lookup(null));
+        assertNull(Operation.lookup("A_VERY_LONG_OPERATION_NAME"));
+    }
+
+    @Test
+    public void testValidateChainRequestDecodesOnce() {
+        ValidatedChain chain = validator.validateChainRequest(
+                request(1.5, Arrays.asList("add", "Multiply", "DIVIDE"), Arrays.asList(2.5, 3.0, 4.0)));
+
+        assertEquals(1.5, chain.getInitialValue());
+        assertArrayEquals(new Operation[]{Operation.ADD, Operation.MULTIPLY, Operation.DIVIDE},
+                chain.getOperations());
+        assertArrayEquals(new byte[]{0, 2, 3}, chain.getOpcodes());
+        assertArrayEquals(new double[]{2.5, 3.0, 4.0}, chain.getOperands());
+
+        CalculatorService service = calculatorService();
+        assertEquals(3.0, service.chainCalculate(chain));
+        assertEquals(3.0, service.chainCalculate(chain));
+    }
+
+    @Test
+    public void testValidateChainRequestRejectsInvalidSteps() {
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(
+                request(1.0, Arrays.asList("ADD", "CUBE"), Arrays.asList(1.0, 2.0))));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(
+                request(1.0, Arrays.asList("ADD", null), Arrays.asList(1.0, 2.0))));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(
+                request(1.0, Arrays.asList("ADD", "SUBTRACT"), Arrays.asList(1.0, null))));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(
+                request(1.0, Arrays.asList("ADD", "divide"), Arrays.asList(1.0, -0.0))));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(
+                request(1.0, Arrays.asList("ADD", "SUBTRACT"), Arrays.asList(1.0))));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateOperation("modulo"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateOperation(null));
+    }
+
+    private static ChainCalculationRequest request(Double initialValue, List<String> operations,
+                                                   List<Double> operands) {
+        ChainCalculationRequest request = new ChainCalculationRequest();
+        request.setInitialValue(initialValue);
+        request.setOperations(operations);
+        request.setOperands(operands);
+        return request;
+    }
+
+    private static CalculatorService calculatorService() {
+        return CalculatorService.builder(new OperationStrategyFactory()).build();
+    }
+}
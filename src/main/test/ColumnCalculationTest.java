@@ -0,0 +1,85 @@
+import com.ebay.calculator.demo.enums.BatchErrorCode;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.BatchCalculationResult;
+import com.ebay.calculator.demo.service.ColumnCalculationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ColumnCalculationTest {
+
+    private static final Operation[] CHAIN = {Operation.MULTIPLY, Operation.ADD, Operation.DIVIDE, Operation.SUBTRACT,
+            Operation.DIVIDE};
+
+    private ColumnCalculationService vectorService;
+    private ColumnCalculationService scalarService;
+    private double[] initialValues;
+    private double[][] operands;
+
+    @BeforeEach
+    public void setUp() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        vectorService = new ColumnCalculationService(factory, new CalculatorMetrics(), true);
+        scalarService = new ColumnCalculationService(factory, new CalculatorMetrics(), false);
+
+        // Not a multiple of the block size or of any vector length, to exercise the tails.
+        int rows = 10_007;
+        Random random = new Random(7);
+        initialValues = new double[rows];
+        double[] multipliers = new double[rows];
+        double[] divisors = new double[rows];
+        for (int i = 0; i < rows; i++) {
+            initialValues[i] = random.nextDouble() * 1000;
+            multipliers[i] = random.nextDouble() * 10 - 5;
+            divisors[i] = i % 1000 == 3 ? 0 : random.nextInt(20) - 10;
+        }
+        operands = new double[][]{multipliers, {2.5}, divisors, multipliers, {4}};
+    }
+
+    @Test
+    public void testScalarKernelMatchesStepByStep() {
+        BatchCalculationResult result = scalarService.calculate(initialValues, CHAIN, operands);
+
+        int errors = 0;
+        for (int i = 0; i < initialValues.length; i++) {
+            double divisor = operands[2][i];
+            if (divisor == 0) {
+                assertEquals(BatchErrorCode.DIVISION_BY_ZERO.getCode(), result.getErrorCodes()[i]);
+                assertEquals(0.0, result.getResults()[i]);
+                errors++;
+                continue;
+            }
+            double expected = ((initialValues[i] * operands[0][i] + 2.5) / divisor - operands[3][i]) / 4;
+            assertEquals(expected, result.getResults()[i]);
+        }
+        assertEquals(errors, result.getErrorCount());
+        assertTrue(errors > 0);
+    }
+
+    @Test
+    public void testVectorKernelMatchesScalarKernelExactly() {
+        assumeTrue(vectorService.isVectorized(), "JVM started without --add-modules jdk.incubator.vector");
+
+        BatchCalculationResult vector = vectorService.calculate(initialValues, CHAIN, operands);
+        BatchCalculationResult scalar = scalarService.calculate(initialValues, CHAIN, operands);
+
+        assertArrayEquals(scalar.getResults(), vector.getResults());
+        assertArrayEquals(scalar.getErrorCodes(), vector.getErrorCodes());
+        assertEquals(scalar.getErrorCount(), vector.getErrorCount());
+    }
+
+    @Test
+    public void testConstantZeroDivisorFailsEveryRow() {
+        BatchCalculationResult result = vectorService.calculate(new double[]{1, 2, 3},
+                new Operation[]{Operation.DIVIDE}, new double[][]{{0}});
+
+        assertEquals(3, result.getErrorCount());
+        assertArrayEquals(new double[]{0, 0, 0}, result.getResults());
+    }
+}
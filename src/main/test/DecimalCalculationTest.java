@@ -0,0 +1,234 @@
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.controller.CalculatorController;
+import com.ebay.calculator.demo.decimal.DecimalCalculator;
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.model.CalculationRequest;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.DecimalSettings;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.DecimalCalculationService;
+import com.ebay.calculator.demo.utils.RequestLogSampler;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DecimalCalculationTest {
+
+    private static final Operation[] OPERATIONS = {Operation.ADD, Operation.SUBTRACT, Operation.MULTIPLY,
+            Operation.DIVIDE};
+
+    @Test
+    public void testScaledLongsMatchBigDecimal() {
+        Random random = new Random(42);
+        for (RoundingMode roundingMode : RoundingMode.values()) {
+            if (roundingMode == RoundingMode.UNNECESSARY) {
+                continue;
+            }
+            for (int scale : new int[]{0, 2, 4, 9}) {
+                for (int precision : new int[]{0, 3, 7}) {
+                    DecimalContext context = new DecimalContext(precision, scale, roundingMode);
+                    for (int i = 0; i < 500; i++) {
+                        Operation operation = OPERATIONS[random.nextInt(OPERATIONS.length)];
+                        Number num1 = randomOperand(random);
+                        Number num2 = randomOperand(random);
+                        BigDecimal expected;
+                        try {
+                            expected = reference(operation, num1, num2, context);
+                        } catch (ArithmeticException ex) {
+                            assertThrows(ArithmeticException.class,
+                                    () -> DecimalCalculator.calculate(operation, num1, num2, context));
+                            continue;
+                        }
+                        assertEquals(expected, DecimalCalculator.calculate(operation, num1, num2, context),
+                                () -> operation + " " + num1 + " " + num2 + " " + context);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testRounding() {
+        assertEquals(new BigDecimal("0.30"), calculate(Operation.ADD, 0.1, 0.2, 0, 2, RoundingMode.HALF_EVEN));
+        assertEquals(new BigDecimal("0.12"), calculate(Operation.ADD, 0.125, 0, 0, 2, RoundingMode.HALF_EVEN));
+        assertEquals(new BigDecimal("0.13"), calculate(Operation.ADD, 0.125, 0, 0, 2, RoundingMode.HALF_UP));
+        assertEquals(new BigDecimal("0.33"), calculate(Operation.DIVIDE, 1, 3, 0, 2, RoundingMode.HALF_EVEN));
+        assertEquals(new BigDecimal("-0.34"), calculate(Operation.DIVIDE, -1, 3, 0, 2, RoundingMode.FLOOR));
+        assertEquals(new BigDecimal("1000.00"), calculate(Operation.ADD, 999.5, 0, 3, 2, RoundingMode.HALF_EVEN));
+        assertEquals(new BigDecimal("2.5"), calculate(Operation.MULTIPLY, 0.5, 5, 0, 1, RoundingMode.UNNECESSARY));
+
+        assertThrows(ArithmeticException.class,
+                () -> calculate(Operation.DIVIDE, 1, 3, 0, 2, RoundingMode.UNNECESSARY));
+        assertThrows(ArithmeticException.class,
+                () -> calculate(Operation.DIVIDE, 1, 0.001, 0, 2, RoundingMode.HALF_EVEN));
+    }
+
+    @Test
+    public void testChainPromotesToBigDecimalOnOverflow() {
+        DecimalContext context = new DecimalContext(0, 2, RoundingMode.HALF_EVEN);
+        List<Operation> operations = new ArrayList<>(Collections.nCopies(8, Operation.MULTIPLY));
+        operations.add(Operation.DIVIDE);
+        List<Number> operands = new ArrayList<>(Collections.nCopies(8, (Number) 1000));
+        operands.add(new BigDecimal("7"));
+
+        BigDecimal expected = new BigDecimal("1.5").multiply(BigDecimal.TEN.pow(24))
+                .divide(BigDecimal.valueOf(7), 2, RoundingMode.HALF_EVEN);
+        assertEquals(expected, DecimalCalculator.chain(1.5, operations, operands, context));
+
+        DecimalContext wide = new DecimalContext(0, 20, RoundingMode.HALF_EVEN);
+        assertEquals(new BigDecimal("0.30000000000000000000"),
+                DecimalCalculator.chain(0.1, List.of(Operation.ADD), List.of(0.2), wide));
+    }
+
+    @Test
+    public void testServiceSettings() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        DecimalCalculationService service = new DecimalCalculationService(factory, new CalculatorValidator(factory),
+                new CalculatorMetrics(), 0, 2, "HALF_EVEN");
+
+        assertEquals(new BigDecimal("3.33"), service.calculate(Operation.DIVIDE, 10, 3, null));
+
+        DecimalSettings settings = new DecimalSettings();
+        settings.setScale(4);
+        settings.setRounding("up");
+        assertEquals(new BigDecimal("3.3334"), service.calculate(Operation.DIVIDE, 10, 3, settings));
+
+        ChainCalculationRequest request = new ChainCalculationRequest();
+        request.setInitialValue(19.99);
+        request.setOperations(Arrays.asList("multiply", "ADD"));
+        request.setOperands(Arrays.asList(1.0825, 0.30));
+        // Operands are rounded to the scale first: 19.99 * 1.08 + 0.30.
+        assertEquals(new BigDecimal("21.89"),
+                service.chainCalculate(new CalculatorValidator().validateChainRequest(request), null));
+
+        settings.setRounding("NEAREST");
+        assertThrows(IllegalArgumentException.class, () -> service.calculate(Operation.ADD, 1, 2, settings));
+        settings.setRounding(null);
+        settings.setScale(-1);
+        assertThrows(IllegalArgumentException.class, () -> service.calculate(Operation.ADD, 1, 2, settings));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.calculate(Operation.ADD, Double.NaN, 2, null));
+    }
+
+    @Test
+    public void testMixedIntegralAndBigDecimalOperandsAreExact() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        long large = (1L << 60) + 1;
+
+        assertEquals(BigDecimal.valueOf(large), factory.evaluate(Operation.ADD, large, BigDecimal.ZERO));
+        assertEquals(new BigDecimal(large).multiply(new BigDecimal("1.5")),
+                factory.evaluate(Operation.MULTIPLY, large, new BigDecimal("1.5")));
+    }
+
+    @Test
+    public void testLongLiteralsAreReadExactly() throws Exception {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorValidator validator = new CalculatorValidator(factory);
+        DecimalCalculationService service = new DecimalCalculationService(factory, validator,
+                new CalculatorMetrics(), 0, 2, "HALF_EVEN");
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        CalculationRequest request = objectMapper.readValue(
+                "{\"operation\":\"ADD\",\"num1\":12345678901234567.89,\"num2\":0.01,\"decimal\":{}}",
+                CalculationRequest.class);
+        assertEquals(new BigDecimal("12345678901234567.90"),
+                service.calculate(Operation.ADD, request.getNum1(), request.getNum2(), request.getDecimal()));
+        // Literals a double holds at their shortest form stay doubles.
+        assertInstanceOf(Double.class, request.getNum2());
+        assertInstanceOf(Double.class, objectMapper.readValue("{\"num1\":0.30000000000000004}",
+                CalculationRequest.class).getNum1());
+
+        ChainCalculationRequest chain = objectMapper.readValue("{\"initialValue\":98765432109876543.21,"
+                + "\"operations\":[\"ADD\",\"SUBTRACT\",\"ADD\"],"
+                + "\"operands\":[1.5, 9007199254740993, 0.10000000000000000001]}", ChainCalculationRequest.class);
+        ValidatedChain validated = validator.validateChainRequest(chain);
+        assertEquals(98765432109876543.21, validated.getInitialValue());
+        assertNull(validated.getExactOperands()[0]);
+        assertEquals(new BigDecimal("89758232855135551.81"), service.chainCalculate(validated, null));
+        DecimalSettings settings = new DecimalSettings();
+        settings.setScale(20);
+        assertEquals(new BigDecimal("89758232855135551.81000000000000000001"),
+                service.chainCalculate(validated, settings));
+    }
+
+    @Test
+    public void testLongLiteralsOutsideDecimalModeAreDoubles() throws Exception {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorValidator validator = new CalculatorValidator(factory);
+        CalculatorController controller = new CalculatorController(CalculatorService.builder(factory).build(),
+                validator, null, null, null, null,
+                new DecimalCalculationService(factory, validator, new CalculatorMetrics(), 0, 2, "HALF_EVEN"),
+                new RequestLogSampler(0), factory, null);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        Number quotient = controller.calculate(objectMapper.readValue(
+                "{\"operation\":\"DIVIDE\",\"num1\":1,\"num2\":3.00000000000000000001}",
+                CalculationRequest.class)).getBody();
+        assertEquals(1 / 3.0, quotient);
+        Number sum = controller.calculate(objectMapper.readValue(
+                "{\"operation\":\"ADD\",\"num1\":12345678901234567.89,\"num2\":0.01}",
+                CalculationRequest.class)).getBody();
+        assertEquals(12345678901234567.89 + 0.01, sum);
+        // The same literal stays exact in decimal mode.
+        assertEquals(new BigDecimal("12345678901234567.90"), controller.calculate(objectMapper.readValue(
+                "{\"operation\":\"ADD\",\"num1\":12345678901234567.89,\"num2\":0.01,\"decimal\":{}}",
+                CalculationRequest.class)).getBody());
+    }
+
+    private static BigDecimal calculate(Operation operation, Number num1, Number num2, int precision, int scale,
+                                        RoundingMode roundingMode) {
+        return DecimalCalculator.calculate(operation, num1, num2, new DecimalContext(precision, scale, roundingMode));
+    }
+
+    private static Number randomOperand(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(2001) - 1000;
+            case 1:
+                return (random.nextInt(2_000_001) - 1_000_000) / 1000.0;
+            case 2:
+                return BigDecimal.valueOf(random.nextLong() % 10_000_000_000L, random.nextInt(6));
+            default:
+                return random.nextLong() >> random.nextInt(64);
+        }
+    }
+
+    /**
+     * The decimal semantics written directly against {@code BigDecimal}.
+     */
+    private static BigDecimal reference(Operation operation, Number num1, Number num2, DecimalContext context) {
+        BigDecimal a = new BigDecimal(num1.toString()).setScale(context.getScale(), context.getRoundingMode());
+        BigDecimal b = new BigDecimal(num2.toString()).setScale(context.getScale(), context.getRoundingMode());
+        BigDecimal result;
+        switch (operation) {
+            case ADD:
+                result = a.add(b);
+                break;
+            case SUBTRACT:
+                result = a.subtract(b);
+                break;
+            case MULTIPLY:
+                result = a.multiply(b).setScale(context.getScale(), context.getRoundingMode());
+                break;
+            default:
+                result = a.divide(b, context.getScale(), context.getRoundingMode());
+        }
+        if (context.getPrecision() > 0) {
+            result = result.round(context.getMathContext()).setScale(context.getScale());
+        }
+        return result;
+    }
+}
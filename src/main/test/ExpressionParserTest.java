@@ -0,0 +1,97 @@
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+import com.ebay.calculator.demo.expression.CompiledExpression;
+import com.ebay.calculator.demo.expression.ExpressionParser;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.ExpressionService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExpressionParserTest {
+
+    private ExpressionService expressionService;
+
+    @BeforeEach
+    public void setUp() {
+        expressionService = new ExpressionService(new OperationStrategyFactory(), new CalculatorValidator(),
+                new ResultCache<>(16, EvictionPolicy.LRU, 1, TimeUnit.MINUTES), 4096);
+    }
+
+    @Test
+    public void testPrecedenceAndAssociativity() {
+        assertEquals(14, evaluate("2 + 3 * 4"));
+        assertEquals(20, evaluate("(2 + 3) * 4"));
+        assertEquals(-5, evaluate("10 - 8 - 7"));
+        assertEquals(2, evaluate("16 / 4 / 2"));
+        assertEquals(3, evaluate("7 / 2"));
+        assertEquals(3.5, evaluate("7.0 / 2"));
+        assertEquals(-6, evaluate("-2 * 3"));
+        assertEquals(6, evaluate("-(-2 * 3)"));
+        assertEquals(1.5, evaluate("3e0 / 2"));
+    }
+
+    @Test
+    public void testLiteralTypesFollowJsonNumbers() {
+        assertEquals(Integer.MAX_VALUE, evaluate("2147483647"));
+        assertEquals(2147483648L, evaluate("2147483647 + 1"));
+        assertEquals(9223372036854775807L, evaluate("9223372036854775807"));
+        assertEquals(new BigDecimal("9223372036854775808"), evaluate("9223372036854775808"));
+        assertEquals(0.5, evaluate(".5"));
+    }
+
+    @Test
+    public void testVariables() {
+        Map<String, Number> variables = new HashMap<>();
+        variables.put("price", 20);
+        variables.put("discount", 5);
+        variables.put("quantity", 3);
+        variables.put("unused", 1);
+
+        assertEquals(45, expressionService.evaluate("(price - discount) * quantity", variables));
+
+        variables.put("quantity", 4);
+        assertEquals(60, expressionService.evaluate("(price - discount) * quantity", variables));
+
+        CompiledExpression compiled = expressionService.compile("x * y + x");
+        assertEquals(Arrays.asList("x", "y"), compiled.getVariableNames());
+    }
+
+    @Test
+    public void testRepeatedExpressionsAreParsedOnce() {
+        CompiledExpression first = expressionService.compile("a + b * 2");
+        CompiledExpression second = expressionService.compile("a + b * 2");
+
+        assertSame(first, second);
+        assertEquals(1, expressionService.cacheStats().getHits());
+    }
+
+    @Test
+    public void testErrors() {
+        assertThrows(IllegalArgumentException.class, () -> evaluate(""));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("1 +"));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("(1 + 2"));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("1 + 2)"));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("2 ^ 3"));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("1e"));
+        assertThrows(IllegalArgumentException.class, () -> evaluate("x + 1"));
+        assertThrows(ArithmeticException.class, () -> evaluate("1 / (2 - 2)"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ExpressionParser(4).parse("((((((1))))))"));
+        assertThrows(IllegalArgumentException.class,
+                () -> evaluate(String.join("+", Collections.nCopies(2049, "1"))));
+    }
+
+    private Number evaluate(String expression) {
+        return expressionService.evaluate(expression, Collections.emptyMap());
+    }
+}
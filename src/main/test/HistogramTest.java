@@ -0,0 +1,38 @@
+import com.ebay.calculator.demo.metrics.Histogram;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HistogramTest {
+
+    @Test
+    public void testSmallValuesAreExact() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.count());
+        assertEquals(55, histogram.sum());
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(100));
+    }
+
+    @Test
+    public void testPercentilesWithinRelativeError() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(50_000_000, histogram.percentile(50), 50_000_000 * 0.04);
+        assertEquals(99_000_000, histogram.percentile(99), 99_000_000 * 0.04);
+        assertEquals(99_900_000, histogram.percentile(99.9), 99_900_000 * 0.04);
+        assertEquals(100_000_000, histogram.max());
+    }
+
+    @Test
+    public void testEmptyHistogram() {
+        assertEquals(0, new Histogram().percentile(99));
+    }
+}
@@ -0,0 +1,123 @@
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.journal.CalculationJournal;
+import com.ebay.calculator.demo.journal.JournalFormat;
+import com.ebay.calculator.demo.journal.JournalReader;
+import com.ebay.calculator.demo.journal.JournalVerifier;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JournalTest {
+
+    private static final long SMALL_SEGMENT = JournalFormat.HEADER_BYTES + 100L * JournalFormat.RECORD_BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testConcurrentWritersAreReplayedExactly() throws Exception {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculationJournal journal = CalculationJournal.open(directory, factory, SMALL_SEGMENT);
+        Number[][] operands = {
+                {2, 3}, {2L, 3L}, {0.1, 0.2}, {new BigDecimal("1.25"), new BigDecimal("0.5")}, {7, 2.5}
+        };
+
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    Number[] pair = operands[i % operands.length];
+                    int opcode = i % 4;
+                    journal.record(opcode, pair[0], pair[1], factory.evaluate(opcode, pair[0], pair[1]), i);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        journal.close();
+
+        assertEquals(20000, journal.recordCount());
+        assertEquals(0, journal.droppedCount());
+        assertEquals(200, JournalReader.segments(directory).size());
+        JournalVerifier.Report report = new JournalVerifier(new OperationStrategyFactory()).verify(directory);
+        assertEquals(20000, report.getRecords());
+        assertEquals(20000, report.getVerified(), report.getMismatches().toString());
+    }
+
+    @Test
+    public void testVerificationFindsChangedAndUnknownOperations() throws IOException {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        factory.registerOperation(Operation.ADD, (num1, num2) -> num1.doubleValue() + num2.doubleValue() + 1);
+        int cube = factory.registerOperation(new OperationDefinition() {
+            @Override
+            public String getName() {
+                return "CUBE";
+            }
+
+            @Override
+            public int getArity() {
+                return 1;
+            }
+
+            @Override
+            public Number apply(Number num1, Number num2) {
+                return num1.doubleValue() * num1.doubleValue() * num1.doubleValue();
+            }
+        });
+        try (CalculationJournal journal = CalculationJournal.open(directory, factory, SMALL_SEGMENT)) {
+            journal.record(Operation.ADD.ordinal(), 1.0, 2.0, factory.evaluate(Operation.ADD.ordinal(), 1.0, 2.0), 1);
+            journal.record(Operation.MULTIPLY.ordinal(), 3, 4, 12, 1);
+            journal.record(cube, 2.0, 0, factory.evaluate(cube, 2.0, 0), 1);
+        }
+
+        // A second run continues with the next segment.
+        try (CalculationJournal journal = CalculationJournal.open(directory, new OperationStrategyFactory(),
+                SMALL_SEGMENT)) {
+            journal.record(Operation.SUBTRACT.ordinal(), 5L, 7L, -2L, 1);
+        }
+
+        List<Path> segments = JournalReader.segments(directory);
+        assertEquals(2, segments.size());
+        assertEquals(1, JournalReader.open(segments.get(1)).index());
+        assertNotEquals(JournalReader.open(segments.get(0)).runId(), JournalReader.open(segments.get(1)).runId());
+
+        JournalVerifier.Report report = new JournalVerifier(new OperationStrategyFactory()).verify(directory);
+        assertEquals(4, report.getRecords());
+        assertEquals(2, report.getVerified());
+        assertEquals(1, report.getMismatched());
+        assertEquals(1, report.getUnverifiable());
+        assertTrue(report.getMismatches().get(0).contains("= 4.0"), report.getMismatches().get(0));
+    }
+
+    @Test
+    public void testServiceRecordsEveryResult() throws IOException {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        try (CalculationJournal journal = CalculationJournal.open(directory, factory, SMALL_SEGMENT)) {
+            CalculatorService service = CalculatorService.builder(factory).journal(journal).build();
+
+            service.calculate(Operation.DIVIDE, 10, 4);
+            service.calculate(Operation.DIVIDE, 10, 4);
+            service.calculate(factory.lookup("SQRT"), 16.0, null);
+            assertThrows(ArithmeticException.class, () -> service.calculate(Operation.DIVIDE, 1, 0));
+        }
+
+        List<String> records = new ArrayList<>();
+        JournalReader.open(JournalReader.segments(directory).get(0)).forEach(record ->
+                records.add(record.opcode() + " " + record.num1() + " " + record.num2() + " " + record.result()));
+        assertEquals(List.of("3 10 4 2", "3 10 4 2", factory.lookup("SQRT") + " 16.0 0 4.0"), records);
+        assertEquals(3, new JournalVerifier(new OperationStrategyFactory()).verify(directory).getVerified());
+    }
+}
@@ -0,0 +1,196 @@
+import com.ebay.calculator.demo.chain.ValidatedChain;
+import com.ebay.calculator.demo.decimal.DecimalContext;
+import com.ebay.calculator.demo.decimal.ScaledArithmetic;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.metrics.PrometheusFormatter;
+import com.ebay.calculator.demo.model.ChainCalculationRequest;
+import com.ebay.calculator.demo.model.DecimalSettings;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.DecimalCalculationService;
+import com.ebay.calculator.demo.strategy.OperationDefinition;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OperationRegistryTest {
+
+    private static final String[] LOADED = {"ABS", "MAX", "MIN", "MOD", "NEGATE", "PERCENT", "POWER", "SQRT"};
+
+    @Test
+    public void testServiceLoaderRegistersDefinitionsByName() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+
+        assertEquals(Operation.values().length + LOADED.length, factory.size());
+        for (Operation operation : Operation.values()) {
+            assertEquals(operation.ordinal(), factory.lookup(operation.name().toLowerCase()));
+            assertNull(factory.getDefinition(operation.ordinal()));
+        }
+        for (int i = 0; i < LOADED.length; i++) {
+            int opcode = Operation.values().length + i;
+            assertEquals(opcode, factory.lookup(LOADED[i].toLowerCase()));
+            assertEquals(LOADED[i], factory.getName(opcode));
+        }
+        assertEquals(1, factory.getArity(factory.lookup("sqrt")));
+        assertEquals(2, factory.getArity(factory.lookup("Power")));
+        assertEquals(-1, factory.lookup("CUBE"));
+        assertEquals(-1, factory.lookup(null));
+        assertFalse(factory.isRegistered(factory.size()));
+        assertThrows(UnsupportedOperationException.class, () -> factory.getStrategy(-1));
+    }
+
+    @Test
+    public void testRuntimeRegistration() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        List<String> events = new ArrayList<>();
+        factory.addListener((opcode, previous, current, version) ->
+                events.add(factory.getName(opcode) + " " + opcode + " " + (previous == null)));
+
+        int opcode = factory.registerOperation(new Hypotenuse());
+        assertEquals(factory.size() - 1, opcode);
+        assertEquals(opcode, factory.lookup("hypot"));
+        assertEquals(5.0, factory.evaluate(opcode, 3.0, 4.0));
+
+        Hypotenuse replacement = new Hypotenuse();
+        assertEquals(opcode, factory.registerOperation(replacement));
+        assertSame(replacement, factory.getDefinition(opcode));
+        assertEquals(List.of("HYPOT " + opcode + " true", "HYPOT " + opcode + " false"), events);
+
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(named("add", 2)));
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(named("TERNARY", 3)));
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(named(null, 2)));
+        while (factory.size() < OperationStrategyFactory.MAX_OPERATIONS) {
+            factory.registerOperation(named("OP" + factory.size(), 2));
+        }
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(named("ONE_TOO_MANY", 2)));
+    }
+
+    @Test
+    public void testCalculateWithRegisteredOperations() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        CalculatorService service = calculatorService(factory, metrics);
+
+        assertEquals(1024, service.calculate(factory.lookup("POWER"), 2, 10));
+        assertEquals(new BigDecimal("0.5"), service.calculate(factory.lookup("POWER"), 2, -1));
+        assertEquals(8.0, service.calculate(factory.lookup("POWER"), 4.0, 1.5));
+        assertEquals(1, service.calculate(factory.lookup("MOD"), 7, 3));
+        assertEquals(30L, service.calculate(factory.lookup("PERCENT"), 200L, 15L));
+        assertEquals(new BigDecimal("0.75"), service.calculate(factory.lookup("PERCENT"), 5, 15));
+        assertEquals(-5, service.calculate(factory.lookup("NEGATE"), 5, null));
+        assertEquals(3, service.calculate(factory.lookup("SQRT"), 10, null));
+        assertEquals(4.0, service.calculate(factory.lookup("SQRT"), 16.0, 7.0));
+        assertEquals(2.5, service.calculate(factory.lookup("MAX"), 2.5, -1.0));
+        assertThrows(ArithmeticException.class, () -> service.calculate(factory.lookup("SQRT"), -1.0, null));
+        assertThrows(ArithmeticException.class, () -> service.calculate(factory.lookup("MOD"), 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> service.calculate(factory.lookup("MIN"), 1, null));
+        assertThrows(UnsupportedOperationException.class, () -> service.calculate(factory.size(), 1, 2));
+
+        String exposition = PrometheusFormatter.format(metrics);
+        assertTrue(exposition.contains("calculator_operation_requests_total{operation=\"POWER\"} 3"));
+        assertTrue(exposition.contains("calculator_operation_errors_total{operation=\"SQRT\"} 1"));
+        assertTrue(exposition.contains("calculator_operation_requests_total{operation=\"ADD\"} 0"));
+        assertFalse(exposition.contains("\"ABS\""));
+    }
+
+    @Test
+    public void testChainsMixBuiltInAndRegisteredOperations() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorValidator validator = new CalculatorValidator(factory);
+        ChainCalculationRequest request = new ChainCalculationRequest();
+        request.setInitialValue(1.0);
+        request.setOperations(Arrays.asList("add", "power", "sqrt", "add", "add", "mod", "percent"));
+        request.setOperands(Arrays.asList(2.0, 2.0, null, 4.0, 1.0, 5.0, 50.0));
+
+        ValidatedChain chain = validator.validateChainRequest(request);
+        assertNull(chain.getOperations()[2]);
+        assertSame(factory.getDefinition(factory.lookup("SQRT")), chain.getDefinitions()[2]);
+        // ((1 + 2)^2) = 9, sqrt 3, + 4 + 1 = 8, mod 5 = 3, 50% = 1.5
+        assertEquals(1.5, calculatorService(factory, new CalculatorMetrics()).chainCalculate(chain));
+
+        DecimalCalculationService decimalService = new DecimalCalculationService(factory, validator,
+                new CalculatorMetrics(), 0, 2, "HALF_EVEN");
+        assertEquals(new BigDecimal("1.50"), decimalService.chainCalculate(chain, null));
+        DecimalSettings settings = new DecimalSettings();
+        settings.setScale(30);
+        assertEquals(new BigDecimal("1.5").setScale(30), decimalService.chainCalculate(chain, settings));
+        assertEquals(new BigDecimal("1.41"), decimalService.calculate(factory.lookup("SQRT"), 2, null, null));
+
+        request.setOperations(Arrays.asList("add", "power"));
+        request.setOperands(Arrays.asList(1.0, null));
+        assertThrows(IllegalArgumentException.class, () -> validator.validateChainRequest(request));
+    }
+
+    @Test
+    public void testScaledDefinitionsMatchBigDecimal() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        Random random = new Random(7);
+        RoundingMode[] modes = {RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        int compared = 0;
+        for (String name : LOADED) {
+            OperationDefinition definition = factory.getDefinition(factory.lookup(name));
+            for (int i = 0; i < 2000; i++) {
+                DecimalContext context = new DecimalContext(0, random.nextInt(5), modes[random.nextInt(modes.length)]);
+                long factor = ScaledArithmetic.powerOfTen(context.getScale());
+                long num1 = random.nextInt(2_000_001) - 1_000_000;
+                // Integral second operands keep POWER on its scaled path.
+                long num2 = name.equals("POWER") ? random.nextInt(4) * factor : random.nextInt(20_001) - 10_000;
+                if (name.equals("SQRT")) {
+                    num1 = Math.abs(num1);
+                }
+                if (name.equals("MOD") && num2 == 0) {
+                    continue;
+                }
+                long scaled = definition.applyScaled(num1, num2, context);
+                BigDecimal expected = definition.applyDecimal(ScaledArithmetic.toBigDecimal(num1, context),
+                        ScaledArithmetic.toBigDecimal(num2, context), context);
+                if (scaled != ScaledArithmetic.OVERFLOW) {
+                    assertEquals(expected, ScaledArithmetic.toBigDecimal(scaled, context),
+                            name + " " + num1 + " " + num2 + " " + context);
+                    compared++;
+                }
+            }
+        }
+        assertTrue(compared > 15_000);
+    }
+
+    private static CalculatorService calculatorService(OperationStrategyFactory factory, CalculatorMetrics metrics) {
+        return CalculatorService.builder(factory).metrics(metrics).build();
+    }
+
+    private static OperationDefinition named(String name, int arity) {
+        return new Hypotenuse() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public int getArity() {
+                return arity;
+            }
+        };
+    }
+
+    private static class Hypotenuse implements OperationDefinition {
+        @Override
+        public String getName() {
+            return "HYPOT";
+        }
+
+        @Override
+        public Number apply(Number num1, Number num2) {
+            return Math.hypot(num1.doubleValue(), num2.doubleValue());
+        }
+    }
+}
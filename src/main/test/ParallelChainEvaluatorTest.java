@@ -0,0 +1,208 @@
+import com.ebay.calculator.demo.chain.ChainCompiler;
+import com.ebay.calculator.demo.chain.ChainProgram;
+import com.ebay.calculator.demo.chain.ParallelChainEvaluator;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelChainEvaluatorTest {
+
+    private static final int LENGTH = 2000;
+
+    private OperationStrategyFactory factory;
+    private ParallelChainEvaluator parallel;
+    private ParallelChainEvaluator sequential;
+    private Random random;
+
+    @BeforeEach
+    public void setUp() {
+        factory = new OperationStrategyFactory();
+        parallel = new ParallelChainEvaluator(factory, 64);
+        sequential = new ParallelChainEvaluator(factory, Integer.MAX_VALUE);
+        random = new Random(42);
+    }
+
+    @Test
+    public void testIntegerSumMatchesSequentialIncludingType() {
+        List<Operation> operations = new ArrayList<>();
+        List<Number> operands = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            operations.add(random.nextBoolean() ? Operation.ADD : Operation.SUBTRACT);
+            operands.add(random.nextInt(1000));
+        }
+
+        assertSameAsSequential(7, operations, operands);
+        assertInstanceOf(Integer.class, evaluate(parallel, 7, operations, operands));
+
+        // Crossing the int range in the middle of the run widens the result to Long, even if it ends in range.
+        operations.add(0, Operation.ADD);
+        operands.add(0, Integer.MAX_VALUE);
+        operations.add(1, Operation.SUBTRACT);
+        operands.add(1, Integer.MAX_VALUE);
+        assertSameAsSequential(7, operations, operands);
+        assertInstanceOf(Long.class, evaluate(parallel, 7, operations, operands));
+    }
+
+    @Test
+    public void testLongOverflowFallsBackToSequential() {
+        List<Operation> operations = new ArrayList<>(Collections.nCopies(LENGTH, Operation.ADD));
+        List<Number> operands = new ArrayList<>(Collections.nCopies(LENGTH, (Number) (Long.MAX_VALUE / 1000)));
+
+        assertSameAsSequential(1L, operations, operands);
+        assertInstanceOf(BigDecimal.class, evaluate(parallel, 1L, operations, operands));
+    }
+
+    @Test
+    public void testIntegerProductMatchesSequential() {
+        List<Operation> operations = new ArrayList<>(Collections.nCopies(LENGTH, Operation.MULTIPLY));
+        List<Number> operands = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            operands.add(i % 500 == 0 ? 2 : i % 2 == 0 ? -1 : 1);
+        }
+
+        assertSameAsSequential(3, operations, operands);
+        assertSameAsSequential(Integer.MIN_VALUE / 16, operations, operands);
+        assertSameAsSequential(Integer.MAX_VALUE, operations, operands);
+
+        operands.set(LENGTH / 2, 0);
+        assertSameAsSequential(Long.MAX_VALUE, operations, operands);
+    }
+
+    @Test
+    public void testBigDecimalMatchesSequentialIncludingScale() {
+        List<Operation> operations = new ArrayList<>();
+        List<Number> operands = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            boolean multiplyRun = i >= LENGTH / 2;
+            operations.add(multiplyRun ? Operation.MULTIPLY : random.nextBoolean() ? Operation.ADD : Operation.SUBTRACT);
+            operands.add(multiplyRun ? new BigDecimal(random.nextBoolean() ? "1.5" : "-0.5")
+                    : BigDecimal.valueOf(random.nextInt(100000), random.nextInt(4)));
+        }
+
+        Number expected = evaluate(sequential, new BigDecimal("1.0"), operations, operands);
+        Number actual = evaluate(parallel, new BigDecimal("1.0"), operations, operands);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testMixedChainMatchesSequential() {
+        List<Operation> operations = new ArrayList<>();
+        List<Number> operands = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            operations.add(i % 300 == 299 ? Operation.DIVIDE : i < LENGTH / 2 ? Operation.ADD : Operation.MULTIPLY);
+            operands.add(i % 300 == 299 ? 3 : 1 + i % 3 / 2);
+        }
+
+        assertSameAsSequential(5, operations, operands);
+    }
+
+    @Test
+    public void testDoubleFoldingStaysWithinDocumentedTolerance() {
+        double[] operands = new double[LENGTH];
+        byte[] opcodes = new byte[LENGTH];
+        double absoluteSum = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            opcodes[i] = (byte) (random.nextBoolean() ? Operation.ADD : Operation.SUBTRACT).ordinal();
+            operands[i] = random.nextDouble() * 1e6;
+            absoluteSum += operands[i];
+        }
+
+        double expected = 0.25;
+        for (int i = 0; i < LENGTH; i++) {
+            expected = opcodes[i] == Operation.ADD.ordinal() ? expected + operands[i] : expected - operands[i];
+        }
+
+        ChainProgram program = new ChainCompiler(factory, parallel, true, 16).compile(0.25, opcodes, operands);
+        assertEquals(1, program.length());
+        double actual = program.getInitialValue() + program.getOperands()[0];
+        assertEquals(expected, actual, 2 * LENGTH * 0x1p-53 * absoluteSum);
+    }
+
+    @Test
+    public void testDoubleFoldingBoundIncludesRunningValue() {
+        byte add = (byte) Operation.ADD.ordinal();
+        byte subtract = (byte) Operation.SUBTRACT.ordinal();
+        byte[] opcodes = new byte[LENGTH];
+        double[] operands = new double[LENGTH];
+
+        // Step by step, every +1 is rounded away against 2^53; folded, they are summed first.
+        Arrays.fill(opcodes, add);
+        Arrays.fill(operands, 1);
+        double difference = assertWithinSumBound(0x1p53, opcodes, operands);
+        assertEquals(LENGTH, difference);
+        assertTrue(difference > 2 * (LENGTH - 1) * 0x1p-53 * LENGTH, "a bound without |v| does not hold");
+
+        // Step by step, the 1 is lost in the first 1e20; folded, the operands cancel exactly.
+        for (int i = 0; i < LENGTH; i++) {
+            opcodes[i] = i % 2 == 0 ? add : subtract;
+            operands[i] = 1e20;
+        }
+        assertEquals(1, assertWithinSumBound(1, opcodes, operands));
+
+        for (int i = 0; i < LENGTH; i++) {
+            opcodes[i] = random.nextBoolean() ? add : subtract;
+            operands[i] = Math.scalb(random.nextDouble(), random.nextInt(120) - 60);
+        }
+        assertWithinSumBound(-0x1p40, opcodes, operands);
+
+        byte[] multiply = new byte[LENGTH];
+        Arrays.fill(multiply, (byte) Operation.MULTIPLY.ordinal());
+        for (int i = 0; i < LENGTH; i++) {
+            operands[i] = 1 + (random.nextDouble() - 0.5) * 1e-3;
+        }
+        double initialValue = 0x1p53 + 1;
+        double expected = initialValue;
+        for (double operand : operands) {
+            expected *= operand;
+        }
+        ChainProgram program = new ChainCompiler(factory, parallel, true, 16).compile(initialValue, multiply, operands);
+        assertEquals(1, program.length());
+        double actual = initialValue * program.getOperands()[0];
+        assertEquals(expected, actual, 2 * gamma(LENGTH) * Math.abs(expected) / (1 - gamma(LENGTH)));
+    }
+
+    /**
+     * Asserts that a folded ADD/SUBTRACT run differs from step-by-step evaluation by at most
+     * {@code 2 gamma(n) (|v| + sum(|a_i|))}, and returns the difference.
+     */
+    private double assertWithinSumBound(double initialValue, byte[] opcodes, double[] operands) {
+        double expected = initialValue;
+        double absoluteSum = Math.abs(initialValue);
+        for (int i = 0; i < operands.length; i++) {
+            expected = opcodes[i] == Operation.ADD.ordinal() ? expected + operands[i] : expected - operands[i];
+            absoluteSum += Math.abs(operands[i]);
+        }
+
+        ChainProgram program = new ChainCompiler(factory, parallel, true, 16).compile(initialValue, opcodes, operands);
+        assertEquals(1, program.length());
+        double actual = program.getInitialValue() + program.getOperands()[0];
+        assertEquals(expected, actual, 2 * gamma(operands.length) * absoluteSum);
+        return Math.abs(actual - expected);
+    }
+
+    private static double gamma(int n) {
+        return n * 0x1p-53 / (1 - n * 0x1p-53);
+    }
+
+    private void assertSameAsSequential(Number initialValue, List<Operation> operations, List<Number> operands) {
+        Number expected = evaluate(sequential, initialValue, operations, operands);
+        Number actual = evaluate(parallel, initialValue, operations, operands);
+        assertEquals(expected, actual);
+        assertEquals(expected.getClass(), actual.getClass());
+    }
+
+    private Number evaluate(ParallelChainEvaluator evaluator, Number initialValue, List<Operation> operations,
+                            List<Number> operands) {
+        return evaluator.evaluate(initialValue, operations, operands, factory::evaluate);
+    }
+}
@@ -0,0 +1,182 @@
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.model.RegisterRequest;
+import com.ebay.calculator.demo.model.RegisterUpdate;
+import com.ebay.calculator.demo.model.RegisterValue;
+import com.ebay.calculator.demo.register.DecimalRegister;
+import com.ebay.calculator.demo.register.DoubleRegister;
+import com.ebay.calculator.demo.register.Register;
+import com.ebay.calculator.demo.service.RegisterService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegisterTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES = 50_000;
+
+    @Test
+    public void testConcurrentAdditionsAreAllCounted() throws Exception {
+        Register register = new DoubleRegister("total", 4, 10);
+        runConcurrently(thread -> {
+            for (int i = 0; i < UPDATES; i++) {
+                register.update(i % 4 == 3 ? Operation.SUBTRACT : Operation.ADD, 2);
+            }
+        });
+        // Integral sums stay exact in a double, whatever order the stripes add them in.
+        assertEquals(10.0 + THREADS * UPDATES, register.value());
+        assertEquals((long) THREADS * UPDATES, register.updates());
+    }
+
+    @Test
+    public void testDecimalRegisterIsExact() throws Exception {
+        Register register = new DecimalRegister("cents", 4, 0);
+        runConcurrently(thread -> {
+            for (int i = 0; i < UPDATES; i++) {
+                register.update(Operation.ADD, 0.1);
+            }
+        });
+        assertEquals(0, new BigDecimal("40000.0").compareTo((BigDecimal) register.value()));
+
+        register.update(Operation.MULTIPLY, 1.5);
+        register.update(Operation.SUBTRACT, new BigDecimal("0.01"));
+        assertEquals(new BigDecimal("59999.99"), register.value());
+    }
+
+    @Test
+    public void testMultiplicationFoldsConcurrentAdditions() throws Exception {
+        Register register = new DoubleRegister("scaled", 8, 0);
+        AtomicBoolean adding = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                adders.add(executor.submit(() -> {
+                    for (int i = 0; i < UPDATES; i++) {
+                        register.update(Operation.ADD, 1);
+                    }
+                }));
+            }
+            // Multiplying by one folds the stripes without changing the value, so a read that saw a multiplication
+            // half done would go backwards.
+            Future<?> multiplier = executor.submit(() -> {
+                while (adding.get()) {
+                    register.update(Operation.MULTIPLY, 1);
+                }
+            });
+            double previous = 0;
+            while (!adders.stream().allMatch(Future::isDone)) {
+                double value = register.value().doubleValue();
+                assertTrue(value >= previous, previous + " -> " + value);
+                previous = value;
+            }
+            adding.set(false);
+            multiplier.get(5, TimeUnit.SECONDS);
+            for (Future<?> adder : adders) {
+                adder.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals((double) THREADS * UPDATES, register.value());
+
+        register.update(Operation.MULTIPLY, -0.5);
+        assertEquals(-THREADS * UPDATES / 2.0, register.value());
+    }
+
+    @Test
+    public void testInvalidUpdatesAreRejected() {
+        Register register = new DoubleRegister("r", 2, 0);
+        assertThrows(IllegalArgumentException.class, () -> register.update(Operation.DIVIDE, 2));
+        assertThrows(IllegalArgumentException.class, () -> register.update(Operation.ADD, Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> register.update(Operation.ADD, null));
+        assertThrows(IllegalArgumentException.class, () -> new DoubleRegister("r", 3, 0));
+        assertEquals(0, register.updates());
+    }
+
+    @Test
+    public void testServiceBatchesAndSnapshots() {
+        RegisterService service = new RegisterService(new CalculatorValidator(new OperationStrategyFactory()), 2, 4);
+        service.create(request("b", true, 100));
+        RegisterValue created = service.create(request("a", false, null));
+        assertEquals(0.0, created.getValue());
+
+        service.update("a", "add", 5);
+        service.update(List.of(
+                update("a", "ADD", 1), update("b", "SUBTRACT", 0.25), update("a", "ADD", 2),
+                update("a", "MULTIPLY", 10), update("a", "SUBTRACT", 0.5), update("b", "ADD", 0.05)));
+        RegisterValue a = service.snapshot("a");
+        assertEquals(79.5, a.getValue());
+        assertEquals(5, a.getUpdates());
+        assertEquals(new BigDecimal("99.80"), service.snapshot("b").getValue());
+        assertEquals(List.of("a", "b"), service.snapshots().stream().map(RegisterValue::getName).toList());
+
+        // A batch with one invalid update applies nothing.
+        assertThrows(IllegalArgumentException.class, () -> service.update(List.of(
+                update("a", "ADD", 1), update("a", "POWER", 2))));
+        assertThrows(IllegalArgumentException.class, () -> service.update(List.of(update("c", "ADD", 1))));
+        assertThrows(IllegalArgumentException.class, () -> service.update(List.of()));
+        assertEquals(79.5, service.snapshot("a").getValue());
+
+        assertThrows(IllegalStateException.class, () -> service.create(request("a", false, 1)));
+        assertThrows(IllegalStateException.class, () -> service.create(request("c", false, 1)));
+        assertThrows(IllegalArgumentException.class, () -> service.create(request("bad name", false, 1)));
+        assertThrows(NoSuchElementException.class, () -> service.update("c", "ADD", 1));
+        assertThrows(NoSuchElementException.class, () -> service.snapshot("c"));
+
+        assertTrue(service.delete("a"));
+        assertFalse(service.delete("a"));
+        service.create(request("c", false, 1));
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    worker.run(thread);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static RegisterRequest request(String name, boolean decimal, Number initialValue) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName(name);
+        request.setDecimal(decimal);
+        request.setInitialValue(initialValue);
+        return request;
+    }
+
+    private static RegisterUpdate update(String register, String operation, Number operand) {
+        RegisterUpdate update = new RegisterUpdate();
+        update.setRegister(register);
+        update.setOperation(operation);
+        update.setOperand(operand);
+        return update;
+    }
+}
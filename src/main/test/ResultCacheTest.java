@@ -0,0 +1,93 @@
+import com.ebay.calculator.demo.cache.CalculationKey;
+import com.ebay.calculator.demo.cache.CacheStats;
+import com.ebay.calculator.demo.cache.ResultCache;
+import com.ebay.calculator.demo.enums.EvictionPolicy;
+import com.ebay.calculator.demo.enums.Operation;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        ResultCache<CalculationKey, Number> cache = new ResultCache<>(10, EvictionPolicy.LRU, 1, TimeUnit.MINUTES);
+        CalculationKey key = CalculationKey.of(Operation.ADD, 2, 3);
+
+        assertNull(cache.get(key));
+        cache.put(key, 5);
+        assertEquals(5, cache.get(CalculationKey.of(Operation.ADD, 2, 3)));
+
+        CacheStats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(1, stats.getSize());
+    }
+
+    @Test
+    public void testKeyNormalization() {
+        // Everything evaluated through doubleValue shares a key
+        assertEquals(CalculationKey.of(Operation.ADD, 2.0, 3.0), CalculationKey.of(Operation.ADD, 2.0f, (short) 3));
+        // Integer and Long yield differently typed results
+        assertNotEquals(CalculationKey.of(Operation.ADD, 2, 3), CalculationKey.of(Operation.ADD, 2L, 3L));
+        assertNotEquals(CalculationKey.of(Operation.ADD, 2, 3), CalculationKey.of(Operation.ADD, 2.0, 3.0));
+        // BigDecimal keeps its scale
+        assertNotEquals(CalculationKey.of(Operation.ADD, new BigDecimal("1.0"), 1),
+                CalculationKey.of(Operation.ADD, new BigDecimal("1.00"), 1));
+        assertNotEquals(CalculationKey.of(Operation.ADD, 2, 3), CalculationKey.of(Operation.SUBTRACT, 2, 3));
+        assertEquals(CalculationKey.ofChain(1.0, Arrays.asList(Operation.ADD), Arrays.asList(2.0)),
+                CalculationKey.of(Operation.ADD, 1.0, 2.0));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+        ResultCache<Integer, Integer> cache = new ResultCache<>(100, EvictionPolicy.LFU, 1, TimeUnit.MINUTES);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+
+        assertEquals(100, cache.stats().getSize());
+        assertEquals(900, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testTtlExpiry() throws InterruptedException {
+        ResultCache<String, Integer> cache = new ResultCache<>(10, EvictionPolicy.TTL, 1, TimeUnit.MILLISECONDS);
+        cache.put("key", 1);
+        Thread.sleep(5);
+
+        assertNull(cache.get("key"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testIdleExpiry() throws InterruptedException {
+        ResultCache<String, Integer> cache = new ResultCache<>(10, EvictionPolicy.IDLE, 250, TimeUnit.MILLISECONDS);
+        cache.put("read", 1);
+        cache.put("unread", 2);
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(100);
+            assertEquals(1, cache.get("read"));
+        }
+
+        cache.evictExpired();
+        assertEquals(1, cache.stats().getSize());
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals(1, cache.remove("read"));
+        assertNull(cache.get("read"));
+        assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void testDisabledCache() {
+        ResultCache<String, Integer> cache = new ResultCache<>(0, EvictionPolicy.LRU, 1, TimeUnit.MINUTES);
+        cache.put("key", 1);
+
+        assertNull(cache.get("key"));
+        assertEquals(0, cache.stats().getSize());
+    }
+}
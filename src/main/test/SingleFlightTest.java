@@ -0,0 +1,157 @@
+import com.ebay.calculator.demo.cache.SingleFlight;
+import com.ebay.calculator.demo.cache.SingleFlightStats;
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.metrics.CalculatorMetrics;
+import com.ebay.calculator.demo.metrics.PrometheusFormatter;
+import com.ebay.calculator.demo.service.CalculatorService;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(16);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(executor.submit(() -> flight.execute("chain", () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                await(release);
+                return 42;
+            })));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                results.add(executor.submit(() -> flight.execute("chain", computations::incrementAndGet)));
+            }
+            waitFor(() -> flight.stats().getCoalesced() == 5);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(42, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, computations.get());
+        SingleFlightStats stats = flight.stats();
+        assertEquals(1, stats.getExecutions());
+        assertEquals(5, stats.getCoalesced());
+        assertEquals(0, stats.getInFlight());
+
+        // Nothing is remembered once the flight lands.
+        assertEquals(7, flight.execute("chain", () -> 7));
+    }
+
+    @Test
+    public void testFailuresReachEveryCallerAndBoundIsKept() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Integer> leader = executor.submit(() -> flight.execute("a", () -> {
+                started.countDown();
+                await(release);
+                throw new ArithmeticException("Cannot divide by zero.");
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Integer> follower = executor.submit(() -> flight.execute("a", () -> 1));
+            waitFor(() -> flight.stats().getCoalesced() == 1);
+
+            // The map is full, so another key is computed without registering.
+            assertEquals(2, flight.execute("b", () -> 2));
+            assertEquals(1, flight.stats().getBypassed());
+            release.countDown();
+
+            for (Future<Integer> result : List.of(leader, follower)) {
+                Exception ex = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(ArithmeticException.class, ex.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SingleFlight<String, Integer> disabled = new SingleFlight<>(0);
+        assertEquals(3, disabled.execute("a", () -> 3));
+        assertEquals(new SingleFlightStats(0, 0, 0, 0), disabled.stats());
+        assertThrows(IllegalArgumentException.class, () -> new SingleFlight<>(-1));
+    }
+
+    @Test
+    public void testIdenticalChainsAreComputedOnce() throws Exception {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger multiplications = new AtomicInteger();
+        factory.registerOperation(Operation.MULTIPLY, (num1, num2) -> {
+            if (multiplications.incrementAndGet() == 1) {
+                started.countDown();
+                await(release);
+            }
+            return num1.doubleValue() * num2.doubleValue();
+        });
+
+        CalculatorMetrics metrics = new CalculatorMetrics();
+        CalculatorService service = CalculatorService.builder(factory)
+                .cacheSizes(0, 0)
+                .coalescing(new SingleFlight<>(16), 2)
+                .metrics(metrics)
+                .build();
+        byte[] opcodes = {(byte) Operation.MULTIPLY.ordinal(), (byte) Operation.ADD.ordinal()};
+        double[] operands = {3.0, 1.0};
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Double> leader = executor.submit(() -> service.chainOperations(2.0, opcodes, operands));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<Double> follower = executor.submit(() -> service.chainOperations(2.0, opcodes, operands));
+            waitFor(() -> PrometheusFormatter.format(metrics)
+                    .contains("calculator_coalescing_coalesced_total{flight=\"chain\"} 1"));
+            release.countDown();
+
+            assertEquals(7.0, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(7.0, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, multiplications.get());
+
+        // A single step is below the minimum length and never waits on the flight.
+        assertEquals(6.0, service.chainOperations(2.0, new byte[]{opcodes[0]}, new double[]{3.0}));
+        assertTrue(PrometheusFormatter.format(metrics)
+                .contains("calculator_coalescing_executions_total{flight=\"chain\"} 1"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out waiting for callers to coalesce.");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import com.ebay.calculator.demo.enums.Operation;
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.operations.Addition;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.strategy.OperationStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StrategyRegistryTest {
+
+    private static final OperationStrategy ADD_ONE_MORE = (num1, num2) -> num1.doubleValue() + num2.doubleValue() + 1;
+
+    @Test
+    public void testRegistrationPublishesNewVersion() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        OperationStrategy builtIn = factory.getStrategy(Operation.ADD);
+        long version = factory.getVersion();
+
+        List<String> events = new ArrayList<>();
+        factory.addListener((opcode, previous, current, newVersion) -> {
+            assertSame(current, factory.getStrategy(opcode));
+            events.add(factory.getName(opcode) + " " + (previous == builtIn) + " " + (newVersion - version));
+        });
+        factory.addListener((opcode, previous, current, newVersion) -> {
+            throw new IllegalStateException("listener failure");
+        });
+        List<String> afterFailure = new ArrayList<>();
+        factory.addListener((opcode, previous, current, newVersion) -> afterFailure.add(factory.getName(opcode)));
+
+        factory.registerOperation(Operation.ADD, ADD_ONE_MORE);
+        factory.registerCustomOperation(Operation.ADD, builtIn);
+
+        assertEquals(List.of("ADD true 1", "ADD false 2"), events);
+        assertEquals(List.of("ADD", "ADD"), afterFailure);
+        assertEquals(version + 2, factory.getVersion());
+        assertSame(builtIn, factory.getStrategy(Operation.ADD));
+
+        OperationStrategy[] strategies = factory.getStrategies();
+        strategies[Operation.ADD.ordinal()] = null;
+        assertSame(builtIn, factory.getStrategy(Operation.ADD));
+
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(Operation.ADD, null));
+        assertThrows(IllegalArgumentException.class, () -> factory.registerOperation(null, ADD_ONE_MORE));
+        assertThrows(UnsupportedOperationException.class, () -> factory.getStrategy(null));
+        assertEquals(version + 2, factory.getVersion());
+    }
+
+    @Test
+    public void testReplacingStrategyInvalidatesCachedResults() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        CalculatorService service = CalculatorService.builder(factory).build();
+
+        assertEquals(5.0, service.calculate(Operation.ADD, 2.0, 3.0));
+        assertEquals(5.0, service.chainOperations(2.0, new byte[]{0}, new double[]{3.0}));
+
+        factory.registerOperation(Operation.ADD, ADD_ONE_MORE);
+        assertEquals(6.0, service.calculate(Operation.ADD, 2.0, 3.0));
+        assertEquals(6.0, service.chainOperations(2.0, new byte[]{0}, new double[]{3.0}));
+    }
+
+    @Test
+    public void testNonIntegralCustomResultIsNotTruncated() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        OperationStrategy divide = (num1, num2) -> num1.doubleValue() / num2.doubleValue();
+        factory.registerCustomOperation(Operation.DIVIDE, divide);
+
+        assertEquals(0.5, factory.evaluate(Operation.DIVIDE, 1, 2).doubleValue());
+        assertEquals(-2.5, factory.evaluate(Operation.DIVIDE, -5L, 2L).doubleValue());
+        // Integral results still take the long path.
+        assertEquals(3, factory.evaluate(Operation.DIVIDE, 6, 2).intValue());
+        assertThrows(ArithmeticException.class, () -> divide.applyLong(1, 2));
+        assertThrows(ArithmeticException.class, () -> divide.applyLong(1, 0));
+        assertEquals(Long.MIN_VALUE, ((OperationStrategy) (a, b) -> -0x1p63).applyLong(0, 0));
+        assertThrows(ArithmeticException.class, () -> ((OperationStrategy) (a, b) -> 0x1p63).applyLong(0, 0));
+
+        CalculatorService service = CalculatorService.builder(factory).build();
+        assertEquals(0.5, service.calculate(Operation.DIVIDE, 1, 2).doubleValue());
+    }
+
+    @Test
+    public void testOnlyIntegerPairsDivideAsIntegers() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        assertEquals(3, factory.evaluate(Operation.DIVIDE, 10, 3));
+        assertEquals(10000000000L / 3.0, factory.evaluate(Operation.DIVIDE, 10000000000L, 3L));
+        assertEquals(10000000000L / 3.0, factory.evaluate(Operation.DIVIDE, 10000000000L, 3));
+        assertEquals(1 / 3e9, factory.evaluate(Operation.DIVIDE, 1, 3000000000L));
+        assertEquals(2.5, factory.evaluate(Operation.DIVIDE.ordinal(), 5L, 2L));
+        assertThrows(ArithmeticException.class, () -> factory.evaluate(Operation.DIVIDE, 1L, 0L));
+        // Other operations keep exact long arithmetic.
+        assertEquals(3000000003L, factory.evaluate(Operation.ADD, 3000000000L, 3));
+    }
+
+    @Test
+    public void testReadersSeeARegisteredStrategyDuringSwaps() throws InterruptedException {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        OperationStrategy builtIn = new Addition();
+        factory.registerOperation(Operation.ADD, builtIn);
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread[] readers = new Thread[3];
+        for (int t = 0; t < readers.length; t++) {
+            readers[t] = new Thread(() -> {
+                try {
+                    while (running.get()) {
+                        for (Operation operation : Operation.values()) {
+                            OperationStrategy strategy = factory.getStrategy(operation);
+                            if (operation == Operation.ADD && strategy != builtIn && strategy != ADD_ONE_MORE) {
+                                throw new AssertionError("Unexpected strategy " + strategy);
+                            }
+                        }
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            readers[t].start();
+        }
+
+        long version = factory.getVersion();
+        for (int i = 0; i < 10_000; i++) {
+            factory.registerOperation(Operation.ADD, i % 2 == 0 ? ADD_ONE_MORE : builtIn);
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertEquals(version + 10_000, factory.getVersion());
+        assertSame(builtIn, factory.getStrategy(Operation.ADD));
+    }
+}
@@ -0,0 +1,113 @@
+import com.ebay.calculator.demo.factory.OperationStrategyFactory;
+import com.ebay.calculator.demo.service.CalculatorService;
+import com.ebay.calculator.demo.service.StreamingCalculationService;
+import com.ebay.calculator.demo.utils.CalculatorValidator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StreamingCalculationServiceTest {
+
+    private static final int MAX_RECORD_BYTES = 64;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private StreamingCalculationService service;
+
+    @BeforeEach
+    public void setUp() {
+        OperationStrategyFactory factory = new OperationStrategyFactory();
+        service = new StreamingCalculationService(CalculatorService.builder(factory).build(),
+                new CalculatorValidator(factory), objectMapper, MAX_RECORD_BYTES, 2);
+    }
+
+    @Test
+    public void testBlankLinesAreSkipped() throws IOException {
+        List<JsonNode> results = process(
+                "\n{\"operation\":\"ADD\",\"num1\":1,\"num2\":2}\r\n  \n\t\n{\"operation\":\"MULTIPLY\",\"num1\":3,\"num2\":4}");
+
+        assertEquals(2, results.size());
+        assertEquals(0, results.get(0).get("index").asLong());
+        assertEquals(3, results.get(0).get("result").asInt());
+        assertEquals(1, results.get(1).get("index").asLong());
+        assertEquals(12, results.get(1).get("result").asInt());
+    }
+
+    @Test
+    public void testOversizedRecordIsReportedAndSkipped() throws IOException {
+        String oversized = "{\"operation\":\"ADD\",\"num1\":1,\"num2\":" + "1".repeat(MAX_RECORD_BYTES) + "}";
+        List<JsonNode> results = process(oversized + "\n{\"operation\":\"SUBTRACT\",\"num1\":5,\"num2\":2}\n");
+
+        assertEquals(2, results.size());
+        assertEquals("Record exceeds " + MAX_RECORD_BYTES + " bytes.", results.get(0).get("error").asText());
+        assertFalse(results.get(0).has("result"));
+        assertEquals(3, results.get(1).get("result").asInt());
+    }
+
+    @Test
+    public void testMalformedAndNonObjectRecordsProduceErrorRecords() throws IOException {
+        List<JsonNode> results = process(String.join("\n",
+                "null",
+                "  null",
+                "{\"operation\":\"ADD\",",
+                "[1, 2]",
+                "42",
+                "\"ADD\"",
+                "{\"operation\":\"ADD\",\"num1\":1,\"num2\":1}"));
+
+        assertEquals(7, results.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i, results.get(i).get("index").asLong());
+            assertTrue(results.get(i).get("error").asText().startsWith("Malformed record"), results.get(i).toString());
+            assertFalse(results.get(i).has("result"));
+        }
+        assertEquals(2, results.get(6).get("result").asInt());
+    }
+
+    @Test
+    public void testFailingRecordsDoNotStopTheStream() throws IOException {
+        List<JsonNode> results = process(String.join("\n",
+                "{\"operation\":\"DIVIDE\",\"num1\":1,\"num2\":0}",
+                "{\"operation\":\"FROBNICATE\",\"num1\":1,\"num2\":2}",
+                "{\"operation\":\"ADD\"}",
+                "{\"operation\":\"DIVIDE\",\"num1\":9,\"num2\":3}"));
+
+        assertEquals(4, results.size());
+        assertTrue(results.get(0).has("error"));
+        assertTrue(results.get(1).get("error").asText().startsWith("Unsupported operation"));
+        assertTrue(results.get(2).has("error"));
+        assertEquals(3.0, results.get(3).get("result").asDouble());
+        assertEquals(3, results.get(3).get("index").asLong());
+    }
+
+    @Test
+    public void testLongLiteralsAreComputedAsDoubles() throws IOException {
+        List<JsonNode> results = process("{\"operation\":\"DIVIDE\",\"num1\":1,\"num2\":3.00000000000000000001}");
+
+        assertEquals(1, results.size());
+        assertEquals(1 / 3.0, results.get(0).get("result").asDouble());
+    }
+
+    private List<JsonNode> process(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = service.process(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+
+        List<JsonNode> results = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                results.add(objectMapper.readTree(line));
+            }
+        }
+        assertEquals(count, results.size());
+        return results;
+    }
+}